@@ -0,0 +1,100 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolBinario;
+import mx.unam.ciencias.edd.ArbolBinarioCompleto;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento para {@link ArbolBinarioCompleto}, {@link
+ * ArbolBinarioOrdenado} y {@link ArbolRojinegro}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArbolesBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int n;
+
+    @Param({ Datos.UNIFORME, Datos.ORDENADA, Datos.INVERSA, Datos.REPETIDA })
+    public String distribucion;
+
+    @Param({ "completo", "ordenado", "rojinegro" })
+    public String arbol;
+
+    private Integer[] datos;
+    private int[] indices;
+    private int siguiente;
+    private ArbolBinario<Integer> lleno;
+
+    @Setup public void prepara() {
+        datos = Datos.objetos(distribucion, n);
+        indices = Datos.indices(n);
+        lleno = llena();
+    }
+
+    /* Crea un árbol vacío del tipo del parámetro. */
+    private ArbolBinario<Integer> nuevo() {
+        switch (arbol) {
+        case "completo":
+            return new ArbolBinarioCompleto<Integer>();
+        case "ordenado":
+            return new ArbolBinarioOrdenado<Integer>();
+        default:
+            return new ArbolRojinegro<Integer>();
+        }
+    }
+
+    /* Crea un árbol con todos los datos. */
+    private ArbolBinario<Integer> llena() {
+        ArbolBinario<Integer> a = nuevo();
+        for (Integer e : datos)
+            a.agrega(e);
+        return a;
+    }
+
+    @Benchmark public ArbolBinario<Integer> agrega() {
+        return llena();
+    }
+
+    @Benchmark public ArbolBinario<Integer> agregaElimina() {
+        ArbolBinario<Integer> a = llena();
+        for (Integer e : datos)
+            a.elimina(e);
+        return a;
+    }
+
+    @Benchmark public VerticeArbolBinario<Integer> busca() {
+        if (siguiente == indices.length)
+            siguiente = 0;
+        return lleno.busca(datos[indices[siguiente++]]);
+    }
+
+    @Benchmark public long itera() {
+        long suma = 0;
+        for (Integer e : lleno)
+            suma += e;
+        return suma;
+    }
+
+    @Benchmark public int profundidad() {
+        return lleno.profundidad();
+    }
+}
@@ -0,0 +1,83 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento para {@link Arreglos}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArreglosBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int n;
+
+    @Param({ Datos.UNIFORME, Datos.ORDENADA, Datos.INVERSA, Datos.REPETIDA })
+    public String distribucion;
+
+    private Integer[] datos;
+    private Integer[] ordenado;
+    private int[] indices;
+    private int siguiente;
+
+    @Setup public void prepara() {
+        datos = Datos.objetos(distribucion, n);
+        ordenado = datos.clone();
+        Arreglos.quickSort(ordenado);
+        indices = Datos.indices(n);
+    }
+
+    /**
+     * Estado para InsertionSort, que es cuadrático y sólo tiene
+     * sentido medir con arreglos chicos.
+     */
+    @State(Scope.Thread)
+    public static class Chico {
+
+        @Param({ "100", "1000" })
+        public int n;
+
+        @Param({ Datos.UNIFORME, Datos.ORDENADA, Datos.INVERSA, Datos.REPETIDA })
+        public String distribucion;
+
+        private Integer[] datos;
+
+        @Setup public void prepara() {
+            datos = Datos.objetos(distribucion, n);
+        }
+    }
+
+    @Benchmark public Integer[] quickSort() {
+        Integer[] a = datos.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    @Benchmark public Integer[] insertionSort(Chico chico) {
+        Integer[] a = chico.datos.clone();
+        Arreglos.insertionSort(a);
+        return a;
+    }
+
+    @Benchmark public int busquedaBinaria() {
+        if (siguiente == indices.length)
+            siguiente = 0;
+        return Arreglos.busquedaBinaria(ordenado, datos[indices[siguiente++]]);
+    }
+}
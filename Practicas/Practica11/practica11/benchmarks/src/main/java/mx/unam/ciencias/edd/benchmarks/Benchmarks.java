@@ -0,0 +1,29 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de las pruebas de rendimiento. Acepta las mismas
+ * opciones que JMH; si no se indica otra cosa, los resultados se
+ * escriben en formato JSON en <tt>resultados.json</tt>, para poder
+ * compararlos entre versiones.
+ */
+public class Benchmarks {
+
+    /* Archivo predeterminado para los resultados. */
+    private static final String RESULTADOS = "resultados.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linea = new CommandLineOptions(args);
+        ChainedOptionsBuilder opciones = new OptionsBuilder().parent(linea);
+        if (!linea.getResultFormat().hasValue())
+            opciones.resultFormat(ResultFormatType.JSON);
+        if (!linea.getResult().hasValue())
+            opciones.result(RESULTADOS);
+        new Runner(opciones.build()).run();
+    }
+}
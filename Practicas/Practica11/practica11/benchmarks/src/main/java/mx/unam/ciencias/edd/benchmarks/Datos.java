@@ -0,0 +1,110 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generadores de datos para las pruebas de rendimiento. Todas usan
+ * una semilla fija para que dos ejecuciones midan exactamente los
+ * mismos datos.
+ */
+public class Datos {
+
+    /** Distribución de llaves uniforme al azar. */
+    public static final String UNIFORME = "uniforme";
+    /** Llaves en orden ascendente. */
+    public static final String ORDENADA = "ordenada";
+    /** Llaves en orden descendente. */
+    public static final String INVERSA = "inversa";
+    /** Llaves al azar con muchas repeticiones (n/16 distintas). */
+    public static final String REPETIDA = "repetida";
+
+    /** Semilla de todos los generadores. */
+    public static final long SEMILLA = 0x5eed5eedL;
+
+    private Datos() {}
+
+    /**
+     * Regresa n enteros con la distribución dada.
+     * @param distribucion una de {@link #UNIFORME}, {@link
+     *        #ORDENADA}, {@link #INVERSA} o {@link #REPETIDA}.
+     * @param n el número de enteros.
+     * @return un arreglo con n enteros.
+     * @throws IllegalArgumentException si la distribución no existe.
+     */
+    public static int[] enteros(String distribucion, int n) {
+        Random random = new Random(SEMILLA);
+        int[] a = new int[n];
+        switch (distribucion) {
+        case UNIFORME:
+            for (int i = 0; i < n; i++)
+                a[i] = random.nextInt();
+            break;
+        case ORDENADA:
+            for (int i = 0; i < n; i++)
+                a[i] = i;
+            break;
+        case INVERSA:
+            for (int i = 0; i < n; i++)
+                a[i] = n - i;
+            break;
+        case REPETIDA:
+            int distintos = Math.max(1, n / 16);
+            for (int i = 0; i < n; i++)
+                a[i] = random.nextInt(distintos);
+            break;
+        default:
+            throw new IllegalArgumentException(distribucion);
+        }
+        return a;
+    }
+
+    /**
+     * Regresa n enteros envueltos con la distribución dada.
+     * @param distribucion la distribución.
+     * @param n el número de enteros.
+     * @return un arreglo con n enteros.
+     */
+    public static Integer[] objetos(String distribucion, int n) {
+        int[] a = enteros(distribucion, n);
+        Integer[] r = new Integer[n];
+        for (int i = 0; i < n; i++)
+            r[i] = a[i];
+        return r;
+    }
+
+    /**
+     * Regresa n cadenas (los enteros en hexadecimal) con la
+     * distribución dada.
+     * @param distribucion la distribución.
+     * @param n el número de cadenas.
+     * @return un arreglo con n cadenas.
+     */
+    public static String[] cadenas(String distribucion, int n) {
+        int[] a = enteros(distribucion, n);
+        String[] r = new String[n];
+        for (int i = 0; i < n; i++)
+            r[i] = String.format("%x", a[i]);
+        return r;
+    }
+
+    /**
+     * Regresa una permutación al azar de los índices 0, ..., n-1,
+     * para consultar posiciones sin un patrón que el procesador
+     * pueda predecir.
+     * @param n el número de índices.
+     * @return los índices permutados.
+     */
+    public static int[] indices(int n) {
+        Random random = new Random(SEMILLA + 1);
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++)
+            a[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+        return a;
+    }
+}
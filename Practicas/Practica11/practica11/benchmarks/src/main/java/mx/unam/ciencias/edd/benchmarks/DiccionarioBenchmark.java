@@ -0,0 +1,110 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.FabricaHuellasDigitales;
+import mx.unam.ciencias.edd.HuellaDigital;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento para {@link Diccionario}, con cada huella
+ * digital de {@link FabricaHuellasDigitales} y cada modo de
+ * almacenamiento.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiccionarioBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int n;
+
+    @Param({ Datos.UNIFORME, Datos.ORDENADA, Datos.REPETIDA })
+    public String distribucion;
+
+    @Param({ "BJ", "GLIB", "XOR", "MURMUR3", "XXH64" })
+    public String huella;
+
+    @Param({ "ENCADENAMIENTO", "DIRECCIONAMIENTO_ABIERTO" })
+    public String modo;
+
+    private String[] llaves;
+    private String[] ausentes;
+    private int[] indices;
+    private int siguiente;
+    private HuellaDigital<String> hd;
+    private int m;
+    private Diccionario<String, String> lleno;
+
+    @Setup public void prepara() {
+        llaves = Datos.cadenas(distribucion, n);
+        ausentes = new String[n];
+        for (int i = 0; i < n; i++)
+            ausentes[i] = "-" + llaves[i];
+        indices = Datos.indices(n);
+        hd = FabricaHuellasDigitales.getInstanciaString(huella(huella));
+        m = modo.equals("ENCADENAMIENTO") ?
+            Diccionario.ENCADENAMIENTO : Diccionario.DIRECCIONAMIENTO_ABIERTO;
+        lleno = llena();
+    }
+
+    /* Traduce el nombre de la huella a su identificador. */
+    private static int huella(String nombre) {
+        switch (nombre) {
+        case "BJ":
+            return FabricaHuellasDigitales.BJ_STRING;
+        case "GLIB":
+            return FabricaHuellasDigitales.GLIB_STRING;
+        case "XOR":
+            return FabricaHuellasDigitales.XOR_STRING;
+        case "MURMUR3":
+            return FabricaHuellasDigitales.MURMUR3_STRING;
+        default:
+            return FabricaHuellasDigitales.XXH64_STRING;
+        }
+    }
+
+    /* Crea un diccionario con todas las llaves. */
+    private Diccionario<String, String> llena() {
+        Diccionario<String, String> d = new Diccionario<String, String>(n, hd, m);
+        for (String llave : llaves)
+            d.agrega(llave, llave);
+        return d;
+    }
+
+    /* Siguiente índice al azar. */
+    private int indice() {
+        if (siguiente == indices.length)
+            siguiente = 0;
+        return indices[siguiente++];
+    }
+
+    @Benchmark public Diccionario<String, String> agrega() {
+        return llena();
+    }
+
+    @Benchmark public String get() {
+        return lleno.get(llaves[indice()]);
+    }
+
+    @Benchmark public boolean contieneAusente() {
+        return lleno.contiene(ausentes[indice()]);
+    }
+
+    @Benchmark public int huellaDigital() {
+        return hd.huellaDigital(llaves[indice()]);
+    }
+}
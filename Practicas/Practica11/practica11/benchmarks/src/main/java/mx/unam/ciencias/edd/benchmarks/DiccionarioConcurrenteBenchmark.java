@@ -0,0 +1,63 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento para {@link DiccionarioConcurrente} con
+ * varios hilos compartiendo el mismo diccionario. El número de
+ * hilos puede cambiarse con la opción <tt>-t</tt> de JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class DiccionarioConcurrenteBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int n;
+
+    @Param({ Datos.UNIFORME, Datos.ORDENADA, Datos.REPETIDA })
+    public String distribucion;
+
+    private String[] llaves;
+    private DiccionarioConcurrente<String, String> diccionario;
+
+    @Setup public void prepara() {
+        llaves = Datos.cadenas(distribucion, n);
+        diccionario = new DiccionarioConcurrente<String, String>(n);
+        for (String llave : llaves)
+            diccionario.agrega(llave, llave);
+    }
+
+    @Benchmark public boolean contiene() {
+        return diccionario.contiene(llaves[ThreadLocalRandom.current().nextInt(n)]);
+    }
+
+    /* Una escritura por cada quince lecturas. */
+    @Benchmark public boolean mezcla() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String llave = llaves[random.nextInt(n)];
+        if ((random.nextInt() & 15) == 0) {
+            diccionario.agrega(llave, llave);
+            return true;
+        }
+        return diccionario.contiene(llave);
+    }
+}
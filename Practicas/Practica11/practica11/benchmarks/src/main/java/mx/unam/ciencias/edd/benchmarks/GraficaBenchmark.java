@@ -0,0 +1,110 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.AccionVerticeGrafica;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento para los recorridos y las trayectorias
+ * mínimas de {@link Grafica}. Las gráficas son conexas: un ciclo con
+ * todos los vértices más aristas al azar hasta el grado promedio
+ * pedido. Los pesos son enteros para que las trayectorias se
+ * reconstruyan de forma exacta.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraficaBenchmark {
+
+    @Param({ "100", "1000" })
+    public int n;
+
+    @Param({ "4", "16" })
+    public int grado;
+
+    private Grafica<Integer> grafica;
+    private int[][] aristas;
+    private double[] pesos;
+    private int visitados;
+
+    /* Acción que sólo cuenta los vértices visitados. */
+    private final AccionVerticeGrafica<Integer> cuenta =
+        new AccionVerticeGrafica<Integer>() {
+            @Override public void actua(VerticeGrafica<Integer> v) {
+                visitados++;
+            }
+        };
+
+    @Setup public void prepara() {
+        Random random = new Random(Datos.SEMILLA);
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < n; i++)
+            grafica.agrega(i);
+        int m = Math.min(n * grado / 2, n * (n - 1) / 2);
+        aristas = new int[m][2];
+        pesos = new double[m];
+        int k = 0;
+        for (int i = 0; i < n && k < m; i++)
+            k = conecta(i, (i + 1) % n, 1 + random.nextInt(10), k);
+        while (k < m)
+            k = conecta(random.nextInt(n), random.nextInt(n),
+                        1 + random.nextInt(10), k);
+    }
+
+    /* Conecta a y b si se puede, y lo anota para reconstruir. */
+    private int conecta(int a, int b, double peso, int k) {
+        if (a == b || grafica.sonVecinos(a, b))
+            return k;
+        grafica.conecta(a, b, peso);
+        aristas[k][0] = a;
+        aristas[k][1] = b;
+        pesos[k] = peso;
+        return k + 1;
+    }
+
+    @Benchmark public Grafica<Integer> construye() {
+        Grafica<Integer> g = new Grafica<Integer>();
+        for (int i = 0; i < n; i++)
+            g.agrega(i);
+        for (int i = 0; i < aristas.length; i++)
+            g.conecta(aristas[i][0], aristas[i][1], pesos[i]);
+        return g;
+    }
+
+    @Benchmark public int bfs() {
+        visitados = 0;
+        grafica.bfs(0, cuenta);
+        return visitados;
+    }
+
+    @Benchmark public int dfs() {
+        visitados = 0;
+        grafica.dfs(0, cuenta);
+        return visitados;
+    }
+
+    @Benchmark public Lista<VerticeGrafica<Integer>> trayectoriaMinima() {
+        return grafica.trayectoriaMinima(0, n / 2);
+    }
+
+    @Benchmark public Lista<VerticeGrafica<Integer>> dijkstra() {
+        return grafica.dijkstra(0, n / 2);
+    }
+}
@@ -0,0 +1,98 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruebas de rendimiento para {@link Lista}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListaBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int n;
+
+    @Param({ Datos.UNIFORME, Datos.ORDENADA, Datos.INVERSA, Datos.REPETIDA })
+    public String distribucion;
+
+    private Integer[] datos;
+    private int[] indices;
+    private int siguiente;
+    private Lista<Integer> lista;
+
+    @Setup public void prepara() {
+        datos = Datos.objetos(distribucion, n);
+        indices = Datos.indices(n);
+        lista = new Lista<Integer>();
+        for (Integer e : datos)
+            lista.agregaFinal(e);
+    }
+
+    /* Siguiente índice al azar. */
+    private int indice() {
+        if (siguiente == indices.length)
+            siguiente = 0;
+        return indices[siguiente++];
+    }
+
+    @Benchmark public Lista<Integer> agregaFinal() {
+        Lista<Integer> l = new Lista<Integer>();
+        for (Integer e : datos)
+            l.agregaFinal(e);
+        return l;
+    }
+
+    @Benchmark public Lista<Integer> agregaInicio() {
+        Lista<Integer> l = new Lista<Integer>();
+        for (Integer e : datos)
+            l.agregaInicio(e);
+        return l;
+    }
+
+    @Benchmark public long itera() {
+        long suma = 0;
+        for (Integer e : lista)
+            suma += e;
+        return suma;
+    }
+
+    @Benchmark public Integer get() {
+        return lista.get(indice());
+    }
+
+    @Benchmark public int indiceDe() {
+        return lista.indiceDe(datos[indice()]);
+    }
+
+    @Benchmark public boolean contiene() {
+        return lista.contiene(datos[indice()]);
+    }
+
+    @Benchmark public Lista<Integer> reversa() {
+        return lista.reversa();
+    }
+
+    @Benchmark public Lista<Integer> copia() {
+        return lista.copia();
+    }
+
+    @Benchmark public Lista<Integer> mergeSort() {
+        return Lista.mergeSort(lista);
+    }
+}
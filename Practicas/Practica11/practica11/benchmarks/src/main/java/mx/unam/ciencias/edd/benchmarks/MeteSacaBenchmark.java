@@ -0,0 +1,70 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.MeteSaca;
+import mx.unam.ciencias.edd.Pila;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Pruebas de rendimiento para {@link Pila} y {@link Cola}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeteSacaBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int n;
+
+    @Param({ "pila", "cola" })
+    public String tipo;
+
+    private Integer[] datos;
+    private MeteSaca<Integer> estable;
+
+    @Setup public void prepara() {
+        datos = Datos.objetos(Datos.UNIFORME, n);
+        estable = nueva();
+        for (Integer e : datos)
+            estable.mete(e);
+    }
+
+    /* Crea una estructura vacía del tipo del parámetro. */
+    private MeteSaca<Integer> nueva() {
+        return tipo.equals("pila") ? new Pila<Integer>() : new Cola<Integer>();
+    }
+
+    /* Llena una estructura vacía y luego la vacía. */
+    @Benchmark public void llenaVacia(Blackhole bh) {
+        MeteSaca<Integer> m = nueva();
+        for (Integer e : datos)
+            m.mete(e);
+        while (!m.esVacia())
+            bh.consume(m.saca());
+    }
+
+    /* Un mete y un saca sobre una estructura con n elementos. */
+    @Benchmark public Integer meteSaca() {
+        estable.mete(datos[0]);
+        return estable.saca();
+    }
+
+    @Benchmark public Integer mira() {
+        return estable.mira();
+    }
+}
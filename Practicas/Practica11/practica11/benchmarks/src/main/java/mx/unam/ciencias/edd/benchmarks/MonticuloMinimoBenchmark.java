@@ -0,0 +1,93 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ComparableIndexable;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Pruebas de rendimiento para {@link MonticuloMinimo}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonticuloMinimoBenchmark {
+
+    /**
+     * Elemento indexable para el montículo.
+     */
+    public static class Indexable implements ComparableIndexable<Indexable> {
+
+        private final int valor;
+        private int indice;
+
+        public Indexable(int valor) {
+            this.valor = valor;
+        }
+
+        @Override public int getIndice() {
+            return indice;
+        }
+
+        @Override public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        @Override public int compareTo(Indexable otro) {
+            return Integer.compare(valor, otro.valor);
+        }
+    }
+
+    @Param({ "1000", "10000" })
+    public int n;
+
+    @Param({ Datos.UNIFORME, Datos.ORDENADA, Datos.INVERSA, Datos.REPETIDA })
+    public String distribucion;
+
+    private Indexable[] datos;
+    private Lista<Indexable> lista;
+
+    @Setup public void prepara() {
+        int[] a = Datos.enteros(distribucion, n);
+        datos = new Indexable[n];
+        lista = new Lista<Indexable>();
+        for (int i = 0; i < n; i++) {
+            datos[i] = new Indexable(a[i]);
+            lista.agregaFinal(datos[i]);
+        }
+    }
+
+    @Benchmark public MonticuloMinimo<Indexable> construyeLista() {
+        return new MonticuloMinimo<Indexable>(lista);
+    }
+
+    @Benchmark public MonticuloMinimo<Indexable> agrega() {
+        MonticuloMinimo<Indexable> m = new MonticuloMinimo<Indexable>();
+        for (Indexable e : datos)
+            m.agrega(e);
+        return m;
+    }
+
+    @Benchmark public void agregaElimina(Blackhole bh) {
+        MonticuloMinimo<Indexable> m = new MonticuloMinimo<Indexable>();
+        for (Indexable e : datos)
+            m.agrega(e);
+        while (!m.esVacio())
+            bh.consume(m.elimina());
+    }
+}
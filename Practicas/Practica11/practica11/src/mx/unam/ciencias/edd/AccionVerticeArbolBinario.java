@@ -0,0 +1,15 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para realizar acciones sobre los vértices de un árbol
+ * binario durante un recorrido.
+ */
+public interface AccionVerticeArbolBinario<T> {
+
+    /**
+     * Realiza una acción sobre un vértice de árbol binario.
+     * @param vertice el vértice sobre el que se realizará la
+     *                acción.
+     */
+    public void actua(VerticeArbolBinario<T> vertice);
+}
@@ -155,31 +155,38 @@ public abstract class ArbolBinario<T> implements Iterable<T> {
 	elementos = 0;
     }
 
-    /**
-     *
-     *
-     */
-    private int profundidad(Vertice<T> v, int l){
-	int i, j;
-	i = j = l;
-	if(v.hayIzquierdo())
-	    i = profundidad(v.izquierdo, l+1);
-	if(v.hayDerecho())
-	    j = profundidad(v.derecho, l+1);
-	if(i >= j)
-	    return i;
-	else
-	    return j;
-    }
-
-
     /**
      * Regresa la profundidad del árbol. La profundidad de un árbol
-     * es la longitud de la ruta más larga entre la raíz y una hoja.
+     * es la longitud de la ruta más larga entre la raíz y una hoja;
+     * la de un árbol vacío es -1. El árbol se recorre por niveles
+     * sin recursión, así que no importa qué tan desbalanceado esté.
      * @return la profundidad del árbol.
      */
     public int profundidad() {
-        return profundidad(this.raiz, 0);
+	if(this.raiz == null)
+	    return -1;
+	Cola<Vertice<T>> cola = new Cola<Vertice<T>>();
+	cola.mete(this.raiz);
+	/* Cuántos vértices faltan del nivel actual, y cuántos hemos
+	   visto del siguiente. */
+	int p = -1, restantes = 1, siguientes = 0;
+	while(!cola.esVacia()){
+	    Vertice<T> v = cola.saca();
+	    if(v.izquierdo != null){
+		cola.mete(v.izquierdo);
+		siguientes++;
+	    }
+	    if(v.derecho != null){
+		cola.mete(v.derecho);
+		siguientes++;
+	    }
+	    if(--restantes == 0){
+		p++;
+		restantes = siguientes;
+		siguientes = 0;
+	    }
+	}
+	return p;
     }
 
     /**
@@ -235,6 +242,97 @@ public abstract class ArbolBinario<T> implements Iterable<T> {
 	}
     }
     
+    /**
+     * Recorre el árbol por niveles (BFS), de izquierda a derecha,
+     * realizando la acción recibida en cada vértice.
+     * @param accion la acción a realizar en cada vértice.
+     */
+    public void bfs(AccionVerticeArbolBinario<T> accion) {
+	if(this.raiz == null)
+	    return;
+	Cola<Vertice<T>> cola = new Cola<Vertice<T>>();
+	cola.mete(this.raiz);
+	while(!cola.esVacia()){
+	    Vertice<T> v = cola.saca();
+	    accion.actua(v);
+	    if(v.izquierdo != null)
+		cola.mete(v.izquierdo);
+	    if(v.derecho != null)
+		cola.mete(v.derecho);
+	}
+    }
+
+    /**
+     * Recorre el árbol en pre-orden, realizando la acción recibida
+     * en cada vértice. El recorrido usa una pila propia en lugar de
+     * la pila de ejecución, así que funciona con árboles de
+     * cualquier profundidad.
+     * @param accion la acción a realizar en cada vértice.
+     */
+    public void dfsPreorden(AccionVerticeArbolBinario<T> accion) {
+	if(this.raiz == null)
+	    return;
+	Pila<Vertice<T>> pila = new Pila<Vertice<T>>();
+	pila.mete(this.raiz);
+	while(!pila.esVacia()){
+	    Vertice<T> v = pila.saca();
+	    accion.actua(v);
+	    if(v.derecho != null)
+		pila.mete(v.derecho);
+	    if(v.izquierdo != null)
+		pila.mete(v.izquierdo);
+	}
+    }
+
+    /**
+     * Recorre el árbol en in-orden, realizando la acción recibida en
+     * cada vértice. El recorrido usa una pila propia en lugar de la
+     * pila de ejecución, así que funciona con árboles de cualquier
+     * profundidad.
+     * @param accion la acción a realizar en cada vértice.
+     */
+    public void dfsInorden(AccionVerticeArbolBinario<T> accion) {
+	Pila<Vertice<T>> pila = new Pila<Vertice<T>>();
+	Vertice<T> v = this.raiz;
+	while(v != null || !pila.esVacia()){
+	    while(v != null){
+		pila.mete(v);
+		v = v.izquierdo;
+	    }
+	    v = pila.saca();
+	    accion.actua(v);
+	    v = v.derecho;
+	}
+    }
+
+    /**
+     * Recorre el árbol en post-orden, realizando la acción recibida
+     * en cada vértice. El recorrido usa una pila propia en lugar de
+     * la pila de ejecución, así que funciona con árboles de
+     * cualquier profundidad.
+     * @param accion la acción a realizar en cada vértice.
+     */
+    public void dfsPostorden(AccionVerticeArbolBinario<T> accion) {
+	Pila<Vertice<T>> pila = new Pila<Vertice<T>>();
+	Vertice<T> v = this.raiz, ultimo = null;
+	while(v != null || !pila.esVacia()){
+	    while(v != null){
+		pila.mete(v);
+		v = v.izquierdo;
+	    }
+	    Vertice<T> tope = pila.mira();
+	    /* Si tiene derecho y no venimos de ahí, bajamos por él; si
+	       no, ya terminamos con sus dos subárboles. */
+	    if(tope.derecho != null && tope.derecho != ultimo){
+		v = tope.derecho;
+	    }else{
+		pila.saca();
+		accion.actua(tope);
+		ultimo = tope;
+	    }
+	}
+    }
+
     /**
      * Regresa el vértice que contiene la raíz del árbol.
      * @return el vértice que contiene la raíz del árbol.
@@ -249,18 +347,73 @@ public abstract class ArbolBinario<T> implements Iterable<T> {
      * @return una representación en cadena del árbol.
      */
     @Override public String toString() {
-        /* Necesitamos la profundidad para saber cuántas ramas puede
-           haber. */
         if (elementos == 0)
             return "";
+        /* Necesitamos la profundidad para saber cuántas ramas puede
+           haber. En pendiente[i] está el hijo derecho del ancestor en
+           el nivel i que falta por dibujar; si no es null, en ese
+           nivel se dibuja rama. Usamos sólo la interfaz de los
+           vértices, para que sirva también con los vértices que no
+           son instancia de Vertice. */
         int p = profundidad() + 1;
-        /* true == dibuja rama, false == dibuja espacio. */
-        boolean[] rama = new boolean[p];
-        for (int i = 0; i < p; i++)
-            /* Al inicio, no dibujamos ninguna rama. */
-            rama[i] = false;
-        String s = aCadena(raiz, 0, rama);
-        return s.substring(0, s.length()-1);
+        Object[] pendiente = new Object[p];
+        StringBuilder sb = new StringBuilder();
+        VerticeArbolBinario<T> vertice = raiz();
+        int nivel = 0;
+        sb.append(vertice);
+        while (true) {
+            sb.append('\n');
+            boolean izquierdo = vertice.hayIzquierdo();
+            boolean derecho = vertice.hayDerecho();
+            if (izquierdo || derecho) {
+                /* Bajamos al primer hijo; si hay dos, el derecho
+                   queda pendiente y dibujamos rama en este nivel. */
+                String conector;
+                VerticeArbolBinario<T> hijo;
+                if (izquierdo && derecho) {
+                    pendiente[nivel] = vertice.getDerecho();
+                    hijo = vertice.getIzquierdo();
+                    conector = "├─›";
+                } else if (izquierdo) {
+                    hijo = vertice.getIzquierdo();
+                    conector = "└─›";
+                } else {
+                    hijo = vertice.getDerecho();
+                    conector = "└─»";
+                }
+                espacios(sb, nivel, pendiente);
+                sb.append(conector).append(hijo);
+                vertice = hijo;
+                nivel++;
+            } else {
+                /* Una hoja: subimos al nivel más profundo con un
+                   derecho pendiente, si hay. */
+                int k = nivel - 1;
+                while (k >= 0 && pendiente[k] == null)
+                    k--;
+                if (k < 0)
+                    break;
+                vertice = aVertice(pendiente[k]);
+                /* Como ya dibujamos el último hijo, ya no hay rama en
+                   este nivel. */
+                pendiente[k] = null;
+                espacios(sb, k, pendiente);
+                sb.append("└─»").append(vertice);
+                nivel = k + 1;
+            }
+        }
+        return sb.substring(0, sb.length()-1);
+    }
+
+    /**
+     * Crea un vértice nuevo con el elemento recibido. Las clases
+     * concretas crean sus vértices con este método, para que una
+     * subclase pueda usar vértices con más información.
+     * @param elemento el elemento del vértice.
+     * @return un vértice nuevo con el elemento recibido.
+     */
+    protected Vertice<T> nuevoVertice(T elemento) {
+        return new Vertice<T>(elemento);
     }
 
     /**
@@ -278,68 +431,22 @@ public abstract class ArbolBinario<T> implements Iterable<T> {
         return n;
     }
 
-    /* Método auxiliar recursivo que hace todo el trabajo. */
-    private String aCadena(Vertice<T> vertice, int nivel, boolean[] rama) {
-        /* Primero que nada agregamos el vertice a la cadena. */
-        String s = vertice + "\n";
-        /* A partir de aquí, dibujamos rama en este nivel. */
-        rama[nivel] = true;
-        if (vertice.izquierdo != null && vertice.derecho != null) {
-            /* Si hay vertice izquierdo Y derecho, dibujamos ramas o
-             * espacios. */
-            s += espacios(nivel, rama);
-            /* Dibujamos el conector al hijo izquierdo. */
-            s += "├─›";
-            /* Recursivamente dibujamos el hijo izquierdo y sus
-               descendientes. */
-            s += aCadena(vertice.izquierdo, nivel+1, rama);
-            /* Dibujamos ramas o espacios. */
-            s += espacios(nivel, rama);
-            /* Dibujamos el conector al hijo derecho. */
-            s += "└─»";
-            /* Como ya dibujamos el último hijo, ya no hay rama en
-               este nivel. */
-            rama[nivel] = false;
-            /* Recursivamente dibujamos el hijo derecho y sus
-               descendientes. */
-            s += aCadena(vertice.derecho, nivel+1, rama);
-        } else if (vertice.izquierdo != null) {
-            /* Dibujamos ramas o espacios. */
-            s += espacios(nivel, rama);
-            /* Dibujamos el conector al hijo izquierdo. */
-            s += "└─›";
-            /* Como ya dibujamos el último hijo, ya no hay rama en
-               este nivel. */
-            rama[nivel] = false;
-            /* Recursivamente dibujamos el hijo izquierdo y sus
-               descendientes. */
-            s += aCadena(vertice.izquierdo, nivel+1, rama);
-        } else if (vertice.derecho != null) {
-            /* Dibujamos ramas o espacios. */
-            s += espacios(nivel, rama);
-            /* Dibujamos el conector al hijo derecho. */
-            s += "└─»";
-            /* Como ya dibujamos el último hijo, ya no hay rama en
-               este nivel. */
-            rama[nivel] = false;
-            /* Recursivamente dibujamos el hijo derecho y sus
-               descendientes. */
-            s += aCadena(vertice.derecho, nivel+1, rama);
-        }
-        return s;
+    /* Convierte un vértice pendiente de dibujar en vértice. */
+    private VerticeArbolBinario<T> aVertice(Object vertice) {
+        @SuppressWarnings("unchecked") VerticeArbolBinario<T> n =
+            (VerticeArbolBinario<T>)vertice;
+        return n;
     }
 
     /* Dibuja los espacios (incluidas las ramas, de ser necesarias)
        que van antes de un vértice. */
-    private String espacios(int n, boolean[] rama) {
-        String s = "";
+    private void espacios(StringBuilder sb, int n, Object[] pendiente) {
         for (int i = 0; i < n; i++)
-            if (rama[i])
+            if (pendiente[i] != null)
                 /* Rama: dibújala. */
-                s += "│  ";
+                sb.append("│  ");
             else
                 /* No rama: dibuja espacio. */
-                s += "   ";
-        return s;
+                sb.append("   ");
     }
 } //Fin de ArbolBinario.java
@@ -27,6 +27,7 @@
  */
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -39,6 +40,24 @@ import java.util.NoSuchElementException;
  * <p>Un árbol binario completo agrega y elimina elementos de tal
  * forma que el árbol siempre es lo más cercano posible a estar
  * lleno.<p>
+ *
+ * <p>En modo {@link #LIGADO} (el predeterminado) los vértices se
+ * encuentran con un índice de dispersión sobre los elementos, así
+ * que, como las llaves de un {@link java.util.HashMap}, los elementos
+ * deben tener un <tt>hashCode</tt> consistente con su
+ * <tt>equals</tt>, y no deben cambiar de forma que afecte a ninguno
+ * de los dos mientras están en el árbol. Si no es así, {@link
+ * #busca} y {@link #elimina} pueden no encontrar un elemento igual a
+ * uno del árbol. Por ejemplo, {@link Lista} redefine <tt>equals</tt>
+ * pero no <tt>hashCode</tt>, así que para árboles de listas hay que
+ * usar {@link #EN_ARREGLO}, que sólo usa <tt>equals</tt>.</p>
+ *
+ * <p>En modo {@link #EN_ARREGLO} el árbol no tiene vértices: los
+ * elementos se guardan en un solo arreglo en orden BFS, con los
+ * hijos del elemento en <em>i</em> en 2<em>i</em>+1 y
+ * 2<em>i</em>+2. Los vértices que regresan {@link #raiz}, {@link
+ * #agrega} y {@link #busca} se calculan a partir de los índices
+ * cuando se piden.</p>
  */
 public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
 
@@ -79,91 +98,432 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         }
     }
 
+    /* Clase privada para vértices del modo en arreglo. Sólo guarda
+     * un índice del arreglo; todo lo demás se calcula de él. */
+    private class VerticeArreglo implements VerticeArbolBinario<T> {
+
+        /* El índice del elemento en el arreglo. */
+        private int indice;
+
+        /* Construye un vértice para el índice recibido. */
+        public VerticeArreglo(int indice) {
+            this.indice = indice;
+        }
+
+        /* Nos dice si el vértice tiene padre. */
+        @Override public boolean hayPadre() {
+            return indice > 0;
+        }
+
+        /* Nos dice si el vértice tiene izquierdo. */
+        @Override public boolean hayIzquierdo() {
+            return 2*indice + 1 < elementos;
+        }
+
+        /* Nos dice si el vértice tiene derecho. */
+        @Override public boolean hayDerecho() {
+            return 2*indice + 2 < elementos;
+        }
+
+        /* Regresa el padre del vértice, o null si no tiene. */
+        @Override public VerticeArbolBinario<T> getPadre() {
+            return hayPadre() ? new VerticeArreglo((indice - 1) / 2) : null;
+        }
+
+        /* Regresa el izquierdo del vértice, o null si no tiene. */
+        @Override public VerticeArbolBinario<T> getIzquierdo() {
+            return hayIzquierdo() ? new VerticeArreglo(2*indice + 1) : null;
+        }
+
+        /* Regresa el derecho del vértice, o null si no tiene. */
+        @Override public VerticeArbolBinario<T> getDerecho() {
+            return hayDerecho() ? new VerticeArreglo(2*indice + 2) : null;
+        }
+
+        /* Regresa el elemento del vértice. */
+        @Override public T get() {
+            return elemento(indice);
+        }
+
+        /* Los árboles completos no usan colores. */
+        @Override public Color getColor() {
+            return null;
+        }
+
+        /* Dos vértices son iguales si son del mismo árbol y tienen el
+         * mismo índice. */
+        @Override public boolean equals(Object o) {
+            if(!(o instanceof ArbolBinarioCompleto.VerticeArreglo))
+                return false;
+            @SuppressWarnings("unchecked") VerticeArreglo v = (VerticeArreglo)o;
+            return v.arbol() == ArbolBinarioCompleto.this && v.indice == indice;
+        }
+
+        /* La huella del vértice es su índice. */
+        @Override public int hashCode() {
+            return indice;
+        }
+
+        /* Regresa una representación en cadena del vértice. */
+        @Override public String toString() {
+            return get().toString();
+        }
+
+        /* Regresa el árbol del vértice. */
+        private ArbolBinarioCompleto<T> arbol() {
+            return ArbolBinarioCompleto.this;
+        }
+    }
+
     /**
-     * Constructor sin parámetros. Sencillamente ejecuta el
-     * constructor sin parámetros de {@link ArbolBinario}.
+     * Modo ligado: cada elemento vive en un vértice con referencias a
+     * su padre y sus hijos, y un índice de elementos permite eliminar
+     * en tiempo <i>O</i>(log <i>n</i>). El índice usa el
+     * <tt>hashCode</tt> de los elementos, que debe ser consistente con
+     * su <tt>equals</tt> y no cambiar mientras están en el árbol.
      */
-    public ArbolBinarioCompleto() { super(); }
+    public static final int LIGADO = 0;
+    /**
+     * Modo en arreglo: los elementos viven en un solo arreglo en
+     * orden BFS, sin vértices ni índice. Usa varias veces menos
+     * memoria por elemento e itera el árbol recorriendo el arreglo,
+     * pero {@link #busca} y {@link #elimina} recorren el arreglo.
+     * Sólo usa el <tt>equals</tt> de los elementos.
+     */
+    public static final int EN_ARREGLO = 1;
+
+    /* Índice de los vértices que contienen a cada elemento. El
+     * valor es el vértice mismo, o una lista de vértices si el
+     * elemento está repetido. */
+    private Diccionario<T, Object> indice;
+    /* Los elementos en orden BFS, en modo en arreglo. */
+    private Object[] arreglo;
+
+    /**
+     * Constructor sin parámetros. Construye un árbol en modo {@link
+     * #LIGADO}.
+     */
+    public ArbolBinarioCompleto() {
+	this(LIGADO);
+    }
+
+    /**
+     * Construye un árbol vacío en el modo recibido.
+     * @param modo {@link #LIGADO} o {@link #EN_ARREGLO}.
+     * @throws IllegalArgumentException si recibe un modo no
+     *         reconocido.
+     */
+    public ArbolBinarioCompleto(int modo) {
+	super();
+	if(modo == EN_ARREGLO){
+	    arreglo = new Object[16];
+	    return;
+	}
+	if(modo != LIGADO)
+	    throw new IllegalArgumentException();
+	indice = new Diccionario<T, Object>(16, new HuellaDigital<T>() {
+		@Override public int huellaDigital(T elemento) {
+		    return elemento.hashCode();
+		}
+	    }, Diccionario.DIRECCIONAMIENTO_ABIERTO);
+    }
 
     /**
      * Agrega un elemento al árbol binario completo. El nuevo
      * elemento se coloca a la derecha del último nivel, o a la
-     * izquierda de un nuevo nivel.
+     * izquierda de un nuevo nivel. Su lugar se obtiene de la
+     * representación binaria del nuevo número de elementos, así que
+     * toma tiempo <i>O</i>(log <i>n</i>).
      * @param elemento el elemento a agregar al árbol.
      * @return un iterador que apunta al vértice del árbol que
      *         contiene el elemento.
      */
     @Override public VerticeArbolBinario<T> agrega(T elemento) {
-	ArbolBinario<T>.Vertice<T> temp = new ArbolBinario<T>.Vertice<T>(elemento);
-	ArbolBinario<T>.Vertice<T> temp2;
-	if(this.raiz == null){
-	    this.raiz = temp;
-	    elementos++;
-	    return this.raiz;
+	if(arreglo != null){
+	    if(this.elementos == arreglo.length)
+		arreglo = Arrays.copyOf(arreglo, arreglo.length * 2);
+	    arreglo[this.elementos] = elemento;
+	    return new VerticeArreglo(this.elementos++);
+	}
+	Vertice<T> v = nuevoVertice(elemento);
+	int k = this.elementos + 1;
+	if(k == 1){
+	    this.raiz = v;
 	}else{
-	    Cola<ArbolBinario<T>.Vertice<T>> cola = new Cola<ArbolBinario<T>.Vertice<T>>();
-	    cola.mete(this.raiz);
-	    while(!cola.esVacia()){
-		temp2 = cola.saca();
-		if(temp2.hayIzquierdo()){
-		    cola.mete(temp2.izquierdo);
-		}else{
-		    temp2.izquierdo = temp;
-		    temp.padre = temp2;
-		    elementos++;
-		    return temp;
-		}
-		if(temp2.hayDerecho()){
-		    cola.mete(temp2.derecho);
-		}else{
-		    temp2.derecho = temp;
-		    temp.padre = temp2;
-		    elementos++;
-		    return temp;
-		}
-	    }
-	    return temp;
+	    Vertice<T> padre = enPosicion(k >>> 1);
+	    if((k & 1) == 0)
+		padre.izquierdo = v;
+	    else
+		padre.derecho = v;
+	    v.padre = padre;
 	}
+	this.elementos = k;
+	indexa(v);
+	return v;
     }
 
-
     /**
      * Elimina un elemento del árbol. El elemento a eliminar cambia
      * lugares con el último elemento del árbol al recorrerlo por
-     * BFS, y entonces es eliminado.
+     * BFS, y entonces es eliminado. El vértice con el elemento se
+     * encuentra con el índice, y el último con la representación
+     * binaria del número de elementos, así que toma tiempo
+     * <i>O</i>(log <i>n</i>). En modo {@link #EN_ARREGLO} el elemento
+     * se busca recorriendo el arreglo. Si el elemento no está en el
+     * árbol, no hace nada.
      * @param elemento el elemento a eliminar.
      */
     @Override public void elimina(T elemento) {
-	if(this.getElementos() == 0)
-	    return;
-	if(this.getElementos() == 1){
-	    if(this.vertice(this.raiz()).get().equals(elemento)){
-		this.raiz = null;
-		this.elementos--;
+	if(arreglo != null){
+	    int i = indiceDe(elemento);
+	    if(i < 0)
 		return;
+	    int n = --this.elementos;
+	    arreglo[i] = arreglo[n];
+	    arreglo[n] = null;
+	    if(arreglo.length > 16 && n < arreglo.length / 4)
+		arreglo = Arrays.copyOf(arreglo, arreglo.length / 2);
+	    return;
+	}
+	Vertice<T> encontrado = vertice(busca(elemento));
+	if(encontrado == null)
+	    return;
+	Vertice<T> ultimo = enPosicion(this.elementos);
+	desindexa(encontrado);
+	if(ultimo != encontrado){
+	    desindexa(ultimo);
+	    encontrado.elemento = ultimo.elemento;
+	    indexa(encontrado);
+	}
+	if(ultimo.padre == null)
+	    this.raiz = null;
+	else if(ultimo.padre.izquierdo == ultimo)
+	    ultimo.padre.izquierdo = null;
+	else
+	    ultimo.padre.derecho = null;
+	ultimo.padre = null;
+	this.elementos--;
+    }
+
+    /**
+     * Busca un elemento en el árbol usando el índice de elementos,
+     * en tiempo constante esperado; en modo {@link #EN_ARREGLO},
+     * recorriendo el arreglo. Si lo encuentra, regresa el vértice que
+     * lo contiene; si no, regresa <tt>null</tt>.
+     * @param elemento el elemento a buscar.
+     * @return un vértice que contiene el elemento buscado si lo
+     *         encuentra; <tt>null</tt> en otro caso.
+     */
+    @Override public VerticeArbolBinario<T> busca(T elemento) {
+	if(arreglo != null){
+	    int i = indiceDe(elemento);
+	    return i < 0 ? null : new VerticeArreglo(i);
+	}
+	Object valor = indice.busca(elemento);
+	if(valor instanceof Lista)
+	    return listaIndice(valor).getPrimero();
+	return verticeIndice(valor);
+    }
+
+    /**
+     * Regresa el vértice que contiene la raíz del árbol.
+     * @return el vértice que contiene la raíz del árbol, o
+     *         <tt>null</tt> si el árbol es vacío.
+     */
+    @Override public VerticeArbolBinario<T> raiz() {
+	if(arreglo != null)
+	    return this.elementos == 0 ? null : new VerticeArreglo(0);
+	return this.raiz;
+    }
+
+    /**
+     * Recorre el árbol por niveles (BFS). En modo {@link
+     * #EN_ARREGLO} es un recorrido lineal del arreglo.
+     * @param accion la acción a realizar en cada vértice.
+     */
+    @Override public void bfs(AccionVerticeArbolBinario<T> accion) {
+	if(arreglo == null){
+	    super.bfs(accion);
+	    return;
+	}
+	for(int i = 0; i < this.elementos; i++)
+	    accion.actua(new VerticeArreglo(i));
+    }
+
+    /**
+     * Recorre el árbol en pre-orden. En modo {@link #EN_ARREGLO} se
+     * mueve por los índices, sin pila.
+     * @param accion la acción a realizar en cada vértice.
+     */
+    @Override public void dfsPreorden(AccionVerticeArbolBinario<T> accion) {
+	if(arreglo == null){
+	    super.dfsPreorden(accion);
+	    return;
+	}
+	int n = this.elementos;
+	for(int i = n > 0 ? 0 : -1; i >= 0; ){
+	    accion.actua(new VerticeArreglo(i));
+	    if(2*i + 1 < n){
+		i = 2*i + 1;
+		continue;
 	    }
+	    /* Subimos mientras seamos hijo derecho o no haya hermano
+	       derecho, y pasamos al hermano. */
+	    while(i > 0 && (i % 2 == 0 || i + 1 >= n))
+		i = (i - 1) / 2;
+	    i = i == 0 ? -1 : i + 1;
+	}
+    }
+
+    /**
+     * Recorre el árbol en in-orden. En modo {@link #EN_ARREGLO} se
+     * mueve por los índices, sin pila.
+     * @param accion la acción a realizar en cada vértice.
+     */
+    @Override public void dfsInorden(AccionVerticeArbolBinario<T> accion) {
+	if(arreglo == null){
+	    super.dfsInorden(accion);
+	    return;
+	}
+	int n = this.elementos;
+	int i = n > 0 ? masIzquierdo(0) : -1;
+	while(i >= 0){
+	    accion.actua(new VerticeArreglo(i));
+	    if(2*i + 2 < n){
+		i = masIzquierdo(2*i + 2);
+	    }else{
+		/* Subimos mientras seamos hijo derecho; el siguiente es
+		   el padre del primer hijo izquierdo. */
+		while(i > 0 && i % 2 == 0)
+		    i = (i - 1) / 2;
+		i = i == 0 ? -1 : (i - 1) / 2;
+	    }
+	}
+    }
+
+    /**
+     * Recorre el árbol en post-orden. En modo {@link #EN_ARREGLO} se
+     * mueve por los índices, sin pila.
+     * @param accion la acción a realizar en cada vértice.
+     */
+    @Override public void dfsPostorden(AccionVerticeArbolBinario<T> accion) {
+	if(arreglo == null){
+	    super.dfsPostorden(accion);
+	    return;
+	}
+	int n = this.elementos;
+	int i = n > 0 ? primeroPostorden(0) : -1;
+	while(i >= 0){
+	    accion.actua(new VerticeArreglo(i));
+	    if(i == 0)
+		i = -1;
+	    else if(i % 2 == 1 && i + 1 < n)
+		i = primeroPostorden(i + 1);
+	    else
+		i = (i - 1) / 2;
 	}
-        Vertice<T> encontrado = null;
-	Cola<Vertice<T>> queue = new Cola<Vertice<T>>();
-	queue.mete(this.vertice(this.raiz()));
-	Vertice<T> siguiente = this.vertice(this.raiz());
-	while(!queue.esVacia()){
-	    siguiente = queue.saca();
-	    if(siguiente.hayIzquierdo())
-		queue.mete(this.vertice(siguiente.getIzquierdo()));
-	    if(siguiente.hayDerecho())
-		queue.mete(this.vertice(siguiente.getDerecho()));
-	    if(siguiente.get().equals(elemento))
-		encontrado = siguiente;
-	}
-	encontrado.elemento = siguiente.get();
-	if(siguiente == siguiente.padre.izquierdo){
-	    siguiente.padre.izquierdo = null;
-	    this.elementos--;
+    }
+
+    //Metodo privado para bajar por la izquierda desde el índice i
+    //en modo en arreglo.
+    private int masIzquierdo(int i) {
+	while(2*i + 1 < this.elementos)
+	    i = 2*i + 1;
+	return i;
+    }
+
+    //Metodo privado para regresar el primer índice en post-orden del
+    //subárbol con raíz en i en modo en arreglo: bajamos por la
+    //izquierda, o por la derecha si no hay izquierdo.
+    private int primeroPostorden(int i) {
+	while(true){
+	    if(2*i + 1 < this.elementos)
+		i = 2*i + 1;
+	    else if(2*i + 2 < this.elementos)
+		i = 2*i + 2;
+	    else
+		return i;
+	}
+    }
+
+    //Metodo privado para regresar el primer índice del arreglo con un
+    //elemento igual al recibido, o -1 si no hay.
+    private int indiceDe(T elemento) {
+	for(int i = 0; i < this.elementos; i++)
+	    if(arreglo[i].equals(elemento))
+		return i;
+	return -1;
+    }
+
+    //Metodo privado para ver un elemento del arreglo como T.
+    private T elemento(int i) {
+	@SuppressWarnings("unchecked") T e = (T)arreglo[i];
+	return e;
+    }
+
+    //Metodo privado para regresar el vértice en la posición k (en
+    //BFS, empezando en 1). Los bits de k después del más alto dicen
+    //el camino desde la raíz: 0 es a la izquierda y 1 a la derecha.
+    private Vertice<T> enPosicion(int k) {
+	Vertice<T> v = this.raiz;
+	for(int b = 30 - Integer.numberOfLeadingZeros(k); b >= 0; b--)
+	    v = ((k >>> b) & 1) == 0 ? v.izquierdo : v.derecho;
+	return v;
+    }
+
+    //Metodo privado para agregar un vértice al índice de su
+    //elemento. Sólo se crea una lista cuando el elemento se repite.
+    private void indexa(Vertice<T> v) {
+	Object valor = indice.busca(v.elemento);
+	if(valor == null){
+	    indice.agrega(v.elemento, v);
+	}else if(valor instanceof Lista){
+	    listaIndice(valor).agregaFinal(v);
 	}else{
-	    siguiente.padre.derecho = null;
-	    this.elementos--;
+	    Lista<Vertice<T>> vertices = new Lista<Vertice<T>>();
+	    vertices.agregaFinal(verticeIndice(valor));
+	    vertices.agregaFinal(v);
+	    indice.agrega(v.elemento, vertices);
+	}
+    }
+
+    //Metodo privado para quitar un vértice del índice de su
+    //elemento. Si el elemento está repetido, recorre los vértices
+    //que lo contienen; si queda uno, lo guarda sin la lista.
+    private void desindexa(Vertice<T> v) {
+	Object valor = indice.busca(v.elemento);
+	if(valor == v){
+	    indice.elimina(v.elemento);
+	    return;
 	}
+	Lista<Vertice<T>> vertices = listaIndice(valor);
+	vertices.elimina(v);
+	if(vertices.getLongitud() == 1)
+	    indice.agrega(v.elemento, vertices.getPrimero());
+    }
+
+    //Metodo privado para ver un valor del índice como vértice.
+    private Vertice<T> verticeIndice(Object valor) {
+	@SuppressWarnings("unchecked") Vertice<T> v = (Vertice<T>)valor;
+	return v;
+    }
+
+    //Metodo privado para ver un valor del índice como lista de
+    //vértices.
+    private Lista<Vertice<T>> listaIndice(Object valor) {
+	@SuppressWarnings("unchecked") Lista<Vertice<T>> l = (Lista<Vertice<T>>)valor;
+	return l;
+    }
+
+    /**
+     * Regresa la profundidad del árbol. Como el árbol siempre es lo
+     * más cercano posible a estar lleno, su profundidad es el
+     * logaritmo base 2 del número de elementos, y no hace falta
+     * recorrerlo.
+     * @return la profundidad del árbol; -1 si es vacío.
+     */
+    @Override public int profundidad() {
+	return 31 - Integer.numberOfLeadingZeros(this.elementos);
     }
 
     /**
@@ -172,6 +532,22 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
      * @return un iterador para iterar el árbol.
      */
     @Override public Iterator<T> iterator() {
+	if(arreglo != null){
+	    return new Iterator<T>() {
+		private int i = 0;
+		@Override public boolean hasNext() {
+		    return i < elementos;
+		}
+		@Override public T next() {
+		    if(i >= elementos)
+			throw new NoSuchElementException();
+		    return elemento(i++);
+		}
+		@Override public void remove() {
+		    throw new UnsupportedOperationException();
+		}
+	    };
+	}
         Iterador<T> i = new Iterador<T>(this.raiz);
 	return i;
     }
@@ -28,6 +28,7 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * @autor Jose Ricardo Rodriguez Abreu
@@ -99,6 +100,51 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
             throw new UnsupportedOperationException();
         }
     }
+
+    /* Clase privada para iteradores de intervalos. Avanza al
+     * siguiente vértice en in-orden usando los padres, y se detiene
+     * en el primer elemento mayor que el extremo superior. */
+    private class IteradorIntervalo implements Iterator<T> {
+
+        /* El vértice con el siguiente elemento. */
+        private Vertice<T> siguiente;
+        /* El extremo superior del intervalo. */
+        private T hasta;
+
+        /* Construye un iterador que empieza en el vértice recibido. */
+        public IteradorIntervalo(Vertice<T> vertice, T hasta) {
+            this.hasta = hasta;
+            this.siguiente = vertice;
+            if(vertice != null && vertice.elemento.compareTo(hasta) > 0)
+                this.siguiente = null;
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        /* Regresa el siguiente elemento del intervalo. */
+        @Override public T next() {
+            if(siguiente == null)
+                throw new NoSuchElementException();
+            T elemento = siguiente.elemento;
+            siguiente = sucesor(siguiente);
+            if(siguiente != null && siguiente.elemento.compareTo(hasta) > 0)
+                siguiente = null;
+            return elemento;
+        }
+
+        /* No lo implementamos: siempre lanza una excepción. */
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /** La profundidad del árbol, o -1 si hay que calcularla. Las
+     * inserciones la mantienen; las eliminaciones y los giros la
+     * invalidan. */
+    protected int profundidadConocida = -1;
     
     /**
      * Constructor sin parámetros. Sencillamente ejecuta el
@@ -161,33 +207,38 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      * @return un iterador que apunta al vértice del nuevo elemento.
      */
     @Override public VerticeArbolBinario<T> agrega(T elemento) {
-	ArbolBinario<T>.Vertice<T> v = new ArbolBinario<T>.Vertice<T>(elemento);
+	ArbolBinario<T>.Vertice<T> v = nuevoVertice(elemento);
 	if(this.raiz == null){
 	    this.raiz = v;
 	    this.elementos++;
+	    this.profundidadConocida = 0;
 	    return this.raiz;
 	}else{
 	    ArbolBinario<T>.Vertice<T> compara = this.raiz; 
+	    int nivel = 1;
 	    while(true){
-		if(v.get().compareTo(compara.get()) <= 0){
+		if(elemento.compareTo(compara.elemento) <= 0){
 		    if(compara.hayIzquierdo()){
 			compara = compara.izquierdo;
 		    } else { 
 			compara.izquierdo = v;
 			v.padre = compara;
 			this.elementos++;
+			actualizaProfundidad(nivel);
 			return v;
 		    }
-		} else if(v.get().compareTo(compara.get()) > 0) {
+		} else {
 		    if(compara.hayDerecho()){
 			compara = compara.derecho;
 		    }else{
 			compara.derecho = v;
 			v.padre = compara;
 			this.elementos++;
+			actualizaProfundidad(nivel);
 			return v;
 		    }
 		}
+		nivel++;
 	    }
 	}
     }
@@ -199,8 +250,9 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      * @param elemento el elemento a eliminar.
      */
     @Override public void elimina(T elemento) {
+	this.profundidadConocida = -1;
 	if(this.getElementos() == 1){
-	    if(this.raiz.get().equals(elemento)){
+	    if(elemento.compareTo(this.raiz.elemento) == 0){
 		this.raiz = null;
 		this.elementos--;
 	    }	
@@ -252,32 +304,222 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     }
     
     /**
-     * Busca un elemento en el árbol recorriéndolo in-order. Si lo
-     * encuentra, regresa un iterador que apunta a dicho elemento;
-     * si no, regresa <tt>null</tt>.
+     * Regresa la profundidad del árbol. Si ninguna eliminación ni
+     * giro la ha invalidado desde la última vez que se calculó, la
+     * regresa en tiempo constante.
+     * @return la profundidad del árbol; -1 si es vacío.
+     */
+    @Override public int profundidad() {
+	if(this.profundidadConocida < 0)
+	    this.profundidadConocida = super.profundidad();
+	return this.profundidadConocida;
+    }
+
+    //Metodo privado para actualizar la profundidad conocida con el
+    //nivel de un vértice recién agregado.
+    private void actualizaProfundidad(int nivel) {
+	if(this.profundidadConocida >= 0 && nivel > this.profundidadConocida)
+	    this.profundidadConocida = nivel;
+    }
+
+    /**
+     * Busca un elemento en el árbol bajando desde la raíz, con una
+     * sola comparación por nivel. Si lo encuentra, regresa un
+     * iterador que apunta a dicho elemento; si no, regresa
+     * <tt>null</tt>. Dos elementos son iguales si su comparación es
+     * cero.
      * @param elemento el elemento a buscar.
      * @return un iterador que apunta al elemento buscado si lo
      *         encuentra; <tt>null</tt> en otro caso.
      */
     @Override public VerticeArbolBinario<T> busca(T elemento) {
-	if(this.getElementos() < 1){
-	    return null;
+	Vertice<T> v = this.raiz;
+	while(v != null){
+	    int c = elemento.compareTo(v.elemento);
+	    if(c == 0)
+		return v;
+	    v = c < 0 ? v.izquierdo : v.derecho;
 	}
-	Vertice<T> v1 = this.raiz;
-	T t1;
-	while(v1 != null){
-	    t1 = v1.elemento;
-	    if(elemento.compareTo(t1)<0){
-		v1 = v1.izquierdo;
-	    }else if(elemento.equals(t1)){
-		return v1;
+	return null;
+    }
+
+    /**
+     * Regresa el vértice con el mayor elemento menor o igual que el
+     * recibido.
+     * @param elemento el elemento a buscar.
+     * @return el vértice con el mayor elemento menor o igual que
+     *         <tt>elemento</tt>, o <tt>null</tt> si no hay.
+     */
+    public VerticeArbolBinario<T> piso(T elemento) {
+	return cotaInferior(elemento, false);
+    }
+
+    /**
+     * Regresa el vértice con el mayor elemento estrictamente menor
+     * que el recibido.
+     * @param elemento el elemento a buscar.
+     * @return el vértice con el mayor elemento menor que
+     *         <tt>elemento</tt>, o <tt>null</tt> si no hay.
+     */
+    public VerticeArbolBinario<T> menor(T elemento) {
+	return cotaInferior(elemento, true);
+    }
+
+    /**
+     * Regresa el vértice con el menor elemento mayor o igual que el
+     * recibido. Si hay varios, regresa el primero en in-orden.
+     * @param elemento el elemento a buscar.
+     * @return el vértice con el menor elemento mayor o igual que
+     *         <tt>elemento</tt>, o <tt>null</tt> si no hay.
+     */
+    public VerticeArbolBinario<T> techo(T elemento) {
+	return cotaSuperior(elemento, false);
+    }
+
+    /**
+     * Regresa el vértice con el menor elemento estrictamente mayor
+     * que el recibido. Si hay varios, regresa el primero en
+     * in-orden.
+     * @param elemento el elemento a buscar.
+     * @return el vértice con el menor elemento mayor que
+     *         <tt>elemento</tt>, o <tt>null</tt> si no hay.
+     */
+    public VerticeArbolBinario<T> mayor(T elemento) {
+	return cotaSuperior(elemento, true);
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol estrictamente
+     * menores que el recibido. Baja al primer elemento mayor o igual
+     * y cuenta los vértices anteriores caminando en in-orden, así que
+     * tarda <i>O</i>(log <i>n</i> + <i>r</i>) en un árbol balanceado,
+     * donde <i>r</i> es el resultado.
+     * @param elemento el elemento a buscar.
+     * @return el número de elementos menores que <tt>elemento</tt>.
+     */
+    public int rango(T elemento) {
+	Vertice<T> techo = cotaSuperior(elemento, false);
+	if(techo == null)
+	    return this.elementos;
+	int r = 0;
+	for(Vertice<T> v = minimo(this.raiz); v != techo; v = sucesor(v))
+	    r++;
+	return r;
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo elemento del árbol en in-orden,
+     * empezando en cero. Tarda <i>O</i>(log <i>n</i> + <i>i</i>) en
+     * un árbol balanceado.
+     * @param i el índice del elemento que queremos.
+     * @return el <em>i</em>-ésimo menor elemento del árbol.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que
+     *         cero, o mayor o igual que el número de elementos.
+     */
+    public T seleccion(int i) {
+	if(i < 0 || i >= this.elementos)
+	    throw new ExcepcionIndiceInvalido();
+	Vertice<T> v = minimo(this.raiz);
+	while(i-- > 0)
+	    v = sucesor(v);
+	return v.elemento;
+    }
+
+    /**
+     * Regresa el número de elementos del árbol en el intervalo
+     * cerrado [<tt>desde</tt>, <tt>hasta</tt>]. Camina los elementos
+     * del intervalo, así que tarda <i>O</i>(log <i>n</i> +
+     * <i>k</i>) en un árbol balanceado, donde <i>k</i> es el
+     * resultado.
+     * @param desde el extremo inferior del intervalo.
+     * @param hasta el extremo superior del intervalo.
+     * @return el número de elementos en el intervalo; 0 si
+     *         <tt>desde</tt> es mayor que <tt>hasta</tt>.
+     */
+    public int cuentaEnRango(T desde, T hasta) {
+	int c = 0;
+	for(Iterator<T> i = intervalo(desde, hasta).iterator(); i.hasNext(); i.next())
+	    c++;
+	return c;
+    }
+
+    /**
+     * Regresa un iterable con los elementos del árbol en el
+     * intervalo cerrado [<tt>desde</tt>, <tt>hasta</tt>], en orden.
+     * El iterador baja una vez al primer elemento del intervalo y
+     * después avanza en in-orden por los padres, con una comparación
+     * por elemento; no hay que modificar el árbol mientras se usa.
+     * @param desde el extremo inferior del intervalo.
+     * @param hasta el extremo superior del intervalo.
+     * @return un iterable con los elementos del intervalo.
+     */
+    public Iterable<T> intervalo(final T desde, final T hasta) {
+	return new Iterable<T>() {
+	    @Override public Iterator<T> iterator() {
+		return new IteradorIntervalo(cotaSuperior(desde, false), hasta);
+	    }
+	};
+    }
+
+    /**
+     * Regresa el vértice siguiente (en in-order) al vertice que
+     * recibe, usando los padres.
+     * @param vertice el vértice del que queremos el siguiente.
+     * @return el vértice siguiente en in-order, o <tt>null</tt> si
+     *         el recibido es el último.
+     */
+    protected Vertice<T> sucesor(Vertice<T> vertice) {
+	if(vertice.derecho != null)
+	    return minimo(vertice.derecho);
+	Vertice<T> v = vertice;
+	while(v.padre != null && v.padre.derecho == v)
+	    v = v.padre;
+	return v.padre;
+    }
+
+    //Metodo privado para regresar el vértice más a la izquierda del
+    //subárbol con raíz en el vértice recibido.
+    private Vertice<T> minimo(Vertice<T> vertice) {
+	Vertice<T> v = vertice;
+	while(v.izquierdo != null)
+	    v = v.izquierdo;
+	return v;
+    }
+
+    //Metodo privado para buscar el último vértice en in-orden con un
+    //elemento menor o igual (o estrictamente menor, si estricta es
+    //verdadero) que el recibido. Una comparación por nivel.
+    private Vertice<T> cotaInferior(T elemento, boolean estricta) {
+	Vertice<T> v = this.raiz, cota = null;
+	while(v != null){
+	    int c = elemento.compareTo(v.elemento);
+	    if(c > 0 || (c == 0 && !estricta)){
+		cota = v;
+		v = v.derecho;
 	    }else{
-		v1 = v1.derecho;
-	    }	
-	}	
-	return null;	
-    }	
-    
+		v = v.izquierdo;
+	    }
+	}
+	return cota;
+    }
+
+    //Metodo privado para buscar el primer vértice en in-orden con un
+    //elemento mayor o igual (o estrictamente mayor, si estricta es
+    //verdadero) que el recibido. Una comparación por nivel.
+    private Vertice<T> cotaSuperior(T elemento, boolean estricta) {
+	Vertice<T> v = this.raiz, cota = null;
+	while(v != null){
+	    int c = elemento.compareTo(v.elemento);
+	    if(c < 0 || (c == 0 && !estricta)){
+		cota = v;
+		v = v.izquierdo;
+	    }else{
+		v = v.derecho;
+	    }
+	}
+	return cota;
+    }
+
     /**
      * Regresa el vertice anterior (en in-order) al vertice que recibe.
      * @param vertice el vertice del que queremos encontrar el anterior.
@@ -326,6 +568,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     protected void giraDerecha(Vertice<T> vertice) {
 	if(vertice.izquierdo != null){
+	    this.profundidadConocida = -1;
 	    if(vertice.padre != null){
 		if(vertice.padre.izquierdo == vertice)
 		    vertice.padre.izquierdo = vertice.izquierdo;
@@ -365,6 +608,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     protected void giraIzquierda(Vertice<T> vertice) {
 	if(vertice.derecho != null){
+	    this.profundidadConocida = -1;
 	    if(vertice.padre != null){
 		if(vertice.padre.izquierdo == vertice)
 		    vertice.padre.izquierdo = vertice.derecho;
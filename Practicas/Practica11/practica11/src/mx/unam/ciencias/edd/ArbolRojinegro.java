@@ -27,6 +27,8 @@
  */
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
+
 /**
  * @autor Jose Ricardo Rodriguez Abreu
  * @version 1.5
@@ -48,10 +50,163 @@ package mx.unam.ciencias.edd;
  * Los árboles rojinegros son autobalanceados, y por lo tanto las
  * operaciones de inserción, eliminación y búsqueda pueden
  * realizarse en <i>O</i>(log <i>n</i>).
+ *
+ * En modo {@link #CON_TAMANOS} cada vértice guarda además el tamaño
+ * de su subárbol, y {@link #seleccion}, {@link #rango} y {@link
+ * #cuentaEnRango} también toman tiempo <i>O</i>(log <i>n</i>).
+ *
+ * Un árbol puede construirse en tiempo lineal a partir de elementos
+ * ya ordenados, y dos árboles pueden mezclarse con {@link #mezcla}
+ * también en tiempo lineal, en lugar de agregar los elementos uno
+ * por uno.
  */
 public class ArbolRojinegro<T extends Comparable<T>>
     extends ArbolBinarioOrdenado<T> {
 
+    /**
+     * Modo simple: los vértices no guardan el tamaño de sus
+     * subárboles.
+     */
+    public static final int SIMPLE = 0;
+    /**
+     * Modo con tamaños: cada vértice guarda el tamaño de su
+     * subárbol, lo que cuesta mantenerlo al agregar, eliminar y
+     * girar, pero permite estadísticas de orden en tiempo
+     * logarítmico.
+     */
+    public static final int CON_TAMANOS = 1;
+
+    /* Si mantenemos los tamaños de los subárboles. */
+    private boolean tamanos;
+
+    /* Vértices que guardan el tamaño de su subárbol; sólo se usan en
+     * modo CON_TAMANOS, para que en modo SIMPLE los vértices no
+     * paguen por el campo. */
+    private class VerticeConTamano extends Vertice<T> {
+        /* El número de vértices en el subárbol del vértice. */
+        public int tamano;
+        /* Crea un vértice con el elemento recibido. */
+        public VerticeConTamano(T elemento) {
+            super(elemento);
+        }
+    }
+
+    /**
+     * Construye un árbol rojinegro vacío en modo {@link #SIMPLE}.
+     */
+    public ArbolRojinegro() {
+	this(SIMPLE);
+    }
+
+    /**
+     * Construye un árbol rojinegro vacío en el modo recibido.
+     * @param modo {@link #SIMPLE} o {@link #CON_TAMANOS}.
+     * @throws IllegalArgumentException si recibe un modo no
+     *         reconocido.
+     */
+    public ArbolRojinegro(int modo) {
+	super();
+	if(modo != SIMPLE && modo != CON_TAMANOS)
+	    throw new IllegalArgumentException();
+	this.tamanos = modo == CON_TAMANOS;
+    }
+
+    /**
+     * Construye un árbol rojinegro en modo {@link #SIMPLE} con los
+     * elementos del arreglo recibido, que debe estar ordenado.
+     * @param ordenados los elementos, ordenados de menor a mayor.
+     * @throws IllegalArgumentException si el arreglo no está
+     *         ordenado.
+     * @see #ArbolRojinegro(Comparable[],int)
+     */
+    public ArbolRojinegro(T[] ordenados) {
+	this(ordenados, SIMPLE);
+    }
+
+    /**
+     * Construye un árbol rojinegro en el modo recibido con los
+     * elementos del arreglo recibido, que debe estar ordenado. El
+     * árbol se arma directamente en tiempo <i>O</i>(<i>n</i>), sin
+     * búsquedas ni giros: queda perfectamente balanceado, con todos
+     * sus vértices negros salvo los del último nivel.
+     * @param ordenados los elementos, ordenados de menor a mayor.
+     * @param modo {@link #SIMPLE} o {@link #CON_TAMANOS}.
+     * @throws IllegalArgumentException si el arreglo no está
+     *         ordenado, o si recibe un modo no reconocido.
+     */
+    public ArbolRojinegro(T[] ordenados, int modo) {
+	this(modo);
+	construye(ordenados, ordenados.length);
+    }
+
+    /**
+     * Construye un árbol rojinegro en modo {@link #SIMPLE} con los
+     * elementos del iterable recibido (por ejemplo, una {@link
+     * Lista}), que deben venir ordenados.
+     * @param ordenados los elementos, ordenados de menor a mayor.
+     * @throws IllegalArgumentException si los elementos no están
+     *         ordenados.
+     * @see #ArbolRojinegro(Iterable,int)
+     */
+    public ArbolRojinegro(Iterable<T> ordenados) {
+	this(ordenados, SIMPLE);
+    }
+
+    /**
+     * Construye un árbol rojinegro en el modo recibido con los
+     * elementos del iterable recibido (por ejemplo, una {@link
+     * Lista}), que deben venir ordenados. Los elementos se copian a
+     * un arreglo y el árbol se arma en tiempo <i>O</i>(<i>n</i>),
+     * igual que con {@link #ArbolRojinegro(Comparable[],int)}.
+     * @param ordenados los elementos, ordenados de menor a mayor.
+     * @param modo {@link #SIMPLE} o {@link #CON_TAMANOS}.
+     * @throws IllegalArgumentException si los elementos no están
+     *         ordenados, o si recibe un modo no reconocido.
+     */
+    public ArbolRojinegro(Iterable<T> ordenados, int modo) {
+	this(modo);
+	Object[] a = new Object[16];
+	int n = 0;
+	for(T elemento : ordenados){
+	    if(n == a.length)
+		a = Arrays.copyOf(a, n * 2);
+	    a[n++] = elemento;
+	}
+	construye(a, n);
+    }
+
+    /**
+     * Mezcla dos árboles rojinegros en uno nuevo con los elementos
+     * de ambos. Los árboles se recorren en in-orden y el resultado se
+     * arma directamente, así que toma tiempo <i>O</i>(<i>n</i> +
+     * <i>m</i>). Los árboles recibidos no se modifican; el nuevo
+     * está en modo {@link #CON_TAMANOS} si alguno de los dos lo
+     * está. Entre elementos iguales, los del primer árbol quedan
+     * antes.
+     * @param a el primer árbol.
+     * @param b el segundo árbol.
+     * @return un árbol nuevo con los elementos de ambos árboles.
+     */
+    public static <T extends Comparable<T>> ArbolRojinegro<T>
+	mezcla(ArbolRojinegro<T> a, ArbolRojinegro<T> b) {
+	Object[] x = enOrden(a), y = enOrden(b);
+	Object[] z = new Object[x.length + y.length];
+	int i = 0, j = 0, k = 0;
+	while(i < x.length && j < y.length){
+	    @SuppressWarnings("unchecked") T ex = (T)x[i];
+	    @SuppressWarnings("unchecked") T ey = (T)y[j];
+	    z[k++] = ey.compareTo(ex) < 0 ? y[j++] : x[i++];
+	}
+	while(i < x.length)
+	    z[k++] = x[i++];
+	while(j < y.length)
+	    z[k++] = y[j++];
+	ArbolRojinegro<T> r =
+	    new ArbolRojinegro<T>(a.tamanos || b.tamanos ? CON_TAMANOS : SIMPLE);
+	r.construye(z, z.length);
+	return r;
+    }
+
     /**
      * Agrega un nuevo elemento al árbol. El método invoca al método
      * {@link ArbolBinarioOrdenado#agrega}, y después balancea el
@@ -63,6 +218,11 @@ public class ArbolRojinegro<T extends Comparable<T>>
     @Override public VerticeArbolBinario<T> agrega(T elemento) {
 	Vertice<T> v =vertice(super.agrega(elemento));
 	v.color = Color.ROJO;
+	if(tamanos){
+	    conTamano(v).tamano = 1;
+	    for(Vertice<T> p = v.padre; p != null; p = p.padre)
+		conTamano(p).tamano++;
+	}
         balancearAgrega(v);
 	return v;
     }
@@ -74,10 +234,11 @@ public class ArbolRojinegro<T extends Comparable<T>>
      * @param elemento el elemento a eliminar del árbol.
      */
     @Override public void elimina(T elemento) {
+	this.profundidadConocida = -1;
 	//Buscamos al vertice a eliminar y si no existe terminamos 
 	Vertice<T> v = vertice(busca(elemento));
 	Vertice<T> h = null;
-	Vertice<T> fantasma = new Vertice<T>(null);
+	Vertice<T> fantasma = nuevoVertice(null);
 	if(v != null){
 	    this.elementos--;
 	    //Buscamos al anterior de v
@@ -88,6 +249,10 @@ public class ArbolRojinegro<T extends Comparable<T>>
 		anterior.elemento = elemento;
 		v = anterior;
 	    }
+	    //v es el vértice que sale del árbol: sus ancestros pierden uno
+	    if(tamanos)
+		for(Vertice<T> p = v.padre; p != null; p = p.padre)
+		    conTamano(p).tamano--;
 	    //Si v no tiene hijos creamos al fantasma
 		if(!(v.hayDerecho() || v.hayIzquierdo())){
 		    fantasma.color = Color.NEGRO;
@@ -149,6 +314,197 @@ public class ArbolRojinegro<T extends Comparable<T>>
 	}
     }
 
+    /**
+     * Regresa el <em>i</em>-ésimo elemento del árbol en in-orden,
+     * empezando en cero. En modo {@link #CON_TAMANOS} baja
+     * directamente al elemento en tiempo <i>O</i>(log <i>n</i>).
+     * @param i el índice del elemento que queremos.
+     * @return el <em>i</em>-ésimo menor elemento del árbol.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que
+     *         cero, o mayor o igual que el número de elementos.
+     */
+    @Override public T seleccion(int i) {
+	if(!tamanos)
+	    return super.seleccion(i);
+	if(i < 0 || i >= this.elementos)
+	    throw new ExcepcionIndiceInvalido();
+	Vertice<T> v = this.raiz;
+	while(true){
+	    int izquierdo = tamano(v.izquierdo);
+	    if(i == izquierdo)
+		return v.elemento;
+	    if(i < izquierdo){
+		v = v.izquierdo;
+	    }else{
+		i -= izquierdo + 1;
+		v = v.derecho;
+	    }
+	}
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol estrictamente
+     * menores que el recibido. En modo {@link #CON_TAMANOS} toma
+     * tiempo <i>O</i>(log <i>n</i>), con una comparación por nivel.
+     * @param elemento el elemento a buscar.
+     * @return el número de elementos menores que <tt>elemento</tt>.
+     */
+    @Override public int rango(T elemento) {
+	if(!tamanos)
+	    return super.rango(elemento);
+	return cuenta(elemento, false);
+    }
+
+    /**
+     * Regresa el número de elementos del árbol en el intervalo
+     * cerrado [<tt>desde</tt>, <tt>hasta</tt>]. En modo {@link
+     * #CON_TAMANOS} toma tiempo <i>O</i>(log <i>n</i>) sin importar
+     * cuántos elementos haya en el intervalo.
+     * @param desde el extremo inferior del intervalo.
+     * @param hasta el extremo superior del intervalo.
+     * @return el número de elementos en el intervalo; 0 si
+     *         <tt>desde</tt> es mayor que <tt>hasta</tt>.
+     */
+    @Override public int cuentaEnRango(T desde, T hasta) {
+	if(!tamanos)
+	    return super.cuentaEnRango(desde, hasta);
+	if(desde.compareTo(hasta) > 0)
+	    return 0;
+	return cuenta(hasta, true) - cuenta(desde, false);
+    }
+
+    /**
+     * Gira el árbol a la derecha sobre el vértice recibido, y en
+     * modo {@link #CON_TAMANOS} actualiza los tamaños de los dos
+     * vértices que cambian de subárbol.
+     * @param vertice el vértice sobre el que vamos a girar.
+     */
+    @Override protected void giraDerecha(Vertice<T> vertice) {
+	Vertice<T> hijo = vertice.izquierdo;
+	super.giraDerecha(vertice);
+	if(tamanos && hijo != null)
+	    actualizaTamanos(vertice, hijo);
+    }
+
+    /**
+     * Gira el árbol a la izquierda sobre el vértice recibido, y en
+     * modo {@link #CON_TAMANOS} actualiza los tamaños de los dos
+     * vértices que cambian de subárbol.
+     * @param vertice el vértice sobre el que vamos a girar.
+     */
+    @Override protected void giraIzquierda(Vertice<T> vertice) {
+	Vertice<T> hijo = vertice.derecho;
+	super.giraIzquierda(vertice);
+	if(tamanos && hijo != null)
+	    actualizaTamanos(vertice, hijo);
+    }
+
+    /**
+     * Crea un vértice nuevo; en modo {@link #CON_TAMANOS}, uno que
+     * guarda el tamaño de su subárbol.
+     * @param elemento el elemento del vértice.
+     * @return un vértice nuevo con el elemento recibido.
+     */
+    @Override protected Vertice<T> nuevoVertice(T elemento) {
+	if(tamanos)
+	    return new VerticeConTamano(elemento);
+	return super.nuevoVertice(elemento);
+    }
+
+    //Metodo privado para actualizar los tamaños después de un giro:
+    //el hijo que subió tiene ahora el subárbol completo, y el vértice
+    //que bajó sólo sus nuevos hijos. El fantasma de elimina tiene
+    //tamaño 0 y nunca es el que sube.
+    private void actualizaTamanos(Vertice<T> bajo, Vertice<T> subio) {
+	conTamano(subio).tamano = conTamano(bajo).tamano;
+	conTamano(bajo).tamano = 1 + tamano(bajo.izquierdo) + tamano(bajo.derecho);
+    }
+
+    //Metodo privado para regresar el tamaño de un subárbol que puede
+    //ser vacío.
+    private int tamano(Vertice<T> v) {
+	return v == null ? 0 : conTamano(v).tamano;
+    }
+
+    //Metodo privado para ver un vértice como vértice con tamaño; en
+    //modo CON_TAMANOS todos los vértices lo son.
+    private VerticeConTamano conTamano(Vertice<T> v) {
+	@SuppressWarnings("unchecked") VerticeConTamano t = (VerticeConTamano)v;
+	return t;
+    }
+
+    //Metodo privado para contar los elementos menores (o menores o
+    //iguales, si incluyendo es verdadero) que el recibido.
+    private int cuenta(T elemento, boolean incluyendo) {
+	Vertice<T> v = this.raiz;
+	int r = 0;
+	while(v != null){
+	    int c = elemento.compareTo(v.elemento);
+	    if(c > 0 || (c == 0 && incluyendo)){
+		r += tamano(v.izquierdo) + 1;
+		v = v.derecho;
+	    }else{
+		v = v.izquierdo;
+	    }
+	}
+	return r;
+    }
+
+    //Metodo privado para regresar en un arreglo los elementos de un
+    //árbol en in-orden.
+    private static <T extends Comparable<T>> Object[] enOrden(ArbolRojinegro<T> arbol) {
+	final Object[] a = new Object[arbol.elementos];
+	final int[] i = { 0 };
+	arbol.dfsInorden(new AccionVerticeArbolBinario<T>() {
+		@Override public void actua(VerticeArbolBinario<T> vertice) {
+		    a[i[0]++] = vertice.get();
+		}
+	    });
+	return a;
+    }
+
+    //Metodo privado para armar el árbol con los primeros n elementos
+    //del arreglo, que deben estar ordenados. El vértice de en medio
+    //es la raíz y cada mitad un subárbol, así que las hojas quedan a
+    //lo más a un nivel de distancia; si todos los vértices son
+    //negros salvo los del nivel más profundo, todos los caminos
+    //tienen el mismo número de negros y ningún rojo tiene hijos.
+    private void construye(Object[] a, int n) {
+	for(int i = 1; i < n; i++)
+	    if(elemento(a, i - 1).compareTo(elemento(a, i)) > 0)
+		throw new IllegalArgumentException();
+	int profundidad = 31 - Integer.numberOfLeadingZeros(n);
+	this.raiz = construye(a, 0, n - 1, 0, profundidad > 0 ? profundidad : -1);
+	this.elementos = n;
+	this.profundidadConocida = profundidad;
+    }
+
+    //Metodo privado recursivo para armar el subárbol con los
+    //elementos entre ini y fin. La recursión sólo llega a la
+    //profundidad del árbol, que es logarítmica.
+    private Vertice<T> construye(Object[] a, int ini, int fin, int nivel, int rojo) {
+	if(ini > fin)
+	    return null;
+	int m = (ini + fin) >>> 1;
+	Vertice<T> v = nuevoVertice(elemento(a, m));
+	v.color = nivel == rojo ? Color.ROJO : Color.NEGRO;
+	if(tamanos)
+	    conTamano(v).tamano = fin - ini + 1;
+	v.izquierdo = construye(a, ini, m - 1, nivel + 1, rojo);
+	if(v.izquierdo != null)
+	    v.izquierdo.padre = v;
+	v.derecho = construye(a, m + 1, fin, nivel + 1, rojo);
+	if(v.derecho != null)
+	    v.derecho.padre = v;
+	return v;
+    }
+
+    //Metodo privado para ver un elemento del arreglo como T.
+    private T elemento(Object[] a, int i) {
+	@SuppressWarnings("unchecked") T e = (T)a[i];
+	return e;
+    }
+
     /**
      * Metodo balancea el arbol rojinegro
      * @param v es el vertice del cual parte
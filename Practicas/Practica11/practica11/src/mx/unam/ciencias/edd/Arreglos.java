@@ -28,7 +28,9 @@
 
 package mx.unam.ciencias.edd;
 
-import java.util.Random;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * @autor Jose Ricardo Rodriguez Abreu
@@ -38,54 +40,165 @@ import java.util.Random;
  */
 public class Arreglos {
 
+    /* Los pedazos de a lo más este tamaño se ordenan por inserción. */
+    private static final int INSERCION = 32;
+    /* Los pedazos de a lo más este tamaño se ordenan o mezclan en un
+     * solo hilo. */
+    private static final int CORTE_PARALELO = 1 << 13;
+
     /**
      * Intercambia dos elementos de un arreglo.
      * @param a es el arreglo en el que intercabiará los elementos.
      * @param i es la posición de un elemento a intercambiar.
      * @param j es la posición de el segundo elemento intercambiar.
      */
-    private static <T extends Comparable<T>> void intercambia(T[] a, int i, int j){
+    private static <T> void intercambia(T[] a, int i, int j){
 	T aux = a[i];
 	a[i] = a[j];
 	a[j] = aux;
     }
-    
+
     /**
-     * Ordena el arreglo recibido usando QuickSort.
-     * @param a un arreglo cuyos elementos son comparables.
-     * @param ini la posición de el primer elemento del arreglo.
-     * @param fin la posición de el último elemento del arreglo.
+     * Ordena a[ini, fin) usando QuickSort con dos pivotes. Los
+     * pivotes se eligen de una muestra de cinco elementos repartidos
+     * en el pedazo, por lo que los arreglos ya ordenados o en reversa
+     * no son el peor caso. Si los dos pivotes son iguales se hace una
+     * partición en tres (menores, iguales y mayores), para que los
+     * arreglos con muchos repetidos tampoco lo sean. Se recurre sobre
+     * los pedazos chicos y se itera sobre el más grande, por lo que la
+     * pila tiene profundidad logarítmica.
+     * @param a un arreglo.
+     * @param ini la posición de el primer elemento a ordenar.
+     * @param fin la posición siguiente a la del último elemento a
+     *        ordenar.
+     * @param c el comparador que define el orden.
      */
-    private static <T extends Comparable<T>>
-			      void quickSort(T[] a, int ini, int fin){
-	if(fin - ini < 1){
-	    return;
+    private static <T> void quickSort(T[] a, int ini, int fin,
+				      Comparator<? super T> c){
+	while(fin - ini > INSERCION){
+	    int largo = fin - ini;
+	    int septimo = (largo >> 3) + (largo >> 6) + 1;
+	    int e3 = (ini + fin - 1) >>> 1;
+	    int e2 = e3 - septimo, e1 = e2 - septimo;
+	    int e4 = e3 + septimo, e5 = e4 + septimo;
+	    ordenaMuestra(a, c, e1, e2, e3, e4, e5);
+	    if(c.compare(a[e2], a[e4]) == 0){
+		/* Partición en tres alrededor de a[e3]. */
+		T p = a[e3];
+		int menores = ini, mayores = fin - 1, i = ini;
+		while(i <= mayores){
+		    int r = c.compare(a[i], p);
+		    if(r < 0)
+			intercambia(a, menores++, i++);
+		    else if(r > 0)
+			intercambia(a, i, mayores--);
+		    else
+			i++;
+		}
+		if(menores - ini < fin - mayores){
+		    quickSort(a, ini, menores, c);
+		    ini = mayores + 1;
+		}else{
+		    quickSort(a, mayores + 1, fin, c);
+		    fin = menores;
+		}
+		continue;
+	    }
+	    /* Partición con dos pivotes: [ini, menores) < p1,
+	     * [menores, mayores] entre p1 y p2, (mayores, fin) > p2. */
+	    T p1 = a[e2], p2 = a[e4];
+	    a[e2] = a[ini];
+	    a[e4] = a[fin - 1];
+	    int menores = ini + 1, mayores = fin - 2;
+	    for(int k = menores; k <= mayores; k++){
+		if(c.compare(a[k], p1) < 0){
+		    intercambia(a, k, menores++);
+		}else if(c.compare(a[k], p2) > 0){
+		    while(k < mayores && c.compare(a[mayores], p2) > 0)
+			mayores--;
+		    intercambia(a, k, mayores--);
+		    if(c.compare(a[k], p1) < 0)
+			intercambia(a, k, menores++);
+		}
+	    }
+	    menores--;
+	    mayores++;
+	    a[ini] = a[menores];
+	    a[menores] = p1;
+	    a[fin - 1] = a[mayores];
+	    a[mayores] = p2;
+	    /* Recurrimos sobre los dos pedazos más chicos. */
+	    int n1 = menores - ini, n2 = mayores - menores - 1, n3 = fin - mayores - 1;
+	    if(n1 >= n2 && n1 >= n3){
+		quickSort(a, menores + 1, mayores, c);
+		quickSort(a, mayores + 1, fin, c);
+		fin = menores;
+	    }else if(n2 >= n3){
+		quickSort(a, ini, menores, c);
+		quickSort(a, mayores + 1, fin, c);
+		ini = menores + 1;
+		fin = mayores;
+	    }else{
+		quickSort(a, ini, menores, c);
+		quickSort(a, menores + 1, mayores, c);
+		ini = mayores + 1;
+	    }
 	}
-	int i = ini + 1, j = fin;
-	while(i < j) {
-	    if(a[i].compareTo(a[ini]) > 0 && a[j].compareTo(a[ini]) <= 0){
-		intercambia(a, i++, j--);
-	    } else if(a[i].compareTo(a[ini]) <= 0){
-		i++;
-	    } else{
+	insertionSort(a, ini, fin, c);
+    }
+
+    /**
+     * Ordena por inserción los elementos en las posiciones
+     * recibidas, que deben ser crecientes.
+     * @param a un arreglo.
+     * @param c el comparador que define el orden.
+     * @param e las posiciones de la muestra.
+     */
+    private static <T> void ordenaMuestra(T[] a, Comparator<? super T> c,
+					  int... e){
+	for(int i = 1; i < e.length; i++)
+	    for(int j = i; j > 0 && c.compare(a[e[j]], a[e[j-1]]) < 0; j--)
+		intercambia(a, e[j], e[j-1]);
+    }
+
+    /**
+     * Ordena a[ini, fin) usando InsertionSort.
+     * @param a un arreglo.
+     * @param ini la posición de el primer elemento a ordenar.
+     * @param fin la posición siguiente a la del último elemento a
+     *        ordenar.
+     * @param c el comparador que define el orden.
+     */
+    private static <T> void insertionSort(T[] a, int ini, int fin,
+					  Comparator<? super T> c){
+	for(int i = ini + 1; i < fin; i++){
+	    T e = a[i];
+	    int j = i - 1;
+	    while(j >= ini && c.compare(a[j], e) > 0){
+		a[j+1] = a[j];
 		j--;
-	    } 
-	}
-	if(a[i].compareTo(a[ini]) > 0){
-	    i--;
+	    }
+	    a[j+1] = e;
 	}
-	intercambia(a, i, ini);
-	quickSort(a, ini, i-1);
-	quickSort(a, i+1, fin);
     }
-    
+
     /**
      * Ordena el arreglo recibido usando QickSort.
      * @param a un arreglo cuyos elementos son comparables.
      */
     public static <T extends Comparable<T>>
                      void quickSort(T[] a) {
-	quickSort(a, 0, a.length-1);
+	quickSort(a, 0, a.length, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort y el comparador
+     * recibido.
+     * @param a un arreglo.
+     * @param c el comparador que define el orden.
+     */
+    public static <T> void quickSort(T[] a, Comparator<? super T> c) {
+	quickSort(a, 0, a.length, c);
     }
 
     /**
@@ -94,18 +207,172 @@ public class Arreglos {
      */
     public static <T extends Comparable<T>>
                      void insertionSort(T[] a) {
-	int min;
-	for(int i = 0; i < a.length; i++){
-	    min = i;
-	    for(int j = i; j < a.length; j++){
-		if(a[j].compareTo(a[min]) < 0){
-		    min = j;
-		}
+	insertionSort(a, 0, a.length, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Ordena el arreglo recibido usando InsertionSort y el
+     * comparador recibido.
+     * @param a un arreglo.
+     * @param c el comparador que define el orden.
+     */
+    public static <T> void insertionSort(T[] a, Comparator<? super T> c) {
+	insertionSort(a, 0, a.length, c);
+    }
+
+    /**
+     * Ordena el arreglo recibido en paralelo, usando el {@link
+     * ForkJoinPool#commonPool} común.
+     * @param a un arreglo cuyos elementos son comparables.
+     * @see #ordenaParalelo(Object[],Comparator,ForkJoinPool)
+     */
+    public static <T extends Comparable<T>> void ordenaParalelo(T[] a) {
+	ordenaParalelo(a, Comparator.<T>naturalOrder(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ordena el arreglo recibido en paralelo con el comparador
+     * recibido, usando el {@link ForkJoinPool#commonPool} común.
+     * @param a un arreglo.
+     * @param c el comparador que define el orden.
+     * @see #ordenaParalelo(Object[],Comparator,ForkJoinPool)
+     */
+    public static <T> void ordenaParalelo(T[] a, Comparator<? super T> c) {
+	ordenaParalelo(a, c, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ordena el arreglo recibido en paralelo con el comparador
+     * recibido, usando los hilos de la alberca recibida. Es un
+     * MergeSort: el arreglo se parte a la mitad hasta tener pedazos
+     * de unos miles de elementos, que se ordenan en un solo hilo con
+     * QuickSort, y las mitades se mezclan también en paralelo. Usa un
+     * arreglo auxiliar del tamaño del recibido. Los arreglos chicos
+     * se ordenan directamente con QuickSort.
+     * @param a un arreglo.
+     * @param c el comparador que define el orden.
+     * @param alberca la alberca de hilos a usar.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void ordenaParalelo(T[] a, Comparator<? super T> c,
+					  ForkJoinPool alberca) {
+	if(a.length <= CORTE_PARALELO){
+	    quickSort(a, 0, a.length, c);
+	    return;
+	}
+	T[] aux = (T[])new Object[a.length];
+	alberca.invoke(new Ordenamiento<T>(a, aux, 0, a.length, false, c));
+    }
+
+    /* Tarea para ordenar a[ini, fin). Si haciaAux es verdadero el
+     * resultado queda en aux[ini, fin); si no, en a[ini, fin). Los
+     * hijos dejan sus mitades en el otro arreglo, de donde se mezclan
+     * hacia el que nos toca, así que sólo las hojas copian. */
+    @SuppressWarnings("serial")
+    private static class Ordenamiento<T> extends RecursiveAction {
+
+	private final T[] a;
+	private final T[] aux;
+	private final int ini;
+	private final int fin;
+	private final boolean haciaAux;
+	private final Comparator<? super T> c;
+
+	public Ordenamiento(T[] a, T[] aux, int ini, int fin,
+			    boolean haciaAux, Comparator<? super T> c) {
+	    this.a = a;
+	    this.aux = aux;
+	    this.ini = ini;
+	    this.fin = fin;
+	    this.haciaAux = haciaAux;
+	    this.c = c;
+	}
+
+	@Override protected void compute() {
+	    if(fin - ini <= CORTE_PARALELO){
+		quickSort(a, ini, fin, c);
+		if(haciaAux)
+		    System.arraycopy(a, ini, aux, ini, fin - ini);
+		return;
+	    }
+	    int mitad = (ini + fin) >>> 1;
+	    invokeAll(new Ordenamiento<T>(a, aux, ini, mitad, !haciaAux, c),
+		      new Ordenamiento<T>(a, aux, mitad, fin, !haciaAux, c));
+	    T[] origen = haciaAux ? a : aux;
+	    T[] destino = haciaAux ? aux : a;
+	    new Mezcla<T>(origen, destino, ini, mitad, mitad, fin, ini, c).compute();
+	}
+    }
+
+    /* Tarea para mezclar origen[i1, f1) y origen[i2, f2), ya
+     * ordenados, en destino a partir de k. Si son grandes, se parte
+     * el más largo a la mitad, se busca en el otro dónde cae el
+     * elemento de en medio, y las dos mezclas resultantes se hacen en
+     * paralelo. */
+    @SuppressWarnings("serial")
+    private static class Mezcla<T> extends RecursiveAction {
+
+	private final T[] origen;
+	private final T[] destino;
+	private final int i1, f1, i2, f2, k;
+	private final Comparator<? super T> c;
+
+	public Mezcla(T[] origen, T[] destino, int i1, int f1, int i2, int f2,
+		      int k, Comparator<? super T> c) {
+	    this.origen = origen;
+	    this.destino = destino;
+	    this.i1 = i1;
+	    this.f1 = f1;
+	    this.i2 = i2;
+	    this.f2 = f2;
+	    this.k = k;
+	    this.c = c;
+	}
+
+	@Override protected void compute() {
+	    int n1 = f1 - i1, n2 = f2 - i2;
+	    if(n1 + n2 <= CORTE_PARALELO){
+		int i = i1, j = i2, d = k;
+		while(i < f1 && j < f2)
+		    destino[d++] = c.compare(origen[j], origen[i]) < 0 ?
+			origen[j++] : origen[i++];
+		System.arraycopy(origen, i, destino, d, f1 - i);
+		System.arraycopy(origen, j, destino, d + f1 - i, f2 - j);
+		return;
 	    }
-	    intercambia(a, i, min);
+	    /* En empates los de la izquierda van primero. */
+	    int m1, m2;
+	    if(n1 >= n2){
+		m1 = (i1 + f1) >>> 1;
+		m2 = cota(origen, i2, f2, origen[m1], c, false);
+	    }else{
+		m2 = (i2 + f2) >>> 1;
+		m1 = cota(origen, i1, f1, origen[m2], c, true);
+	    }
+	    int km = k + (m1 - i1) + (m2 - i2);
+	    invokeAll(new Mezcla<T>(origen, destino, i1, m1, i2, m2, k, c),
+		      new Mezcla<T>(origen, destino, m1, f1, m2, f2, km, c));
 	}
     }
 
+    /**
+     * Regresa la primera posición en a[ini, fin), ya ordenado, cuyo
+     * elemento es mayor (o mayor o igual, si <tt>estricta</tt> es
+     * falso) que e; o fin si no hay ninguna.
+     */
+    private static <T> int cota(T[] a, int ini, int fin, T e,
+				Comparator<? super T> c, boolean estricta) {
+	while(ini < fin){
+	    int m = (ini + fin) >>> 1;
+	    int r = c.compare(a[m], e);
+	    if(r < 0 || (estricta && r == 0))
+		ini = m + 1;
+	    else
+		fin = m;
+	}
+	return ini;
+    }
+
     /**
      * Hace una búsqueda binaria del elemento en el arreglo. Regresa
      * el índice del elemento en el arreglo, o -1 si no se
@@ -144,5 +411,720 @@ public class Arreglos {
      public static <T extends Comparable<T>>
                      int busquedaBinaria(T[] a, T e) {
 	 return busquedaBinaria(a, e, 0, a.length -1);
-    }	
+    }
+
+    /**
+     * Ordena el arreglo recibido de <tt>int</tt> usando QuickSort
+     * con dos pivotes, sin envolver sus elementos.
+     * @param a un arreglo de <tt>int</tt>.
+     */
+    public static void quickSort(int[] a) {
+	quickSort(a, 0, a.length);
+    }
+
+    /* Ordena a[ini, fin); es el mismo algoritmo que para arreglos
+     * genéricos. */
+    private static void quickSort(int[] a, int ini, int fin) {
+	while(fin - ini > INSERCION){
+	    int largo = fin - ini;
+	    int septimo = (largo >> 3) + (largo >> 6) + 1;
+	    int e3 = (ini + fin - 1) >>> 1;
+	    int e2 = e3 - septimo, e1 = e2 - septimo;
+	    int e4 = e3 + septimo, e5 = e4 + septimo;
+	    ordenaMuestra(a, e1, e2, e3, e4, e5);
+	    if(Integer.compare(a[e2], a[e4]) == 0){
+		int p = a[e3];
+		int menores = ini, mayores = fin - 1, i = ini;
+		while(i <= mayores){
+		    int r = Integer.compare(a[i], p);
+		    if(r < 0)
+			intercambia(a, menores++, i++);
+		    else if(r > 0)
+			intercambia(a, i, mayores--);
+		    else
+			i++;
+		}
+		if(menores - ini < fin - mayores){
+		    quickSort(a, ini, menores);
+		    ini = mayores + 1;
+		}else{
+		    quickSort(a, mayores + 1, fin);
+		    fin = menores;
+		}
+		continue;
+	    }
+	    int p1 = a[e2], p2 = a[e4];
+	    a[e2] = a[ini];
+	    a[e4] = a[fin - 1];
+	    int menores = ini + 1, mayores = fin - 2;
+	    for(int k = menores; k <= mayores; k++){
+		if(Integer.compare(a[k], p1) < 0){
+		    intercambia(a, k, menores++);
+		}else if(Integer.compare(a[k], p2) > 0){
+		    while(k < mayores && Integer.compare(a[mayores], p2) > 0)
+			mayores--;
+		    intercambia(a, k, mayores--);
+		    if(Integer.compare(a[k], p1) < 0)
+			intercambia(a, k, menores++);
+		}
+	    }
+	    menores--;
+	    mayores++;
+	    a[ini] = a[menores];
+	    a[menores] = p1;
+	    a[fin - 1] = a[mayores];
+	    a[mayores] = p2;
+	    int n1 = menores - ini, n2 = mayores - menores - 1, n3 = fin - mayores - 1;
+	    if(n1 >= n2 && n1 >= n3){
+		quickSort(a, menores + 1, mayores);
+		quickSort(a, mayores + 1, fin);
+		fin = menores;
+	    }else if(n2 >= n3){
+		quickSort(a, ini, menores);
+		quickSort(a, mayores + 1, fin);
+		ini = menores + 1;
+		fin = mayores;
+	    }else{
+		quickSort(a, ini, menores);
+		quickSort(a, menores + 1, mayores);
+		ini = mayores + 1;
+	    }
+	}
+	for(int i = ini + 1; i < fin; i++){
+	    int e = a[i];
+	    int j = i - 1;
+	    while(j >= ini && Integer.compare(a[j], e) > 0){
+		a[j+1] = a[j];
+		j--;
+	    }
+	    a[j+1] = e;
+	}
+    }
+
+    /* Ordena por inserción los elementos en las posiciones recibidas,
+     * que deben ser crecientes. */
+    private static void ordenaMuestra(int[] a, int... e) {
+	for(int i = 1; i < e.length; i++)
+	    for(int j = i; j > 0 && Integer.compare(a[e[j]], a[e[j-1]]) < 0; j--)
+		intercambia(a, e[j], e[j-1]);
+    }
+
+    /* Intercambia dos elementos de un arreglo de int. */
+    private static void intercambia(int[] a, int i, int j) {
+	int aux = a[i];
+	a[i] = a[j];
+	a[j] = aux;
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado
+     * de <tt>int</tt>. Si el elemento aparece varias veces, regresa
+     * el índice de la primera.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se
+     * encuentra.
+     */
+    public static int busquedaBinaria(int[] a, int e) {
+	int i = cotaInferior(a, e);
+	return i < a.length && Integer.compare(a[i], e) == 0 ? i : -1;
+    }
+
+    /**
+     * Regresa la primera posición del arreglo ordenado de
+     * <tt>int</tt> cuyo elemento es mayor o igual que el recibido;
+     * es decir, dónde habría que insertarlo antes de sus iguales. La
+     * búsqueda es iterativa y el ciclo no tiene saltos que dependan
+     * de los datos: el intervalo se parte a la mitad siempre, y sólo
+     * cambia su base.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return la primera posición cuyo elemento no es menor que
+     *         <tt>e</tt>, o la longitud del arreglo si no hay.
+     */
+    public static int cotaInferior(int[] a, int e) {
+	int base = 0, n = a.length;
+	while(n > 1){
+	    int mitad = n >>> 1;
+	    base = Integer.compare(a[base + mitad - 1], e) < 0 ? base + mitad : base;
+	    n -= mitad;
+	}
+	return n == 1 && Integer.compare(a[base], e) < 0 ? base + 1 : base;
+    }
+
+    /**
+     * Regresa la primera posición del arreglo ordenado de
+     * <tt>int</tt> cuyo elemento es estrictamente mayor que el
+     * recibido; es decir, dónde habría que insertarlo después de sus
+     * iguales.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return la primera posición cuyo elemento es mayor que
+     *         <tt>e</tt>, o la longitud del arreglo si no hay.
+     */
+    public static int cotaSuperior(int[] a, int e) {
+	int base = 0, n = a.length;
+	while(n > 1){
+	    int mitad = n >>> 1;
+	    base = Integer.compare(a[base + mitad - 1], e) <= 0 ? base + mitad : base;
+	    n -= mitad;
+	}
+	return n == 1 && Integer.compare(a[base], e) <= 0 ? base + 1 : base;
+    }
+
+    /**
+     * Ordena el arreglo recibido de <tt>long</tt> usando QuickSort
+     * con dos pivotes, sin envolver sus elementos.
+     * @param a un arreglo de <tt>long</tt>.
+     */
+    public static void quickSort(long[] a) {
+	quickSort(a, 0, a.length);
+    }
+
+    /* Ordena a[ini, fin); es el mismo algoritmo que para arreglos
+     * genéricos. */
+    private static void quickSort(long[] a, int ini, int fin) {
+	while(fin - ini > INSERCION){
+	    int largo = fin - ini;
+	    int septimo = (largo >> 3) + (largo >> 6) + 1;
+	    int e3 = (ini + fin - 1) >>> 1;
+	    int e2 = e3 - septimo, e1 = e2 - septimo;
+	    int e4 = e3 + septimo, e5 = e4 + septimo;
+	    ordenaMuestra(a, e1, e2, e3, e4, e5);
+	    if(Long.compare(a[e2], a[e4]) == 0){
+		long p = a[e3];
+		int menores = ini, mayores = fin - 1, i = ini;
+		while(i <= mayores){
+		    int r = Long.compare(a[i], p);
+		    if(r < 0)
+			intercambia(a, menores++, i++);
+		    else if(r > 0)
+			intercambia(a, i, mayores--);
+		    else
+			i++;
+		}
+		if(menores - ini < fin - mayores){
+		    quickSort(a, ini, menores);
+		    ini = mayores + 1;
+		}else{
+		    quickSort(a, mayores + 1, fin);
+		    fin = menores;
+		}
+		continue;
+	    }
+	    long p1 = a[e2], p2 = a[e4];
+	    a[e2] = a[ini];
+	    a[e4] = a[fin - 1];
+	    int menores = ini + 1, mayores = fin - 2;
+	    for(int k = menores; k <= mayores; k++){
+		if(Long.compare(a[k], p1) < 0){
+		    intercambia(a, k, menores++);
+		}else if(Long.compare(a[k], p2) > 0){
+		    while(k < mayores && Long.compare(a[mayores], p2) > 0)
+			mayores--;
+		    intercambia(a, k, mayores--);
+		    if(Long.compare(a[k], p1) < 0)
+			intercambia(a, k, menores++);
+		}
+	    }
+	    menores--;
+	    mayores++;
+	    a[ini] = a[menores];
+	    a[menores] = p1;
+	    a[fin - 1] = a[mayores];
+	    a[mayores] = p2;
+	    int n1 = menores - ini, n2 = mayores - menores - 1, n3 = fin - mayores - 1;
+	    if(n1 >= n2 && n1 >= n3){
+		quickSort(a, menores + 1, mayores);
+		quickSort(a, mayores + 1, fin);
+		fin = menores;
+	    }else if(n2 >= n3){
+		quickSort(a, ini, menores);
+		quickSort(a, mayores + 1, fin);
+		ini = menores + 1;
+		fin = mayores;
+	    }else{
+		quickSort(a, ini, menores);
+		quickSort(a, menores + 1, mayores);
+		ini = mayores + 1;
+	    }
+	}
+	for(int i = ini + 1; i < fin; i++){
+	    long e = a[i];
+	    int j = i - 1;
+	    while(j >= ini && Long.compare(a[j], e) > 0){
+		a[j+1] = a[j];
+		j--;
+	    }
+	    a[j+1] = e;
+	}
+    }
+
+    /* Ordena por inserción los elementos en las posiciones recibidas,
+     * que deben ser crecientes. */
+    private static void ordenaMuestra(long[] a, int... e) {
+	for(int i = 1; i < e.length; i++)
+	    for(int j = i; j > 0 && Long.compare(a[e[j]], a[e[j-1]]) < 0; j--)
+		intercambia(a, e[j], e[j-1]);
+    }
+
+    /* Intercambia dos elementos de un arreglo de long. */
+    private static void intercambia(long[] a, int i, int j) {
+	long aux = a[i];
+	a[i] = a[j];
+	a[j] = aux;
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado
+     * de <tt>long</tt>. Si el elemento aparece varias veces, regresa
+     * el índice de la primera.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se
+     * encuentra.
+     */
+    public static int busquedaBinaria(long[] a, long e) {
+	int i = cotaInferior(a, e);
+	return i < a.length && Long.compare(a[i], e) == 0 ? i : -1;
+    }
+
+    /**
+     * Regresa la primera posición del arreglo ordenado de
+     * <tt>long</tt> cuyo elemento es mayor o igual que el recibido;
+     * es decir, dónde habría que insertarlo antes de sus iguales. La
+     * búsqueda es iterativa y el ciclo no tiene saltos que dependan
+     * de los datos: el intervalo se parte a la mitad siempre, y sólo
+     * cambia su base.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return la primera posición cuyo elemento no es menor que
+     *         <tt>e</tt>, o la longitud del arreglo si no hay.
+     */
+    public static int cotaInferior(long[] a, long e) {
+	int base = 0, n = a.length;
+	while(n > 1){
+	    int mitad = n >>> 1;
+	    base = Long.compare(a[base + mitad - 1], e) < 0 ? base + mitad : base;
+	    n -= mitad;
+	}
+	return n == 1 && Long.compare(a[base], e) < 0 ? base + 1 : base;
+    }
+
+    /**
+     * Regresa la primera posición del arreglo ordenado de
+     * <tt>long</tt> cuyo elemento es estrictamente mayor que el
+     * recibido; es decir, dónde habría que insertarlo después de sus
+     * iguales.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return la primera posición cuyo elemento es mayor que
+     *         <tt>e</tt>, o la longitud del arreglo si no hay.
+     */
+    public static int cotaSuperior(long[] a, long e) {
+	int base = 0, n = a.length;
+	while(n > 1){
+	    int mitad = n >>> 1;
+	    base = Long.compare(a[base + mitad - 1], e) <= 0 ? base + mitad : base;
+	    n -= mitad;
+	}
+	return n == 1 && Long.compare(a[base], e) <= 0 ? base + 1 : base;
+    }
+
+    /**
+     * Ordena el arreglo recibido de <tt>double</tt> usando QuickSort
+     * con dos pivotes, sin envolver sus elementos. El orden es el de
+     * {@link Double#compare}: -0.0 va antes de 0.0, y los NaN al
+     * final.
+     * @param a un arreglo de <tt>double</tt>.
+     */
+    public static void quickSort(double[] a) {
+	quickSort(a, 0, a.length);
+    }
+
+    /* Ordena a[ini, fin); es el mismo algoritmo que para arreglos
+     * genéricos. */
+    private static void quickSort(double[] a, int ini, int fin) {
+	while(fin - ini > INSERCION){
+	    int largo = fin - ini;
+	    int septimo = (largo >> 3) + (largo >> 6) + 1;
+	    int e3 = (ini + fin - 1) >>> 1;
+	    int e2 = e3 - septimo, e1 = e2 - septimo;
+	    int e4 = e3 + septimo, e5 = e4 + septimo;
+	    ordenaMuestra(a, e1, e2, e3, e4, e5);
+	    if(Double.compare(a[e2], a[e4]) == 0){
+		double p = a[e3];
+		int menores = ini, mayores = fin - 1, i = ini;
+		while(i <= mayores){
+		    int r = Double.compare(a[i], p);
+		    if(r < 0)
+			intercambia(a, menores++, i++);
+		    else if(r > 0)
+			intercambia(a, i, mayores--);
+		    else
+			i++;
+		}
+		if(menores - ini < fin - mayores){
+		    quickSort(a, ini, menores);
+		    ini = mayores + 1;
+		}else{
+		    quickSort(a, mayores + 1, fin);
+		    fin = menores;
+		}
+		continue;
+	    }
+	    double p1 = a[e2], p2 = a[e4];
+	    a[e2] = a[ini];
+	    a[e4] = a[fin - 1];
+	    int menores = ini + 1, mayores = fin - 2;
+	    for(int k = menores; k <= mayores; k++){
+		if(Double.compare(a[k], p1) < 0){
+		    intercambia(a, k, menores++);
+		}else if(Double.compare(a[k], p2) > 0){
+		    while(k < mayores && Double.compare(a[mayores], p2) > 0)
+			mayores--;
+		    intercambia(a, k, mayores--);
+		    if(Double.compare(a[k], p1) < 0)
+			intercambia(a, k, menores++);
+		}
+	    }
+	    menores--;
+	    mayores++;
+	    a[ini] = a[menores];
+	    a[menores] = p1;
+	    a[fin - 1] = a[mayores];
+	    a[mayores] = p2;
+	    int n1 = menores - ini, n2 = mayores - menores - 1, n3 = fin - mayores - 1;
+	    if(n1 >= n2 && n1 >= n3){
+		quickSort(a, menores + 1, mayores);
+		quickSort(a, mayores + 1, fin);
+		fin = menores;
+	    }else if(n2 >= n3){
+		quickSort(a, ini, menores);
+		quickSort(a, mayores + 1, fin);
+		ini = menores + 1;
+		fin = mayores;
+	    }else{
+		quickSort(a, ini, menores);
+		quickSort(a, menores + 1, mayores);
+		ini = mayores + 1;
+	    }
+	}
+	for(int i = ini + 1; i < fin; i++){
+	    double e = a[i];
+	    int j = i - 1;
+	    while(j >= ini && Double.compare(a[j], e) > 0){
+		a[j+1] = a[j];
+		j--;
+	    }
+	    a[j+1] = e;
+	}
+    }
+
+    /* Ordena por inserción los elementos en las posiciones recibidas,
+     * que deben ser crecientes. */
+    private static void ordenaMuestra(double[] a, int... e) {
+	for(int i = 1; i < e.length; i++)
+	    for(int j = i; j > 0 && Double.compare(a[e[j]], a[e[j-1]]) < 0; j--)
+		intercambia(a, e[j], e[j-1]);
+    }
+
+    /* Intercambia dos elementos de un arreglo de double. */
+    private static void intercambia(double[] a, int i, int j) {
+	double aux = a[i];
+	a[i] = a[j];
+	a[j] = aux;
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado
+     * de <tt>double</tt>. Si el elemento aparece varias veces, regresa
+     * el índice de la primera.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se
+     * encuentra.
+     */
+    public static int busquedaBinaria(double[] a, double e) {
+	int i = cotaInferior(a, e);
+	return i < a.length && Double.compare(a[i], e) == 0 ? i : -1;
+    }
+
+    /**
+     * Regresa la primera posición del arreglo ordenado de
+     * <tt>double</tt> cuyo elemento es mayor o igual que el recibido;
+     * es decir, dónde habría que insertarlo antes de sus iguales. La
+     * búsqueda es iterativa y el ciclo no tiene saltos que dependan
+     * de los datos: el intervalo se parte a la mitad siempre, y sólo
+     * cambia su base.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return la primera posición cuyo elemento no es menor que
+     *         <tt>e</tt>, o la longitud del arreglo si no hay.
+     */
+    public static int cotaInferior(double[] a, double e) {
+	int base = 0, n = a.length;
+	while(n > 1){
+	    int mitad = n >>> 1;
+	    base = Double.compare(a[base + mitad - 1], e) < 0 ? base + mitad : base;
+	    n -= mitad;
+	}
+	return n == 1 && Double.compare(a[base], e) < 0 ? base + 1 : base;
+    }
+
+    /**
+     * Regresa la primera posición del arreglo ordenado de
+     * <tt>double</tt> cuyo elemento es estrictamente mayor que el
+     * recibido; es decir, dónde habría que insertarlo después de sus
+     * iguales.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return la primera posición cuyo elemento es mayor que
+     *         <tt>e</tt>, o la longitud del arreglo si no hay.
+     */
+    public static int cotaSuperior(double[] a, double e) {
+	int base = 0, n = a.length;
+	while(n > 1){
+	    int mitad = n >>> 1;
+	    base = Double.compare(a[base + mitad - 1], e) <= 0 ? base + mitad : base;
+	    n -= mitad;
+	}
+	return n == 1 && Double.compare(a[base], e) <= 0 ? base + 1 : base;
+    }
+
+    /**
+     * Ordena el arreglo recibido de <tt>float</tt> usando QuickSort
+     * con dos pivotes, sin envolver sus elementos. El orden es el de
+     * {@link Float#compare}: -0.0 va antes de 0.0, y los NaN al
+     * final.
+     * @param a un arreglo de <tt>float</tt>.
+     */
+    public static void quickSort(float[] a) {
+	quickSort(a, 0, a.length);
+    }
+
+    /* Ordena a[ini, fin); es el mismo algoritmo que para arreglos
+     * genéricos. */
+    private static void quickSort(float[] a, int ini, int fin) {
+	while(fin - ini > INSERCION){
+	    int largo = fin - ini;
+	    int septimo = (largo >> 3) + (largo >> 6) + 1;
+	    int e3 = (ini + fin - 1) >>> 1;
+	    int e2 = e3 - septimo, e1 = e2 - septimo;
+	    int e4 = e3 + septimo, e5 = e4 + septimo;
+	    ordenaMuestra(a, e1, e2, e3, e4, e5);
+	    if(Float.compare(a[e2], a[e4]) == 0){
+		float p = a[e3];
+		int menores = ini, mayores = fin - 1, i = ini;
+		while(i <= mayores){
+		    int r = Float.compare(a[i], p);
+		    if(r < 0)
+			intercambia(a, menores++, i++);
+		    else if(r > 0)
+			intercambia(a, i, mayores--);
+		    else
+			i++;
+		}
+		if(menores - ini < fin - mayores){
+		    quickSort(a, ini, menores);
+		    ini = mayores + 1;
+		}else{
+		    quickSort(a, mayores + 1, fin);
+		    fin = menores;
+		}
+		continue;
+	    }
+	    float p1 = a[e2], p2 = a[e4];
+	    a[e2] = a[ini];
+	    a[e4] = a[fin - 1];
+	    int menores = ini + 1, mayores = fin - 2;
+	    for(int k = menores; k <= mayores; k++){
+		if(Float.compare(a[k], p1) < 0){
+		    intercambia(a, k, menores++);
+		}else if(Float.compare(a[k], p2) > 0){
+		    while(k < mayores && Float.compare(a[mayores], p2) > 0)
+			mayores--;
+		    intercambia(a, k, mayores--);
+		    if(Float.compare(a[k], p1) < 0)
+			intercambia(a, k, menores++);
+		}
+	    }
+	    menores--;
+	    mayores++;
+	    a[ini] = a[menores];
+	    a[menores] = p1;
+	    a[fin - 1] = a[mayores];
+	    a[mayores] = p2;
+	    int n1 = menores - ini, n2 = mayores - menores - 1, n3 = fin - mayores - 1;
+	    if(n1 >= n2 && n1 >= n3){
+		quickSort(a, menores + 1, mayores);
+		quickSort(a, mayores + 1, fin);
+		fin = menores;
+	    }else if(n2 >= n3){
+		quickSort(a, ini, menores);
+		quickSort(a, mayores + 1, fin);
+		ini = menores + 1;
+		fin = mayores;
+	    }else{
+		quickSort(a, ini, menores);
+		quickSort(a, menores + 1, mayores);
+		ini = mayores + 1;
+	    }
+	}
+	for(int i = ini + 1; i < fin; i++){
+	    float e = a[i];
+	    int j = i - 1;
+	    while(j >= ini && Float.compare(a[j], e) > 0){
+		a[j+1] = a[j];
+		j--;
+	    }
+	    a[j+1] = e;
+	}
+    }
+
+    /* Ordena por inserción los elementos en las posiciones recibidas,
+     * que deben ser crecientes. */
+    private static void ordenaMuestra(float[] a, int... e) {
+	for(int i = 1; i < e.length; i++)
+	    for(int j = i; j > 0 && Float.compare(a[e[j]], a[e[j-1]]) < 0; j--)
+		intercambia(a, e[j], e[j-1]);
+    }
+
+    /* Intercambia dos elementos de un arreglo de float. */
+    private static void intercambia(float[] a, int i, int j) {
+	float aux = a[i];
+	a[i] = a[j];
+	a[j] = aux;
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado
+     * de <tt>float</tt>. Si el elemento aparece varias veces, regresa
+     * el índice de la primera.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se
+     * encuentra.
+     */
+    public static int busquedaBinaria(float[] a, float e) {
+	int i = cotaInferior(a, e);
+	return i < a.length && Float.compare(a[i], e) == 0 ? i : -1;
+    }
+
+    /**
+     * Regresa la primera posición del arreglo ordenado de
+     * <tt>float</tt> cuyo elemento es mayor o igual que el recibido;
+     * es decir, dónde habría que insertarlo antes de sus iguales. La
+     * búsqueda es iterativa y el ciclo no tiene saltos que dependan
+     * de los datos: el intervalo se parte a la mitad siempre, y sólo
+     * cambia su base.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return la primera posición cuyo elemento no es menor que
+     *         <tt>e</tt>, o la longitud del arreglo si no hay.
+     */
+    public static int cotaInferior(float[] a, float e) {
+	int base = 0, n = a.length;
+	while(n > 1){
+	    int mitad = n >>> 1;
+	    base = Float.compare(a[base + mitad - 1], e) < 0 ? base + mitad : base;
+	    n -= mitad;
+	}
+	return n == 1 && Float.compare(a[base], e) < 0 ? base + 1 : base;
+    }
+
+    /**
+     * Regresa la primera posición del arreglo ordenado de
+     * <tt>float</tt> cuyo elemento es estrictamente mayor que el
+     * recibido; es decir, dónde habría que insertarlo después de sus
+     * iguales.
+     * @param a el arreglo dónde buscar.
+     * @param e el elemento a buscar.
+     * @return la primera posición cuyo elemento es mayor que
+     *         <tt>e</tt>, o la longitud del arreglo si no hay.
+     */
+    public static int cotaSuperior(float[] a, float e) {
+	int base = 0, n = a.length;
+	while(n > 1){
+	    int mitad = n >>> 1;
+	    base = Float.compare(a[base + mitad - 1], e) <= 0 ? base + mitad : base;
+	    n -= mitad;
+	}
+	return n == 1 && Float.compare(a[base], e) <= 0 ? base + 1 : base;
+    }
+
+    /**
+     * Ordena el arreglo recibido de <tt>int</tt> usando RadixSort
+     * LSD: cuatro pasadas estables por cubetas, una por cada byte de
+     * la llave empezando por el menos significativo. Toma tiempo
+     * lineal y usa un arreglo auxiliar del tamaño del recibido, por
+     * lo que conviene sobre {@link #quickSort(int[])} en arreglos
+     * grandes. Las pasadas en las que todas las llaves tienen el
+     * mismo byte se omiten.
+     * @param a un arreglo de <tt>int</tt>.
+     */
+    public static void radixSort(int[] a) {
+	int n = a.length;
+	if(n < 2)
+	    return;
+	/* Al voltear el bit de signo, el orden sin signo de las llaves
+	 * es el orden con signo de los elementos. */
+	int[][] cuentas = new int[4][257];
+	for(int x : a){
+	    int k = x ^ Integer.MIN_VALUE;
+	    for(int d = 0; d < 4; d++)
+		cuentas[d][((k >>> (d << 3)) & 0xFF) + 1]++;
+	}
+	int[] origen = a, destino = new int[n];
+	for(int d = 0; d < 4; d++){
+	    int corrimiento = d << 3;
+	    int[] c = cuentas[d];
+	    if(c[(((origen[0] ^ Integer.MIN_VALUE) >>> corrimiento) & 0xFF) + 1] == n)
+		continue;
+	    for(int i = 1; i < c.length; i++)
+		c[i] += c[i-1];
+	    for(int x : origen)
+		destino[c[((x ^ Integer.MIN_VALUE) >>> corrimiento) & 0xFF]++] = x;
+	    int[] t = origen;
+	    origen = destino;
+	    destino = t;
+	}
+	if(origen != a)
+	    System.arraycopy(origen, 0, a, 0, n);
+    }
+
+    /**
+     * Ordena el arreglo recibido de <tt>long</tt> usando RadixSort
+     * LSD, con ocho pasadas de un byte. Igual que {@link
+     * #radixSort(int[])}, se omiten las pasadas en las que todas las
+     * llaves tienen el mismo byte.
+     * @param a un arreglo de <tt>long</tt>.
+     */
+    public static void radixSort(long[] a) {
+	int n = a.length;
+	if(n < 2)
+	    return;
+	int[][] cuentas = new int[8][257];
+	for(long x : a){
+	    long k = x ^ Long.MIN_VALUE;
+	    for(int d = 0; d < 8; d++)
+		cuentas[d][(int)((k >>> (d << 3)) & 0xFF) + 1]++;
+	}
+	long[] origen = a, destino = new long[n];
+	for(int d = 0; d < 8; d++){
+	    int corrimiento = d << 3;
+	    int[] c = cuentas[d];
+	    if(c[(int)(((origen[0] ^ Long.MIN_VALUE) >>> corrimiento) & 0xFF) + 1] == n)
+		continue;
+	    for(int i = 1; i < c.length; i++)
+		c[i] += c[i-1];
+	    for(long x : origen)
+		destino[c[(int)(((x ^ Long.MIN_VALUE) >>> corrimiento) & 0xFF)]++] = x;
+	    long[] t = origen;
+	    origen = destino;
+	    destino = t;
+	}
+	if(origen != a)
+	    System.arraycopy(origen, 0, a, 0, n);
+    }
 } //Fin de Areglos.java
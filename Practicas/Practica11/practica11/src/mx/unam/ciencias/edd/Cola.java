@@ -34,7 +34,7 @@ package mx.unam.ciencias.edd;
  * @since Feb 16 2014
  * Clase para colas genéricas.
  */
-public class Cola<T> extends MeteSaca<T> {
+public class Cola<T> extends MeteSacaArreglo<T> {
 
     /**
      * Construye una cola vacía.
@@ -43,12 +43,22 @@ public class Cola<T> extends MeteSaca<T> {
         super();
     }
 
+    /**
+     * Construye una cola vacía con espacio para al menos
+     * <tt>capacidad</tt> elementos antes de tener que crecer.
+     * @param capacidad el número de elementos que se espera meter.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public Cola(int capacidad) {
+	super(capacidad);
+    }
+
     /**
      * Elimina el elemento al frente de la cola y lo regresa.
      * @return el elemento al frente de la cola.
      */
     @Override public T saca() {
-	return this.lista.eliminaPrimero();
+	return sacaPrimero();
     }
 
     /**
@@ -56,6 +66,6 @@ public class Cola<T> extends MeteSaca<T> {
      * de la misma.
      */
     @Override public T mira() {
-	return this.lista.getPrimero();
+	return miraPrimero();
     }
 } //Fin de Cola.java
\ No newline at end of file
@@ -0,0 +1,167 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Clase para colas concurrentes no acotadas, para varios
+ * productores y varios consumidores, que no usan candados
+ * (algoritmo de Michael y Scott).</p>
+ *
+ * <p>La cola es una lista ligada que siempre empieza con un nodo
+ * centinela. Los productores enganchan su nodo al último con una
+ * comparación e intercambio y después adelantan el rabo; si un hilo
+ * encuentra el rabo atrasado lo adelanta él mismo, así que ningún
+ * hilo detenido puede bloquear a los demás.</p>
+ */
+public class ColaConcurrente<T> extends MeteSacaConcurrente<T> {
+
+    /* Clase interna privada para nodos. */
+    private static class Nodo<T> {
+	public volatile T elemento;
+	public volatile Nodo<T> siguiente;
+	public Nodo(T elemento) {
+	    this.elemento = elemento;
+	}
+    }
+
+    /* Para hacer comparación e intercambio sobre Nodo.siguiente. */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Nodo, Nodo> SIGUIENTE =
+	AtomicReferenceFieldUpdater.newUpdater(Nodo.class, Nodo.class, "siguiente");
+
+    /* El centinela; el primer elemento está en el nodo que le sigue. */
+    private final AtomicReference<Nodo<T>> cabeza;
+    /* El último nodo, o uno que le precede. */
+    private final AtomicReference<Nodo<T>> rabo;
+    /* Cuántos elementos se han metido. */
+    private final LongAdder metidos;
+    /* Cuántos elementos se han sacado. */
+    private final LongAdder sacados;
+
+    /**
+     * Construye una cola vacía.
+     */
+    public ColaConcurrente() {
+	super();
+	Nodo<T> centinela = new Nodo<T>(null);
+	cabeza = new AtomicReference<Nodo<T>>(centinela);
+	rabo = new AtomicReference<Nodo<T>>(centinela);
+	metidos = new LongAdder();
+	sacados = new LongAdder();
+    }
+
+    /**
+     * Agrega un elemento al final de la cola. Como la cola no está
+     * acotada, siempre tiene éxito.
+     * @param elemento el elemento a agregar.
+     * @return <tt>true</tt>.
+     * @throws IllegalArgumentException si el elemento es
+     *         <tt>null</tt>.
+     */
+    @Override public boolean intentaMeter(T elemento) {
+	if(elemento == null)
+	    throw new IllegalArgumentException();
+	Nodo<T> nodo = new Nodo<T>(elemento);
+	while(true){
+	    Nodo<T> r = rabo.get();
+	    Nodo<T> s = r.siguiente;
+	    if(r != rabo.get())
+		continue;
+	    if(s == null){
+		if(SIGUIENTE.compareAndSet(r, null, nodo)){
+		    rabo.compareAndSet(r, nodo);
+		    metidos.increment();
+		    return true;
+		}
+	    }else{
+		rabo.compareAndSet(r, s);
+	    }
+	}
+    }
+
+    /**
+     * Intenta eliminar el elemento al frente de la cola sin esperar.
+     * @return el elemento eliminado, o <tt>null</tt> si la cola
+     *         estaba vacía.
+     */
+    @Override public T intentaSacar() {
+	while(true){
+	    Nodo<T> c = cabeza.get();
+	    Nodo<T> r = rabo.get();
+	    Nodo<T> s = c.siguiente;
+	    if(c != cabeza.get())
+		continue;
+	    if(s == null)
+		return null;
+	    if(c == r){
+		rabo.compareAndSet(r, s);
+		continue;
+	    }
+	    T elemento = s.elemento;
+	    if(cabeza.compareAndSet(c, s)){
+		/* s es el nuevo centinela; no debe retener al elemento. */
+		s.elemento = null;
+		sacados.increment();
+		return elemento;
+	    }
+	}
+    }
+
+    /**
+     * Nos permite ver el elemento al frente de la cola, sin sacarlo
+     * de la misma. Si otros hilos están sacando elementos, es
+     * posible que el elemento ya no esté en la cola cuando el
+     * método regrese.
+     * @return el elemento al frente de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T mira() {
+	while(true){
+	    Nodo<T> c = cabeza.get();
+	    Nodo<T> s = c.siguiente;
+	    if(s == null)
+		throw new NoSuchElementException();
+	    T elemento = s.elemento;
+	    if(elemento != null && c == cabeza.get())
+		return elemento;
+	}
+    }
+
+    /**
+     * Nos dice si la cola está vacía.
+     * @return <tt>true</tt> si la cola no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+	return cabeza.get().siguiente == null;
+    }
+
+    /**
+     * Regresa el número de elementos en la cola. Si otros hilos la
+     * están modificando, el número es aproximado.
+     * @return el número de elementos en la cola.
+     */
+    @Override public int getElementos() {
+	long n = metidos.sum() - sacados.sum();
+	return (int)Math.max(0, Math.min(n, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Regresa cuántos elementos se han metido en total.
+     * @return cuántos elementos se han metido.
+     */
+    @Override public long getMetidos() {
+	return metidos.sum();
+    }
+
+    /**
+     * Regresa cuántos elementos se han sacado en total.
+     * @return cuántos elementos se han sacado.
+     */
+    @Override public long getSacados() {
+	return sacados.sum();
+    }
+} //Fin de ColaConcurrente.java
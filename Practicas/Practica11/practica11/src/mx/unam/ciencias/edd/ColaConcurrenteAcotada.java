@@ -0,0 +1,178 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Clase para colas concurrentes de capacidad fija, para varios
+ * productores y varios consumidores, que no usan candados.</p>
+ *
+ * <p>Los elementos viven en un arreglo circular; cada casilla tiene
+ * un número de secuencia que indica si está lista para que un
+ * productor la llene (secuencia igual a la posición de quien mete)
+ * o para que un consumidor la vacíe (secuencia igual a la posición
+ * de quien saca más uno). Productores y consumidores sólo compiten
+ * entre sí por su contador respectivo, con una comparación e
+ * intercambio por operación.</p>
+ */
+public class ColaConcurrenteAcotada<T> extends MeteSacaConcurrente<T> {
+
+    /* Las casillas. */
+    private final Object[] casillas;
+    /* El número de secuencia de cada casilla. */
+    private final AtomicLongArray secuencias;
+    /* Máscara para obtener el índice de una posición. */
+    private final int mascara;
+    /* Siguiente posición donde meter. */
+    private final AtomicLong fin;
+    /* Siguiente posición de donde sacar. */
+    private final AtomicLong inicio;
+
+    /**
+     * Construye una cola vacía con espacio para al menos
+     * <tt>capacidad</tt> elementos. La capacidad se redondea a una
+     * potencia de 2.
+     * @param capacidad el número de elementos que cabe en la cola.
+     * @throws IllegalArgumentException si la capacidad no es
+     *         positiva o es mayor a 2<sup>30</sup>.
+     */
+    public ColaConcurrenteAcotada(int capacidad) {
+	super();
+	if(capacidad < 1 || capacidad > (1 << 30))
+	    throw new IllegalArgumentException();
+	int n = 1;
+	while(n < capacidad)
+	    n <<= 1;
+	casillas = new Object[n];
+	secuencias = new AtomicLongArray(n);
+	for(int i = 0; i < n; i++)
+	    secuencias.set(i, i);
+	mascara = n - 1;
+	fin = new AtomicLong();
+	inicio = new AtomicLong();
+    }
+
+    /**
+     * Intenta agregar un elemento al final de la cola sin esperar.
+     * @param elemento el elemento a agregar.
+     * @return <tt>true</tt> si se agregó el elemento,
+     *         <tt>false</tt> si la cola estaba llena.
+     * @throws IllegalArgumentException si el elemento es
+     *         <tt>null</tt>.
+     */
+    @Override public boolean intentaMeter(T elemento) {
+	if(elemento == null)
+	    throw new IllegalArgumentException();
+	long posicion = fin.get();
+	while(true){
+	    int i = (int)posicion & mascara;
+	    long diferencia = secuencias.get(i) - posicion;
+	    if(diferencia == 0){
+		if(fin.compareAndSet(posicion, posicion + 1)){
+		    casillas[i] = elemento;
+		    secuencias.set(i, posicion + 1);
+		    return true;
+		}
+		posicion = fin.get();
+	    }else if(diferencia < 0){
+		return false;
+	    }else{
+		posicion = fin.get();
+	    }
+	}
+    }
+
+    /**
+     * Intenta eliminar el elemento al frente de la cola sin esperar.
+     * @return el elemento eliminado, o <tt>null</tt> si la cola
+     *         estaba vacía.
+     */
+    @Override public T intentaSacar() {
+	long posicion = inicio.get();
+	while(true){
+	    int i = (int)posicion & mascara;
+	    long diferencia = secuencias.get(i) - (posicion + 1);
+	    if(diferencia == 0){
+		if(inicio.compareAndSet(posicion, posicion + 1)){
+		    T elemento = casilla(i);
+		    casillas[i] = null;
+		    secuencias.set(i, posicion + mascara + 1);
+		    return elemento;
+		}
+		posicion = inicio.get();
+	    }else if(diferencia < 0){
+		return null;
+	    }else{
+		posicion = inicio.get();
+	    }
+	}
+    }
+
+    /**
+     * Nos permite ver el elemento al frente de la cola, sin sacarlo
+     * de la misma. Si otros hilos están sacando elementos, es
+     * posible que el elemento ya no esté en la cola cuando el
+     * método regrese.
+     * @return el elemento al frente de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    @Override public T mira() {
+	while(true){
+	    long posicion = inicio.get();
+	    int i = (int)posicion & mascara;
+	    long diferencia = secuencias.get(i) - (posicion + 1);
+	    if(diferencia == 0){
+		T elemento = casilla(i);
+		if(elemento != null && inicio.get() == posicion)
+		    return elemento;
+	    }else if(diferencia < 0 && inicio.get() == posicion){
+		/* La misma prueba de vacía que usa intentaSacar; si
+		   otro consumidor movió el inicio, volvemos a leer. */
+		throw new NoSuchElementException();
+	    }
+	}
+    }
+
+    /**
+     * Regresa el número de elementos en la cola.
+     * @return el número de elementos en la cola.
+     */
+    @Override public int getElementos() {
+	while(true){
+	    long sacados = inicio.get();
+	    long metidos = fin.get();
+	    if(inicio.get() == sacados)
+		return (int)Math.max(0, Math.min(metidos - sacados, casillas.length));
+	}
+    }
+
+    /**
+     * Regresa cuántos elementos se han metido en total.
+     * @return cuántos elementos se han metido.
+     */
+    @Override public long getMetidos() {
+	return fin.get();
+    }
+
+    /**
+     * Regresa cuántos elementos se han sacado en total.
+     * @return cuántos elementos se han sacado.
+     */
+    @Override public long getSacados() {
+	return inicio.get();
+    }
+
+    /**
+     * Regresa cuántos elementos caben en la cola.
+     * @return la capacidad de la cola.
+     */
+    public int getCapacidad() {
+	return casillas.length;
+    }
+
+    /* Regresa el elemento de la casilla i. */
+    @SuppressWarnings("unchecked") private T casilla(int i) {
+	return (T)casillas[i];
+    }
+} //Fin de ColaConcurrenteAcotada.java
@@ -0,0 +1,55 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para colas de prioridad mínimas sobre elementos {@link
+ * ComparableIndexable}. Cada implementación usa el índice de los
+ * elementos para encontrarlos en tiempo constante, y así poder
+ * decrementar su llave sin buscarlos. La implementan {@link
+ * MonticuloMinimo} y {@link MonticuloEmparejamiento}.
+ */
+public interface ColaPrioridad<T extends ComparableIndexable<T>> {
+
+    /**
+     * Agrega un nuevo elemento a la cola.
+     * @param elemento el elemento a agregar.
+     */
+    public void agrega(T elemento);
+
+    /**
+     * Elimina el elemento mínimo de la cola.
+     * @return el elemento mínimo de la cola.
+     * @throws IllegalStateException si la cola es vacía.
+     */
+    public T elimina();
+
+    /**
+     * Avisa a la cola que la llave del elemento disminuyó. El
+     * elemento debe estar en la cola, y su llave no debe haber
+     * aumentado.
+     * @param elemento el elemento cuya llave disminuyó.
+     * @throws NoSuchElementException si el elemento no está en la
+     *         cola.
+     */
+    public void decrementaLlave(T elemento);
+
+    /**
+     * Nos dice si un elemento está en la cola.
+     * @param elemento el elemento a buscar.
+     * @return <tt>true</tt> si el elemento está en la cola,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(T elemento);
+
+    /**
+     * Nos dice si la cola es vacía.
+     * @return <tt>true</tt> si la cola es vacía, <tt>false</tt> en
+     *         otro caso.
+     */
+    public boolean esVacio();
+
+    /**
+     * Regresa el número de elementos en la cola.
+     * @return el número de elementos en la cola.
+     */
+    public int getElementos();
+}
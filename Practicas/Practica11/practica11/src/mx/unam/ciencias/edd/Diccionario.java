@@ -13,96 +13,321 @@ import java.util.NoSuchElementException;
 public class Diccionario<K, V> implements Iterable<V> {
 
     /* Clase privada para iteradores de diccionarios. */
-    private class Iterador<V> implements Iterator<V> {
+    private class Iterador implements Iterator<V> {
 
-        /* En qué lista estamos. */
+        /* En qué índice estamos. */
         private int indice;
-        /* Diccionario. */
-        private Diccionario<K,V> diccionario;
-        /* Iterador auxiliar. */
-        private Iterator<Diccionario<K,V>.Entrada<K,V>> iterador;
-
-        /* Construye un nuevo iterador, auxiliándose de las listas
-         * del diccionario. */
-        public Iterador(Diccionario<K,V> diccionario) {
-	    indice = 0;
-	    this.diccionario = diccionario;
-	    while(indice < diccionario.entradas.length && diccionario.entradas[indice] == null)
-		indice++;
-	    if(indice < diccionario.entradas.length)
-		iterador = diccionario.entradas[indice].iterator();
+        /* Siguiente entrada a regresar. */
+        private Entrada<K,V> siguiente;
+
+        /* Construye un nuevo iterador, auxiliándose de las cadenas
+         * de entradas del diccionario. */
+        public Iterador() {
+	    terminaMigracion();
+	    indice = -1;
+	    avanza();
         }
 	
         /* Nos dice si hay un siguiente elemento. */
         public boolean hasNext() {
-	    if(iterador == null)
-		return false;
-	    if(iterador.hasNext())
-		return true;
-	    int temp = indice;
-	    do{
-		indice++;
-	    }while(indice < diccionario.entradas.length && diccionario.entradas[indice] == null);
-	    if(indice >= diccionario.entradas.length){
-		indice = temp;
-		return false;
-	    }if(diccionario.entradas[indice] != null){
-		indice = temp;
-		return true;	   	    
-	    }
-	    return false;
+	    return siguiente != null;
         }
 	
         /* Regresa el siguiente elemento. */
         public V next() {
 	    if(!hasNext())
 		throw new NoSuchElementException();
-	    if(iterador.hasNext())
-		return iterador.next().valor;
+	    V valor = siguiente.valor;
+	    siguiente = siguiente.siguiente;
+	    if(siguiente == null)
+		avanza();
+	    return valor;
+        }
+
+        /* No lo implementamos: siempre lanza una excepción. */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        //Metodo privado para movernos a la siguiente cadena no vacía.
+        private void avanza() {
 	    do{
 		indice++;
-	    }while(indice < diccionario.entradas.length && diccionario.entradas[indice] == null);
-	    iterador = diccionario.entradas[indice].iterator();
-	   return iterador.next().valor;
+	    }while(indice < entradas.length && entradas[indice] == null);
+	    if(indice < entradas.length)
+		siguiente = entradas[indice];
+        }
+    }
+
+    /* Clase privada para iteradores de diccionarios por
+     * direccionamiento abierto. */
+    private class IteradorAbierto implements Iterator<V> {
+
+        /* Siguiente casilla ocupada de la tabla. */
+        private int indice;
+
+        /* Construye un nuevo iterador y lo coloca en la primera
+         * casilla ocupada. */
+        public IteradorAbierto() {
+	    indice = -1;
+	    avanza();
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        public boolean hasNext() {
+	    return indice < abierta.llaves.length;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @SuppressWarnings("unchecked") public V next() {
+	    if(!hasNext())
+		throw new NoSuchElementException();
+	    V valor = (V)abierta.valores[indice];
+	    avanza();
+	    return valor;
         }
 
         /* No lo implementamos: siempre lanza una excepción. */
         public void remove() {
             throw new UnsupportedOperationException();
         }
+
+        //Metodo privado para movernos a la siguiente casilla ocupada.
+        private void avanza() {
+	    do{
+		indice++;
+	    }while(indice < abierta.llaves.length && abierta.llaves[indice] == null);
+        }
     }
 
+    /* Tabla por direccionamiento abierto. Usa sondeo lineal con la
+     * heurística de Robin Hood: al insertar, una llave que ya se
+     * alejó mucho de su casilla ideal le quita el lugar a otra que
+     * está más cerca de la suya. Así las distancias se mantienen
+     * parejas, y una búsqueda fallida puede detenerse en cuanto
+     * encuentra una llave más cercana a su casilla que la buscada.
+     * Las llaves, los valores y las huellas viven en tres arreglos
+     * paralelos, por lo que no se crea ningún objeto por entrada. */
+    private static class TablaAbierta<K, V> {
+
+	/* Llaves; null marca una casilla vacía. */
+	public Object[] llaves;
+	/* Valores. */
+	public Object[] valores;
+	/* Huella digital (ya dispersada) de la llave en cada casilla. */
+	public int[] huellas;
+	/* Máscara para no usar módulo. */
+	public int mascara;
+	/* Número de entradas. */
+	public int total;
+	/* Huella digital. */
+	private HuellaDigital<K> huella;
+
+	/* Construye una tabla vacía con n casillas; n debe ser potencia
+	 * de 2. */
+	public TablaAbierta(int n, HuellaDigital<K> huella) {
+	    this.huella = huella;
+	    llaves = new Object[n];
+	    valores = new Object[n];
+	    huellas = new int[n];
+	    mascara = n-1;
+	    total = 0;
+	}
+
+	/* Calcula la huella de la llave, mezclando los bits altos con
+	 * los bajos; el sondeo lineal sufre mucho con huellas cuyos bits
+	 * bajos se repiten. */
+	public int huella(K llave) {
+	    int h = huella.huellaDigital(llave);
+	    return h ^ (h >>> 16);
+	}
+
+	/* Distancia entre la casilla i y la casilla ideal de su llave. */
+	public int distancia(int i) {
+	    return (i - (huellas[i] & mascara)) & mascara;
+	}
+
+	/* Regresa la casilla donde está la llave, o -1 si no está. */
+	public int busca(K llave) {
+	    int h = huella(llave);
+	    int i = h & mascara;
+	    for(int d = 0; llaves[i] != null && distancia(i) >= d; d++){
+		if(huellas[i] == h && llaves[i].equals(llave))
+		    return i;
+		i = (i+1) & mascara;
+	    }
+	    return -1;
+	}
+
+	/* Agrega o reemplaza el valor asociado a la llave. */
+	public void agrega(K llave, V valor) {
+	    int h = huella(llave);
+	    int i = h & mascara;
+	    for(int d = 0; llaves[i] != null; d++){
+		int di = distancia(i);
+		if(di == d && huellas[i] == h && llaves[i].equals(llave)){
+		    valores[i] = valor;
+		    return;
+		}
+		if(di < d){
+		    /* La llave no puede estar más adelante: la colocamos
+		     * aquí y recorremos a la que desplazamos. */
+		    recorre(i, di, llaves[i], valores[i], huellas[i]);
+		    break;
+		}
+		i = (i+1) & mascara;
+	    }
+	    llaves[i] = llave;
+	    valores[i] = valor;
+	    huellas[i] = h;
+	    total++;
+	}
+
+	/* Elimina la llave y regresa true si estaba en la tabla. En
+	 * lugar de dejar lápidas, recorre hacia atrás las llaves que
+	 * siguen en el mismo cúmulo. */
+	public boolean elimina(K llave) {
+	    int i = busca(llave);
+	    if(i < 0)
+		return false;
+	    int j = (i+1) & mascara;
+	    while(llaves[j] != null && distancia(j) > 0){
+		llaves[i] = llaves[j];
+		valores[i] = valores[j];
+		huellas[i] = huellas[j];
+		i = j;
+		j = (j+1) & mascara;
+	    }
+	    llaves[i] = null;
+	    valores[i] = null;
+	    total--;
+	    return true;
+	}
+
+	/* Duplica el tamaño de la tabla, reutilizando las huellas ya
+	 * calculadas. */
+	public void crece() {
+	    Object[] viejasLlaves = llaves;
+	    Object[] viejosValores = valores;
+	    int[] viejasHuellas = huellas;
+	    int n = viejasLlaves.length * 2;
+	    llaves = new Object[n];
+	    valores = new Object[n];
+	    huellas = new int[n];
+	    mascara = n-1;
+	    for(int i = 0; i < viejasLlaves.length; i++)
+		if(viejasLlaves[i] != null)
+		    coloca(viejasLlaves[i], viejosValores[i], viejasHuellas[i]);
+	}
+
+	/* Coloca una entrada que sabemos que no está en la tabla. */
+	private void coloca(Object llave, Object valor, int h) {
+	    int i = h & mascara;
+	    for(int d = 0; llaves[i] != null; d++){
+		int di = distancia(i);
+		if(di < d){
+		    recorre(i, di, llaves[i], valores[i], huellas[i]);
+		    break;
+		}
+		i = (i+1) & mascara;
+	    }
+	    llaves[i] = llave;
+	    valores[i] = valor;
+	    huellas[i] = h;
+	}
+
+	/* Recorre la entrada que estaba en la casilla i (a distancia d
+	 * de su casilla ideal) hasta encontrarle lugar, desplazando a su
+	 * vez a las entradas más cercanas a su casilla ideal. */
+	private void recorre(int i, int d, Object llave, Object valor, int h) {
+	    i = (i+1) & mascara;
+	    d++;
+	    while(llaves[i] != null){
+		int di = distancia(i);
+		if(di < d){
+		    Object k = llaves[i];
+		    Object v = valores[i];
+		    int hi = huellas[i];
+		    llaves[i] = llave;
+		    valores[i] = valor;
+		    huellas[i] = h;
+		    llave = k;
+		    valor = v;
+		    h = hi;
+		    d = di;
+		}
+		i = (i+1) & mascara;
+		d++;
+	    }
+	    llaves[i] = llave;
+	    valores[i] = valor;
+	    huellas[i] = h;
+	}
+    }
+
+    /**
+     * Modo de almacenamiento por encadenamiento: cada índice del
+     * arreglo guarda las entradas cuyas llaves caen en él.
+     */
+    public static final int ENCADENAMIENTO = 0;
+    /**
+     * Modo de almacenamiento por direccionamiento abierto: las
+     * llaves y valores se guardan directamente en arreglos
+     * paralelos, sin crear objetos por entrada.
+     */
+    public static final int DIRECCIONAMIENTO_ABIERTO = 1;
+
     /** Máxima carga permitida por el diccionario. */
     public static final double MAXIMA_CARGA = 0.72;
 
     /* Tamaño mínimo; decidido arbitrariamente a 2^6. */
     private static final int MIN_N = 64;
+    /* Cuántos índices del arreglo viejo migramos en cada operación
+     * mientras el diccionario crece. Con más de 2 la migración
+     * termina antes de que haga falta volver a crecer. */
+    private static final int MIGRACION = 8;
 
     /* Máscara para no usar módulo. */
     private int mascara;
     /* Huella digital. */
     private HuellaDigital<K> huella;
     /* Nuestro diccionario. */
-    private Lista<Entrada<K, V>>[] entradas;
+    private Entrada<K, V>[] entradas;
+    /* Arreglo anterior al último crecimiento, mientras migramos sus
+     * entradas; null si no hay migración pendiente. */
+    private Entrada<K, V>[] viejas;
+    /* Siguiente índice de viejas por migrar. */
+    private int migrado;
     /* Número de valores*/
     private int total;
+    /* Tabla por direccionamiento abierto; null si el diccionario
+     * usa encadenamiento. */
+    private TablaAbierta<K, V> abierta;
 
-    /* Clase para las entradas del diccionario. */
-    private class Entrada<K, V> {
+    /* Clase para las entradas del diccionario. Las entradas que
+     * caen en el mismo índice forman una cadena por medio de
+     * siguiente; así al crecer el arreglo sólo se reacomodan las
+     * referencias. */
+    private static class Entrada<K, V> {
         public K llave;
         public V valor;
-        public Entrada(K llave, V valor) {
+        /* Huella digital completa de la llave. */
+        public int huella;
+        /* Siguiente entrada en el mismo índice. */
+        public Entrada<K, V> siguiente;
+        public Entrada(K llave, V valor, int huella) {
             this.llave = llave;
             this.valor = valor;
+            this.huella = huella;
         }
     }
 
     /* Truco para crear un arreglo genérico. Es necesario hacerlo
        así por cómo Java implementa sus genéricos; de otra forma
        obtenemos advertencias del compilador. */
-    @SuppressWarnings("unchecked") private Lista<Entrada<K, V>>[] nuevoArreglo(int n) {
-        Lista[] arreglo = new Lista[n];
-        return (Lista<Entrada<K, V>>[])arreglo;
+    @SuppressWarnings("unchecked") private Entrada<K, V>[] nuevoArreglo(int n) {
+        Entrada[] arreglo = new Entrada[n];
+        return (Entrada<K, V>[])arreglo;
     }
 
     /**
@@ -148,12 +373,34 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @param huella la huella digital a utilizar.
      */
     public Diccionario(int tam, HuellaDigital<K> huella) {
+	this(tam, huella, ENCADENAMIENTO);
+    }
+
+    /**
+     * Construye un diccionario con un tamaño inicial, un método de
+     * huella digital y un modo de almacenamiento definidos por el
+     * usuario. El modo {@link #DIRECCIONAMIENTO_ABIERTO} no crea
+     * objetos por entrada, por lo que conviene cuando se hacen
+     * muchas búsquedas.
+     * @param tam el tamaño del diccionario.
+     * @param huella la huella digital a utilizar.
+     * @param modo {@link #ENCADENAMIENTO} o {@link
+     *        #DIRECCIONAMIENTO_ABIERTO}.
+     * @throws IllegalArgumentException si recibe un modo no
+     *         reconocido.
+     */
+    public Diccionario(int tam, HuellaDigital<K> huella, int modo) {
 	if(tam < MIN_N)
 	    tam = MIN_N;
 	this.huella = huella;
 	mascara = sacaMascara(tam);
-	entradas = nuevoArreglo(mascara+1);
 	total = 0;
+	if(modo == ENCADENAMIENTO)
+	    entradas = nuevoArreglo(mascara+1);
+	else if(modo == DIRECCIONAMIENTO_ABIERTO)
+	    abierta = new TablaAbierta<K,V>(mascara+1, huella);
+	else
+	    throw new IllegalArgumentException();
     }
 
     /**
@@ -165,16 +412,24 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @param valor el valor a agregar.
      */
     public void agrega(K llave, V valor) {
-	int indice = indice(llave);
-	Lista<Entrada<K,V>> lista = getLista(indice, true);
-	Entrada<K,V> entrada = buscaEntrada(lista, llave);
-	if(entrada != null)
+	if(abierta != null){
+	    abierta.agrega(llave, valor);
+	    if(carga() > MAXIMA_CARGA)
+		abierta.crece();
+	    return;
+	}
+	migra();
+	int h = huella.huellaDigital(llave);
+	Entrada<K,V> entrada = buscaEntrada(h, llave);
+	if(entrada != null){
 	    entrada.valor = valor;
-	else{
-	    entrada = new Entrada<K,V>(llave, valor);
-	    lista.agregaFinal(entrada);
-	    total++;
+	    return;
 	}
+	entrada = new Entrada<K,V>(llave, valor, h);
+	int indice = h & mascara;
+	entrada.siguiente = entradas[indice];
+	entradas[indice] = entrada;
+	total++;
 	if(carga() > MAXIMA_CARGA)
 	    creceArreglo();
     }
@@ -187,17 +442,38 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @throws <tt>NoSuchElementException</tt> si la llave no está
      *         en el diccionario.
      */
-    public V get(K llave) {
-	int indice = indice(llave);
-	Lista<Entrada<K,V>> lista = getLista(indice, false);
-	if(lista == null)
-	    throw new NoSuchElementException();
-	Entrada<K,V> entrada = buscaEntrada(lista, llave);
+    @SuppressWarnings("unchecked") public V get(K llave) {
+	if(abierta != null){
+	    int i = abierta.busca(llave);
+	    if(i < 0)
+		throw new NoSuchElementException();
+	    return (V)abierta.valores[i];
+	}
+	migra();
+	Entrada<K,V> entrada = buscaEntrada(huella.huellaDigital(llave), llave);
 	if(entrada == null)
 	    throw new NoSuchElementException();
 	return entrada.valor;
     }
 
+    /**
+     * Regresa el valor del diccionario asociado a la llave
+     * proporcionada, o <tt>null</tt> si la llave no está. Evita
+     * buscar dos veces la llave con {@link #contiene} y {@link #get}.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave, o <tt>null</tt>
+     *         si la llave no está en el diccionario.
+     */
+    @SuppressWarnings("unchecked") public V busca(K llave) {
+	if(abierta != null){
+	    int i = abierta.busca(llave);
+	    return i < 0 ? null : (V)abierta.valores[i];
+	}
+	migra();
+	Entrada<K,V> entrada = buscaEntrada(huella.huellaDigital(llave), llave);
+	return entrada == null ? null : entrada.valor;
+    }
+
     /**
      * Nos dice si una llave se encuentra en el diccionario.
      * @param llave la llave que queremos ver si está en el diccionario.
@@ -205,14 +481,10 @@ public class Diccionario<K, V> implements Iterable<V> {
      *         <tt>false</tt> en otro caso.
      */
     public boolean contiene(K llave) {
-	int indice = indice(llave);
-	Lista<Entrada<K,V>> lista = getLista(indice, false);
-	if(lista == null)
-	    return false;
-	Entrada<K,V> entrada = buscaEntrada(lista, llave);
-	if(entrada == null)
-	    return false;
-	return true;
+	if(abierta != null)
+	    return abierta.busca(llave) >= 0;
+	migra();
+	return buscaEntrada(huella.huellaDigital(llave), llave) != null;
     }
 
     /**
@@ -223,17 +495,15 @@ public class Diccionario<K, V> implements Iterable<V> {
      *         el diccionario.
      */
     public void elimina(K llave) {
-	int indice = indice(llave);
-	Lista<Entrada<K,V>> lista = getLista(indice, false);
-	if(lista == null)
-	    return;
-	Entrada<K,V> entrada = buscaEntrada(lista, llave);
-	if(entrada == null)
+	if(abierta != null){
+	    abierta.elimina(llave);
 	    return;
-	lista.elimina(entrada);
-	total--;
-	if(lista.getLongitud() == 0)
-	    entradas[indice] = null;
+	}
+	migra();
+	int h = huella.huellaDigital(llave);
+	if(quitaEntrada(entradas, h & mascara, h, llave) ||
+	   (viejas != null && quitaEntrada(viejas, h & (viejas.length-1), h, llave)))
+	    total--;
     }
 
     /**
@@ -241,17 +511,18 @@ public class Diccionario<K, V> implements Iterable<V> {
      * en el diccionario. La lista no tiene ningún tipo de orden.
      * @return una lista con todas las llaves.
      */
-    public Lista<K> llaves() {
+    @SuppressWarnings("unchecked") public Lista<K> llaves() {
 	Lista<K> lista = new Lista<K>();
-	for(int i = 0; i < entradas.length; i++){
-	    if(entradas[i] != null){
-		int j = 0;		  
-		while(j < entradas[i].getLongitud()){
-		    lista.agregaFinal(entradas[i].get(j).llave);
-		    j++;
-		}
-	    }
+	if(abierta != null){
+	    for(int i = 0; i < abierta.llaves.length; i++)
+		if(abierta.llaves[i] != null)
+		    lista.agregaFinal((K)abierta.llaves[i]);
+	    return lista;
 	}
+	terminaMigracion();
+	for(int i = 0; i < entradas.length; i++)
+	    for(Entrada<K,V> e = entradas[i]; e != null; e = e.siguiente)
+		lista.agregaFinal(e.llave);
 	return lista;
     }
 
@@ -260,47 +531,64 @@ public class Diccionario<K, V> implements Iterable<V> {
      * lista no tiene ningún tipo de orden.
      * @return una lista con todos los valores.
      */
-    public Lista<V> valores() {
+    @SuppressWarnings("unchecked") public Lista<V> valores() {
 	Lista<V> lista = new Lista<V>();
-	for(int i = 0; i < entradas.length; i++){
-	    if(entradas[i] != null){
-		int j = 0;		  
-		while(j < entradas[i].getLongitud()){
-		    lista.agregaFinal(entradas[i].get(j).valor);
-		    j++;
-		}
-	    }
+	if(abierta != null){
+	    for(int i = 0; i < abierta.llaves.length; i++)
+		if(abierta.llaves[i] != null)
+		    lista.agregaFinal((V)abierta.valores[i]);
+	    return lista;
 	}
+	terminaMigracion();
+	for(int i = 0; i < entradas.length; i++)
+	    for(Entrada<K,V> e = entradas[i]; e != null; e = e.siguiente)
+		lista.agregaFinal(e.valor);
 	return lista;
     }
  
 
     /**
      * Nos dice el máximo número de colisiones para una misma llave
-     * que tenemos en el diccionario.
+     * que tenemos en el diccionario. En modo de direccionamiento
+     * abierto es la mayor distancia entre una llave y su casilla
+     * ideal.
      * @return el máximo número de colisiones para una misma llave.
      */
     public int colisionMaxima() {
 	int max = 0;
+	if(abierta != null){
+	    for(int i = 0; i < abierta.llaves.length; i++)
+		if(abierta.llaves[i] != null && abierta.distancia(i) > max)
+		    max = abierta.distancia(i);
+	    return max;
+	}
+	terminaMigracion();
 	for(int i = 0; i < entradas.length; i++){
-	    if(entradas[i] != null)		  
-		if(entradas[i].getLongitud()-1 > max)
-		    max = entradas[i].getLongitud()-1;
+	    int c = longitudCadena(entradas[i]) - 1;
+	    if(c > max)
+		max = c;
 	}
 	return max;
     }
 
     /**
-     * Nos dice cuántas colisiones hay en el diccionario.
+     * Nos dice cuántas colisiones hay en el diccionario. En modo de
+     * direccionamiento abierto es el número de llaves que no están
+     * en su casilla ideal.
      * @return cuántas colisiones hay en el diccionario.
      */
     public int colisiones() {
 	int colisiones = 0;
-	for(int i = 0; i < entradas.length; i++){
-	    if(entradas[i] != null)		  
-		if(entradas[i].getLongitud()-1 > 0)
-		    colisiones += entradas[i].getLongitud()-1;
+	if(abierta != null){
+	    for(int i = 0; i < abierta.llaves.length; i++)
+		if(abierta.llaves[i] != null && abierta.distancia(i) > 0)
+		    colisiones++;
+	    return colisiones;
 	}
+	terminaMigracion();
+	for(int i = 0; i < entradas.length; i++)
+	    if(entradas[i] != null)
+		colisiones += longitudCadena(entradas[i]) - 1;
 	return colisiones;
     }
 
@@ -309,6 +597,8 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return la carga del diccionario.
      */
     public double carga() {
+	if(abierta != null)
+	    return abierta.total/(double)abierta.llaves.length;
 	double carga = (total)/(double)(mascara+1);
 	return carga;
     }
@@ -318,6 +608,8 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return el número de valores en el diccionario.
      */
     public int getTotal() {
+	if(abierta != null)
+	    return abierta.total;
 	return total;
     }
 
@@ -328,67 +620,92 @@ public class Diccionario<K, V> implements Iterable<V> {
      * @return un iterador para iterar el diccionario.
      */
     @Override public Iterator<V> iterator() {
-        return new Iterador<V>(this);
+	if(abierta != null)
+	    return new IteradorAbierto();
+        return new Iterador();
     }
     
-    //Metodo privado para sacar el índice de la entrada.
-    private int indice(K llave){
-	return mascara & huella.huellaDigital(llave);
-    }    
-    
-    //Metodo privado para optener la lista donde se encuentra la entrada.
-    private Lista<Entrada<K,V>> getLista(int indice, boolean estado){
-	if(indice >= entradas.length)
-	    return null;
-	if(entradas[indice] == null && estado){
-	    Lista<Entrada<K,V>> lista = new Lista<Entrada<K,V>>();
-	    entradas[indice] = lista;
-	    return lista;
-	}else{
-	    return entradas[indice];
-	}
-    }    
-
-    //Metodo privado para crecer un arreglo.
+    //Metodo privado para crecer el arreglo. Las entradas se migran
+    //poco a poco en las siguientes operaciones, para no detener a
+    //quien hizo crecer al diccionario.
     private void creceArreglo(){
-	Lista<Entrada<K,V>>[] nueva = nuevoArreglo(entradas.length*2);
-	mascara += 1;
-	mascara *= 2;
-	mascara -= 1;
-	for(int i = 0; i < entradas.length; i++){
-	    if(entradas[i] != null){
-		int j = 0;		  
-		while(j < entradas[i].getLongitud()){
-		    nueva[(indice(entradas[i].get(j).llave))] 
-			= agregaNuevo(nueva[indice(entradas[i].get(j).llave)], entradas[i].get(j));
-		    j++;
-		}
+	terminaMigracion();
+	viejas = entradas;
+	migrado = 0;
+	entradas = nuevoArreglo(viejas.length*2);
+	mascara = entradas.length - 1;
+	migra();
+    }
+
+    //Metodo privado para migrar unos cuantos índices del arreglo viejo.
+    private void migra(){
+	if(viejas == null)
+	    return;
+	int fin = Math.min(migrado + MIGRACION, viejas.length);
+	while(migrado < fin){
+	    Entrada<K,V> e = viejas[migrado];
+	    viejas[migrado++] = null;
+	    while(e != null){
+		Entrada<K,V> siguiente = e.siguiente;
+		int indice = e.huella & mascara;
+		e.siguiente = entradas[indice];
+		entradas[indice] = e;
+		e = siguiente;
 	    }
 	}
-	entradas = nueva;
+	if(migrado == viejas.length)
+	    viejas = null;
     }
 
-    //Metodo privado para agregar dar una nueva lista con una entrada.
-    private Lista<Entrada<K,V>> agregaNuevo(Lista<Entrada<K,V>> vieja, Entrada<K,V> entrada) {
-	Lista<Entrada<K,V>> nueva = vieja; 
-	if(vieja == null){
-	    nueva = new Lista<Entrada<K,V>>();
-	}
-	nueva.agregaFinal(entrada);
-	return nueva;	
+    //Metodo privado para terminar cualquier migración pendiente.
+    private void terminaMigracion(){
+	while(viejas != null)
+	    migra();
     }
 
-    //Metodo privado para buscar una entrada en una lista.
-    private Entrada<K,V> buscaEntrada(Lista<Entrada<K,V>> lista, K llave){
-	if(lista == null)
-	    return null;
-	for(Entrada<K,V> ent : lista){
-	    if(ent.llave.equals(llave))
-		return ent;
-	}
+    //Metodo privado para buscar una entrada, primero en el arreglo
+    //actual y luego en el viejo si hay migración pendiente. La
+    //huella h de la llave se calcula una sola vez por operación.
+    private Entrada<K,V> buscaEntrada(int h, K llave){
+	Entrada<K,V> entrada = buscaEntrada(entradas[h & mascara], h, llave);
+	if(entrada == null && viejas != null)
+	    entrada = buscaEntrada(viejas[h & (viejas.length-1)], h, llave);
+	return entrada;
+    }
+
+    //Metodo privado para buscar una entrada en una cadena. Sólo
+    //llamamos equals cuando las huellas completas coinciden.
+    private Entrada<K,V> buscaEntrada(Entrada<K,V> cadena, int h, K llave){
+	for(Entrada<K,V> e = cadena; e != null; e = e.siguiente)
+	    if(e.huella == h && e.llave.equals(llave))
+		return e;
 	return null;
     }
 
+    //Metodo privado para quitar una entrada de la cadena en arreglo[indice].
+    private boolean quitaEntrada(Entrada<K,V>[] arreglo, int indice, int h, K llave){
+	Entrada<K,V> anterior = null;
+	for(Entrada<K,V> e = arreglo[indice]; e != null; e = e.siguiente){
+	    if(e.huella == h && e.llave.equals(llave)){
+		if(anterior == null)
+		    arreglo[indice] = e.siguiente;
+		else
+		    anterior.siguiente = e.siguiente;
+		return true;
+	    }
+	    anterior = e;
+	}
+	return false;
+    }
+
+    //Metodo privado para contar las entradas de una cadena.
+    private int longitudCadena(Entrada<K,V> cadena){
+	int n = 0;
+	for(Entrada<K,V> e = cadena; e != null; e = e.siguiente)
+	    n++;
+	return n;
+    }
+
     //Metodo privado para sacar la máscara.
     private int sacaMascara(int tam){
 	int i = 0;
@@ -0,0 +1,462 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Clase para diccionarios que pueden usarse desde varios hilos a
+ * la vez. Las llaves se reparten en segmentos según los bits altos
+ * de su huella digital; cada segmento es una tabla pequeña con su
+ * propio candado, así que hilos que escriben en segmentos distintos
+ * no se estorban.</p>
+ *
+ * <p>Las búsquedas no toman ningún candado: las cadenas de entradas
+ * nunca se modifican una vez publicadas (salvo el valor, que es
+ * volátil), por lo que un lector siempre ve una cadena consistente.
+ * Cada segmento crece por su cuenta, sin detener a los lectores ni
+ * a quienes escriben en otros segmentos.</p>
+ *
+ * <p>Los métodos que recorren todo el diccionario ({@link #llaves},
+ * {@link #valores}, {@link #iterator}, {@link #getTotal}) no
+ * detienen a los demás hilos; reflejan el estado del diccionario en
+ * algún momento durante el recorrido.</p>
+ */
+public class DiccionarioConcurrente<K, V> implements Iterable<V> {
+
+    /* Clase privada para iteradores de diccionarios concurrentes. */
+    private class Iterador implements Iterator<V> {
+
+        /* En qué segmento estamos. */
+        private int segmento;
+        /* Tabla del segmento que estamos recorriendo. */
+        private AtomicReferenceArray<Entrada<K,V>> tabla;
+        /* En qué índice de la tabla estamos. */
+        private int indice;
+        /* Siguiente entrada a regresar. */
+        private Entrada<K,V> siguiente;
+
+        /* Construye un nuevo iterador y lo coloca en la primera
+         * entrada. */
+        public Iterador() {
+	    segmento = 0;
+	    tabla = segmentos[0].tabla;
+	    indice = -1;
+	    avanza();
+        }
+
+        /* Nos dice si hay un siguiente elemento. */
+        public boolean hasNext() {
+	    return siguiente != null;
+        }
+
+        /* Regresa el siguiente elemento. */
+        public V next() {
+	    if(!hasNext())
+		throw new NoSuchElementException();
+	    V valor = siguiente.valor;
+	    siguiente = siguiente.siguiente;
+	    if(siguiente == null)
+		avanza();
+	    return valor;
+        }
+
+        /* No lo implementamos: siempre lanza una excepción. */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        //Metodo privado para movernos a la siguiente cadena no vacía.
+        private void avanza() {
+	    while(true){
+		indice++;
+		while(indice < tabla.length()){
+		    siguiente = tabla.get(indice);
+		    if(siguiente != null)
+			return;
+		    indice++;
+		}
+		if(++segmento == segmentos.length)
+		    return;
+		tabla = segmentos[segmento].tabla;
+		indice = -1;
+	    }
+        }
+    }
+
+    /* Clase para las entradas del diccionario. La llave, la huella y
+     * la siguiente entrada nunca cambian; para eliminar una entrada
+     * se copian las que le preceden en la cadena. */
+    private static class Entrada<K, V> {
+        public final K llave;
+        public final int huella;
+        public volatile V valor;
+        public final Entrada<K, V> siguiente;
+        public Entrada(K llave, int huella, V valor, Entrada<K, V> siguiente) {
+            this.llave = llave;
+            this.huella = huella;
+            this.valor = valor;
+            this.siguiente = siguiente;
+        }
+    }
+
+    /* Clase para los segmentos del diccionario. Las escrituras se
+     * hacen con el candado del segmento; las lecturas no lo usan. */
+    @SuppressWarnings("serial")
+    private static class Segmento<K, V> extends ReentrantLock {
+
+	/* La tabla; se reemplaza completa cuando el segmento crece. */
+	public volatile AtomicReferenceArray<Entrada<K,V>> tabla;
+	/* Número de entradas en el segmento. */
+	public volatile int total;
+
+	/* Construye un segmento con n índices; n es potencia de 2. */
+	public Segmento(int n) {
+	    tabla = new AtomicReferenceArray<Entrada<K,V>>(n);
+	}
+
+	/* Busca la entrada de la llave sin tomar el candado. */
+	public Entrada<K,V> busca(K llave, int h) {
+	    AtomicReferenceArray<Entrada<K,V>> t = tabla;
+	    for(Entrada<K,V> e = t.get(h & (t.length()-1)); e != null; e = e.siguiente)
+		if(e.huella == h && e.llave.equals(llave))
+		    return e;
+	    return null;
+	}
+
+	/* Agrega o reemplaza el valor de la llave. */
+	public void agrega(K llave, int h, V valor) {
+	    lock();
+	    try{
+		AtomicReferenceArray<Entrada<K,V>> t = tabla;
+		int i = h & (t.length()-1);
+		Entrada<K,V> cabeza = t.get(i);
+		for(Entrada<K,V> e = cabeza; e != null; e = e.siguiente){
+		    if(e.huella == h && e.llave.equals(llave)){
+			e.valor = valor;
+			return;
+		    }
+		}
+		t.set(i, new Entrada<K,V>(llave, h, valor, cabeza));
+		total++;
+		if(total > t.length() * Diccionario.MAXIMA_CARGA)
+		    crece();
+	    }finally{
+		unlock();
+	    }
+	}
+
+	/* Elimina la llave; regresa true si estaba en el segmento. */
+	public boolean elimina(K llave, int h) {
+	    lock();
+	    try{
+		AtomicReferenceArray<Entrada<K,V>> t = tabla;
+		int i = h & (t.length()-1);
+		Entrada<K,V> cabeza = t.get(i);
+		Entrada<K,V> e = cabeza;
+		while(e != null && !(e.huella == h && e.llave.equals(llave)))
+		    e = e.siguiente;
+		if(e == null)
+		    return false;
+		/* Copiamos las entradas anteriores a e, apuntando a la
+		 * que le sigue. */
+		Entrada<K,V> nueva = e.siguiente;
+		for(Entrada<K,V> p = cabeza; p != e; p = p.siguiente)
+		    nueva = new Entrada<K,V>(p.llave, p.huella, p.valor, nueva);
+		t.set(i, nueva);
+		total--;
+		return true;
+	    }finally{
+		unlock();
+	    }
+	}
+
+	/* Duplica la tabla. Se llama con el candado tomado. El final
+	 * de cada cadena que cae completo en un mismo índice nuevo se
+	 * reutiliza tal cual; sólo se copian las entradas anteriores. */
+	private void crece() {
+	    AtomicReferenceArray<Entrada<K,V>> vieja = tabla;
+	    int n = vieja.length() * 2;
+	    AtomicReferenceArray<Entrada<K,V>> nueva = new AtomicReferenceArray<Entrada<K,V>>(n);
+	    for(int i = 0; i < vieja.length(); i++){
+		Entrada<K,V> cabeza = vieja.get(i);
+		if(cabeza == null)
+		    continue;
+		Entrada<K,V> cola = cabeza;
+		int indiceCola = cabeza.huella & (n-1);
+		for(Entrada<K,V> e = cabeza.siguiente; e != null; e = e.siguiente){
+		    int j = e.huella & (n-1);
+		    if(j != indiceCola){
+			indiceCola = j;
+			cola = e;
+		    }
+		}
+		nueva.set(indiceCola, cola);
+		for(Entrada<K,V> e = cabeza; e != cola; e = e.siguiente){
+		    int j = e.huella & (n-1);
+		    nueva.set(j, new Entrada<K,V>(e.llave, e.huella, e.valor, nueva.get(j)));
+		}
+	    }
+	    tabla = nueva;
+	}
+    }
+
+    /* Número de segmentos predeterminado. */
+    private static final int SEGMENTOS = 16;
+    /* Tamaño mínimo de cada segmento. */
+    private static final int MIN_SEGMENTO = 4;
+    /* Tamaño predeterminado del diccionario. */
+    private static final int MIN_N = 64;
+
+    /* Huella digital. */
+    private HuellaDigital<K> huella;
+    /* Los segmentos. */
+    private Segmento<K,V>[] segmentos;
+    /* Cuántos bits recorrer la huella para obtener el segmento. */
+    private int desplazamiento;
+
+    /* Truco para crear un arreglo genérico. */
+    @SuppressWarnings("unchecked") private Segmento<K,V>[] nuevoArreglo(int n) {
+        Segmento[] arreglo = new Segmento[n];
+        return (Segmento<K,V>[])arreglo;
+    }
+
+    /**
+     * Construye un diccionario concurrente con un tamaño inicial,
+     * huella digital y número de segmentos predeterminados.
+     */
+    public DiccionarioConcurrente() {
+	this(MIN_N);
+    }
+
+    /**
+     * Construye un diccionario concurrente con un tamaño inicial
+     * definido por el usuario, y huella digital y número de
+     * segmentos predeterminados.
+     * @param tam el tamaño a utilizar.
+     */
+    public DiccionarioConcurrente(int tam) {
+	this(tam, new HuellaDigital<K>(){
+		@Override
+		public int huellaDigital(K llave){
+		    return llave.hashCode();
+		}
+	    });
+    }
+
+    /**
+     * Construye un diccionario concurrente con un tamaño inicial
+     * predeterminado, y una huella digital definida por el usuario.
+     * @param huella la huella digital a utilizar.
+     */
+    public DiccionarioConcurrente(HuellaDigital<K> huella) {
+	this(MIN_N, huella);
+    }
+
+    /**
+     * Construye un diccionario concurrente con un tamaño inicial y
+     * una huella digital definidos por el usuario.
+     * @param tam el tamaño del diccionario.
+     * @param huella la huella digital a utilizar.
+     */
+    public DiccionarioConcurrente(int tam, HuellaDigital<K> huella) {
+	this(tam, huella, SEGMENTOS);
+    }
+
+    /**
+     * Construye un diccionario concurrente con un tamaño inicial,
+     * una huella digital y un número de segmentos definidos por el
+     * usuario. El número de segmentos es cuántos hilos pueden
+     * escribir a la vez sin esperarse; se redondea a una potencia
+     * de 2.
+     * @param tam el tamaño del diccionario.
+     * @param huella la huella digital a utilizar.
+     * @param concurrencia el número de segmentos.
+     * @throws IllegalArgumentException si la concurrencia no es
+     *         positiva.
+     */
+    public DiccionarioConcurrente(int tam, HuellaDigital<K> huella, int concurrencia) {
+	if(concurrencia < 1)
+	    throw new IllegalArgumentException();
+	this.huella = huella;
+	int n = 1;
+	int bits = 0;
+	while(n < concurrencia && bits < 16){
+	    n <<= 1;
+	    bits++;
+	}
+	desplazamiento = 32 - bits;
+	int porSegmento = MIN_SEGMENTO;
+	while(porSegmento * n * Diccionario.MAXIMA_CARGA < tam)
+	    porSegmento <<= 1;
+	segmentos = nuevoArreglo(n);
+	for(int i = 0; i < n; i++)
+	    segmentos[i] = new Segmento<K,V>(porSegmento);
+    }
+
+    /**
+     * Agrega un nuevo valor al diccionario, usando la llave
+     * proporcionada. Si la llave ya había sido utilizada antes para
+     * agregar un valor, el diccionario reemplaza ese valor con el
+     * recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     */
+    public void agrega(K llave, V valor) {
+	int h = huella(llave);
+	segmento(h).agrega(llave, h, valor);
+    }
+
+    /**
+     * Regresa el valor del diccionario asociado a la llave
+     * proporcionada. No toma ningún candado.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws NoSuchElementException si la llave no está en el
+     *         diccionario.
+     */
+    public V get(K llave) {
+	int h = huella(llave);
+	Entrada<K,V> entrada = segmento(h).busca(llave, h);
+	if(entrada == null)
+	    throw new NoSuchElementException();
+	return entrada.valor;
+    }
+
+    /**
+     * Nos dice si una llave se encuentra en el diccionario. No toma
+     * ningún candado.
+     * @param llave la llave que queremos ver si está en el diccionario.
+     * @return <tt>true</tt> si la llave está en el diccionario,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(K llave) {
+	int h = huella(llave);
+	return segmento(h).busca(llave, h) != null;
+    }
+
+    /**
+     * Elimina el valor del diccionario asociado a la llave
+     * proporcionada. Si la llave no está en el diccionario, no hace
+     * nada.
+     * @param llave la llave para buscar el valor a eliminar.
+     */
+    public void elimina(K llave) {
+	int h = huella(llave);
+	segmento(h).elimina(llave, h);
+    }
+
+    /**
+     * Regresa una lista con todas las llaves con valores asociados
+     * en el diccionario. La lista no tiene ningún tipo de orden.
+     * @return una lista con todas las llaves.
+     */
+    public Lista<K> llaves() {
+	Lista<K> lista = new Lista<K>();
+	for(Segmento<K,V> s : segmentos){
+	    AtomicReferenceArray<Entrada<K,V>> t = s.tabla;
+	    for(int i = 0; i < t.length(); i++)
+		for(Entrada<K,V> e = t.get(i); e != null; e = e.siguiente)
+		    lista.agregaFinal(e.llave);
+	}
+	return lista;
+    }
+
+    /**
+     * Regresa una lista con todos los valores en el diccionario. La
+     * lista no tiene ningún tipo de orden.
+     * @return una lista con todos los valores.
+     */
+    public Lista<V> valores() {
+	Lista<V> lista = new Lista<V>();
+	for(V valor : this)
+	    lista.agregaFinal(valor);
+	return lista;
+    }
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave
+     * que tenemos en el diccionario.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima() {
+	int max = 0;
+	for(Segmento<K,V> s : segmentos){
+	    AtomicReferenceArray<Entrada<K,V>> t = s.tabla;
+	    for(int i = 0; i < t.length(); i++){
+		int c = -1;
+		for(Entrada<K,V> e = t.get(i); e != null; e = e.siguiente)
+		    c++;
+		if(c > max)
+		    max = c;
+	    }
+	}
+	return max;
+    }
+
+    /**
+     * Nos dice cuántas colisiones hay en el diccionario.
+     * @return cuántas colisiones hay en el diccionario.
+     */
+    public int colisiones() {
+	int colisiones = 0;
+	for(Segmento<K,V> s : segmentos){
+	    AtomicReferenceArray<Entrada<K,V>> t = s.tabla;
+	    for(int i = 0; i < t.length(); i++)
+		if(t.get(i) != null)
+		    for(Entrada<K,V> e = t.get(i).siguiente; e != null; e = e.siguiente)
+			colisiones++;
+	}
+	return colisiones;
+    }
+
+    /**
+     * Nos dice la carga del diccionario.
+     * @return la carga del diccionario.
+     */
+    public double carga() {
+	int total = 0;
+	int n = 0;
+	for(Segmento<K,V> s : segmentos){
+	    total += s.total;
+	    n += s.tabla.length();
+	}
+	return total/(double)n;
+    }
+
+    /**
+     * Regresa el número de valores en el diccionario.
+     * @return el número de valores en el diccionario.
+     */
+    public int getTotal() {
+	int total = 0;
+	for(Segmento<K,V> s : segmentos)
+	    total += s.total;
+	return total;
+    }
+
+    /**
+     * Regresa un iterador para iterar los valores del
+     * diccionario. El diccionario se itera sin ningún orden
+     * específico; el iterador no falla si otros hilos modifican el
+     * diccionario mientras tanto.
+     * @return un iterador para iterar el diccionario.
+     */
+    @Override public Iterator<V> iterator() {
+        return new Iterador();
+    }
+
+    //Metodo privado para calcular la huella dispersada de la llave.
+    //Los bits altos eligen el segmento y los bajos el índice, así que
+    //mezclamos todos los bits de la huella original.
+    private int huella(K llave){
+	int h = huella.huellaDigital(llave) * 0x9e3779b9;
+	return h ^ (h >>> 16);
+    }
+
+    //Metodo privado para obtener el segmento de una huella.
+    private Segmento<K,V> segmento(int h){
+	return segmentos[desplazamiento == 32 ? 0 : h >>> desplazamiento];
+    }
+} //Fin de DiccionarioConcurrente.java
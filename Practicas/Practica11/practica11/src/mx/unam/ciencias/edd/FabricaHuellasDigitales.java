@@ -27,11 +27,27 @@
  */
 package mx.unam.ciencias.edd;
 
+import java.nio.ByteBuffer;
+
 /**
  * @autor Jose Ricardo Rodriguez Abreu.
  * @version 1.5
  * @since May 6, 2014.
  * Clase para fabricar generadores de huellas digitales.
+ *
+ * <p>Además de las instancias de {@link HuellaDigital}, la clase
+ * ofrece métodos para calcular directamente la huella de una
+ * secuencia de caracteres, de un pedazo de un arreglo de bytes o de
+ * un {@link ByteBuffer} (en el montón o directo), sin copiar los
+ * datos. Las cadenas siempre se leen codificadas en UTF-8, así que
+ * sus huellas no dependen de la codificación de la plataforma.</p>
+ *
+ * <p>Para llaves largas conviene usar {@link #MURMUR3_STRING} o
+ * {@link #XXH64_STRING}, que distribuyen mucho mejor que {@link
+ * #XOR_STRING} y procesan cuatro u ocho bytes por paso. Ambas
+ * aceptan una semilla; usar una semilla aleatoria evita que
+ * alguien que conozca la función pueda fabricar llaves que
+ * colisionen a propósito.</p>
  */
 public class FabricaHuellasDigitales {
     
@@ -50,6 +66,33 @@ public class FabricaHuellasDigitales {
      * cadenas.
      */
     public static final int XOR_STRING  = 2;
+    /**
+     * Identificador para fabricar la huella digital MurmurHash3 de
+     * 32 bits para cadenas.
+     */
+    public static final int MURMUR3_STRING = 3;
+    /**
+     * Identificador para fabricar la huella digital xxHash de 64
+     * bits para cadenas; como huella de 32 bits se usa la mezcla de
+     * sus dos mitades.
+     */
+    public static final int XXH64_STRING = 4;
+
+    /* Primos de xxHash64. */
+    private static final long P1 = 0x9e3779b185ebca87L;
+    private static final long P2 = 0xc2b2ae3d27d4eb4fL;
+    private static final long P3 = 0x165667b19e3779f9L;
+    private static final long P4 = 0x85ebca77c2b2ae63L;
+    private static final long P5 = 0x27d4eb2f165667c5L;
+
+    /* Arreglo por hilo donde codificamos las cadenas a UTF-8. Crece
+     * cuando hace falta y se reutiliza, así que calcular huellas de
+     * cadenas no genera basura. */
+    private static final ThreadLocal<byte[]> BUFER = new ThreadLocal<byte[]>() {
+	@Override protected byte[] initialValue() {
+	    return new byte[64];
+	}
+    };
     
     /**
      * Regresa una instancia de {@link HuellaDigital} para cadenas.
@@ -59,106 +102,427 @@ public class FabricaHuellasDigitales {
      *         no reconocido.
      */
     public static HuellaDigital<String> getInstanciaString(int identificador) {
-	if(identificador == 0){
-	    return new HuellaDigital<String>(){
-		@Override
-		    public int huellaDigital(String pal){
-		    byte[] letras = pal.getBytes();
-		    int a, b, c, l, i;
-		    l = letras.length;
-		    a = b = 0x9e3779b9;
-		    c = 0xffffffff;
-		    i = 0;
-		    while(l >= 12){
-			a+= (letras[i+0] + (letras[i+1] << 8) + (letras[i+2] << 16) + (letras[i+3] << 24));
-			b+= (letras[i+4] + (letras[i+5] << 8) + (letras[i+6] << 16) + (letras[i+7] << 24));
-			c+= (letras[i+8] + (letras[i+9] << 8) + (letras[i+10] << 16) + (letras[i+11] << 24));			
-			a-=b; a-=c; a^=(c>>>13);	
-			b-=c; b-=a; b^=(a<<8);
-			c-=a; c-=b; c^=(b>>>13);
-			a-=b; a-=c; a^=(c>>>12);
-			b-=c; b-=a; b^=(a<<16);
-			c-=a; c-=b; c^=(b>>>5);
-			a-=b; a-=c; a^=(c>>>3);
-			b-=c; b-=a; b^=(a<<10);
-			c-=a; c-=b; c^=(b>>>15);
-			i+= 12;
-			l-= 12;
-		    }
-		    c += letras.length;
-		    switch(l){
-		    case 11: c+= (letras[i+10] << 24);
-		    case 10: c+= (letras[i+9] << 16);
-		    case 9: c+= (letras[i+8] << 8);
-		    case 8: b+= (letras[i+7] << 24);
-		    case 7: b+= (letras[i+6] << 16);
-		    case 6: b+= (letras[i+5] << 8);
-		    case 5: b+= (letras[i+4]);
-		    case 4: a+= (letras[i+3] << 24);
-		    case 3: a+= (letras[i+2] << 16);
-		    case 2: a+= (letras[i+1] << 8);
-		    case 1: a+= (letras[i+0]);
-		    }
-		    a-=b; a-=c; a^=(c>>>13);	
-		    b-=c; b-=a; b^=(a<<8);
-		    c-=a; c-=b; c^=(b>>>13);
-		    a-=b; a-=c; a^=(c>>>12);
-		    b-=c; b-=a; b^=(a<<16);
-		    c-=a; c-=b; c^=(b>>>5);
-		    a-=b; a-=c; a^=(c>>>3);
-		    b-=c; b-=a; b^=(a<<10);
-		    c-=a; c-=b; c^=(b>>>15);		    		    
-		    return c;
-		}
-	    }; 
-	}else if(identificador == 1){
-	    return new HuellaDigital<String>(){
-		@Override
-		    public int huellaDigital(String pal){
-		    byte[] letras = pal.getBytes();
-		    int h = 5381;
-		    for(int i = 0; i< letras.length; i++){
-			char c = (char)letras[i];
-			h = h*33+ c;
-		    }
-		    return h;
-		}
-	    };     
-	}else if(identificador == 2){
-	    return new HuellaDigital<String>(){
-		@Override
-		    public int huellaDigital(String pal){
-		    byte[] letras = pal.getBytes();
-		    int i = letras.length;
-		    int c = 0;		    		  
-		    while(i >= 0){
-			byte a, b, b2, d;
-			a = b = b2 = d =0;
-			if(i < 4){
-			    if(i == 3){
-				b = letras[i-3];
-				b2 = letras[i-2];
-				d = letras[i-1];
-			    }else if(i == 2){		
-				b2 = letras[i-2];
-				d = letras[i-1];		
-			    }else if(i == 1){
-				d = letras[i-1];
-			    }
-			}else{
-			    a = letras[i-4];
-			    b = letras[i-3];
-			    b2 = letras[i-2];
-			    d = letras[i-1];
-			}
-			c ^= (a<<24) | (b<<16) | (b2<<8) | d;
-			i-=4;
-		    }
-		    return c;
-		}
-	    };
-	}else{
+	return getInstanciaString(identificador, 0);
+    }
+
+    /**
+     * Regresa una instancia de {@link HuellaDigital} para cadenas,
+     * usando la semilla recibida. Sólo {@link #MURMUR3_STRING} (que
+     * usa los 32 bits bajos) y {@link #XXH64_STRING} usan la
+     * semilla; las demás huellas la ignoran.
+     * @param identificador el identificador del tipo de huella
+     *        digital que se desea.
+     * @param semilla la semilla de la huella digital.
+     * @throws IllegalArgumentException si recibe un identificador
+     *         no reconocido.
+     */
+    public static HuellaDigital<String> getInstanciaString(final int identificador,
+							   final long semilla) {
+	if(identificador < BJ_STRING || identificador > XXH64_STRING)
 	    throw new IllegalArgumentException();
+	return new HuellaDigital<String>(){
+	    @Override
+		public int huellaDigital(String pal){
+		return FabricaHuellasDigitales.huellaDigital(identificador, pal, semilla);
+	    }
+	};
+    }
+
+    /**
+     * Calcula la huella digital de una secuencia de caracteres,
+     * codificada en UTF-8.
+     * @param identificador el identificador del tipo de huella
+     *        digital que se desea.
+     * @param cadena la secuencia de caracteres.
+     * @return la huella digital de la secuencia.
+     * @throws IllegalArgumentException si recibe un identificador
+     *         no reconocido.
+     */
+    public static int huellaDigital(int identificador, CharSequence cadena) {
+	return huellaDigital(identificador, cadena, 0);
+    }
+
+    /**
+     * Calcula la huella digital de una secuencia de caracteres,
+     * codificada en UTF-8, usando la semilla recibida.
+     * @param identificador el identificador del tipo de huella
+     *        digital que se desea.
+     * @param cadena la secuencia de caracteres.
+     * @param semilla la semilla de la huella digital.
+     * @return la huella digital de la secuencia.
+     * @throws IllegalArgumentException si recibe un identificador
+     *         no reconocido.
+     */
+    public static int huellaDigital(int identificador, CharSequence cadena, long semilla) {
+	int n = codificaUTF8(cadena);
+	return huellaDigital(identificador, BUFER.get(), null, 0, n, semilla);
+    }
+
+    /**
+     * Calcula la huella xxHash de 64 bits de una secuencia de
+     * caracteres, codificada en UTF-8.
+     * @param cadena la secuencia de caracteres.
+     * @param semilla la semilla de la huella digital.
+     * @return la huella digital de 64 bits de la secuencia.
+     */
+    public static long huellaDigital64(CharSequence cadena, long semilla) {
+	int n = codificaUTF8(cadena);
+	return xxh64(BUFER.get(), null, 0, n, semilla);
+    }
+
+    /**
+     * Calcula la huella xxHash de 64 bits de un pedazo de un
+     * arreglo de bytes.
+     * @param bytes el arreglo.
+     * @param ini la posición del primer byte a considerar.
+     * @param lon el número de bytes a considerar.
+     * @param semilla la semilla de la huella digital.
+     * @return la huella digital de 64 bits de los bytes.
+     * @throws ExcepcionIndiceInvalido si el pedazo no está
+     *         contenido en el arreglo.
+     */
+    public static long huellaDigital64(byte[] bytes, int ini, int lon, long semilla) {
+	if(ini < 0 || lon < 0 || ini > bytes.length - lon)
+	    throw new ExcepcionIndiceInvalido();
+	return xxh64(bytes, null, ini, lon, semilla);
+    }
+
+    /**
+     * Calcula la huella xxHash de 64 bits de los bytes entre la
+     * posición y el límite de un buffer, sin modificar su posición.
+     * @param buffer el buffer.
+     * @param semilla la semilla de la huella digital.
+     * @return la huella digital de 64 bits de los bytes restantes
+     *         del buffer.
+     */
+    public static long huellaDigital64(ByteBuffer buffer, long semilla) {
+	if(buffer.hasArray())
+	    return xxh64(buffer.array(), null, buffer.arrayOffset() + buffer.position(),
+			 buffer.remaining(), semilla);
+	return xxh64(null, buffer, buffer.position(), buffer.remaining(), semilla);
+    }
+
+    /**
+     * Calcula la huella digital de un pedazo de un arreglo de bytes.
+     * @param identificador el identificador del tipo de huella
+     *        digital que se desea.
+     * @param bytes el arreglo.
+     * @param ini la posición del primer byte a considerar.
+     * @param lon el número de bytes a considerar.
+     * @return la huella digital de los bytes.
+     * @throws ExcepcionIndiceInvalido si el pedazo no está
+     *         contenido en el arreglo.
+     * @throws IllegalArgumentException si recibe un identificador
+     *         no reconocido.
+     */
+    public static int huellaDigital(int identificador, byte[] bytes, int ini, int lon) {
+	if(ini < 0 || lon < 0 || ini > bytes.length - lon)
+	    throw new ExcepcionIndiceInvalido();
+	return huellaDigital(identificador, bytes, null, ini, lon, 0);
+    }
+
+    /**
+     * Calcula la huella digital de los bytes entre la posición y el
+     * límite de un buffer. El buffer puede ser directo; la posición
+     * del buffer no se modifica.
+     * @param identificador el identificador del tipo de huella
+     *        digital que se desea.
+     * @param buffer el buffer.
+     * @return la huella digital de los bytes restantes del buffer.
+     * @throws IllegalArgumentException si recibe un identificador
+     *         no reconocido.
+     */
+    public static int huellaDigital(int identificador, ByteBuffer buffer) {
+	if(buffer.hasArray())
+	    return huellaDigital(identificador, buffer.array(), null,
+				buffer.arrayOffset() + buffer.position(),
+				buffer.remaining(), 0);
+	return huellaDigital(identificador, null, buffer,
+			    buffer.position(), buffer.remaining(), 0);
+    }
+
+    //Metodo privado que elige el algoritmo. Los bytes se leen de bs
+    //o, si es null, de bb.
+    private static int huellaDigital(int identificador, byte[] bs, ByteBuffer bb,
+				     int ini, int lon, long semilla) {
+	if(identificador == BJ_STRING)
+	    return bj(bs, bb, ini, lon);
+	else if(identificador == GLIB_STRING)
+	    return glib(bs, bb, ini, lon);
+	else if(identificador == XOR_STRING)
+	    return xor(bs, bb, ini, lon);
+	else if(identificador == MURMUR3_STRING)
+	    return murmur3(bs, bb, ini, lon, (int)semilla);
+	else if(identificador == XXH64_STRING){
+	    long h = xxh64(bs, bb, ini, lon, semilla);
+	    return (int)(h ^ (h >>> 32));
+	}else
+	    throw new IllegalArgumentException();
+    }
+
+    //Metodo privado para leer el i-ésimo byte del arreglo o del buffer.
+    private static byte lee(byte[] bs, ByteBuffer bb, int i) {
+	return bs != null ? bs[i] : bb.get(i);
+    }
+
+    //Metodo privado para leer cuatro bytes en orden little-endian.
+    private static int leeEntero(byte[] bs, ByteBuffer bb, int i) {
+	return (lee(bs, bb, i) & 0xff) | (lee(bs, bb, i+1) & 0xff) << 8 |
+	    (lee(bs, bb, i+2) & 0xff) << 16 | (lee(bs, bb, i+3) & 0xff) << 24;
+    }
+
+    //Metodo privado para leer ocho bytes en orden little-endian.
+    private static long leeLargo(byte[] bs, ByteBuffer bb, int i) {
+	return (leeEntero(bs, bb, i) & 0xffffffffL) |
+	    ((long)leeEntero(bs, bb, i+4)) << 32;
+    }
+
+    //Huella digital MurmurHash3 (x86, 32 bits).
+    private static int murmur3(byte[] bs, ByteBuffer bb, int ini, int lon, int semilla) {
+	int c1 = 0xcc9e2d51;
+	int c2 = 0x1b873593;
+	int h = semilla;
+	int i = ini;
+	int fin = ini + (lon & ~3);
+	while(i < fin){
+	    int k = leeEntero(bs, bb, i);
+	    k *= c1;
+	    k = Integer.rotateLeft(k, 15);
+	    k *= c2;
+	    h ^= k;
+	    h = Integer.rotateLeft(h, 13);
+	    h = h*5 + 0xe6546b64;
+	    i += 4;
+	}
+	int k = 0;
+	switch(lon & 3){
+	case 3: k ^= (lee(bs, bb, i+2) & 0xff) << 16;
+	case 2: k ^= (lee(bs, bb, i+1) & 0xff) << 8;
+	case 1: k ^= (lee(bs, bb, i) & 0xff);
+	    k *= c1;
+	    k = Integer.rotateLeft(k, 15);
+	    k *= c2;
+	    h ^= k;
+	}
+	h ^= lon;
+	h ^= h >>> 16;
+	h *= 0x85ebca6b;
+	h ^= h >>> 13;
+	h *= 0xc2b2ae35;
+	h ^= h >>> 16;
+	return h;
+    }
+
+    //Huella digital xxHash64. Procesa ocho bytes por paso, en
+    //cuatro acumuladores independientes para bloques de 32 bytes.
+    private static long xxh64(byte[] bs, ByteBuffer bb, int ini, int lon, long semilla) {
+	int i = ini;
+	int fin = ini + lon;
+	long h;
+	if(lon >= 32){
+	    long v1 = semilla + P1 + P2;
+	    long v2 = semilla + P2;
+	    long v3 = semilla;
+	    long v4 = semilla - P1;
+	    do{
+		v1 = ronda(v1, leeLargo(bs, bb, i));
+		v2 = ronda(v2, leeLargo(bs, bb, i+8));
+		v3 = ronda(v3, leeLargo(bs, bb, i+16));
+		v4 = ronda(v4, leeLargo(bs, bb, i+24));
+		i += 32;
+	    }while(i <= fin - 32);
+	    h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) +
+		Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+	    h = mezclaRonda(h, v1);
+	    h = mezclaRonda(h, v2);
+	    h = mezclaRonda(h, v3);
+	    h = mezclaRonda(h, v4);
+	}else{
+	    h = semilla + P5;
+	}
+	h += lon;
+	while(i <= fin - 8){
+	    h ^= ronda(0, leeLargo(bs, bb, i));
+	    h = Long.rotateLeft(h, 27) * P1 + P4;
+	    i += 8;
+	}
+	if(i <= fin - 4){
+	    h ^= (leeEntero(bs, bb, i) & 0xffffffffL) * P1;
+	    h = Long.rotateLeft(h, 23) * P2 + P3;
+	    i += 4;
+	}
+	while(i < fin){
+	    h ^= (lee(bs, bb, i) & 0xff) * P5;
+	    h = Long.rotateLeft(h, 11) * P1;
+	    i++;
+	}
+	h ^= h >>> 33;
+	h *= P2;
+	h ^= h >>> 29;
+	h *= P3;
+	h ^= h >>> 32;
+	return h;
+    }
+
+    //Ronda de xxHash64 sobre un acumulador.
+    private static long ronda(long acumulador, long entrada) {
+	acumulador += entrada * P2;
+	acumulador = Long.rotateLeft(acumulador, 31);
+	return acumulador * P1;
+    }
+
+    //Mezcla un acumulador de xxHash64 en la huella.
+    private static long mezclaRonda(long h, long acumulador) {
+	h ^= ronda(0, acumulador);
+	return h * P1 + P4;
+    }
+
+    //Huella digital de Bob Jenkins.
+    private static int bj(byte[] bs, ByteBuffer bb, int ini, int lon) {
+	int a, b, c, l, i;
+	l = lon;
+	a = b = 0x9e3779b9;
+	c = 0xffffffff;
+	i = ini;
+	while(l >= 12){
+	    a+= (lee(bs, bb, i+0) + (lee(bs, bb, i+1) << 8) + (lee(bs, bb, i+2) << 16) + (lee(bs, bb, i+3) << 24));
+	    b+= (lee(bs, bb, i+4) + (lee(bs, bb, i+5) << 8) + (lee(bs, bb, i+6) << 16) + (lee(bs, bb, i+7) << 24));
+	    c+= (lee(bs, bb, i+8) + (lee(bs, bb, i+9) << 8) + (lee(bs, bb, i+10) << 16) + (lee(bs, bb, i+11) << 24));
+	    a-=b; a-=c; a^=(c>>>13);
+	    b-=c; b-=a; b^=(a<<8);
+	    c-=a; c-=b; c^=(b>>>13);
+	    a-=b; a-=c; a^=(c>>>12);
+	    b-=c; b-=a; b^=(a<<16);
+	    c-=a; c-=b; c^=(b>>>5);
+	    a-=b; a-=c; a^=(c>>>3);
+	    b-=c; b-=a; b^=(a<<10);
+	    c-=a; c-=b; c^=(b>>>15);
+	    i+= 12;
+	    l-= 12;
+	}
+	c += lon;
+	switch(l){
+	case 11: c+= (lee(bs, bb, i+10) << 24);
+	case 10: c+= (lee(bs, bb, i+9) << 16);
+	case 9: c+= (lee(bs, bb, i+8) << 8);
+	case 8: b+= (lee(bs, bb, i+7) << 24);
+	case 7: b+= (lee(bs, bb, i+6) << 16);
+	case 6: b+= (lee(bs, bb, i+5) << 8);
+	case 5: b+= (lee(bs, bb, i+4));
+	case 4: a+= (lee(bs, bb, i+3) << 24);
+	case 3: a+= (lee(bs, bb, i+2) << 16);
+	case 2: a+= (lee(bs, bb, i+1) << 8);
+	case 1: a+= (lee(bs, bb, i+0));
+	}
+	a-=b; a-=c; a^=(c>>>13);
+	b-=c; b-=a; b^=(a<<8);
+	c-=a; c-=b; c^=(b>>>13);
+	a-=b; a-=c; a^=(c>>>12);
+	b-=c; b-=a; b^=(a<<16);
+	c-=a; c-=b; c^=(b>>>5);
+	a-=b; a-=c; a^=(c>>>3);
+	b-=c; b-=a; b^=(a<<10);
+	c-=a; c-=b; c^=(b>>>15);
+	return c;
+    }
+
+    //Huella digital de GLib.
+    private static int glib(byte[] bs, ByteBuffer bb, int ini, int lon) {
+	int h = 5381;
+	for(int i = ini; i < ini + lon; i++){
+	    char c = (char)lee(bs, bb, i);
+	    h = h*33+ c;
+	}
+	return h;
+    }
+
+    //Huella digital XOR: combina grupos de cuatro bytes, alineados
+    //al final de la secuencia.
+    private static int xor(byte[] bs, ByteBuffer bb, int ini, int lon) {
+	int i = lon;
+	int c = 0;
+	while(i >= 0){
+	    byte a, b, b2, d;
+	    a = b = b2 = d =0;
+	    if(i < 4){
+		if(i == 3){
+		    b = lee(bs, bb, ini+i-3);
+		    b2 = lee(bs, bb, ini+i-2);
+		    d = lee(bs, bb, ini+i-1);
+		}else if(i == 2){
+		    b2 = lee(bs, bb, ini+i-2);
+		    d = lee(bs, bb, ini+i-1);
+		}else if(i == 1){
+		    d = lee(bs, bb, ini+i-1);
+		}
+	    }else{
+		a = lee(bs, bb, ini+i-4);
+		b = lee(bs, bb, ini+i-3);
+		b2 = lee(bs, bb, ini+i-2);
+		d = lee(bs, bb, ini+i-1);
+	    }
+	    c ^= (a<<24) | (b<<16) | (b2<<8) | d;
+	    i-=4;
+	}
+	return c;
+    }
+
+    //Metodo privado para contar los bytes de la cadena en UTF-8.
+    private static int longitudUTF8(CharSequence cadena) {
+	int n = 0;
+	int l = cadena.length();
+	for(int i = 0; i < l; i++){
+	    char c = cadena.charAt(i);
+	    if(c < 0x80)
+		n += 1;
+	    else if(c < 0x800)
+		n += 2;
+	    else if(Character.isHighSurrogate(c) && i+1 < l &&
+		    Character.isLowSurrogate(cadena.charAt(i+1))){
+		n += 4;
+		i++;
+	    }else if(Character.isSurrogate(c))
+		n += 1;
+	    else
+		n += 3;
+	}
+	return n;
+    }
+
+    //Metodo privado para codificar la cadena en UTF-8 en el arreglo
+    //del hilo; regresa el número de bytes. Igual que String.getBytes,
+    //cambia los sustitutos sin pareja por '?'.
+    private static int codificaUTF8(CharSequence cadena) {
+	int n = longitudUTF8(cadena);
+	byte[] bytes = BUFER.get();
+	if(bytes.length < n){
+	    bytes = new byte[Math.max(n, bytes.length*2)];
+	    BUFER.set(bytes);
+	}
+	int j = 0;
+	int l = cadena.length();
+	for(int i = 0; i < l; i++){
+	    char c = cadena.charAt(i);
+	    if(c < 0x80){
+		bytes[j++] = (byte)c;
+	    }else if(c < 0x800){
+		bytes[j++] = (byte)(0xc0 | (c >> 6));
+		bytes[j++] = (byte)(0x80 | (c & 0x3f));
+	    }else if(Character.isHighSurrogate(c) && i+1 < l &&
+		     Character.isLowSurrogate(cadena.charAt(i+1))){
+		int p = Character.toCodePoint(c, cadena.charAt(++i));
+		bytes[j++] = (byte)(0xf0 | (p >> 18));
+		bytes[j++] = (byte)(0x80 | ((p >> 12) & 0x3f));
+		bytes[j++] = (byte)(0x80 | ((p >> 6) & 0x3f));
+		bytes[j++] = (byte)(0x80 | (p & 0x3f));
+	    }else if(Character.isSurrogate(c)){
+		bytes[j++] = (byte)'?';
+	    }else{
+		bytes[j++] = (byte)(0xe0 | (c >> 12));
+		bytes[j++] = (byte)(0x80 | ((c >> 6) & 0x3f));
+		bytes[j++] = (byte)(0x80 | (c & 0x3f));
+	    }
 	}
+	return n;
     }
 }//Fin de FabricaHuellasDigitales.java
\ No newline at end of file
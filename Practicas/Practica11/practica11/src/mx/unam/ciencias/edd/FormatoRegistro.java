@@ -0,0 +1,33 @@
+package mx.unam.ciencias.edd;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interfaz genérica para leer y escribir registros en búferes de
+ * bytes. La usa {@link OrdenamientoExterno} para leer los registros
+ * de un archivo por pedazos y para escribirlos en las corridas.
+ */
+public interface FormatoRegistro<T> {
+
+    /**
+     * Lee el siguiente registro del búfer, avanzando su posición.
+     * @param buffer el búfer de donde se lee.
+     * @param fin si es <tt>true</tt>, lo que queda en el búfer es todo
+     *        lo que falta del archivo.
+     * @return el registro leído, o <tt>null</tt> si el búfer no
+     *         contiene un registro completo; en ese caso la posición
+     *         del búfer puede haber cambiado, y quien llama la
+     *         restaura.
+     */
+    public T lee(ByteBuffer buffer, boolean fin);
+
+    /**
+     * Escribe un registro en el búfer, avanzando su posición.
+     * @param registro el registro a escribir.
+     * @param buffer el búfer donde se escribe.
+     * @return <tt>true</tt> si el registro cupo en el búfer,
+     *         <tt>false</tt> en otro caso; en ese caso la posición del
+     *         búfer puede haber cambiado, y quien llama la restaura.
+     */
+    public boolean escribe(T registro, ByteBuffer buffer);
+}
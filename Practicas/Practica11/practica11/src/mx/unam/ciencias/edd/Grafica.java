@@ -174,6 +174,23 @@ public class Grafica<T> implements Iterable<T> {
     }
 
 
+    /**
+     * Montículo binario, para {@link #dijkstra(Object, Object, int)}.
+     */
+    public static final int MONTICULO_BINARIO = 0;
+    /**
+     * Montículo de aridad 4, para {@link #dijkstra(Object, Object,
+     * int)}: tiene la mitad de niveles que el binario, y es el que
+     * usa {@link #dijkstra(Object, Object)}.
+     */
+    public static final int MONTICULO_CUATERNARIO = 1;
+    /**
+     * Montículo de emparejamiento, para {@link #dijkstra(Object,
+     * Object, int)}: decrementa llaves en tiempo constante, y
+     * conviene en gráficas con muchas aristas por vértice.
+     */
+    public static final int MONTICULO_EMPAREJAMIENTO = 2;
+
 /* Vértices. */
     private Diccionario<T, Vertice<T>> vertices;
     /* Número de aristas. */
@@ -575,6 +592,32 @@ public class Grafica<T> implements Iterable<T> {
      *         no está en la gráfica.
      */
     public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino) {
+	return dijkstra(origen, destino, MONTICULO_CUATERNARIO);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y
+     * el elemento de destino, usando la cola de prioridad recibida.
+     * Cada vértice está a lo más una vez en la cola: si se encuentra
+     * un camino más corto a un vértice que ya está en ella, se
+     * decrementa su llave.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param monticulo la cola de prioridad a usar: {@link
+     *        #MONTICULO_BINARIO}, {@link #MONTICULO_CUATERNARIO} o
+     *        {@link #MONTICULO_EMPAREJAMIENTO}.
+     * @return una trayectoria de peso mínimo entre el vértice
+     *         <tt>origen</tt> y el vértice <tt>destino</tt>. Si los
+     *         vértices están en componentes conexas distintas,
+     *         regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos
+     *         no está en la gráfica.
+     * @throws IllegalArgumentException si la cola de prioridad no es
+     *         ninguna de las anteriores.
+     */
+    public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino,
+					     int monticulo) {
+	ColaPrioridad<Grafica<T>.Vertice<T>> cola = creaCola(monticulo);
 	Lista<VerticeGrafica<T>> ret = new Lista<VerticeGrafica<T>>();
 	Grafica<T> temp = this;
 	if(!(vertices.contiene(origen) && vertices.contiene(destino)))
@@ -583,20 +626,22 @@ public class Grafica<T> implements Iterable<T> {
 	    Vertice<T> verticeA = vertices.get(origen);
 	    Vertice<T> verticeB = vertices.get(destino);	    
 	    Vertice<T> verTemp = verticeA;
-	    MonticuloMinimo<Grafica<T>.Vertice<T>> monticulo = new MonticuloMinimo<Grafica<T>.Vertice<T>>();	    
 	    verTemp.distancia = 0;
-	    monticulo.agrega(verTemp);
+	    cola.agrega(verTemp);
 	    verTemp.setColor(Color.ROJO);
 	    //for(Grafica<T>.Vertice<T> ver : temp.vertices){ System.out.println("vertice "+ ver.elemento+ " y su indice: "+ ver.getIndice());}
-	    while(!monticulo.esVacio()){
-		verTemp = monticulo.elimina();
+	    while(!cola.esVacio()){
+		verTemp = cola.elimina();
 		for(Arista<T> ari : verTemp.aristas){
 		    //System.out.println("Estoy en "+verTemp.elemento+" (cuyo peso es:" +verTemp.distancia+ ") y voy a "+ari.vecino.elemento +"(cuyo peso es:" +ari.vecino.distancia+") por la arista de peso " +ari.peso);
 		    if((verTemp.distancia+ari.peso < ari.vecino.distancia
 			|| ari.vecino.distancia == -1)){
 			//System.out.println("Tenía este peso mi vertice "+ari.vecino.distancia);
 			ari.vecino.distancia = (verTemp.distancia+ari.peso);
-			monticulo.agrega(ari.vecino);
+			if(cola.contiene(ari.vecino))
+			    cola.decrementaLlave(ari.vecino);
+			else
+			    cola.agrega(ari.vecino);
 			ari.vecino.setColor(Color.ROJO);
 			//System.out.println("Y ahora tiene este "+ari.vecino.distancia);
 		    }
@@ -625,4 +670,19 @@ public class Grafica<T> implements Iterable<T> {
 	return ret; 
        // Aquí va su código.
     }
+
+    //Metodo privado para crear la cola de prioridad de dijkstra.
+    private ColaPrioridad<Grafica<T>.Vertice<T>> creaCola(int monticulo) {
+	int n = vertices.getTotal();
+	switch(monticulo){
+	case MONTICULO_BINARIO:
+	    return new MonticuloMinimo<Grafica<T>.Vertice<T>>(n, 2);
+	case MONTICULO_CUATERNARIO:
+	    return new MonticuloMinimo<Grafica<T>.Vertice<T>>(n, 4);
+	case MONTICULO_EMPAREJAMIENTO:
+	    return new MonticuloEmparejamiento<Grafica<T>.Vertice<T>>(n);
+	default:
+	    throw new IllegalArgumentException();
+	}
+    }
 } //Fin de Grafica.java
\ No newline at end of file
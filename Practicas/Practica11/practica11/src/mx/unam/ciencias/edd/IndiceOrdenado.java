@@ -0,0 +1,162 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para índices de sólo lectura sobre un conjunto ordenado de
+ * enteros largos.</p>
+ *
+ * <p>Las llaves se guardan en el orden de Eytzinger: el orden por
+ * niveles (BFS) de un árbol binario de búsqueda completo, con la raíz
+ * en la posición 1 y los hijos de <em>k</em> en 2<em>k</em> y
+ * 2<em>k</em>+1. Una búsqueda binaria sobre un arreglo ordenado salta
+ * a posiciones lejanas en cada paso, y con decenas de millones de
+ * llaves casi cada comparación es un fallo de caché. En este orden
+ * los primeros niveles del árbol, que visitan todas las búsquedas,
+ * están juntos al inicio del arreglo y se quedan en caché, y los 16
+ * descendientes de un vértice cuatro niveles más abajo son
+ * contiguos, por lo que el prefetcher del procesador los trae a
+ * tiempo.</p>
+ *
+ * <p>El ciclo de búsqueda no tiene saltos que dependan de los datos:
+ * siempre baja hasta una hoja, y la respuesta se recupera al final a
+ * partir de los bits de la posición.</p>
+ */
+public class IndiceOrdenado {
+
+    /* Llaves en orden de Eytzinger; la posición 0 no se usa. */
+    private long[] llaves;
+    /* Posición en el orden original de la llave en cada posición. */
+    private int[] rangos;
+    /* Número de llaves. */
+    private int n;
+
+    /**
+     * Construye un índice con las llaves del arreglo recibido, que
+     * debe estar ordenado de menor a mayor. Puede tener llaves
+     * repetidas. El arreglo no se modifica.
+     * @param ordenado las llaves, ordenadas.
+     * @throws IllegalArgumentException si el arreglo no está
+     *         ordenado, o tiene 2<sup>30</sup> llaves o más.
+     */
+    public IndiceOrdenado(long[] ordenado) {
+	if(ordenado.length >= 1 << 30)
+	    throw new IllegalArgumentException();
+	for(int i = 1; i < ordenado.length; i++)
+	    if(ordenado[i-1] > ordenado[i])
+		throw new IllegalArgumentException();
+	n = ordenado.length;
+	llaves = new long[n + 1];
+	rangos = new int[n + 1];
+	construye(ordenado, 0, 1);
+    }
+
+    /**
+     * Regresa el número de llaves en el índice.
+     * @return el número de llaves en el índice.
+     */
+    public int getElementos() {
+	return n;
+    }
+
+    /**
+     * Nos dice si una llave está en el índice.
+     * @param llave la llave a buscar.
+     * @return <tt>true</tt> si la llave está en el índice,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(long llave) {
+	int k = busca(llave, false);
+	return k != 0 && llaves[k] == llave;
+    }
+
+    /**
+     * Regresa la posición de la llave en el arreglo ordenado con el
+     * que se construyó el índice. Si la llave aparece varias veces,
+     * regresa la primera.
+     * @param llave la llave a buscar.
+     * @return la posición de la llave, o -1 si no está en el índice.
+     */
+    public int indiceDe(long llave) {
+	int k = busca(llave, false);
+	return k != 0 && llaves[k] == llave ? rangos[k] : -1;
+    }
+
+    /**
+     * Regresa el número de llaves menores que la recibida; es decir,
+     * la posición de la primera llave mayor o igual en el arreglo
+     * ordenado.
+     * @param llave la llave a buscar.
+     * @return el número de llaves menores que <tt>llave</tt>.
+     */
+    public int cotaInferior(long llave) {
+	int k = busca(llave, false);
+	return k == 0 ? n : rangos[k];
+    }
+
+    /**
+     * Regresa el número de llaves menores o iguales que la recibida;
+     * es decir, la posición de la primera llave estrictamente mayor en
+     * el arreglo ordenado.
+     * @param llave la llave a buscar.
+     * @return el número de llaves menores o iguales que
+     *         <tt>llave</tt>.
+     */
+    public int cotaSuperior(long llave) {
+	int k = busca(llave, true);
+	return k == 0 ? n : rangos[k];
+    }
+
+    /**
+     * Regresa el número de llaves en el intervalo cerrado [a, b].
+     * @param a el extremo inferior del intervalo.
+     * @param b el extremo superior del intervalo.
+     * @return el número de llaves <em>x</em> tales que
+     *         <tt>a</tt> &le; <em>x</em> &le; <tt>b</tt>; 0 si
+     *         <tt>a</tt> es mayor que <tt>b</tt>.
+     */
+    public int cuentaEnRango(long a, long b) {
+	if(a > b)
+	    return 0;
+	return cotaSuperior(b) - cotaInferior(a);
+    }
+
+    /**
+     * Regresa un arreglo nuevo con las llaves, ordenadas.
+     * @return un arreglo con las llaves del índice, ordenadas.
+     */
+    public long[] aArreglo() {
+	long[] a = new long[n];
+	for(int k = 1; k <= n; k++)
+	    a[rangos[k]] = llaves[k];
+	return a;
+    }
+
+    //Metodo privado para buscar la posición de la primera llave
+    //mayor o igual (o estrictamente mayor, si estricta es verdadero)
+    //que la recibida. Regresa 0 si no hay. Al bajar a la derecha se
+    //agrega un 1 a la posición, y a la izquierda un 0; la respuesta
+    //es el último vértice donde bajamos a la izquierda, y se obtiene
+    //quitando los unos del final y uno más.
+    private int busca(long llave, boolean estricta) {
+	int k = 1;
+	if(estricta){
+	    while(k <= n)
+		k = (k << 1) + (llaves[k] <= llave ? 1 : 0);
+	}else{
+	    while(k <= n)
+		k = (k << 1) + (llaves[k] < llave ? 1 : 0);
+	}
+	return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    //Metodo privado para llenar el subárbol con raíz en k con las
+    //llaves del arreglo ordenado a partir de i, recorriéndolo en
+    //inorden. Regresa la siguiente posición del arreglo a usar.
+    private int construye(long[] ordenado, int i, int k) {
+	if(k > n)
+	    return i;
+	i = construye(ordenado, i, k << 1);
+	llaves[k] = ordenado[i];
+	rangos[k] = i++;
+	return construye(ordenado, i, (k << 1) + 1);
+    }
+} //Fin de IndiceOrdenado.java
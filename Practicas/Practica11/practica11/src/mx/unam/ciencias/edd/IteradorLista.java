@@ -26,6 +26,15 @@ public interface IteradorLista<T> extends Iterator<T> {
      */
     public T previous();
 
+    /**
+     * Agrega un elemento a la lista en la posición del iterador. El
+     * elemento queda a la izquierda del iterador, por lo que {@link
+     * Iterator#next} no cambia y {@link IteradorLista#previous}
+     * regresa el elemento agregado.
+     * @param elemento el elemento a agregar.
+     */
+    public void agrega(T elemento);
+
     /**
      * Mueve el iterador a la izquierda del primer elemento. Después
      * de llamar este método, el método {@link Iterator#hasNext} siempre
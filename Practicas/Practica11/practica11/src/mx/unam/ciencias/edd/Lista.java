@@ -27,6 +27,7 @@
  */
 package mx.unam.ciencias.edd;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -50,6 +51,11 @@ import java.util.NoSuchElementException;
  *
  * <p>Además, se le puede pedir a una lista una instancia de {@link
  * IteradorLista} para recorrerla en ambas direcciones.</p>
+ *
+ * <p>Una lista construida con el modo {@link #POR_BLOQUES} guarda
+ * sus elementos en bloques contiguos en lugar de un nodo por
+ * elemento, para que los algoritmos que la recorren por índice con
+ * {@link #get} no tomen tiempo cuadrático.</p>
  */
 public class Lista<T> implements Iterable<T> {
 
@@ -130,6 +136,24 @@ public class Lista<T> implements Iterable<T> {
 	    }
         }
 
+        /* Agrega un elemento entre el anterior y el siguiente, y
+         * deja al iterador a la derecha del nuevo elemento. */
+        @Override public void agrega(T elemento) {
+	    Lista<T>.Nodo<T> n = lista.new Nodo<T>(elemento);
+	    n.anterior = this.anterior;
+	    n.siguiente = this.siguiente;
+	    if(this.anterior == null)
+		lista.cabeza = n;
+	    else
+		this.anterior.siguiente = n;
+	    if(this.siguiente == null)
+		lista.rabo = n;
+	    else
+		this.siguiente.anterior = n;
+	    this.anterior = n;
+	    lista.longitud++;
+        }
+
         /* No implementamos el método remove(); sencillamente
          * lanzamos la excepción UnsupportedOperationException. */
         @Override public void remove() {
@@ -154,12 +178,512 @@ public class Lista<T> implements Iterable<T> {
         }
     }
 
+    /* Almacenamiento por bloques (lista desenrollada). Los elementos
+     * viven en bloques de a lo más BLOQUE elementos, y los bloques
+     * en un arreglo circular, por lo que agregar al inicio o al final
+     * toma tiempo constante amortizado. Cada bloque guarda una
+     * posición virtual: el índice de su primer elemento en la lista
+     * es su posición menos la del primer bloque. Agregar o eliminar
+     * en los extremos no mueve ninguna posición; hacerlo en medio
+     * invalida las de los bloques siguientes, que se recalculan hasta
+     * que se necesitan. Así get(i) es una búsqueda binaria sobre los
+     * bloques. */
+    private static class Bloques<T> {
+
+	/* Capacidad de cada bloque; debe ser potencia de 2. */
+	private static final int BLOQUE = 64;
+
+	/* Un bloque es un arreglo circular de elementos. */
+	private static class Bloque {
+	    public Object[] elementos = new Object[BLOQUE];
+	    /* Casilla del primer elemento. */
+	    public int inicio;
+	    /* Número de elementos en el bloque. */
+	    public int cuantos;
+	    /* Posición virtual del primer elemento. */
+	    public int posicion;
+
+	    /* Regresa el j-ésimo elemento del bloque. */
+	    public Object get(int j) {
+		return elementos[(inicio + j) & (BLOQUE-1)];
+	    }
+
+	    /* Cambia el j-ésimo elemento del bloque. */
+	    public void set(int j, Object elemento) {
+		elementos[(inicio + j) & (BLOQUE-1)] = elemento;
+	    }
+
+	    /* Agrega un elemento en la posición j, recorriendo los
+	     * elementos del lado más corto; el bloque no debe estar
+	     * lleno. */
+	    public void agrega(int j, Object elemento) {
+		if(j < cuantos/2){
+		    inicio = (inicio - 1) & (BLOQUE-1);
+		    for(int x = 0; x < j; x++)
+			set(x, get(x+1));
+		}else{
+		    for(int x = cuantos; x > j; x--)
+			set(x, get(x-1));
+		}
+		set(j, elemento);
+		cuantos++;
+	    }
+
+	    /* Elimina el elemento en la posición j y lo regresa. */
+	    public Object elimina(int j) {
+		Object elemento = get(j);
+		if(j < cuantos/2){
+		    for(int x = j; x > 0; x--)
+			set(x, get(x-1));
+		    set(0, null);
+		    inicio = (inicio + 1) & (BLOQUE-1);
+		}else{
+		    for(int x = j; x < cuantos-1; x++)
+			set(x, get(x+1));
+		    set(cuantos-1, null);
+		}
+		cuantos--;
+		return elemento;
+	    }
+	}
+
+	/* Arreglo circular de bloques; su longitud es potencia de 2. */
+	private Bloque[] bloques;
+	/* Casilla del primer bloque. */
+	private int primero;
+	/* Número de bloques. */
+	private int nbloques;
+	/* Los primeros validos bloques tienen su posición al día. */
+	private int validos;
+	/* Número de elementos. */
+	public int longitud;
+	/* Cambia con cada modificación; los iteradores lo usan para
+	 * saber si deben volver a localizarse. */
+	public int modificaciones;
+
+	/* Construye un almacenamiento vacío. */
+	public Bloques() {
+	    limpia();
+	}
+
+	/* Regresa el k-ésimo bloque. */
+	public Bloque bloque(int k) {
+	    return bloques[(primero + k) & (bloques.length-1)];
+	}
+
+	/* Regresa el número de bloques. */
+	public int getBloques() {
+	    return nbloques;
+	}
+
+	/* Regresa el i-ésimo elemento. */
+	@SuppressWarnings("unchecked") public T get(int i) {
+	    int k = localiza(i);
+	    return (T)bloque(k).get(i - inicioDe(k));
+	}
+
+	/* Regresa el índice de la primera aparición del elemento, o -1
+	 * si no está. */
+	public int indiceDe(T elemento) {
+	    int i = 0;
+	    for(int k = 0; k < nbloques; k++){
+		Bloque b = bloque(k);
+		for(int j = 0; j < b.cuantos; j++, i++)
+		    if(b.get(j).equals(elemento))
+			return i;
+	    }
+	    return -1;
+	}
+
+	/* Agrega un elemento para que quede en el índice i. */
+	public void agrega(int i, T elemento) {
+	    if(i == longitud){
+		agregaEn(nbloques, 0, elemento);
+	    }else{
+		int k = localiza(i);
+		agregaEn(k, i - inicioDe(k), elemento);
+	    }
+	}
+
+	/* Agrega un elemento en la posición j del bloque k. Con
+	 * k == nbloques el elemento se agrega al final. */
+	public void agregaEn(int k, int j, T elemento) {
+	    if(k == nbloques && k > 0){
+		k--;
+		j = bloque(k).cuantos;
+	    }
+	    if(nbloques == 0){
+		insertaBloque(0, new Bloque());
+		validos = 1;
+	    }
+	    Bloque b = bloque(k);
+	    if(b.cuantos < BLOQUE){
+		b.agrega(j, elemento);
+		if(k == 0 && j == 0)
+		    b.posicion--;
+		else if(k < nbloques-1)
+		    validos = Math.min(validos, k+1);
+	    }else if(k == 0 && j == 0){
+		Bloque nuevo = new Bloque();
+		nuevo.posicion = b.posicion - 1;
+		nuevo.agrega(0, elemento);
+		insertaBloque(0, nuevo);
+		if(validos > 0)
+		    validos++;
+	    }else if(k == nbloques-1 && j == BLOQUE){
+		Bloque nuevo = new Bloque();
+		nuevo.posicion = b.posicion + b.cuantos;
+		nuevo.agrega(0, elemento);
+		boolean todos = validos == nbloques;
+		insertaBloque(nbloques, nuevo);
+		if(todos)
+		    validos = nbloques;
+	    }else{
+		/* Partimos el bloque a la mitad. */
+		Bloque nuevo = new Bloque();
+		int mitad = BLOQUE/2;
+		for(int x = mitad; x < BLOQUE; x++){
+		    nuevo.set(x - mitad, b.get(x));
+		    b.set(x, null);
+		}
+		nuevo.cuantos = BLOQUE - mitad;
+		b.cuantos = mitad;
+		insertaBloque(k+1, nuevo);
+		if(j <= mitad)
+		    b.agrega(j, elemento);
+		else
+		    nuevo.agrega(j - mitad, elemento);
+		validos = Math.min(validos, k+1);
+	    }
+	    longitud++;
+	    modificaciones++;
+	}
+
+	/* Elimina el elemento en el índice i y lo regresa. */
+	@SuppressWarnings("unchecked") public T elimina(int i) {
+	    int k = localiza(i);
+	    int j = i - inicioDe(k);
+	    Bloque b = bloque(k);
+	    T elemento = (T)b.elimina(j);
+	    longitud--;
+	    modificaciones++;
+	    if(longitud == 0){
+		limpia();
+		return elemento;
+	    }
+	    if(k == 0 && j == 0)
+		b.posicion++;
+	    else if(k < nbloques-1)
+		validos = Math.min(validos, k+1);
+	    if(b.cuantos == 0){
+		quitaBloque(k);
+		validos = k == 0 ? Math.max(validos-1, 0) : Math.min(validos, k);
+	    }else if(k+1 < nbloques && b.cuantos + bloque(k+1).cuantos <= BLOQUE/2){
+		junta(k);
+	    }else if(k > 0 && bloque(k-1).cuantos + b.cuantos <= BLOQUE/2){
+		junta(k-1);
+	    }
+	    return elemento;
+	}
+
+	/* Ordena los elementos de manera estable con un merge sort de
+	 * abajo hacia arriba sobre un arreglo, y los regresa a los
+	 * mismos bloques. */
+	public void ordena(Comparator<? super T> comparador) {
+	    Object[] a = new Object[longitud];
+	    int i = 0;
+	    for(int k = 0; k < nbloques; k++){
+		Bloque b = bloque(k);
+		for(int j = 0; j < b.cuantos; j++)
+		    a[i++] = b.get(j);
+	    }
+	    Object[] aux = new Object[longitud];
+	    for(int ancho = 1; ancho < longitud; ancho <<= 1){
+		for(int ini = 0; ini < longitud; ini += 2*ancho)
+		    mezcla(a, aux, ini, Math.min(ini + ancho, longitud),
+			   Math.min(ini + 2*ancho, longitud), comparador);
+		Object[] t = a;
+		a = aux;
+		aux = t;
+	    }
+	    i = 0;
+	    for(int k = 0; k < nbloques; k++){
+		Bloque b = bloque(k);
+		for(int j = 0; j < b.cuantos; j++)
+		    b.set(j, a[i++]);
+	    }
+	    modificaciones++;
+	}
+
+	/* Mezcla a[ini, mitad) y a[mitad, fin) en aux[ini, fin). En
+	 * empates gana el de la izquierda. */
+	@SuppressWarnings("unchecked")
+	private static <T> void mezcla(Object[] a, Object[] aux, int ini, int mitad,
+				       int fin, Comparator<? super T> comparador) {
+	    int i = ini, j = mitad, k = ini;
+	    while(i < mitad && j < fin)
+		aux[k++] = comparador.compare((T)a[i], (T)a[j]) <= 0 ? a[i++] : a[j++];
+	    System.arraycopy(a, i, aux, k, mitad - i);
+	    System.arraycopy(a, j, aux, k + mitad - i, fin - j);
+	}
+
+	/* Elimina todos los elementos. */
+	public void limpia() {
+	    bloques = new Bloque[4];
+	    primero = 0;
+	    nbloques = 0;
+	    validos = 0;
+	    longitud = 0;
+	    modificaciones++;
+	}
+
+	/* Regresa el índice del bloque que contiene al i-ésimo
+	 * elemento. */
+	public int localiza(int i) {
+	    if(i < bloque(0).cuantos)
+		return 0;
+	    if(i >= longitud - bloque(nbloques-1).cuantos)
+		return nbloques-1;
+	    asegura();
+	    int base = bloque(0).posicion;
+	    int a = 1, b = nbloques-2;
+	    while(a < b){
+		int m = (a + b + 1) >>> 1;
+		if(bloque(m).posicion - base <= i)
+		    a = m;
+		else
+		    b = m-1;
+	    }
+	    return a;
+	}
+
+	/* Regresa el índice en la lista del primer elemento del bloque
+	 * k. */
+	public int inicioDe(int k) {
+	    if(k == 0)
+		return 0;
+	    if(k == nbloques-1)
+		return longitud - bloque(k).cuantos;
+	    asegura();
+	    return bloque(k).posicion - bloque(0).posicion;
+	}
+
+	/* Pone al día las posiciones de todos los bloques. */
+	private void asegura() {
+	    if(validos == 0){
+		bloque(0).posicion = 0;
+		validos = 1;
+	    }
+	    for(; validos < nbloques; validos++){
+		Bloque a = bloque(validos-1);
+		bloque(validos).posicion = a.posicion + a.cuantos;
+	    }
+	}
+
+	/* Pasa los elementos del bloque k+1 al bloque k, y quita el
+	 * bloque k+1. */
+	private void junta(int k) {
+	    Bloque a = bloque(k);
+	    Bloque b = bloque(k+1);
+	    for(int x = 0; x < b.cuantos; x++)
+		a.set(a.cuantos + x, b.get(x));
+	    a.cuantos += b.cuantos;
+	    quitaBloque(k+1);
+	    validos = Math.min(validos, k+1);
+	}
+
+	/* Inserta un bloque para que quede en el índice k. */
+	private void insertaBloque(int k, Bloque b) {
+	    if(nbloques == bloques.length){
+		Bloque[] nuevo = new Bloque[bloques.length << 1];
+		for(int x = 0; x < nbloques; x++)
+		    nuevo[x] = bloque(x);
+		bloques = nuevo;
+		primero = 0;
+	    }
+	    int m = bloques.length-1;
+	    if(k == 0){
+		primero = (primero - 1) & m;
+	    }else{
+		for(int x = nbloques; x > k; x--)
+		    bloques[(primero + x) & m] = bloques[(primero + x - 1) & m];
+	    }
+	    bloques[(primero + k) & m] = b;
+	    nbloques++;
+	}
+
+	/* Quita el bloque en el índice k. */
+	private void quitaBloque(int k) {
+	    int m = bloques.length-1;
+	    if(k == 0){
+		bloques[primero] = null;
+		primero = (primero + 1) & m;
+	    }else{
+		for(int x = k; x < nbloques-1; x++)
+		    bloques[(primero + x) & m] = bloques[(primero + x + 1) & m];
+		bloques[(primero + nbloques - 1) & m] = null;
+	    }
+	    nbloques--;
+	}
+    }
+
+    /* Clase privada para iteradores de listas por bloques. El
+     * iterador recuerda el índice del siguiente elemento y, mientras
+     * la lista no cambie por otro lado, el bloque y la posición
+     * dentro del bloque donde está. */
+    private static class IteradorBloques<T> implements IteradorLista<T> {
+
+	/* El almacenamiento a iterar. */
+	private Bloques<T> bloques;
+	/* Índice en la lista del siguiente elemento. */
+	private int indice;
+	/* Bloque del siguiente elemento. */
+	private int k;
+	/* Posición del siguiente elemento en su bloque. */
+	private int j;
+	/* Modificaciones conocidas por el iterador. */
+	private int modificaciones;
+
+	/* Construye un iterador al inicio de la lista. */
+	public IteradorBloques(Bloques<T> bloques) {
+	    this.bloques = bloques;
+	    start();
+	}
+
+	/* Nos dice si hay un siguiente elemento. */
+	@Override public boolean hasNext() {
+	    return indice < bloques.longitud;
+	}
+
+	/* Regresa el siguiente elemento. */
+	@SuppressWarnings("unchecked") @Override public T next() {
+	    if(!hasNext())
+		throw new NoSuchElementException();
+	    sincroniza();
+	    Bloques.Bloque b = bloques.bloque(k);
+	    T elemento = (T)b.get(j++);
+	    indice++;
+	    if(j == b.cuantos){
+		k++;
+		j = 0;
+	    }
+	    return elemento;
+	}
+
+	/* Nos dice si hay un elemento anterior. */
+	@Override public boolean hasPrevious() {
+	    return indice > 0;
+	}
+
+	/* Regresa el elemento anterior. */
+	@SuppressWarnings("unchecked") @Override public T previous() {
+	    if(!hasPrevious())
+		throw new NoSuchElementException();
+	    sincroniza();
+	    if(j == 0){
+		k--;
+		j = bloques.bloque(k).cuantos;
+	    }
+	    indice--;
+	    return (T)bloques.bloque(k).get(--j);
+	}
+
+	/* Agrega un elemento a la izquierda del iterador. Mientras el
+	 * bloque tenga espacio, el iterador no tiene que volver a
+	 * localizarse. */
+	@Override public void agrega(T elemento) {
+	    sincroniza();
+	    int n = bloques.getBloques();
+	    bloques.agregaEn(k, j, elemento);
+	    indice++;
+	    if(n == bloques.getBloques() && k < n){
+		j++;
+		modificaciones = bloques.modificaciones;
+	    }
+	}
+
+	/* No lo implementamos: siempre lanza una excepción. */
+	@Override public void remove() {
+	    throw new UnsupportedOperationException();
+	}
+
+	/* Mueve el iterador al inicio de la lista. */
+	@Override public void start() {
+	    indice = 0;
+	    k = 0;
+	    j = 0;
+	    modificaciones = bloques.modificaciones;
+	}
+
+	/* Mueve el iterador al final de la lista. */
+	@Override public void end() {
+	    indice = bloques.longitud;
+	    k = bloques.getBloques();
+	    j = 0;
+	    modificaciones = bloques.modificaciones;
+	}
+
+	//Metodo privado para volver a localizar el bloque y la posición
+	//del siguiente elemento si la lista cambió.
+	private void sincroniza() {
+	    if(modificaciones == bloques.modificaciones)
+		return;
+	    if(indice >= bloques.longitud){
+		indice = bloques.longitud;
+		k = bloques.getBloques();
+		j = 0;
+	    }else{
+		k = bloques.localiza(indice);
+		j = indice - bloques.inicioDe(k);
+	    }
+	    modificaciones = bloques.modificaciones;
+	}
+    }
+
     /* Primer elemento de la lista. */
     private Nodo<T> cabeza;
     /* Último elemento de la lista. */
     private Nodo<T> rabo;
     /* Número de elementos en la lista. */
     private int longitud;
+    /* Almacenamiento por bloques; null si la lista es ligada. */
+    private Bloques<T> bloques;
+
+    /**
+     * Modo de almacenamiento ligado: un nodo por elemento, con
+     * referencias al anterior y al siguiente.
+     */
+    public static final int LIGADA = 0;
+    /**
+     * Modo de almacenamiento por bloques: los elementos se guardan en
+     * arreglos de tamaño fijo, por lo que {@link #get} toma tiempo
+     * logarítmico en lugar de lineal.
+     */
+    public static final int POR_BLOQUES = 1;
+
+    /**
+     * Construye una lista ligada vacía.
+     */
+    public Lista() {
+	this(LIGADA);
+    }
+
+    /**
+     * Construye una lista vacía con el modo de almacenamiento
+     * recibido. En modo {@link #POR_BLOQUES} agregar al inicio o al
+     * final toma tiempo constante amortizado, {@link #get} toma
+     * tiempo <i>O</i>(log <i>n</i>), y agregar con {@link
+     * IteradorLista#agrega} sólo recorre los elementos de un bloque.
+     * @param modo {@link #LIGADA} o {@link #POR_BLOQUES}.
+     * @throws IllegalArgumentException si recibe un modo no
+     *         reconocido.
+     */
+    public Lista(int modo) {
+	if(modo == POR_BLOQUES)
+	    bloques = new Bloques<T>();
+	else if(modo != LIGADA)
+	    throw new IllegalArgumentException();
+    }
 
     /**
      * Regresa la longitud de la lista.
@@ -167,6 +691,8 @@ public class Lista<T> implements Iterable<T> {
      * contiene.
      */
     public int getLongitud() {
+	if(bloques != null)
+	    return bloques.longitud;
         return longitud;
     }
 
@@ -177,6 +703,10 @@ public class Lista<T> implements Iterable<T> {
      * @param elemento el elemento a agregar.
      */
     public void agregaFinal(T elemento) {
+	if(bloques != null){
+	    bloques.agrega(bloques.longitud, elemento);
+	    return;
+	}
         Nodo<T> nodo1 = new Nodo<T>(elemento);
 	if(getLongitud() == 0){
 	    this.cabeza = nodo1;
@@ -199,6 +729,10 @@ public class Lista<T> implements Iterable<T> {
      * @param elemento el elemento a agregar.
      */
     public void agregaInicio(T elemento) {
+	if(bloques != null){
+	    bloques.agrega(0, elemento);
+	    return;
+	}
         Nodo<T> nodo2 = new Nodo<T>(elemento);
 	if(getLongitud() == 0){
 	    this.cabeza = nodo2;
@@ -246,6 +780,12 @@ public class Lista<T> implements Iterable<T> {
      * @param elemento el elemento a eliminar.
      */
     public void elimina(T elemento) {
+	if(bloques != null){
+	    int i = bloques.indiceDe(elemento);
+	    if(i != -1)
+		bloques.elimina(i);
+	    return;
+	}
 	Nodo<T> n = this.buscaNodo(elemento);
 	if(this.cabeza.elemento.equals(elemento)){
 	    eliminaPrimero();
@@ -267,9 +807,15 @@ public class Lista<T> implements Iterable<T> {
     public T eliminaPrimero() {
 	if(this.getLongitud() == 0){
 	    throw new NoSuchElementException();
+	}else if(bloques != null){
+	    return bloques.elimina(0);
 	}else{
 	    Nodo<T> ca = this.cabeza;
 	    this.cabeza = ca.siguiente;  
+	    if(this.cabeza == null)
+		this.rabo = null;
+	    else
+		this.cabeza.anterior = null;
 	    this.longitud--;
 	    return ca.elemento;
 	}
@@ -281,11 +827,20 @@ public class Lista<T> implements Iterable<T> {
      * @throws NoSuchElementException si la lista es vacía.
      */
     public T eliminaUltimo() {
+	if(bloques != null){
+	    if(bloques.longitud == 0)
+		throw new NoSuchElementException();
+	    return bloques.elimina(bloques.longitud-1);
+	}
 	if(this.getLongitud() == 0 || this.cabeza == null){
 	    throw new NoSuchElementException();
 	}else{
 	    Nodo<T> ca = this.rabo;
 	    this.rabo = ca.anterior;
+	    if(this.rabo == null)
+		this.cabeza = null;
+	    else
+		this.rabo.siguiente = null;
 	    this.longitud--;
 	    return ca.elemento;
 	}    
@@ -300,6 +855,8 @@ public class Lista<T> implements Iterable<T> {
     public boolean contiene(T elemento) {
 	if(getLongitud() == 0){
 	    return false;
+	}else if(bloques != null){
+	    return bloques.indiceDe(elemento) != -1;
 	}else{
 	    Nodo <T> igual = buscaNodo(elemento);
 	    if(igual != null){
@@ -315,6 +872,12 @@ public class Lista<T> implements Iterable<T> {
      *         el método.
      */
     public Lista<T> reversa() {
+	if(bloques != null){
+	    Lista<T> nueva = new Lista<T>(POR_BLOQUES);
+	    for(T e : this)
+		nueva.agregaInicio(e);
+	    return nueva;
+	}
 	Lista<T> nueva = new Lista<T>();
 	Nodo<T> nodo7 = this.cabeza;
 	nueva.longitud = 0;
@@ -332,6 +895,12 @@ public class Lista<T> implements Iterable<T> {
      * @return una copiad de la lista.
      */
     public Lista<T> copia() {
+	if(bloques != null){
+	    Lista<T> nueva = new Lista<T>(POR_BLOQUES);
+	    for(T e : this)
+		nueva.agregaFinal(e);
+	    return nueva;
+	}
 	Lista<T> nueva1 = new Lista<T>();
 	nueva1.longitud = 0;
 	Nodo<T> nodo8 = this.cabeza;
@@ -347,6 +916,10 @@ public class Lista<T> implements Iterable<T> {
      * equivalente a eliminar todos los elementos de la lista.
      */
     public void limpia() {
+	if(bloques != null){
+	    bloques.limpia();
+	    return;
+	}
 	this.cabeza.siguiente.anterior = null;
 	this.rabo.anterior.siguiente = null;
 	this.cabeza = null;
@@ -360,6 +933,11 @@ public class Lista<T> implements Iterable<T> {
      * @throws NoSuchElementException si la lista es vacía.
      */
     public T getPrimero() {
+	if(bloques != null){
+	    if(bloques.longitud == 0)
+		throw new NoSuchElementException();
+	    return bloques.get(0);
+	}
 	if(this.cabeza == null || this.getLongitud() == 0){
 	    throw new NoSuchElementException();
 	}else{
@@ -373,6 +951,11 @@ public class Lista<T> implements Iterable<T> {
      * @throws NoSuchElementException si la lista es vacía.
      */
     public T getUltimo() {
+	if(bloques != null){
+	    if(bloques.longitud == 0)
+		throw new NoSuchElementException();
+	    return bloques.get(bloques.longitud-1);
+	}
         if(this.cabeza == null || this.getLongitud() == 0){
 	    throw new NoSuchElementException();
 	}else{
@@ -393,6 +976,8 @@ public class Lista<T> implements Iterable<T> {
     public T get(int i) {
 	if(i > getLongitud() -1 || i < 0){
 	    throw new ExcepcionIndiceInvalido();
+	}else if(bloques != null){
+	    return bloques.get(i);
 	}else{
 	    Nodo<T> nodo9 = this.cabeza;
 	    int l = 0;
@@ -410,6 +995,8 @@ public class Lista<T> implements Iterable<T> {
      *         el elemento no está contenido en la lista.
      */
     public int indiceDe(T elemento) {
+	if(bloques != null)
+	    return bloques.indiceDe(elemento);
 	int l = 0;
 	Nodo<T> nodo10 = this.cabeza;
 	while(l < getLongitud()){ 
@@ -442,6 +1029,13 @@ public class Lista<T> implements Iterable<T> {
 	if(l.getLongitud() != this.getLongitud()){
 	    return false;
 	}
+	if(bloques != null || l.bloques != null){
+	    Iterator<T> i = l.iterator();
+	    for(T e : this)
+		if(!e.equals(i.next()))
+		    return false;
+	    return true;
+	}
 	while(nodo11 != null){
 	    r = nodo11.elemento.equals(nodoL.elemento);
 	    nodo11 = nodo11.siguiente;
@@ -458,6 +1052,15 @@ public class Lista<T> implements Iterable<T> {
      * @return una representación en cadena de la lista.
      */
     @Override public String toString() {
+	if(bloques != null){
+	    StringBuilder sb = new StringBuilder("[");
+	    for(T e : this){
+		if(sb.length() > 1)
+		    sb.append(", ");
+		sb.append(e);
+	    }
+	    return sb.append("]").toString();
+	}
         Nodo<T> l = this.cabeza;
 	String cadena = "[";
 	if(this.cabeza == null){
@@ -482,6 +1085,8 @@ public class Lista<T> implements Iterable<T> {
      * @return un iterador para recorrer la lista.
      */
     @Override public Iterator<T> iterator() {
+	if(bloques != null)
+	    return new IteradorBloques<T>(bloques);
 	Iterator<T> i = new Iterador<T>(this);
        return i;
     }
@@ -493,6 +1098,8 @@ public class Lista<T> implements Iterable<T> {
      * direcciones.
      */
     public IteradorLista<T> iteradorLista() {
+	if(bloques != null)
+	    return new IteradorBloques<T>(bloques);
 	Iterator<T> i = new Iterador<T>(this);
 	return (IteradorLista<T>)i;
     }
@@ -501,66 +1108,107 @@ public class Lista<T> implements Iterable<T> {
      * Regresa una copia de la lista recibida, pero ordenada. La
      * lista recibida tiene que contener nada más elementos que
      * implementan la interfaz {@link Comparable}.
-     * @param l1 la lista que se ordenará.
-     * @param l2 la lista que se ordenará.
+     * @param l la lista que se ordenará.
      * @return una copia de la lista recibida, pero ordenada.
-     *
      */
-    private static <T extends Comparable<T>> Lista<T> mezcla(Lista<T> l1, Lista<T> l2){
-	Lista<T> l = new Lista<T>();
-	Lista<T>.Nodo<T> n1 = l1.cabeza;
-	Lista<T>.Nodo<T> n2 = l2.cabeza;
-	while(n1 != null && n2 != null){
-	    if(n1.elemento.compareTo(n2.elemento) < 1){
-		l.agregaFinal(n1.elemento);
-		n1 = n1.siguiente;
-	    } else {
-		l.agregaFinal(n2.elemento);
-		n2 = n2.siguiente;
-	    }
-	}
-	while(n1 != null){
-	    l.agregaFinal(n1.elemento);
-	    n1 = n1.siguiente;
-	}
-	while(n2 != null){
-	    l.agregaFinal(n2.elemento);
-	    n2 = n2.siguiente;
-	}
-	return l;
+    public static <T extends Comparable<T>>
+        Lista<T> mergeSort(Lista<T> l) {
+	return mergeSort(l, Comparator.<T>naturalOrder());
     }
 
     /**
-     * Regresa una copia de la lista recibida, pero ordenada. La
+     * Regresa una copia de la lista recibida, pero ordenada con el
+     * comparador recibido.
+     * @param l la lista que se ordenará.
+     * @param comparador el comparador que define el orden.
+     * @return una copia de la lista recibida, pero ordenada.
+     */
+    public static <T> Lista<T> mergeSort(Lista<T> l,
+                                         Comparator<? super T> comparador) {
+	Lista<T> copia = l.copia();
+	ordena(copia, comparador);
+	return copia;
+    }
+
+    /**
+     * Ordena la lista recibida en su lugar, sin crear una copia. La
      * lista recibida tiene que contener nada más elementos que
      * implementan la interfaz {@link Comparable}.
      * @param l la lista que se ordenará.
-     * @return una copia de la lista recibida, pero ordenada.
      */
-    public static <T extends Comparable<T>>
-        Lista<T> mergeSort(Lista<T> l) {
-	Lista<T>.Nodo<T> nodo14 = l.cabeza;
-        if(l.getLongitud() < 2){
-	    return l.copia();
-	}
-	    Lista<T> li = new Lista<T>();
-	    Lista<T> ld = new Lista<T>();
-	    int i = 0;
-	    while(i < l.getLongitud()){
-		if(i < (l.getLongitud()/2)){
-		    li.agregaFinal(nodo14.elemento);
-		    nodo14 = nodo14.siguiente;
-		    i++;
-		} else {
-		    ld.agregaFinal(nodo14.elemento);
-		    nodo14 = nodo14.siguiente;
-		    i++;
+    public static <T extends Comparable<T>> void ordena(Lista<T> l) {
+	ordena(l, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Ordena la lista recibida en su lugar con el comparador
+     * recibido. El ordenamiento es estable. En una lista ligada es un
+     * <i>merge sort</i> de abajo hacia arriba que sólo reacomoda las
+     * referencias entre los nodos, por lo que no crea ningún objeto;
+     * en una lista por bloques se ordena una copia de los elementos
+     * en un arreglo y se regresan a los mismos bloques.
+     * @param l la lista que se ordenará.
+     * @param comparador el comparador que define el orden.
+     */
+    public static <T> void ordena(Lista<T> l, Comparator<? super T> comparador) {
+	if(l.bloques != null)
+	    l.bloques.ordena(comparador);
+	else
+	    l.ordenaNodos(comparador);
+    }
+
+    //Metodo privado para ordenar los nodos. En la pasada con ancho
+    //k se mezclan, de izquierda a derecha, pares de corridas de k
+    //nodos ya ordenadas; se termina cuando una pasada hace una sola
+    //mezcla. Las referencias anterior se arreglan al ir pegando.
+    private void ordenaNodos(Comparator<? super T> comparador) {
+	if(longitud < 2)
+	    return;
+	cabeza.anterior = null;
+	rabo.siguiente = null;
+	Nodo<T> lista = cabeza;
+	Nodo<T> cola = null;
+	for(int ancho = 1; ; ancho <<= 1){
+	    Nodo<T> p = lista;
+	    lista = null;
+	    cola = null;
+	    int mezclas = 0;
+	    while(p != null){
+		mezclas++;
+		Nodo<T> q = p;
+		int np = 0;
+		while(np < ancho && q != null){
+		    np++;
+		    q = q.siguiente;
+		}
+		int nq = ancho;
+		while(np > 0 || (nq > 0 && q != null)){
+		    Nodo<T> e;
+		    if(np > 0 && (nq == 0 || q == null ||
+				  comparador.compare(p.elemento, q.elemento) <= 0)){
+			e = p;
+			p = p.siguiente;
+			np--;
+		    }else{
+			e = q;
+			q = q.siguiente;
+			nq--;
+		    }
+		    if(cola == null)
+			lista = e;
+		    else
+			cola.siguiente = e;
+		    e.anterior = cola;
+		    cola = e;
 		}
+		p = q;
 	    }
-	    li = mergeSort(li);
-	    ld = mergeSort(ld);
-	    return mezcla(li, ld);
-	
+	    cola.siguiente = null;
+	    if(mezclas <= 1)
+		break;
+	}
+	cabeza = lista;
+	rabo = cola;
     }
 		
     /**
@@ -575,6 +1223,8 @@ public class Lista<T> implements Iterable<T> {
      */
     public static <T extends Comparable<T>>
         boolean busquedaLineal(Lista<T> l, T e) {
+	if(l.bloques != null)
+	    return l.contiene(e);
         if(l.buscaNodo(e) == null){
 	    return false;
 	} else { 
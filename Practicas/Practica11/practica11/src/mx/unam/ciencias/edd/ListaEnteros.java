@@ -0,0 +1,418 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>Clase para listas de enteros (<tt>int</tt>) sin envolver.</p>
+ *
+ * <p>Ofrece las operaciones de {@link Lista}, pero guarda los
+ * elementos en un arreglo circular de <tt>int</tt> que crece al
+ * doble cuando se llena, en lugar de un nodo con un objeto {@link
+ * Integer} por elemento. Agregar al inicio o al final toma tiempo
+ * constante amortizado, y {@link #get} toma tiempo constante.</p>
+ *
+ * <p>El iterador es un {@link PrimitiveIterator.OfInt}; con su método
+ * <tt>nextInt()</tt> la lista se recorre sin crear objetos:</p>
+ *
+<pre>
+    PrimitiveIterator.OfInt i = lista.iterator();
+    while (i.hasNext())
+        suma += i.nextInt();
+</pre>
+ */
+public class ListaEnteros implements Iterable<Integer> {
+
+    /* Clase Iterador privada para iteradores. */
+    private class Iterador implements PrimitiveIterator.OfInt {
+
+	/* Índice (en la lista) del siguiente elemento. */
+	private int siguiente;
+
+	/* Nos dice si hay un siguiente elemento. */
+	@Override public boolean hasNext() {
+	    return siguiente < longitud;
+	}
+
+	/* Regresa el siguiente elemento. */
+	@Override public int nextInt() {
+	    if(siguiente >= longitud)
+		throw new NoSuchElementException();
+	    return arreglo[(cabeza + siguiente++) & (arreglo.length-1)];
+	}
+
+	/* No lo implementamos: siempre lanza una excepción. */
+	@Override public void remove() {
+	    throw new UnsupportedOperationException();
+	}
+    }
+
+    /* Capacidad mínima del arreglo. */
+    private static final int MIN_CAPACIDAD = 8;
+    /* Tamaño de los bloques que mergeSort ordena por inserción. */
+    private static final int BLOQUE = 16;
+
+    /* Los elementos; la longitud del arreglo es potencia de 2. */
+    private int[] arreglo;
+    /* Índice del primer elemento en el arreglo. */
+    private int cabeza;
+    /* Número de elementos en la lista. */
+    private int longitud;
+
+    /**
+     * Construye una lista vacía.
+     */
+    public ListaEnteros() {
+	this(MIN_CAPACIDAD);
+    }
+
+    /**
+     * Construye una lista vacía con espacio para al menos
+     * <tt>capacidad</tt> elementos antes de tener que crecer.
+     * @param capacidad el número de elementos que se espera agregar.
+     * @throws IllegalArgumentException si la capacidad es negativa
+     *         o mayor a 2<sup>30</sup>.
+     */
+    public ListaEnteros(int capacidad) {
+	if(capacidad < 0 || capacidad > (1 << 30))
+	    throw new IllegalArgumentException();
+	arreglo = new int[capacidad(capacidad)];
+    }
+
+    /**
+     * Construye una lista con los elementos del arreglo recibido, en
+     * el mismo orden.
+     * @param a el arreglo con los elementos.
+     */
+    public ListaEnteros(int[] a) {
+	this(a.length);
+	System.arraycopy(a, 0, arreglo, 0, a.length);
+	longitud = a.length;
+    }
+
+    /**
+     * Regresa la longitud de la lista.
+     * @return la longitud de la lista, el número de elementos que
+     * contiene.
+     */
+    public int getLongitud() {
+	return longitud;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista.
+     * @param elemento el elemento a agregar.
+     */
+    public void agregaFinal(int elemento) {
+	if(longitud == arreglo.length)
+	    crece();
+	arreglo[(cabeza + longitud) & (arreglo.length-1)] = elemento;
+	longitud++;
+    }
+
+    /**
+     * Agrega un elemento al inicio de la lista.
+     * @param elemento el elemento a agregar.
+     */
+    public void agregaInicio(int elemento) {
+	if(longitud == arreglo.length)
+	    crece();
+	cabeza = (cabeza - 1) & (arreglo.length-1);
+	arreglo[cabeza] = elemento;
+	longitud++;
+    }
+
+    /**
+     * Elimina la primera aparición de un elemento en la lista. Si el
+     * elemento no está contenido en la lista, el método no la
+     * modifica. Se recorren los elementos del lado más corto.
+     * @param elemento el elemento a eliminar.
+     */
+    public void elimina(int elemento) {
+	int i = indiceDe(elemento);
+	if(i == -1)
+	    return;
+	int m = arreglo.length-1;
+	if(i < longitud/2){
+	    for(int j = i; j > 0; j--)
+		arreglo[(cabeza + j) & m] = arreglo[(cabeza + j - 1) & m];
+	    cabeza = (cabeza + 1) & m;
+	}else{
+	    for(int j = i; j < longitud-1; j++)
+		arreglo[(cabeza + j) & m] = arreglo[(cabeza + j + 1) & m];
+	}
+	longitud--;
+    }
+
+    /**
+     * Elimina el primer elemento de la lista y lo regresa.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public int eliminaPrimero() {
+	int elemento = getPrimero();
+	cabeza = (cabeza + 1) & (arreglo.length-1);
+	longitud--;
+	return elemento;
+    }
+
+    /**
+     * Elimina el último elemento de la lista y lo regresa.
+     * @return el último elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public int eliminaUltimo() {
+	int elemento = getUltimo();
+	longitud--;
+	return elemento;
+    }
+
+    /**
+     * Nos dice si un elemento está en la lista.
+     * @param elemento el elemento que queremos saber si está en la
+     * lista.
+     * @return <tt>true</tt> si <tt>elemento</tt> está en la lista,
+     *         <tt>false</tt> en otro caso.
+     */
+    public boolean contiene(int elemento) {
+	return indiceDe(elemento) != -1;
+    }
+
+    /**
+     * Regresa la reversa de la lista.
+     * @return una nueva lista que es la reversa la que manda llamar
+     *         el método.
+     */
+    public ListaEnteros reversa() {
+	ListaEnteros nueva = new ListaEnteros(longitud);
+	int m = arreglo.length-1;
+	for(int i = 0; i < longitud; i++)
+	    nueva.arreglo[i] = arreglo[(cabeza + longitud - 1 - i) & m];
+	nueva.longitud = longitud;
+	return nueva;
+    }
+
+    /**
+     * Regresa una copia de la lista. La copia tiene los mismos
+     * elementos que la lista que manda llamar el método, en el
+     * mismo orden.
+     * @return una copia de la lista.
+     */
+    public ListaEnteros copia() {
+	ListaEnteros nueva = new ListaEnteros(longitud);
+	copiaEn(nueva.arreglo);
+	nueva.longitud = longitud;
+	return nueva;
+    }
+
+    /**
+     * Limpia la lista de elementos. El llamar este método es
+     * equivalente a eliminar todos los elementos de la lista.
+     */
+    public void limpia() {
+	cabeza = 0;
+	longitud = 0;
+    }
+
+    /**
+     * Regresa el primer elemento de la lista.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public int getPrimero() {
+	if(longitud == 0)
+	    throw new NoSuchElementException();
+	return arreglo[cabeza];
+    }
+
+    /**
+     * Regresa el último elemento de la lista.
+     * @return el último elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public int getUltimo() {
+	if(longitud == 0)
+	    throw new NoSuchElementException();
+	return arreglo[(cabeza + longitud - 1) & (arreglo.length-1)];
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo elemento de la lista.
+     * @param i el índice del elemento que queremos.
+     * @return el <em>i</em>-ésimo elemento de la lista.
+     * @throws ExcepcionIndiceInvalido si el índice recibido es
+     *         menor que cero, o mayor que el número de elementos en
+     *         la lista menos uno.
+     */
+    public int get(int i) {
+	if(i < 0 || i >= longitud)
+	    throw new ExcepcionIndiceInvalido();
+	return arreglo[(cabeza + i) & (arreglo.length-1)];
+    }
+
+    /**
+     * Regresa el índice del elemento recibido en la lista.
+     * @param elemento el elemento del que se busca el índice.
+     * @return el índice del elemento recibido en la lista, o -1 si
+     *         el elemento no está contenido en la lista.
+     */
+    public int indiceDe(int elemento) {
+	int m = arreglo.length-1;
+	for(int i = 0; i < longitud; i++)
+	    if(igual(arreglo[(cabeza + i) & m], elemento))
+		return i;
+	return -1;
+    }
+
+    /**
+     * Regresa un arreglo nuevo con los elementos de la lista, en el
+     * mismo orden.
+     * @return un arreglo con los elementos de la lista.
+     */
+    public int[] aArreglo() {
+	int[] a = new int[longitud];
+	copiaEn(a);
+	return a;
+    }
+
+    /**
+     * Nos dice si la lista es igual al objeto recibido.
+     * @param o el objeto con el que hay que comparar.
+     * @return <tt>true</tt> si la lista es igual al objeto
+     *         recibido; <tt>false</tt> en otro caso.
+     */
+    @Override public boolean equals(Object o) {
+	if(o == null || o.getClass() != getClass())
+	    return false;
+	ListaEnteros l = (ListaEnteros)o;
+	if(l.longitud != longitud)
+	    return false;
+	for(int i = 0; i < longitud; i++)
+	    if(!igual(get(i), l.get(i)))
+		return false;
+	return true;
+    }
+
+    /**
+     * Regresa un código de dispersión para la lista, consistente
+     * con {@link #equals}.
+     * @return un código de dispersión para la lista.
+     */
+    @Override public int hashCode() {
+	int h = 1;
+	for(int i = 0; i < longitud; i++)
+	    h = 31 * h + Integer.hashCode(get(i));
+	return h;
+    }
+
+    /**
+     * Regresa una representación en cadena de la lista.
+     * @return una representación en cadena de la lista.
+     */
+    @Override public String toString() {
+	StringBuilder sb = new StringBuilder("[");
+	for(int i = 0; i < longitud; i++){
+	    if(i > 0)
+		sb.append(", ");
+	    sb.append(get(i));
+	}
+	return sb.append("]").toString();
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista.
+     * @return un iterador para recorrer la lista.
+     */
+    @Override public PrimitiveIterator.OfInt iterator() {
+	return new Iterador();
+    }
+
+    /**
+     * Regresa una copia de la lista recibida, pero ordenada. El
+     * ordenamiento es estable y usa un solo arreglo auxiliar: los
+     * bloques de 16 elementos se ordenan por inserción
+     * y después se mezclan de abajo hacia arriba.
+     * @param l la lista que se ordenará.
+     * @return una copia de la lista recibida, pero ordenada.
+     */
+    public static ListaEnteros mergeSort(ListaEnteros l) {
+	int n = l.longitud;
+	int[] a = new int[capacidad(n)];
+	l.copiaEn(a);
+	for(int ini = 0; ini < n; ini += BLOQUE)
+	    insercion(a, ini, Math.min(ini + BLOQUE, n));
+	int[] b = new int[a.length];
+	for(int ancho = BLOQUE; ancho < n; ancho <<= 1){
+	    for(int ini = 0; ini < n; ini += 2*ancho){
+		int mitad = Math.min(ini + ancho, n);
+		int fin = Math.min(ini + 2*ancho, n);
+		mezcla(a, b, ini, mitad, fin);
+	    }
+	    int[] t = a;
+	    a = b;
+	    b = t;
+	}
+	ListaEnteros ordenada = new ListaEnteros(0);
+	ordenada.arreglo = a;
+	ordenada.longitud = n;
+	return ordenada;
+    }
+
+    //Metodo privado para ordenar a[ini, fin) por inserción.
+    private static void insercion(int[] a, int ini, int fin) {
+	for(int i = ini + 1; i < fin; i++){
+	    int e = a[i];
+	    int j = i - 1;
+	    while(j >= ini && !menorIgual(a[j], e)){
+		a[j+1] = a[j];
+		j--;
+	    }
+	    a[j+1] = e;
+	}
+    }
+
+    //Metodo privado para mezclar a[ini, mitad) y a[mitad, fin) en
+    //b[ini, fin). En empates gana el de la izquierda.
+    private static void mezcla(int[] a, int[] b, int ini, int mitad, int fin) {
+	int i = ini, j = mitad, k = ini;
+	while(i < mitad && j < fin)
+	    b[k++] = menorIgual(a[i], a[j]) ? a[i++] : a[j++];
+	System.arraycopy(a, i, b, k, mitad - i);
+	System.arraycopy(a, j, b, k + mitad - i, fin - j);
+    }
+
+    //Metodo privado para copiar los elementos, en orden, al inicio
+    //del arreglo recibido.
+    private void copiaEn(int[] a) {
+	int primeros = Math.min(longitud, arreglo.length - cabeza);
+	System.arraycopy(arreglo, cabeza, a, 0, primeros);
+	System.arraycopy(arreglo, 0, a, primeros, longitud - primeros);
+    }
+
+    //Metodo privado para duplicar el arreglo.
+    private void crece() {
+	int[] nuevo = new int[arreglo.length << 1];
+	copiaEn(nuevo);
+	arreglo = nuevo;
+	cabeza = 0;
+    }
+
+    //Metodo privado para obtener la menor potencia de 2 que sea
+    //mayor o igual a n (y a la capacidad mínima), sin pasar de 2^30.
+    private static int capacidad(int n) {
+	int c = MIN_CAPACIDAD;
+	while(c < n && c < (1 << 30))
+	    c <<= 1;
+	return c;
+    }
+
+    //Metodo privado para comparar dos elementos.
+    private static boolean menorIgual(int a, int b) {
+	return a <= b;
+    }
+
+    //Metodo privado para saber si dos elementos son iguales.
+    private static boolean igual(int a, int b) {
+	return a == b;
+    }
+} //Fin de ListaEnteros.java
@@ -33,27 +33,18 @@ package mx.unam.ciencias.edd;
  * @version 1.5
  * @since Feb 16 2014
  * Clase abtracta para estructuras lineales restringidas a
- * operaciones mete/saca/mira, todas ocupando una lista subyaciente.
+ * operaciones mete/saca/mira. No guarda elementos: {@link
+ * MeteSacaArreglo} los guarda en un arreglo circular (para {@link
+ * Pila} y {@link Cola}), y las estructuras concurrentes como {@link
+ * ColaConcurrente} los guardan por su cuenta.
  */
 public abstract class MeteSaca<T> {
 
-    /** Lista subyaciente. */
-    protected Lista<T> lista;
-
-    /**
-     * Constructor único que incializa la lista.
-     */
-    public MeteSaca() {
-        this.lista = new Lista<T>();
-    }
-
     /**
      * Agrega un elemento a la estructura.
      * @param elemento el elemento a agregar.
      */
-    public void mete(T elemento) {
-        this.lista.agregaFinal(elemento);
-    }
+    public abstract void mete(T elemento);
 
     /**
      * Elimina un elemento de la estructura y lo regresa.
@@ -75,11 +66,5 @@ public abstract class MeteSaca<T> {
      * @return <tt>true</tt> si la estructura no tiene elementos,
      *         <tt>false</tt> en otro caso.
      */
-    public boolean esVacia() {
-	if(this.lista.getLongitud() == 0){
-	    return true;
-	}else{
-	    return false;
-	}
-    }
+    public abstract boolean esVacia();
 } // Fin de MeteSaca.java
@@ -0,0 +1,150 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Clase abstracta para estructuras {@link MeteSaca} que guardan sus
+ * elementos en un arreglo circular subyaciente. El arreglo crece al doble cuando se llena y se
+ * reduce a la mitad cuando queda ocupado a menos de una cuarta
+ * parte, sin bajar nunca de la capacidad inicial; así, una vez que
+ * la estructura alcanza su tamaño de trabajo, meter y sacar
+ * elementos no crea objetos nuevos.
+ *
+ * Las subclases sólo eligen de qué extremo sacar y mirar, con
+ * {@link #sacaPrimero} y {@link #miraPrimero} (como {@link Cola}) o
+ * con {@link #sacaUltimo} y {@link #miraUltimo} (como {@link Pila}).
+ */
+public abstract class MeteSacaArreglo<T> extends MeteSaca<T> {
+
+    /* Capacidad mínima del arreglo. */
+    private static final int MIN_CAPACIDAD = 8;
+
+    /* Arreglo circular subyaciente; su longitud es potencia de 2. */
+    private T[] elementos;
+    /* Índice del primer elemento en el arreglo. */
+    private int cabeza;
+    /* Número de elementos en la estructura. */
+    private int total;
+    /* Capacidad por debajo de la cual el arreglo no se reduce. */
+    private int capacidadInicial;
+
+    /* Truco para crear un arreglo genérico. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])(new Object[n]);
+    }
+
+    /**
+     * Constructor que inicializa el arreglo con la capacidad
+     * predeterminada.
+     */
+    public MeteSacaArreglo() {
+        this(MIN_CAPACIDAD);
+    }
+
+    /**
+     * Constructor que inicializa el arreglo con espacio para al
+     * menos <tt>capacidad</tt> elementos. El arreglo nunca se
+     * reduce por debajo de esta capacidad.
+     * @param capacidad el número de elementos que se espera meter.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public MeteSacaArreglo(int capacidad) {
+	if(capacidad < 0)
+	    throw new IllegalArgumentException();
+	int n = MIN_CAPACIDAD;
+	while(n < capacidad && n < (1 << 30))
+	    n <<= 1;
+	this.capacidadInicial = n;
+	this.elementos = nuevoArreglo(n);
+    }
+
+    /**
+     * Agrega un elemento a la estructura.
+     * @param elemento el elemento a agregar.
+     */
+    @Override public void mete(T elemento) {
+	if(total == elementos.length)
+	    redimensiona(elementos.length << 1);
+	elementos[(cabeza + total) & (elementos.length-1)] = elemento;
+	total++;
+    }
+
+    /**
+     * Nos dice si la estructura está vacía.
+     * @return <tt>true</tt> si la estructura no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+	return total == 0;
+    }
+
+    /**
+     * Elimina el primer elemento que se metió (de los que siguen en
+     * la estructura) y lo regresa.
+     * @return el primer elemento.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    protected T sacaPrimero() {
+	T elemento = miraPrimero();
+	elementos[cabeza] = null;
+	cabeza = (cabeza + 1) & (elementos.length-1);
+	total--;
+	reduce();
+	return elemento;
+    }
+
+    /**
+     * Elimina el último elemento que se metió y lo regresa.
+     * @return el último elemento.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    protected T sacaUltimo() {
+	T elemento = miraUltimo();
+	elementos[(cabeza + total - 1) & (elementos.length-1)] = null;
+	total--;
+	reduce();
+	return elemento;
+    }
+
+    /**
+     * Regresa el primer elemento que se metió, sin sacarlo.
+     * @return el primer elemento.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    protected T miraPrimero() {
+	if(total == 0)
+	    throw new NoSuchElementException();
+	return elementos[cabeza];
+    }
+
+    /**
+     * Regresa el último elemento que se metió, sin sacarlo.
+     * @return el último elemento.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    protected T miraUltimo() {
+	if(total == 0)
+	    throw new NoSuchElementException();
+	return elementos[(cabeza + total - 1) & (elementos.length-1)];
+    }
+
+    //Metodo privado para reducir el arreglo a la mitad cuando queda
+    //ocupado a menos de una cuarta parte. Como crecer ocurre al
+    //llenarse, entre un cambio de tamaño y el siguiente siempre hay
+    //del orden de n operaciones.
+    private void reduce() {
+	if(elementos.length > capacidadInicial && total < (elementos.length >> 2))
+	    redimensiona(elementos.length >> 1);
+    }
+
+    //Metodo privado para copiar los elementos, en orden y a partir
+    //del índice 0, a un arreglo nuevo de tamaño n.
+    private void redimensiona(int n) {
+	T[] nuevo = nuevoArreglo(n);
+	int primeros = Math.min(total, elementos.length - cabeza);
+	System.arraycopy(elementos, cabeza, nuevo, 0, primeros);
+	System.arraycopy(elementos, 0, nuevo, primeros, total - primeros);
+	elementos = nuevo;
+	cabeza = 0;
+    }
+} //Fin de MeteSacaArreglo.java
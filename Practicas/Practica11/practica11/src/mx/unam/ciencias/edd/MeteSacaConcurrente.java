@@ -0,0 +1,169 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>Clase abstracta para estructuras mete/saca que pueden usarse
+ * desde varios hilos a la vez sin sincronización externa.</p>
+ *
+ * <p>Las subclases implementan las operaciones que no bloquean,
+ * {@link #intentaMeter} e {@link #intentaSacar}; esta clase
+ * construye sobre ellas las variantes que esperan, con y sin
+ * tiempo límite. Mientras esperan, los hilos primero ceden el
+ * procesador y después se duermen intervalos cada vez más largos
+ * (hasta un milisegundo), sin tomar ningún candado.</p>
+ *
+ * <p>Las estructuras concurrentes no aceptan elementos
+ * <tt>null</tt>, porque {@link #intentaSacar} usa <tt>null</tt> para
+ * indicar que no había elementos.</p>
+ */
+public abstract class MeteSacaConcurrente<T> extends MeteSaca<T> {
+
+    /* Intentos en los que sólo se cede el procesador. */
+    private static final int CEDE = 16;
+    /* Máximo tiempo que se duerme entre intentos, en nanosegundos. */
+    private static final long MAX_ESPERA = 1000000L;
+
+    /**
+     * Intenta agregar un elemento sin esperar.
+     * @param elemento el elemento a agregar.
+     * @return <tt>true</tt> si se agregó el elemento,
+     *         <tt>false</tt> si la estructura estaba llena.
+     * @throws IllegalArgumentException si el elemento es
+     *         <tt>null</tt>.
+     */
+    public abstract boolean intentaMeter(T elemento);
+
+    /**
+     * Intenta eliminar un elemento sin esperar.
+     * @return el elemento eliminado, o <tt>null</tt> si la
+     *         estructura estaba vacía.
+     */
+    public abstract T intentaSacar();
+
+    /**
+     * Regresa el número de elementos en la estructura. Si otros
+     * hilos la están modificando, el número es aproximado.
+     * @return el número de elementos en la estructura.
+     */
+    public abstract int getElementos();
+
+    /**
+     * Regresa cuántos elementos se han metido en total.
+     * @return cuántos elementos se han metido.
+     */
+    public abstract long getMetidos();
+
+    /**
+     * Regresa cuántos elementos se han sacado en total.
+     * @return cuántos elementos se han sacado.
+     */
+    public abstract long getSacados();
+
+    /**
+     * Agrega un elemento a la estructura, esperando a que haya
+     * espacio si está llena. Si el hilo es interrumpido mientras
+     * espera, sigue esperando y conserva la interrupción.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento es
+     *         <tt>null</tt>.
+     */
+    @Override public void mete(T elemento) {
+	boolean interrumpido = false;
+	for(int intento = 0; !intentaMeter(elemento); intento++){
+	    espera(intento, MAX_ESPERA);
+	    if(Thread.interrupted())
+		interrumpido = true;
+	}
+	if(interrumpido)
+	    Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Agrega un elemento a la estructura, esperando a lo más el
+     * tiempo dado a que haya espacio.
+     * @param elemento el elemento a agregar.
+     * @param tiempo cuánto esperar como máximo.
+     * @param unidad la unidad de <tt>tiempo</tt>.
+     * @return <tt>true</tt> si se agregó el elemento,
+     *         <tt>false</tt> si se acabó el tiempo.
+     * @throws InterruptedException si el hilo es interrumpido
+     *         mientras espera.
+     * @throws IllegalArgumentException si el elemento es
+     *         <tt>null</tt>.
+     */
+    public boolean mete(T elemento, long tiempo, TimeUnit unidad)
+	throws InterruptedException {
+	long limite = System.nanoTime() + unidad.toNanos(tiempo);
+	for(int intento = 0; !intentaMeter(elemento); intento++){
+	    long restante = limite - System.nanoTime();
+	    if(restante <= 0)
+		return false;
+	    espera(intento, restante);
+	    if(Thread.interrupted())
+		throw new InterruptedException();
+	}
+	return true;
+    }
+
+    /**
+     * Elimina un elemento de la estructura y lo regresa, sin
+     * esperar.
+     * @return el elemento eliminado.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    @Override public T saca() {
+	T elemento = intentaSacar();
+	if(elemento == null)
+	    throw new NoSuchElementException();
+	return elemento;
+    }
+
+    /**
+     * Elimina un elemento de la estructura y lo regresa, esperando
+     * a lo más el tiempo dado a que haya uno.
+     * @param tiempo cuánto esperar como máximo.
+     * @param unidad la unidad de <tt>tiempo</tt>.
+     * @return el elemento eliminado, o <tt>null</tt> si se acabó el
+     *         tiempo.
+     * @throws InterruptedException si el hilo es interrumpido
+     *         mientras espera.
+     */
+    public T saca(long tiempo, TimeUnit unidad) throws InterruptedException {
+	long limite = System.nanoTime() + unidad.toNanos(tiempo);
+	T elemento;
+	for(int intento = 0; (elemento = intentaSacar()) == null; intento++){
+	    long restante = limite - System.nanoTime();
+	    if(restante <= 0)
+		return null;
+	    espera(intento, restante);
+	    if(Thread.interrupted())
+		throw new InterruptedException();
+	}
+	return elemento;
+    }
+
+    /**
+     * Nos dice si la estructura está vacía.
+     * @return <tt>true</tt> si la estructura no tiene elementos,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean esVacia() {
+	return getElementos() == 0;
+    }
+
+    //Metodo privado para esperar entre dos intentos: primero se cede
+    //el procesador y luego se duerme el doble cada vez, sin pasar de
+    //MAX_ESPERA ni del tiempo restante.
+    private static void espera(int intento, long restante) {
+	if(intento < CEDE){
+	    Thread.yield();
+	    return;
+	}
+	int exponente = Math.min(intento - CEDE, 20);
+	long nanos = Math.min(1000L << exponente, MAX_ESPERA);
+	LockSupport.parkNanos(Math.min(nanos, restante));
+    }
+} //Fin de MeteSacaConcurrente.java
@@ -0,0 +1,335 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos de emparejamiento (<i>pairing heaps</i>)
+ * mínimos. Un montículo de emparejamiento es un árbol donde cada
+ * vértice es menor o igual que sus hijos, y los hijos de cada vértice
+ * forman una lista ligada. Agregar un elemento y decrementar su
+ * llave cuestan tiempo <em>O</em>(1): el elemento (con su subárbol)
+ * se une con la raíz con una sola comparación. Eliminar el mínimo
+ * cuesta tiempo <em>O</em>(log <em>n</em>) amortizado: los hijos de
+ * la raíz se unen por parejas de izquierda a derecha, y los
+ * resultados de derecha a izquierda.</p>
+ *
+ * <p>Conviene más que {@link MonticuloMinimo} cuando hay muchas más
+ * llaves decrementadas que elementos eliminados, como en el
+ * algoritmo de Dijkstra sobre gráficas densas.</p>
+ *
+ * <p>Los vértices se guardan en un arreglo sin huecos, y el índice
+ * de cada elemento ({@link ComparableIndexable#getIndice}) es su
+ * posición en el arreglo; al eliminar un vértice, el último ocupa su
+ * lugar. Como el de {@link MonticuloMinimo}, el arreglo crece al
+ * doble cuando se llena, y se reduce a la mitad sólo cuando ha estado
+ * ocupado a menos de una cuarta parte durante tantas operaciones
+ * como su capacidad, sin bajar de la capacidad con la que se
+ * creó.</p>
+ */
+public class MonticuloEmparejamiento<T extends ComparableIndexable<T>>
+    implements ColaPrioridad<T>, Iterable<T> {
+
+    /* Clase privada para iteradores de montículos de
+     * emparejamiento. Los elementos se recorren en el orden del
+     * arreglo, que no es ningún orden en particular. */
+    private class Iterador implements Iterator<T> {
+
+        /* Índice del siguiente elemento. */
+        private int siguiente;
+
+        /* Nos dice si hay un siguiente elemento. */
+        public boolean hasNext() {
+            return siguiente < elementos;
+        }
+
+        /* Regresa el siguiente elemento. */
+        public T next() {
+            if(siguiente >= elementos)
+                throw new NoSuchElementException();
+            return vertices[siguiente++].elemento;
+        }
+
+        /* No lo implementamos: siempre lanza una excepción. */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /* Vértices del montículo. */
+    private static class Vertice<T> {
+        public T elemento;
+        /* El primero de los hijos. */
+        public Vertice<T> hijo;
+        /* El siguiente hermano. */
+        public Vertice<T> hermano;
+        /* El hermano anterior, o el padre si es el primer hijo. */
+        public Vertice<T> anterior;
+        public Vertice(T elemento) {
+            this.elemento = elemento;
+        }
+    }
+
+    /* Capacidad mínima del arreglo. */
+    private static final int MIN_CAPACIDAD = 8;
+
+    /* La raíz del montículo. */
+    private Vertice<T> raiz;
+    /* Los vértices del montículo, indexados por el índice de su
+     * elemento. */
+    private Vertice<T>[] vertices;
+    /* Número de elementos. */
+    private int elementos;
+    /* Capacidad por debajo de la cual el arreglo no se reduce. */
+    private int capacidadInicial;
+    /* Operaciones seguidas con el arreglo ocupado a menos de una
+     * cuarta parte, desde el último cambio de tamaño. */
+    private int bajas;
+
+    /* Truco para crear un arreglo genérico. */
+    @SuppressWarnings("unchecked") private Vertice<T>[] nuevoArreglo(int n) {
+        return (Vertice<T>[])new Vertice[n];
+    }
+
+    /**
+     * Constructor sin parámetros.
+     */
+    public MonticuloEmparejamiento() {
+        this(MIN_CAPACIDAD);
+    }
+
+    /**
+     * Construye un montículo vacío con espacio para el número de
+     * elementos recibido. El arreglo no se reduce por debajo de
+     * esta capacidad.
+     * @param capacidad el número de elementos que se espera agregar.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public MonticuloEmparejamiento(int capacidad) {
+	if(capacidad < 0)
+	    throw new IllegalArgumentException();
+	this.capacidadInicial = Math.max(capacidad, MIN_CAPACIDAD);
+	this.vertices = nuevoArreglo(capacidadInicial);
+    }
+
+    /**
+     * Agrega un nuevo elemento al montículo.
+     * @param elemento el elemento a agregar.
+     */
+    @Override public void agrega(T elemento) {
+	if(elementos == vertices.length)
+	    redimensiona(vertices.length * 2);
+	Vertice<T> v = new Vertice<T>(elemento);
+	vertices[elementos] = v;
+	elemento.setIndice(elementos++);
+	raiz = raiz == null ? v : une(raiz, v);
+	reduce();
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo. El índice del
+     * elemento eliminado queda en -1.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+	if(raiz == null)
+	    throw new IllegalStateException();
+	Vertice<T> v = raiz;
+	raiz = combina(v.hijo);
+	quita(v);
+	reduce();
+	return v.elemento;
+    }
+
+    /**
+     * Avisa al montículo que la llave del elemento disminuyó. El
+     * elemento se separa de su padre con su subárbol, y el subárbol
+     * se une con la raíz.
+     * @param elemento el elemento cuya llave disminuyó; su llave no
+     *        debe haber aumentado.
+     * @throws NoSuchElementException si el elemento no está en el
+     *         montículo.
+     */
+    @Override public void decrementaLlave(T elemento) {
+	if(!contiene(elemento))
+	    throw new NoSuchElementException();
+	Vertice<T> v = vertices[elemento.getIndice()];
+	if(v == raiz)
+	    return;
+	if(v.anterior.hijo == v)
+	    v.anterior.hijo = v.hermano;
+	else
+	    v.anterior.hermano = v.hermano;
+	if(v.hermano != null)
+	    v.hermano.anterior = v.anterior;
+	v.hermano = v.anterior = null;
+	raiz = une(raiz, v);
+    }
+
+    /**
+     * Nos dice si un elemento está en el montículo.
+     * @param elemento el elemento a buscar.
+     * @return <tt>true</tt> si el elemento está en el montículo,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+	int k = elemento.getIndice();
+	return k >= 0 && k < elementos && vertices[k].elemento == elemento;
+    }
+
+    /**
+     * Regresa el elemento mínimo del montículo, sin eliminarlo.
+     * @return el elemento mínimo del montículo.
+     * @throws NoSuchElementException si el montículo es vacío.
+     */
+    public T minimo() {
+	if(raiz == null)
+	    throw new NoSuchElementException();
+	return raiz.elemento;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <tt>true</tt> si el montículo es vacío, <tt>false</tt>
+     *         en otro caso.
+     */
+    @Override public boolean esVacio() {
+	return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+	return elementos;
+    }
+
+    /**
+     * Elimina todos los elementos del montículo. El arreglo se
+     * conserva con la capacidad que tenía.
+     */
+    public void limpia() {
+	for(int i = 0; i < elementos; i++){
+	    vertices[i].elemento.setIndice(-1);
+	    vertices[i] = null;
+	}
+	elementos = 0;
+	raiz = null;
+    }
+
+    /**
+     * Reduce el arreglo del montículo al número de elementos que
+     * tiene, o a la capacidad mínima si tiene menos. A partir de
+     * ahora el arreglo no se reduce por debajo de esa capacidad
+     * mínima.
+     */
+    public void recorta() {
+	capacidadInicial = MIN_CAPACIDAD;
+	int n = Math.max(elementos, MIN_CAPACIDAD);
+	if(n < vertices.length)
+	    redimensiona(n);
+    }
+
+    /**
+     * Regresa el número de elementos que caben en el arreglo del
+     * montículo sin que tenga que crecer.
+     * @return la capacidad del montículo.
+     */
+    public int getCapacidad() {
+	return vertices.length;
+    }
+
+    /**
+     * Regresa un iterador para los elementos del montículo, en
+     * ningún orden en particular.
+     * @return un iterador para los elementos del montículo.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    //Metodo privado para unir dos árboles: el de la raíz mayor se
+    //vuelve el primer hijo del de la raíz menor. Ambos deben ser
+    //raíces, sin hermanos ni anterior.
+    private Vertice<T> une(Vertice<T> a, Vertice<T> b) {
+	if(b.elemento.compareTo(a.elemento) < 0){
+	    Vertice<T> t = a;
+	    a = b;
+	    b = t;
+	}
+	b.anterior = a;
+	b.hermano = a.hijo;
+	if(a.hijo != null)
+	    a.hijo.anterior = b;
+	a.hijo = b;
+	return a;
+    }
+
+    //Metodo privado para unir una lista de hermanos en un solo
+    //árbol en dos pasadas: de izquierda a derecha por parejas, y de
+    //derecha a izquierda los resultados. Las parejas se guardan en
+    //una pila ligada por hermano, así que no hay recursión.
+    private Vertice<T> combina(Vertice<T> primero) {
+	if(primero == null)
+	    return null;
+	Vertice<T> parejas = null;
+	while(primero != null){
+	    Vertice<T> a = primero;
+	    Vertice<T> b = a.hermano;
+	    primero = b == null ? null : b.hermano;
+	    a.hermano = a.anterior = null;
+	    if(b != null){
+		b.hermano = b.anterior = null;
+		a = une(a, b);
+	    }
+	    a.hermano = parejas;
+	    parejas = a;
+	}
+	Vertice<T> r = parejas;
+	parejas = parejas.hermano;
+	r.hermano = null;
+	while(parejas != null){
+	    Vertice<T> s = parejas.hermano;
+	    parejas.hermano = null;
+	    r = une(r, parejas);
+	    parejas = s;
+	}
+	return r;
+    }
+
+    //Metodo privado para quitar un vértice del arreglo, moviendo el
+    //último a su lugar.
+    private void quita(Vertice<T> v) {
+	int k = v.elemento.getIndice();
+	elementos--;
+	vertices[k] = vertices[elementos];
+	vertices[k].elemento.setIndice(k);
+	vertices[elementos] = null;
+	v.elemento.setIndice(-1);
+	v.hijo = null;
+    }
+
+    //Metodo privado para contar una operación, y reducir el arreglo
+    //a la mitad si lleva tantas operaciones seguidas ocupado a menos
+    //de una cuarta parte como su capacidad; es la misma política que
+    //la de MonticuloMinimo.
+    private void reduce() {
+	if(vertices.length <= capacidadInicial || elementos >= (vertices.length >> 2)){
+	    bajas = 0;
+	    return;
+	}
+	if(++bajas >= vertices.length)
+	    redimensiona(Math.max(vertices.length >> 1, capacidadInicial));
+    }
+
+    //Metodo privado para copiar los vértices a un arreglo nuevo de
+    //tamaño n.
+    private void redimensiona(int n) {
+	Vertice<T>[] nuevo = nuevoArreglo(n);
+	System.arraycopy(vertices, 0, nuevo, 0, elementos);
+	vertices = nuevo;
+	bajas = 0;
+    }
+} //Fin de MonticuloEmparejamiento.java
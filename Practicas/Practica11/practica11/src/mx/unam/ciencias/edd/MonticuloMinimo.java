@@ -27,6 +27,7 @@
  */
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -39,9 +40,29 @@ import java.util.NoSuchElementException;
  * <em>O</em>(<em>n</em>), y podemos agregar y actualizar elementos
  * en tiempo <em>O</em>(log <em>n</em>). Eliminar el elemento mínimo
  * también nos toma tiempo <em>O</em>(log <em>n</em>).
+ *
+ * El arreglo del montículo crece al doble cuando se llena, y se
+ * reduce a la mitad con histéresis: sólo cuando ha estado ocupado a
+ * menos de una cuarta parte durante tantas operaciones como su
+ * capacidad desde el último cambio de tamaño, y nunca por debajo de
+ * la capacidad con la que se creó. Un montículo que se llena y se
+ * vacía una y otra vez (como en una cola de eventos) reutiliza
+ * siempre el mismo arreglo, y uno que tuvo un pico y se quedó con
+ * pocos elementos termina por soltar el espacio. {@link #limpia} lo
+ * vacía sin soltar el arreglo, y {@link #recorta} suelta el espacio
+ * que sobra de inmediato.
+ *
+ * Por omisión el montículo es binario, pero se puede construir con
+ * cualquier aridad <em>d</em> &ge; 2: los hijos del elemento en el
+ * índice <em>k</em> están en los índices <em>dk</em>+1 a
+ * <em>dk</em>+<em>d</em>. Con <em>d</em> = 4 el árbol tiene la mitad
+ * de niveles, así que agregar y decrementar llaves cuesta la mitad de
+ * comparaciones, y los hijos de un elemento quedan juntos en
+ * memoria; eliminar el mínimo compara más hijos por nivel, pero es
+ * la operación menos frecuente en algoritmos como el de Dijkstra.
  */
 public class MonticuloMinimo<T extends ComparableIndexable<T>>
-    implements Iterable<T> {
+    implements ColaPrioridad<T>, Iterable<T> {
 
     /* Clase privada para iteradores de montículos. */
     private class Iterador<T extends ComparableIndexable<T>> implements Iterator<T> {
@@ -75,9 +96,19 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
         }
     }
 
+    /* Capacidad mínima del arreglo. */
+    private static final int MIN_CAPACIDAD = 8;
+
     private int siguiente;
     /* Usamos un truco para poder utilizar arreglos genéricos. */
     private T[] arbol;
+    /* Capacidad por debajo de la cual el arreglo no se reduce. */
+    private int capacidadInicial;
+    /* Operaciones seguidas con el arreglo ocupado a menos de una
+     * cuarta parte, desde el último cambio de tamaño. */
+    private int bajas;
+    /* Número de hijos de cada elemento. */
+    private int aridad;
 
     /* Truco para crear arreglos genéricos. Es necesario hacerlo así
        por cómo Java implementa sus genéricos; de otra forma
@@ -92,8 +123,36 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      * completez.
      */
     public MonticuloMinimo() {
+	this(MIN_CAPACIDAD);
+    }
+
+    /**
+     * Construye un montículo vacío con espacio para el número de
+     * elementos recibido. El arreglo no se reduce por debajo de
+     * esta capacidad.
+     * @param capacidad el número de elementos que se espera agregar.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public MonticuloMinimo(int capacidad) {
+	this(capacidad, 2);
+    }
+
+    /**
+     * Construye un montículo vacío de la aridad recibida, con
+     * espacio para el número de elementos recibido. El arreglo no se
+     * reduce por debajo de esta capacidad.
+     * @param capacidad el número de elementos que se espera agregar.
+     * @param aridad el número de hijos de cada elemento.
+     * @throws IllegalArgumentException si la capacidad es negativa,
+     *         o la aridad es menor que 2.
+     */
+    public MonticuloMinimo(int capacidad, int aridad) {
+	if(capacidad < 0 || aridad < 2)
+	    throw new IllegalArgumentException();
+	this.aridad = aridad;
 	this.siguiente = 0;
-	this.arbol = creaArregloGenerico(0);
+	this.capacidadInicial = Math.max(capacidad, MIN_CAPACIDAD);
+	this.arbol = creaArregloGenerico(capacidadInicial);
     }
 
     /**
@@ -101,20 +160,76 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      * más barato construir un montículo con todos sus elementos de
      * antemano (tiempo <i>O</i>(<i>n</i>)), que el insertándolos
      * uno por uno (tiempo <i>O</i>(<i>n</i> log <i>n</i>)).
+     * @param lista la lista con los elementos del montículo.
      */
     public MonticuloMinimo(Lista<T> lista) {
+	this.aridad = 2;
+	this.capacidadInicial = MIN_CAPACIDAD;
+	this.arbol = creaArregloGenerico(Math.max(lista.getLongitud(),
+						  MIN_CAPACIDAD));
 	this.siguiente = 0;
-	this.arbol = creaArregloGenerico(lista.getLongitud()*2);
-	for(int i = 0; i < lista.getLongitud(); i++){
-	    arbol[i] = lista.get(i);
-	    arbol[i].setIndice(i);
-	    this.siguiente++;
+	for(T elemento : lista)
+	    arbol[siguiente++] = elemento;
+	heapifica(0);
+    }
+
+    /**
+     * Constructor para montículo mínimo que recibe un arreglo. El
+     * montículo se construye en tiempo <i>O</i>(<i>n</i>); el
+     * arreglo no se modifica.
+     * @param arreglo el arreglo con los elementos del montículo.
+     */
+    public MonticuloMinimo(T[] arreglo) {
+	this.aridad = 2;
+	this.capacidadInicial = MIN_CAPACIDAD;
+	this.arbol = creaArregloGenerico(Math.max(arreglo.length,
+						  MIN_CAPACIDAD));
+	System.arraycopy(arreglo, 0, this.arbol, 0, arreglo.length);
+	this.siguiente = arreglo.length;
+	heapifica(0);
+    }
+
+    /**
+     * Constructor para montículo mínimo que recibe un iterable. El
+     * montículo se construye en tiempo <i>O</i>(<i>n</i>).
+     * @param iterable el iterable con los elementos del montículo.
+     */
+    public MonticuloMinimo(Iterable<T> iterable) {
+	this(MIN_CAPACIDAD);
+	for(T elemento : iterable){
+	    if(siguiente == arbol.length)
+		redimensiona(arbol.length * 2);
+	    arbol[siguiente++] = elemento;
 	}
-	int i = 0;
-	while(i < siguiente){
-	    for(int j = 0; j < siguiente; j++)
-		reordena(arbol[j]);
-	    i++;
+	heapifica(0);
+    }
+
+    /**
+     * Agrega todos los elementos del iterable al montículo. Si son
+     * pocos comparados con los que ya hay, los agrega uno por uno;
+     * si son muchos, los pone al final y reconstruye el montículo
+     * completo en tiempo <i>O</i>(<i>n</i>), que es más barato que
+     * <i>k</i> inserciones de <i>O</i>(log <i>n</i>).
+     * @param iterable el iterable con los elementos a agregar.
+     */
+    public void agregaTodos(Iterable<T> iterable) {
+	int anteriores = siguiente;
+	for(T elemento : iterable){
+	    if(siguiente == arbol.length)
+		redimensiona(arbol.length * 2);
+	    arbol[siguiente++] = elemento;
+	}
+	int k = siguiente - anteriores;
+	/* k inserciones cuestan alrededor de k log n comparaciones, y
+	   reconstruir, alrededor de 2n. */
+	int lg = 32 - Integer.numberOfLeadingZeros(siguiente);
+	if((long)k * lg > 2L * siguiente){
+	    heapifica(anteriores);
+	}else{
+	    for(int i = anteriores; i < siguiente; i++){
+		arbol[i].setIndice(i);
+		sube(i);
+	    }
 	}
     }
 
@@ -122,48 +237,106 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      * Agrega un nuevo elemento en el montículo.
      * @param elemento el elemento a agregar en el montículo.
      */
-    public void agrega(T elemento) {
-        siguiente++;
-	if(siguiente >= arbol.length-1 || arbol.length == 0){
-	    T[] nuevo = creaArregloGenerico((arbol.length+1)*2);
-	    for(int i = 0; i < siguiente-1; i++){
-		nuevo[i] = arbol[i];
-	    }
-	    arbol = nuevo;
-	}
-	arbol[siguiente-1] = elemento;
-	arbol[siguiente-1].setIndice(siguiente-1);
-	reordena(arbol[elemento.getIndice()]);
-	}
+    @Override public void agrega(T elemento) {
+	if(siguiente == arbol.length)
+	    redimensiona(arbol.length * 2);
+	arbol[siguiente] = elemento;
+	sube(siguiente++);
+	reduce();
+    }
 
     /**
      * Elimina el elemento mínimo del montículo.
      * @return el elemento mínimo del montículo.
      * @throws IllegalStateException si el montículo es vacío.
      */
-    public T elimina() {
+    @Override public T elimina() {
 	if(siguiente < 1)
 	    throw new IllegalStateException();
 	siguiente--;
 	T elemento = arbol[0];
-	if(siguiente == 0){	
-	    arbol = creaArregloGenerico(0);
-	    return elemento;
-	}
-	T ult = arbol[siguiente];
-	arbol[0] = ult;
-	arbol[arbol[0].getIndice()] = null;
-	arbol[0].setIndice(0);
-	reordena(arbol[0]);
+	arbol[0] = arbol[siguiente];
+	arbol[siguiente] = null;
+	if(siguiente > 0)
+	    baja(0);
+	reduce();
 	return elemento;
     }
 
+    /**
+     * Elimina todos los elementos del montículo. El arreglo se
+     * conserva con la capacidad que tenía, para volver a llenarlo
+     * sin pedir memoria.
+     */
+    public void limpia() {
+	Arrays.fill(arbol, 0, siguiente, null);
+	siguiente = 0;
+    }
+
+    /**
+     * Reduce el arreglo del montículo al número de elementos que
+     * tiene, o a la capacidad mínima si tiene menos. A partir de
+     * ahora el arreglo no se reduce por debajo de esa capacidad
+     * mínima.
+     */
+    public void recorta() {
+	capacidadInicial = MIN_CAPACIDAD;
+	int n = Math.max(siguiente, MIN_CAPACIDAD);
+	if(n < arbol.length)
+	    redimensiona(n);
+    }
+
+    /**
+     * Se asegura de que el montículo tenga espacio para al menos el
+     * número de elementos recibido sin tener que crecer. El arreglo
+     * no se reduce por debajo de esta capacidad.
+     * @param capacidad el número de elementos que se espera tener.
+     */
+    public void aseguraCapacidad(int capacidad) {
+	capacidadInicial = Math.max(capacidadInicial, capacidad);
+	if(capacidad > arbol.length)
+	    redimensiona(capacidad);
+    }
+
+    /**
+     * Regresa el número de elementos que caben en el arreglo del
+     * montículo sin que tenga que crecer.
+     * @return la capacidad del montículo.
+     */
+    public int getCapacidad() {
+	return arbol.length;
+    }
+
+    //Metodo privado para contar una operación, y reducir el arreglo
+    //a la mitad si lleva tantas operaciones seguidas ocupado a menos
+    //de una cuarta parte como su capacidad. Vaciarlo y volver a
+    //llenarlo más allá de la cuarta parte cuenta a lo más media
+    //capacidad de operaciones con poca ocupación, así que no lo
+    //reduce.
+    private void reduce() {
+	if(arbol.length <= capacidadInicial || siguiente >= (arbol.length >> 2)){
+	    bajas = 0;
+	    return;
+	}
+	if(++bajas >= arbol.length)
+	    redimensiona(Math.max(arbol.length >> 1, capacidadInicial));
+    }
+
+    //Metodo privado para copiar los elementos a un arreglo nuevo de
+    //tamaño n.
+    private void redimensiona(int n) {
+	T[] nuevo = creaArregloGenerico(n);
+	System.arraycopy(arbol, 0, nuevo, 0, siguiente);
+	arbol = nuevo;
+	bajas = 0;
+    }
+
     /**
      * Nos dice si el montículo es vacío.
      * @return <tt>true</tt> si ya no hay elementos en el montículo,
      *         <tt>false</tt> en otro caso.
      */
-    public boolean esVacio() {
+    @Override public boolean esVacio() {
 	return siguiente == 0;
     }
 
@@ -173,57 +346,95 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
      */
     public void reordena(T elemento) {
 	int k = elemento.getIndice();
-	if(k == 0 && elemento != arbol[0])
+	if(k < 0 || k >= siguiente || arbol[k] != elemento)
 	    return;
-	while(arbol[k].compareTo(arbol[(k-1)/2]) < 0){
-	    arbol[k].setIndice(arbol[(k-1)/2].getIndice());
-	    arbol[(k-1)/2].setIndice(k);
-		arbol[k] = arbol[(k-1)/2];
-		arbol[(k-1)/2] = elemento;
-		k = (k-1)/2;
+	sube(k);
+	baja(elemento.getIndice());
+    }
+
+    /**
+     * Avisa al montículo que la llave del elemento disminuyó. A
+     * diferencia de {@link #reordena}, sólo sube el elemento.
+     * @param elemento el elemento cuya llave disminuyó; su llave no
+     *        debe haber aumentado.
+     * @throws NoSuchElementException si el elemento no está en el
+     *         montículo.
+     */
+    @Override public void decrementaLlave(T elemento) {
+	if(!contiene(elemento))
+	    throw new NoSuchElementException();
+	sube(elemento.getIndice());
+    }
+
+    /**
+     * Nos dice si un elemento está en el montículo.
+     * @param elemento el elemento a buscar.
+     * @return <tt>true</tt> si el elemento está en el montículo,
+     *         <tt>false</tt> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+	int k = elemento.getIndice();
+	return k >= 0 && k < siguiente && arbol[k] == elemento;
+    }
+
+    //Metodo privado para reconstruir el montículo con el algoritmo
+    //de Floyd: los elementos desde el índice desde ya están en el
+    //arreglo sin orden; les asignamos su índice y bajamos cada
+    //vértice interno, del último al primero. Cada vértice baja a lo
+    //más hasta las hojas, y la mitad de los vértices son hojas, así
+    //que el total es lineal.
+    private void heapifica(int desde) {
+	for(int i = desde; i < siguiente; i++)
+	    arbol[i].setIndice(i);
+	for(int i = (siguiente + aridad - 2) / aridad - 1; i >= 0; i--)
+	    baja(i);
+    }
+
+    //Metodo privado para subir el elemento en el índice k hasta que
+    //su padre no sea mayor. Recorre los padres hacia abajo y coloca
+    //el elemento una sola vez al final.
+    private void sube(int k) {
+	T elemento = arbol[k];
+	while(k > 0){
+	    int p = (k - 1) / aridad;
+	    if(elemento.compareTo(arbol[p]) >= 0)
+		break;
+	    arbol[k] = arbol[p];
+	    arbol[k].setIndice(k);
+	    k = p;
 	}
-	while(tieneHijoDer(k) || tieneHijoIzq(k)){
-	    if(tieneHijoDer(k) && tieneHijoIzq(k)){
-		int c = arbol[(k*2)+1].compareTo(arbol[(k*2)+2]);
-		if(c == -1 && arbol[k].compareTo(arbol[(k*2)+1]) > 0){
-		    arbol[k].setIndice(arbol[(k*2)+1].getIndice());
-		    arbol[(k*2)+1].setIndice(k);
-		    arbol[k] = arbol[(k*2)+1];
-		    arbol[(k*2)+1] = elemento;
-		    k = (k*2)+1;
-		}else if(c == 1 && arbol[k].compareTo(arbol[(k*2)+2]) > 0){
-		    arbol[k].setIndice(arbol[(k*2)+2].getIndice());
-		    arbol[(k*2)+2].setIndice(k);
-		    arbol[k] = arbol[(k*2)+2];
-		    arbol[(k*2)+2] = elemento;
-		    k = (k*2)+2;
-		}else{
-		    break;
-		}
-	    }else if(tieneHijoIzq(k) && arbol[k].compareTo(arbol[(k*2)+1]) > 0){
-		arbol[k].setIndice(arbol[(k*2)+1].getIndice());
-		arbol[(k*2)+1].setIndice(k);
-		arbol[k] = arbol[(k*2)+1];
-		arbol[(k*2)+1] = elemento;
-		k = (k*2)+1;
-	    }else if(tieneHijoDer(k) && arbol[k].compareTo(arbol[(k*2)+2]) > 0){
-		arbol[k].setIndice(arbol[(k*2)+2].getIndice());
-		arbol[(k*2)+2].setIndice(k);
-		arbol[k] = arbol[(k*2)+2];
-		arbol[(k*2)+2] = elemento;
-		k = (k*2)+2;
-		
-	    }else{
+	arbol[k] = elemento;
+	elemento.setIndice(k);
+    }
+
+    //Metodo privado para bajar el elemento en el índice k hasta que
+    //ninguno de sus hijos sea menor, intercambiándolo con el menor de
+    //ellos.
+    private void baja(int k) {
+	T elemento = arbol[k];
+	while(true){
+	    int h = aridad*k + 1;
+	    if(h >= siguiente)
 		break;
-	    }
+	    int fin = Math.min(h + aridad, siguiente);
+	    for(int i = h + 1; i < fin; i++)
+		if(arbol[i].compareTo(arbol[h]) < 0)
+		    h = i;
+	    if(arbol[h].compareTo(elemento) >= 0)
+		break;
+	    arbol[k] = arbol[h];
+	    arbol[k].setIndice(k);
+	    k = h;
 	}
+	arbol[k] = elemento;
+	elemento.setIndice(k);
     }
 
     /**
      * Regresa el número de elementos en el montículo mínimo.
      * @return el número de elementos en el montículo mínimo.
      */
-    public int getElementos() {
+    @Override public int getElementos() {
 	return siguiente;
     }
 
@@ -248,27 +459,4 @@ public class MonticuloMinimo<T extends ComparableIndexable<T>>
         return new Iterador<T>(this);
     }
 
-    /**
-     * Metodo privado para saber si un elemento tiene hijo izquierdo.
-     * @param El numero de indice del elemento.
-     * @return true si lo tiene y false de lo contrario.
-     */
-    private boolean tieneHijoIzq(int i){
-	int tamaño = siguiente;
-	if((i*2)+1 >= tamaño)
-	    return false;
-    return true;
-    }
-    
-    /**
-     * Metodo privado para saber si un elemento tiene hijo derecho.
-     * @param El numero de indice del elemento.
-     * @return true si lo tiene y false de lo contrario.
-     */
-    private boolean tieneHijoDer(int i){
-	int tamaño = siguiente;
-	if((i*2)+2 >= tamaño)
-	    return false;
-    return true;
-    }
 } //Fin de MonticuloMinimo.java
@@ -0,0 +1,447 @@
+package mx.unam.ciencias.edd;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>Clase para ordenar archivos de registros que no caben en
+ * memoria.</p>
+ *
+ * <p>El archivo se lee por pedazos con un {@link FileChannel}, y los
+ * registros se decodifican con un {@link FormatoRegistro}. Cada vez
+ * que se juntan <tt>registrosPorCorrida</tt> registros, la corrida se
+ * ordena con {@link Arreglos#quickSort(Object[],Comparator)} y se
+ * escribe en un archivo temporal; varias corridas se ordenan a la vez
+ * en distintos hilos mientras se sigue leyendo. Al final las
+ * corridas se mezclan usando un {@link MonticuloMinimo} con el primer
+ * registro de cada una. Si hay más corridas que archivos que se
+ * permite abrir a la vez, se mezclan primero por grupos.</p>
+ *
+ * <p>En memoria hay a lo más <tt>hilos + 1</tt> corridas a la vez.
+ * El ordenamiento no es estable.</p>
+ */
+public class OrdenamientoExterno<T> {
+
+    /* Una corrida en la mezcla: su registro actual y de dónde sale
+     * el siguiente. En empates gana la corrida con menor número, para
+     * que el montículo nunca vea dos elementos iguales. */
+    private class Cabeza implements ComparableIndexable<Cabeza> {
+
+	public T registro;
+	public Lector lector;
+	public int numero;
+	private int indice;
+
+	public Cabeza(Lector lector, int numero) throws IOException {
+	    this.lector = lector;
+	    this.numero = numero;
+	    registro = lector.siguiente();
+	}
+
+	@Override public int compareTo(Cabeza c) {
+	    int r = comparador.compare(registro, c.registro);
+	    if(r == 0)
+		r = numero - c.numero;
+	    return r < 0 ? -1 : r > 0 ? 1 : 0;
+	}
+
+	@Override public int getIndice() {
+	    return indice;
+	}
+
+	@Override public void setIndice(int indice) {
+	    this.indice = indice;
+	}
+    }
+
+    /* Lee registros de un canal por pedazos. */
+    private class Lector implements Closeable {
+
+	private FileChannel canal;
+	private ByteBuffer buffer;
+	private boolean fin;
+
+	public Lector(FileChannel canal, int tam) {
+	    this.canal = canal;
+	    buffer = ByteBuffer.allocate(tam);
+	    buffer.flip();
+	}
+
+	/* Regresa el siguiente registro, o null si ya no hay. */
+	public T siguiente() throws IOException {
+	    while(true){
+		int posicion = buffer.position();
+		T registro = formato.lee(buffer, fin);
+		if(registro != null)
+		    return registro;
+		buffer.position(posicion);
+		if(fin){
+		    if(buffer.hasRemaining())
+			throw new IOException("Registro incompleto al final del archivo.");
+		    return null;
+		}
+		buffer.compact();
+		if(!buffer.hasRemaining()){
+		    /* El registro no cabe en el búfer. */
+		    ByteBuffer nuevo = ByteBuffer.allocate(buffer.capacity() * 2);
+		    buffer.flip();
+		    nuevo.put(buffer);
+		    buffer = nuevo;
+		}
+		if(canal.read(buffer) < 0)
+		    fin = true;
+		buffer.flip();
+	    }
+	}
+
+	@Override public void close() throws IOException {
+	    canal.close();
+	}
+    }
+
+    /* Escribe registros en un canal por pedazos. */
+    private class Escritor implements Closeable {
+
+	private FileChannel canal;
+	private ByteBuffer buffer;
+
+	public Escritor(FileChannel canal, int tam) {
+	    this.canal = canal;
+	    buffer = ByteBuffer.allocate(tam);
+	}
+
+	public void escribe(T registro) throws IOException {
+	    while(true){
+		int posicion = buffer.position();
+		if(formato.escribe(registro, buffer))
+		    return;
+		buffer.position(posicion);
+		if(posicion == 0)
+		    buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+		else
+		    vacia();
+	    }
+	}
+
+	private void vacia() throws IOException {
+	    buffer.flip();
+	    while(buffer.hasRemaining())
+		canal.write(buffer);
+	    buffer.clear();
+	}
+
+	@Override public void close() throws IOException {
+	    try{
+		vacia();
+	    }finally{
+		canal.close();
+	    }
+	}
+    }
+
+    /* Formato para líneas de texto en UTF-8. */
+    private static class Lineas implements FormatoRegistro<String> {
+
+	@Override public String lee(ByteBuffer buffer, boolean fin) {
+	    int ini = buffer.position();
+	    int i = ini;
+	    while(i < buffer.limit() && buffer.get(i) != '\n')
+		i++;
+	    if(i == buffer.limit() && (!fin || i == ini))
+		return null;
+	    String linea = new String(buffer.array(), buffer.arrayOffset() + ini,
+				      i - ini, StandardCharsets.UTF_8);
+	    buffer.position(Math.min(i + 1, buffer.limit()));
+	    return linea;
+	}
+
+	@Override public boolean escribe(String registro, ByteBuffer buffer) {
+	    byte[] bytes = registro.getBytes(StandardCharsets.UTF_8);
+	    if(buffer.remaining() < bytes.length + 1)
+		return false;
+	    buffer.put(bytes).put((byte)'\n');
+	    return true;
+	}
+    }
+
+    /* Formato para enteros largos de 8 bytes. */
+    private static class Largos implements FormatoRegistro<Long> {
+
+	@Override public Long lee(ByteBuffer buffer, boolean fin) {
+	    if(buffer.remaining() < Long.BYTES)
+		return null;
+	    return buffer.getLong();
+	}
+
+	@Override public boolean escribe(Long registro, ByteBuffer buffer) {
+	    if(buffer.remaining() < Long.BYTES)
+		return false;
+	    buffer.putLong(registro);
+	    return true;
+	}
+    }
+
+    /** Número predeterminado de registros por corrida. */
+    public static final int REGISTROS_POR_CORRIDA = 1 << 20;
+    /** Número predeterminado de corridas que se mezclan a la vez. */
+    public static final int MAXIMO_CORRIDAS = 256;
+
+    /* Tamaño del búfer para leer la entrada y escribir la salida. */
+    private static final int BUFFER_GRANDE = 1 << 20;
+    /* Tamaño del búfer de cada corrida en la mezcla. */
+    private static final int BUFFER_CORRIDA = 1 << 16;
+
+    /* Formato de los registros. */
+    private FormatoRegistro<T> formato;
+    /* Orden de los registros. */
+    private Comparator<? super T> comparador;
+    /* Registros por corrida. */
+    private int registrosPorCorrida;
+    /* Hilos que ordenan corridas. */
+    private int hilos;
+    /* Corridas que se mezclan a la vez. */
+    private int maximoCorridas;
+    /* Directorio para las corridas; null para el del sistema. */
+    private Path directorio;
+
+    /**
+     * Construye un ordenamiento externo con los valores
+     * predeterminados: {@link #REGISTROS_POR_CORRIDA} registros por
+     * corrida, un hilo por procesador, a lo más {@link
+     * #MAXIMO_CORRIDAS} corridas por mezcla, y las corridas en el
+     * directorio temporal del sistema.
+     * @param formato el formato de los registros.
+     * @param comparador el comparador que define el orden.
+     */
+    public OrdenamientoExterno(FormatoRegistro<T> formato,
+			       Comparator<? super T> comparador) {
+	this(formato, comparador, REGISTROS_POR_CORRIDA,
+	     Runtime.getRuntime().availableProcessors(), MAXIMO_CORRIDAS, null);
+    }
+
+    /**
+     * Construye un ordenamiento externo.
+     * @param formato el formato de los registros.
+     * @param comparador el comparador que define el orden.
+     * @param registrosPorCorrida cuántos registros se ordenan en
+     *        memoria a la vez en cada hilo.
+     * @param hilos cuántas corridas se ordenan a la vez.
+     * @param maximoCorridas cuántas corridas se mezclan a la vez.
+     * @param directorio el directorio para las corridas, o
+     *        <tt>null</tt> para usar el directorio temporal del
+     *        sistema.
+     * @throws IllegalArgumentException si registrosPorCorrida o
+     *         hilos son menores que 1, o maximoCorridas es menor que
+     *         2.
+     */
+    public OrdenamientoExterno(FormatoRegistro<T> formato,
+			       Comparator<? super T> comparador,
+			       int registrosPorCorrida, int hilos,
+			       int maximoCorridas, Path directorio) {
+	if(registrosPorCorrida < 1 || hilos < 1 || maximoCorridas < 2)
+	    throw new IllegalArgumentException();
+	this.formato = formato;
+	this.comparador = comparador;
+	this.registrosPorCorrida = registrosPorCorrida;
+	this.hilos = hilos;
+	this.maximoCorridas = maximoCorridas;
+	this.directorio = directorio;
+    }
+
+    /**
+     * Regresa un formato para líneas de texto en UTF-8, terminadas en
+     * <tt>'\n'</tt>. La última línea del archivo puede no tener
+     * terminador; en la salida todas lo tienen.
+     * @return un formato para líneas de texto.
+     */
+    public static FormatoRegistro<String> lineas() {
+	return new Lineas();
+    }
+
+    /**
+     * Regresa un formato para enteros largos de 8 bytes, en el orden
+     * de bytes de Java (el más significativo primero).
+     * @return un formato para enteros largos.
+     */
+    public static FormatoRegistro<Long> largos() {
+	return new Largos();
+    }
+
+    /**
+     * Ordena los registros del archivo de entrada y los escribe en el
+     * archivo de salida, que se reemplaza si existe. Los archivos
+     * temporales se borran aunque el ordenamiento falle.
+     * @param entrada el archivo a ordenar.
+     * @param salida el archivo donde se escriben los registros
+     *        ordenados; puede ser el mismo que la entrada.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    public void ordena(Path entrada, Path salida) throws IOException {
+	Lista<Path> temporales = new Lista<Path>();
+	try{
+	    generaCorridas(entrada, temporales);
+	    Lista<Path> corridas = temporales.copia();
+	    while(corridas.getLongitud() > maximoCorridas){
+		Lista<Path> mezcladas = new Lista<Path>();
+		while(corridas.getLongitud() > 0){
+		    Lista<Path> grupo = new Lista<Path>();
+		    while(grupo.getLongitud() < maximoCorridas && corridas.getLongitud() > 0)
+			grupo.agregaFinal(corridas.eliminaPrimero());
+		    Path destino = temporal();
+		    temporales.agregaFinal(destino);
+		    mezcladas.agregaFinal(destino);
+		    mezcla(grupo, destino);
+		}
+		corridas = mezcladas;
+	    }
+	    Path ordenado = corridas.getPrimero();
+	    if(corridas.getLongitud() > 1){
+		ordenado = temporal();
+		temporales.agregaFinal(ordenado);
+		mezcla(corridas, ordenado);
+	    }
+	    Files.move(ordenado, salida, StandardCopyOption.REPLACE_EXISTING);
+	}finally{
+	    for(Path temporal : temporales)
+		Files.deleteIfExists(temporal);
+	}
+    }
+
+    //Metodo privado para leer la entrada y agregar a la lista las
+    //corridas ordenadas, en orden.
+    private void generaCorridas(Path entrada, Lista<Path> corridas)
+	throws IOException {
+	ExecutorService alberca = Executors.newFixedThreadPool(hilos);
+	Semaphore permisos = new Semaphore(hilos);
+	Lista<Future<Path>> pendientes = new Lista<Future<Path>>();
+	IOException error = null;
+	try(Lector lector = new Lector(FileChannel.open(entrada), BUFFER_GRANDE)){
+	    Object[] corrida = new Object[registrosPorCorrida];
+	    int n = 0;
+	    T registro;
+	    while((registro = lector.siguiente()) != null){
+		corrida[n++] = registro;
+		if(n == corrida.length){
+		    pendientes.agregaFinal(envia(alberca, permisos, corrida, n));
+		    corrida = new Object[registrosPorCorrida];
+		    n = 0;
+		}
+	    }
+	    if(n > 0 || pendientes.getLongitud() == 0)
+		pendientes.agregaFinal(envia(alberca, permisos, corrida, n));
+	}catch(IOException ioe){
+	    error = ioe;
+	}finally{
+	    alberca.shutdown();
+	}
+	for(Future<Path> pendiente : pendientes){
+	    try{
+		corridas.agregaFinal(pendiente.get());
+	    }catch(ExecutionException ee){
+		if(error == null)
+		    error = ee.getCause() instanceof IOException ?
+			(IOException)ee.getCause() : new IOException(ee.getCause());
+	    }catch(InterruptedException ie){
+		Thread.currentThread().interrupt();
+		if(error == null)
+		    error = new IOException(ie);
+	    }
+	}
+	if(error != null)
+	    throw error;
+    }
+
+    //Metodo privado para ordenar y escribir una corrida en otro
+    //hilo. Se bloquea mientras haya tantas corridas en memoria como
+    //hilos.
+    private Future<Path> envia(ExecutorService alberca, final Semaphore permisos,
+			       Object[] corrida, final int n) throws IOException {
+	try{
+	    permisos.acquire();
+	}catch(InterruptedException ie){
+	    Thread.currentThread().interrupt();
+	    throw new IOException(ie);
+	}
+	@SuppressWarnings("unchecked")
+	final T[] registros = (T[])(n == corrida.length ? corrida : Arrays.copyOf(corrida, n));
+	return alberca.submit(new Callable<Path>() {
+		@Override public Path call() throws IOException {
+		    try{
+			Arreglos.quickSort(registros, comparador);
+			Path destino = temporal();
+			try(Escritor escritor = escritor(destino, BUFFER_GRANDE)){
+			    for(T registro : registros)
+				escritor.escribe(registro);
+			}catch(IOException ioe){
+			    Files.deleteIfExists(destino);
+			    throw ioe;
+			}
+			return destino;
+		    }finally{
+			permisos.release();
+		    }
+		}
+	    });
+    }
+
+    //Metodo privado para mezclar las corridas en el destino. Las
+    //corridas se borran al terminar.
+    private void mezcla(Lista<Path> corridas, Path destino) throws IOException {
+	MonticuloMinimo<Cabeza> monticulo = new MonticuloMinimo<Cabeza>();
+	Lista<Lector> lectores = new Lista<Lector>();
+	try(Escritor escritor = escritor(destino, BUFFER_GRANDE)){
+	    int numero = 0;
+	    for(Path corrida : corridas){
+		Lector lector = new Lector(FileChannel.open(corrida), BUFFER_CORRIDA);
+		lectores.agregaFinal(lector);
+		Cabeza cabeza = new Cabeza(lector, numero++);
+		if(cabeza.registro != null)
+		    monticulo.agrega(cabeza);
+	    }
+	    while(!monticulo.esVacio()){
+		Cabeza cabeza = monticulo.get(0);
+		escritor.escribe(cabeza.registro);
+		cabeza.registro = cabeza.lector.siguiente();
+		if(cabeza.registro == null)
+		    monticulo.elimina();
+		else
+		    monticulo.reordena(cabeza);
+	    }
+	}finally{
+	    for(Lector lector : lectores)
+		lector.close();
+	}
+	for(Path corrida : corridas)
+	    Files.deleteIfExists(corrida);
+    }
+
+    //Metodo privado para abrir un escritor sobre un archivo nuevo o
+    //truncado.
+    private Escritor escritor(Path archivo, int tam) throws IOException {
+	return new Escritor(FileChannel.open(archivo, StandardOpenOption.CREATE,
+					     StandardOpenOption.WRITE,
+					     StandardOpenOption.TRUNCATE_EXISTING), tam);
+    }
+
+    //Metodo privado para crear un archivo temporal para una corrida.
+    private Path temporal() throws IOException {
+	return directorio == null ?
+	    Files.createTempFile("corrida", ".tmp") :
+	    Files.createTempFile(directorio, "corrida", ".tmp");
+    }
+} //Fin de OrdenamientoExterno.java
@@ -34,7 +34,7 @@ package mx.unam.ciencias.edd;
  * @since Feb 16 2014
  * Clase para pilas genéricas.
  */
-public class Pila<T> extends MeteSaca<T> {
+public class Pila<T> extends MeteSacaArreglo<T> {
 
     /**
      * Construye una pila vacía.
@@ -43,12 +43,22 @@ public class Pila<T> extends MeteSaca<T> {
 	super();
     }
 
+    /**
+     * Construye una pila vacía con espacio para al menos
+     * <tt>capacidad</tt> elementos antes de tener que crecer.
+     * @param capacidad el número de elementos que se espera meter.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public Pila(int capacidad) {
+	super(capacidad);
+    }
+
     /**
      * Elimina el elemento en el tope de la pila y lo regresa.
      * @return el elemento en el tope de la pila.
      */
     @Override public T saca() {
-        return this.lista.eliminaUltimo();
+        return sacaUltimo();
     }
 
     /**
@@ -56,6 +66,6 @@ public class Pila<T> extends MeteSaca<T> {
      * sacarlo de la misma.
      */
     @Override public T mira() {
-	return this.lista.getUltimo();
+	return miraUltimo();
     }
 } //Fin de Pila.java
@@ -109,6 +109,7 @@ public class TestArbolBinario {
      * Prueba unitaria para {@link ArbolBinario#profundidad}.
      */
     @Test public void testProfundidad() {
+        Assert.assertTrue(arbol.profundidad() == -1);
         for (int i = 0; i < total; i++) {
             arbol.agrega(random.nextInt(total));
             arbolValido(arbol);
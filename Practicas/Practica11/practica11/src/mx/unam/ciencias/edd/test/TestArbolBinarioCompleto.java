@@ -1,7 +1,10 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Random;
+import mx.unam.ciencias.edd.AccionVerticeArbolBinario;
 import mx.unam.ciencias.edd.ArbolBinarioCompleto;
 import mx.unam.ciencias.edd.Cola;
 import mx.unam.ciencias.edd.VerticeArbolBinario;
@@ -29,6 +32,27 @@ public class TestArbolBinarioCompleto {
         Assert.assertTrue(arbol.profundidad() ==
                           (int)(Math.floor(Math.log(arbol.getElementos()) /
                                            Math.log(2))));
+        /* En BFS, después del primer vértice al que le falta un hijo
+         * ya sólo hay hojas. */
+        Cola<VerticeArbolBinario<T>> cola = new Cola<VerticeArbolBinario<T>>();
+        cola.mete(arbol.raiz());
+        boolean incompleto = false;
+        int n = 0;
+        while (!cola.esVacia()) {
+            VerticeArbolBinario<T> v = cola.saca();
+            n++;
+            if (incompleto)
+                Assert.assertFalse(v.hayIzquierdo() || v.hayDerecho());
+            if (v.hayIzquierdo())
+                cola.mete(v.getIzquierdo());
+            else
+                Assert.assertFalse(v.hayDerecho());
+            if (v.hayDerecho())
+                cola.mete(v.getDerecho());
+            else
+                incompleto = true;
+        }
+        Assert.assertTrue(n == arbol.getElementos());
     }
 
     /**
@@ -111,4 +135,127 @@ public class TestArbolBinarioCompleto {
             Assert.assertTrue(i == arreglo[c++]);
         Assert.assertTrue(c == total);
     }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioCompleto#elimina} y
+     * {@link ArbolBinarioCompleto#busca} con elementos repetidos y
+     * elementos que no están en el árbol.
+     */
+    @Test public void testEliminaRepetidos() {
+        ArrayList<Integer> elementos = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(10);
+            arbol.agrega(n);
+            elementos.add(n);
+        }
+        arbol.elimina(10);
+        Assert.assertTrue(arbol.busca(10) == null);
+        Assert.assertTrue(arbol.getElementos() == total);
+        while (!elementos.isEmpty()) {
+            Integer n = random.nextInt(11);
+            arbol.elimina(n);
+            elementos.remove(n);
+            Assert.assertTrue(arbol.getElementos() == elementos.size());
+            Assert.assertTrue((arbol.busca(n) != null) == elementos.contains(n));
+            TestArbolBinario.arbolValido(arbol);
+            arbolBinarioCompletoValido(arbol);
+            ArrayList<Integer> enArbol = new ArrayList<Integer>();
+            if (arbol.getElementos() > 0)
+                for (Integer e : arbol)
+                    enArbol.add(e);
+            Collections.sort(enArbol);
+            ArrayList<Integer> esperados = new ArrayList<Integer>(elementos);
+            Collections.sort(esperados);
+            Assert.assertTrue(enArbol.equals(esperados));
+        }
+        arbol.agrega(3);
+        Assert.assertTrue(arbol.raiz().get() == 3);
+    }
+
+    /**
+     * Prueba que agregar y eliminar en un árbol con muchos elementos
+     * no recorra el árbol completo.
+     */
+    @Test public void testMuchosElementos() {
+        int n = 200000;
+        for (int i = 0; i < n; i++)
+            arbol.agrega(i);
+        Assert.assertTrue(arbol.profundidad() == 17);
+        for (int i = 0; i < n; i += 2)
+            arbol.elimina(i);
+        Assert.assertTrue(arbol.getElementos() == n / 2);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue((arbol.busca(i) != null) == (i % 2 == 1));
+        arbolBinarioCompletoValido(arbol);
+    }
+
+    /* Regresa los elementos de un árbol en los cuatro recorridos. */
+    private static String recorridos(ArbolBinarioCompleto<Integer> arbol) {
+        final StringBuilder sb = new StringBuilder();
+        AccionVerticeArbolBinario<Integer> accion =
+            new AccionVerticeArbolBinario<Integer>() {
+                @Override public void actua(VerticeArbolBinario<Integer> v) {
+                    sb.append(v.get()).append(',');
+                }
+            };
+        arbol.bfs(accion);
+        sb.append('|');
+        arbol.dfsPreorden(accion);
+        sb.append('|');
+        arbol.dfsInorden(accion);
+        sb.append('|');
+        arbol.dfsPostorden(accion);
+        return sb.toString();
+    }
+
+    /**
+     * Prueba unitaria para el modo {@link
+     * ArbolBinarioCompleto#EN_ARREGLO}: debe comportarse igual que el
+     * modo ligado.
+     */
+    @Test public void testEnArreglo() {
+        ArbolBinarioCompleto<Integer> enArreglo =
+            new ArbolBinarioCompleto<Integer>(ArbolBinarioCompleto.EN_ARREGLO);
+        Assert.assertTrue(enArreglo.raiz() == null);
+        Assert.assertTrue(enArreglo.toString().equals(""));
+        Assert.assertFalse(enArreglo.iterator().hasNext());
+        Assert.assertTrue(recorridos(enArreglo).equals("|||"));
+        int n = 0;
+        for (int i = 0; i < total * 2; i++) {
+            if (n > 0 && random.nextInt(3) == 0) {
+                int e = random.nextInt(i);
+                arbol.elimina(e);
+                enArreglo.elimina(e);
+            } else {
+                VerticeArbolBinario<Integer> v = enArreglo.agrega(i);
+                arbol.agrega(i);
+                Assert.assertTrue(v.get() == i);
+            }
+            n = arbol.getElementos();
+            Assert.assertTrue(enArreglo.getElementos() == n);
+            Assert.assertTrue(enArreglo.profundidad() == arbol.profundidad());
+            Assert.assertTrue(enArreglo.toString().equals(arbol.toString()));
+            Assert.assertTrue(recorridos(enArreglo).equals(recorridos(arbol)));
+            Iterator<Integer> i1 = arbol.iterator(), i2 = enArreglo.iterator();
+            for (int j = 0; j < n; j++)
+                Assert.assertTrue(i1.next().equals(i2.next()));
+            Assert.assertFalse(i2.hasNext());
+        }
+        for (int e = 0; e < total * 2; e++) {
+            VerticeArbolBinario<Integer> v = enArreglo.busca(e);
+            Assert.assertTrue((v != null) == (arbol.busca(e) != null));
+            if (v == null)
+                continue;
+            Assert.assertTrue(v.get() == e);
+            if (v.hayPadre()) {
+                VerticeArbolBinario<Integer> p = v.getPadre();
+                Assert.assertTrue(v.equals(p.getIzquierdo()) ||
+                                  v.equals(p.getDerecho()));
+            }
+        }
+        try {
+            new ArbolBinarioCompleto<Integer>(2);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
 }
@@ -1,10 +1,13 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import mx.unam.ciencias.edd.AccionVerticeArbolBinario;
 import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
 import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
 import mx.unam.ciencias.edd.Lista;
 import mx.unam.ciencias.edd.VerticeArbolBinario;
 import org.junit.Assert;
@@ -32,6 +35,43 @@ public class TestArbolBinarioOrdenado {
             llenaColaEnOrden(v.getDerecho(), cola);
     }
 
+    /* Método auxiliar recursivo para llenar una cola con los
+     * elementos del árbol recorrido en pre-order o post-order. */
+    private static <T> void llenaCola(VerticeArbolBinario<T> v,
+                                      Cola<T> cola, boolean pre) {
+        if (pre)
+            cola.mete(v.get());
+        if (v.hayIzquierdo())
+            llenaCola(v.getIzquierdo(), cola, pre);
+        if (v.hayDerecho())
+            llenaCola(v.getDerecho(), cola, pre);
+        if (!pre)
+            cola.mete(v.get());
+    }
+
+    /* Método auxiliar recursivo para calcular la profundidad de un
+     * vértice. */
+    private static int profundidad(VerticeArbolBinario<?> v) {
+        int i = v.hayIzquierdo() ? profundidad(v.getIzquierdo()) + 1 : 0;
+        int d = v.hayDerecho() ? profundidad(v.getDerecho()) + 1 : 0;
+        return Math.max(i, d);
+    }
+
+    /* Acción que mete los elementos de los vértices en una cola. */
+    private static class Llena implements AccionVerticeArbolBinario<Integer> {
+        public Cola<Integer> cola = new Cola<Integer>();
+        @Override public void actua(VerticeArbolBinario<Integer> v) {
+            cola.mete(v.get());
+        }
+    }
+
+    /* Compara los elementos de dos colas. */
+    private static void igualesColas(Cola<Integer> a, Cola<Integer> b) {
+        while (!a.esVacia() && !b.esVacia())
+            Assert.assertTrue(a.saca().equals(b.saca()));
+        Assert.assertTrue(a.esVacia() && b.esVacia());
+    }
+
     /**
      * Valida un árbol ordenado. Comprueba que para todo nodo A se
      * cumpla que si A tiene como hijo izquierdo a B, entonces B ≤
@@ -304,4 +344,239 @@ public class TestArbolBinarioOrdenado {
             vertice = vertice.getPadre();
         }
     }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#dfsPreorden},
+     * {@link ArbolBinarioOrdenado#dfsInorden}, {@link
+     * ArbolBinarioOrdenado#dfsPostorden} y {@link
+     * ArbolBinarioOrdenado#bfs}.
+     */
+    @Test public void testRecorridos() {
+        Llena vacio = new Llena();
+        arbol.dfsPreorden(vacio);
+        arbol.dfsInorden(vacio);
+        arbol.dfsPostorden(vacio);
+        arbol.bfs(vacio);
+        Assert.assertTrue(vacio.cola.esVacia());
+        for (int i = 0; i < total; i++)
+            arbol.agrega(random.nextInt(100));
+        Llena pre = new Llena(), in = new Llena(), post = new Llena();
+        Llena niveles = new Llena();
+        arbol.dfsPreorden(pre);
+        arbol.dfsInorden(in);
+        arbol.dfsPostorden(post);
+        arbol.bfs(niveles);
+        Cola<Integer> cola = new Cola<Integer>();
+        llenaCola(arbol.raiz(), cola, true);
+        igualesColas(pre.cola, cola);
+        llenaColaEnOrden(arbol.raiz(), cola);
+        igualesColas(in.cola, cola);
+        llenaCola(arbol.raiz(), cola, false);
+        igualesColas(post.cola, cola);
+        Cola<VerticeArbolBinario<Integer>> bfs =
+            new Cola<VerticeArbolBinario<Integer>>();
+        bfs.mete(arbol.raiz());
+        while (!bfs.esVacia()) {
+            VerticeArbolBinario<Integer> v = bfs.saca();
+            cola.mete(v.get());
+            if (v.hayIzquierdo())
+                bfs.mete(v.getIzquierdo());
+            if (v.hayDerecho())
+                bfs.mete(v.getDerecho());
+        }
+        igualesColas(niveles.cola, cola);
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#profundidad},
+     * que se mantiene al agregar y se invalida al eliminar y girar.
+     */
+    @Test public void testProfundidad() {
+        Assert.assertTrue(arbol.profundidad() == -1);
+        int[] a = arregloSinRepetidos();
+        for (int n : a) {
+            arbol.agrega(n);
+            Assert.assertTrue(arbol.profundidad() ==
+                              profundidad(arbol.raiz()));
+        }
+        for (int i = 0; i < total; i++) {
+            VerticeArbolBinario<Integer> v = arbol.busca(a[random.nextInt(total)]);
+            if (random.nextBoolean())
+                arbol.giraDerecha(v);
+            else
+                arbol.giraIzquierda(v);
+            Assert.assertTrue(arbol.profundidad() ==
+                              profundidad(arbol.raiz()));
+        }
+        for (int i = 0; i < total - 1; i++) {
+            arbol.elimina(a[i]);
+            Assert.assertTrue(arbol.profundidad() ==
+                              profundidad(arbol.raiz()));
+            arbol.agrega(a[i] + 2000);
+            Assert.assertTrue(arbol.profundidad() ==
+                              profundidad(arbol.raiz()));
+        }
+    }
+
+    /**
+     * Prueba que los recorridos, la profundidad y la representación
+     * en cadena funcionen en un árbol degenerado, corriéndolos en un
+     * hilo con una pila de ejecución muy pequeña.
+     */
+    @Test public void testArbolDegenerado() throws InterruptedException {
+        ArbolBinarioOrdenado<Integer> chico = new ArbolBinarioOrdenado<Integer>();
+        for (int i = 1; i <= 4; i++)
+            chico.agrega(i);
+        Assert.assertTrue(chico.toString().equals("1\n" +
+                                                  "└─»2\n" +
+                                                  "   └─»3\n" +
+                                                  "      └─»4"));
+        chico = new ArbolBinarioOrdenado<Integer>();
+        for (int i = 4; i >= 1; i--)
+            chico.agrega(i);
+        Assert.assertTrue(chico.toString().equals("4\n" +
+                                                  "└─›3\n" +
+                                                  "   └─›2\n" +
+                                                  "      └─›1"));
+        final int n = 5000 + random.nextInt(1000);
+        for (int i = 0; i < n; i++)
+            arbol.agrega(i);
+        /* Eliminar y volver a agregar el último invalida la
+           profundidad que agrega lleva al día, así que profundidad()
+           tiene que recorrer el árbol. */
+        arbol.elimina(n - 1);
+        arbol.agrega(n - 1);
+        final boolean[] termino = { false };
+        Thread hilo = new Thread(null, new Runnable() {
+                @Override public void run() {
+                    Assert.assertTrue(arbol.profundidad() == n - 1);
+                    Llena pre = new Llena(), in = new Llena();
+                    Llena post = new Llena(), niveles = new Llena();
+                    arbol.dfsPreorden(pre);
+                    arbol.dfsInorden(in);
+                    arbol.dfsPostorden(post);
+                    arbol.bfs(niveles);
+                    for (int i = 0; i < n; i++) {
+                        Assert.assertTrue(pre.cola.saca() == i);
+                        Assert.assertTrue(in.cola.saca() == i);
+                        Assert.assertTrue(post.cola.saca() == n - 1 - i);
+                        Assert.assertTrue(niveles.cola.saca() == i);
+                    }
+                    String[] lineas = arbol.toString().split("\n");
+                    Assert.assertTrue(lineas.length == n);
+                    Assert.assertTrue(lineas[0].equals("0"));
+                    StringBuilder sangria = new StringBuilder();
+                    for (int i = 1; i < n; i++) {
+                        Assert.assertTrue(lineas[i].equals(sangria + "└─»" + i));
+                        sangria.append("   ");
+                    }
+                    termino[0] = true;
+                }
+            }, "degenerado", 1 << 16);
+        hilo.start();
+        hilo.join();
+        Assert.assertTrue(termino[0]);
+    }
+
+    /* Llena el árbol con elementos aleatorios con repeticiones, lo
+     * gira en algunos vértices, y regresa los elementos ordenados. */
+    private int[] llenaConRepetidos() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total) * 2;
+            arbol.agrega(a[i]);
+        }
+        for (int i = 0; i < total / 2; i++) {
+            VerticeArbolBinario<Integer> v = arbol.busca(a[random.nextInt(total)]);
+            if (random.nextBoolean())
+                arbol.giraDerecha(v);
+            else
+                arbol.giraIzquierda(v);
+        }
+        Arrays.sort(a);
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#piso}, {@link
+     * ArbolBinarioOrdenado#menor}, {@link ArbolBinarioOrdenado#techo}
+     * y {@link ArbolBinarioOrdenado#mayor}.
+     */
+    @Test public void testCotas() {
+        Assert.assertTrue(arbol.piso(0) == null && arbol.techo(0) == null);
+        int[] a = llenaConRepetidos();
+        for (int e = -1; e <= total * 2; e++) {
+            Integer piso = null, menor = null, techo = null, mayor = null;
+            for (int n : a) {
+                if (n <= e)
+                    piso = n;
+                if (n < e)
+                    menor = n;
+                if (n >= e && techo == null)
+                    techo = n;
+                if (n > e && mayor == null)
+                    mayor = n;
+            }
+            VerticeArbolBinario<Integer> v = arbol.piso(e);
+            Assert.assertTrue(piso == null ? v == null : v.get().equals(piso));
+            v = arbol.menor(e);
+            Assert.assertTrue(menor == null ? v == null : v.get().equals(menor));
+            v = arbol.techo(e);
+            Assert.assertTrue(techo == null ? v == null : v.get().equals(techo));
+            v = arbol.mayor(e);
+            Assert.assertTrue(mayor == null ? v == null : v.get().equals(mayor));
+            Assert.assertTrue((arbol.busca(e) != null) ==
+                              (Arrays.binarySearch(a, e) >= 0));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#rango} y
+     * {@link ArbolBinarioOrdenado#seleccion}.
+     */
+    @Test public void testRangoSeleccion() {
+        int[] a = llenaConRepetidos();
+        for (int e = -1; e <= total * 2; e++) {
+            int r = 0;
+            while (r < total && a[r] < e)
+                r++;
+            Assert.assertTrue(arbol.rango(e) == r);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(arbol.seleccion(i) == a[i]);
+        try {
+            arbol.seleccion(total);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            arbol.seleccion(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#intervalo}.
+     */
+    @Test public void testIntervalo() {
+        Assert.assertFalse(arbol.intervalo(0, 10).iterator().hasNext());
+        int[] a = llenaConRepetidos();
+        for (int i = 0; i < total; i++) {
+            int desde = random.nextInt(total * 2 + 2) - 1;
+            int hasta = desde + random.nextInt(total) - 2;
+            int j = 0;
+            while (j < total && a[j] < desde)
+                j++;
+            for (int e : arbol.intervalo(desde, hasta))
+                Assert.assertTrue(j < total && e == a[j++]);
+            Assert.assertTrue(j == total || a[j] > hasta || a[j] < desde);
+        }
+        Iterator<Integer> it = arbol.intervalo(a[0], a[total-1]).iterator();
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(it.next() == a[i]);
+        Assert.assertFalse(it.hasNext());
+        try {
+            it.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
 }
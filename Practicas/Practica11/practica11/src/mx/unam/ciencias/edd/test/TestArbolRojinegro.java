@@ -1,9 +1,12 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Random;
 import mx.unam.ciencias.edd.ArbolRojinegro;
 import mx.unam.ciencias.edd.Color;
+import mx.unam.ciencias.edd.Lista;
 import mx.unam.ciencias.edd.VerticeArbolBinario;
 import org.junit.Assert;
 import org.junit.Test;
@@ -157,4 +160,147 @@ public class TestArbolRojinegro {
             a[i] = -1;
         }
     }
+
+    /* Compara las estadísticas de orden del árbol con las de una
+     * lista ordenada con los mismos elementos. */
+    private void estadisticasValidas(ArrayList<Integer> ordenados) {
+        Assert.assertTrue(arbol.getElementos() == ordenados.size());
+        for (int i = 0; i < ordenados.size(); i++)
+            Assert.assertTrue(arbol.seleccion(i).equals(ordenados.get(i)));
+        for (int e = -1; e <= 101; e += 3) {
+            int r = 0;
+            while (r < ordenados.size() && ordenados.get(r) < e)
+                r++;
+            Assert.assertTrue(arbol.rango(e) == r);
+            int f = e + random.nextInt(30) - 5;
+            int c = 0;
+            for (int n : ordenados)
+                if (e <= n && n <= f)
+                    c++;
+            Assert.assertTrue(arbol.cuentaEnRango(e, f) == c);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#seleccion}, {@link
+     * ArbolRojinegro#rango} y {@link ArbolRojinegro#cuentaEnRango} en
+     * modo {@link ArbolRojinegro#CON_TAMANOS}, agregando y eliminando
+     * elementos con repeticiones.
+     */
+    @Test public void testEstadisticasDeOrden() {
+        arbol = new ArbolRojinegro<Integer>(ArbolRojinegro.CON_TAMANOS);
+        ArrayList<Integer> ordenados = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(100);
+            arbol.agrega(n);
+            ordenados.add(n);
+            Collections.sort(ordenados);
+            arbolRojinegroValido(arbol);
+            estadisticasValidas(ordenados);
+        }
+        while (!ordenados.isEmpty()) {
+            Integer n = ordenados.get(random.nextInt(ordenados.size()));
+            arbol.elimina(n);
+            ordenados.remove(n);
+            TestArbolBinario.arbolValido(arbol);
+            arbolRojinegroValido(arbol);
+            estadisticasValidas(ordenados);
+        }
+        try {
+            arbol.seleccion(0);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        try {
+            new ArbolRojinegro<Integer>(2);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#seleccion}, {@link
+     * ArbolRojinegro#rango} y {@link ArbolRojinegro#cuentaEnRango} en
+     * modo {@link ArbolRojinegro#SIMPLE}.
+     */
+    @Test public void testEstadisticasSimple() {
+        ArrayList<Integer> ordenados = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(100);
+            arbol.agrega(n);
+            ordenados.add(n);
+        }
+        Collections.sort(ordenados);
+        estadisticasValidas(ordenados);
+    }
+
+    /* Valida un árbol armado a partir de elementos ordenados. */
+    private void construidoValido(Integer[] ordenados) {
+        Assert.assertTrue(arbol.getElementos() == ordenados.length);
+        TestArbolBinario.arbolValido(arbol);
+        TestArbolBinarioOrdenado.arbolOrdenadoValido(arbol);
+        arbolRojinegroValido(arbol);
+        int n = ordenados.length;
+        Assert.assertTrue(arbol.profundidad() ==
+                          31 - Integer.numberOfLeadingZeros(n));
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(arbol.seleccion(i).equals(ordenados[i]));
+    }
+
+    /**
+     * Prueba unitaria para los constructores de {@link
+     * ArbolRojinegro} que reciben elementos ordenados.
+     */
+    @Test public void testConstruyeOrdenados() {
+        for (int n = 0; n < 70; n++) {
+            Integer[] a = new Integer[n];
+            Lista<Integer> lista = new Lista<Integer>();
+            for (int i = 0; i < n; i++) {
+                a[i] = random.nextInt(50);
+                lista.agregaFinal(a[i]);
+            }
+            Lista.ordena(lista);
+            java.util.Arrays.sort(a);
+            arbol = new ArbolRojinegro<Integer>(a, ArbolRojinegro.CON_TAMANOS);
+            construidoValido(a);
+            arbol = new ArbolRojinegro<Integer>(lista);
+            construidoValido(a);
+            for (int i = 0; i < total; i++) {
+                arbol.agrega(random.nextInt(50));
+                arbolRojinegroValido(arbol);
+            }
+            while (arbol.getElementos() > 0) {
+                arbol.elimina(arbol.seleccion(random.nextInt(arbol.getElementos())));
+                TestArbolBinario.arbolValido(arbol);
+                arbolRojinegroValido(arbol);
+            }
+        }
+        try {
+            new ArbolRojinegro<Integer>(new Integer[] { 1, 3, 2 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#mezcla}.
+     */
+    @Test public void testMezcla() {
+        ArbolRojinegro<Integer> otro = new ArbolRojinegro<Integer>();
+        ArrayList<Integer> todos = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(100);
+            arbol.agrega(n);
+            todos.add(n);
+        }
+        int m = random.nextInt(100);
+        for (int i = 0; i < m; i++) {
+            int n = random.nextInt(100);
+            otro.agrega(n);
+            todos.add(n);
+        }
+        Collections.sort(todos);
+        ArbolRojinegro<Integer> r = ArbolRojinegro.mezcla(arbol, otro);
+        arbol = r;
+        construidoValido(todos.toArray(new Integer[0]));
+        estadisticasValidas(todos);
+        Assert.assertTrue(otro.getElementos() == m);
+    }
 }
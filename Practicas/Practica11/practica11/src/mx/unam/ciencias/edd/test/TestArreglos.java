@@ -1,6 +1,9 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import mx.unam.ciencias.edd.Arreglos;
 import org.junit.Assert;
 import org.junit.Test;
@@ -59,6 +62,68 @@ public class TestArreglos {
         Assert.assertTrue(estaOrdenado(arreglo));
     }
 
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort} con arreglos
+     * grandes ya ordenados, en reversa y con muchos repetidos.
+     */
+    @Test public void testQuickSortCasos() {
+        int n = 100000 + random.nextInt(1000);
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = i;
+        Arreglos.quickSort(a);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(a[i] == i);
+        for (int i = 0; i < n; i++)
+            a[i] = n - i;
+        Arreglos.quickSort(a);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(a[i] == i + 1);
+        for (int i = 0; i < n; i++)
+            a[i] = random.nextInt(3);
+        Integer[] b = a.clone();
+        Arreglos.quickSort(a);
+        Arrays.sort(b);
+        Assert.assertTrue(Arrays.equals(a, b));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(Object[],Comparator)}.
+     */
+    @Test public void testQuickSortComparador() {
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Comparator<Integer> inverso = Comparator.reverseOrder();
+        Arreglos.quickSort(arreglo, inverso);
+        for (int i = 1; i < total; i++)
+            Assert.assertTrue(arreglo[i-1] >= arreglo[i]);
+        Arreglos.insertionSort(arreglo, Comparator.<Integer>naturalOrder());
+        Assert.assertTrue(estaOrdenado(arreglo));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#ordenaParalelo}.
+     */
+    @Test public void testOrdenaParalelo() {
+        int n = 200000 + random.nextInt(1000);
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = random.nextInt(n);
+        Integer[] b = a.clone();
+        Arreglos.ordenaParalelo(a);
+        Arrays.sort(b);
+        Assert.assertTrue(Arrays.equals(a, b));
+        Arreglos.ordenaParalelo(a, Comparator.<Integer>reverseOrder(),
+                                new ForkJoinPool(3));
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(a[i].equals(b[n - 1 - i]));
+        for (int i = 0; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.ordenaParalelo(arreglo, Comparator.<Integer>reverseOrder());
+        Arreglos.ordenaParalelo(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+    }
+
     /**
      * Prueba unitaria para {@link Arreglos#busquedaBinaria}.
      */
@@ -71,4 +136,108 @@ public class TestArreglos {
         Assert.assertTrue(Arreglos.busquedaBinaria(arreglo, ini - 1) == -1);
         Assert.assertTrue(Arreglos.busquedaBinaria(arreglo, ini + total) == -1);
     }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(int[])} y sus
+     * variantes para los demás tipos primitivos.
+     */
+    @Test public void testQuickSortPrimitivos() {
+        int n = total * 100;
+        int[] ai = new int[n];
+        long[] al = new long[n];
+        double[] ad = new double[n];
+        float[] af = new float[n];
+        for (int i = 0; i < n; i++) {
+            ai[i] = random.nextInt(total) - total/2;
+            al[i] = random.nextLong();
+            ad[i] = random.nextGaussian();
+            af[i] = random.nextFloat() - 0.5f;
+        }
+        ad[0] = Double.NaN;
+        ad[1] = -0.0;
+        ad[2] = 0.0;
+        af[0] = Float.NaN;
+        int[] bi = ai.clone();
+        long[] bl = al.clone();
+        double[] bd = ad.clone();
+        float[] bf = af.clone();
+        Arreglos.quickSort(ai);
+        Arreglos.quickSort(al);
+        Arreglos.quickSort(ad);
+        Arreglos.quickSort(af);
+        Arrays.sort(bi);
+        Arrays.sort(bl);
+        Arrays.sort(bd);
+        Arrays.sort(bf);
+        Assert.assertTrue(Arrays.equals(ai, bi));
+        Assert.assertTrue(Arrays.equals(al, bl));
+        Assert.assertTrue(Arrays.equals(ad, bd));
+        Assert.assertTrue(Arrays.equals(af, bf));
+        Arreglos.quickSort(ai);
+        Assert.assertTrue(Arrays.equals(ai, bi));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#radixSort(int[])} y {@link
+     * Arreglos#radixSort(long[])}.
+     */
+    @Test public void testRadixSort() {
+        int n = total * 100;
+        int[] ai = new int[n];
+        int[] ci = new int[n];
+        long[] al = new long[n];
+        for (int i = 0; i < n; i++) {
+            ai[i] = random.nextInt();
+            ci[i] = random.nextInt(total) - total/2;
+            al[i] = random.nextLong() >> random.nextInt(64);
+        }
+        ai[0] = Integer.MIN_VALUE;
+        ai[1] = Integer.MAX_VALUE;
+        al[0] = Long.MIN_VALUE;
+        int[] bi = ai.clone();
+        int[] di = ci.clone();
+        long[] bl = al.clone();
+        Arreglos.radixSort(ai);
+        Arreglos.radixSort(ci);
+        Arreglos.radixSort(al);
+        Arrays.sort(bi);
+        Arrays.sort(di);
+        Arrays.sort(bl);
+        Assert.assertTrue(Arrays.equals(ai, bi));
+        Assert.assertTrue(Arrays.equals(ci, di));
+        Assert.assertTrue(Arrays.equals(al, bl));
+        int[] vacio = new int[0];
+        Arreglos.radixSort(vacio);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#busquedaBinaria(int[],int)},
+     * {@link Arreglos#cotaInferior(int[],int)} y {@link
+     * Arreglos#cotaSuperior(int[],int)}.
+     */
+    @Test public void testCotas() {
+        int[] a = new int[total];
+        double[] d = new double[total];
+        for (int i = 0; i < total; i++)
+            a[i] = random.nextInt(total/2);
+        Arreglos.quickSort(a);
+        for (int i = 0; i < total; i++)
+            d[i] = a[i];
+        for (int e = -1; e <= total/2; e++) {
+            int inferior = 0;
+            while (inferior < total && a[inferior] < e)
+                inferior++;
+            int superior = inferior;
+            while (superior < total && a[superior] == e)
+                superior++;
+            Assert.assertTrue(Arreglos.cotaInferior(a, e) == inferior);
+            Assert.assertTrue(Arreglos.cotaSuperior(a, e) == superior);
+            Assert.assertTrue(Arreglos.cotaInferior(d, e) == inferior);
+            Assert.assertTrue(Arreglos.cotaSuperior(d, e) == superior);
+            int i = Arreglos.busquedaBinaria(a, e);
+            Assert.assertTrue(i == (inferior < superior ? inferior : -1));
+        }
+        Assert.assertTrue(Arreglos.busquedaBinaria(new long[0], 1L) == -1);
+        Assert.assertTrue(Arreglos.cotaSuperior(new float[0], 1f) == 0);
+    }
 }
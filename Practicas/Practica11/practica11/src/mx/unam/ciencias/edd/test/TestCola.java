@@ -53,4 +53,34 @@ public class TestCola {
             Assert.assertTrue(n == a[0]);
         }
     }
+
+    /**
+     * Prueba unitaria para {@link Cola#Cola(int)}: la cola debe
+     * conservar el orden al dar la vuelta al arreglo, al crecer y
+     * al reducirse.
+     */
+    @Test public void testCapacidad() {
+        cola = new Cola<Integer>(4);
+        int siguiente = 0, esperado = 0;
+        for (int i = 0; i < total * 4; i++) {
+            int n = random.nextInt(3);
+            for (int j = 0; j < n; j++)
+                cola.mete(siguiente++);
+            if (!cola.esVacia()) {
+                Assert.assertTrue(cola.mira() == esperado);
+                Assert.assertTrue(cola.saca() == esperado++);
+            }
+        }
+        while (!cola.esVacia())
+            Assert.assertTrue(cola.saca() == esperado++);
+        Assert.assertTrue(esperado == siguiente);
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            new Cola<Integer>(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
 }
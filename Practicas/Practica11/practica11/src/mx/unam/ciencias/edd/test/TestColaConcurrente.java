@@ -0,0 +1,158 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.ColaConcurrente;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaConcurrente}.
+ */
+public class TestColaConcurrente {
+
+    private Random random;
+    private int total;
+    private ColaConcurrente<Integer> cola;
+
+    private static final int HILOS = 4;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaConcurrente() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaConcurrente<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#saca}.
+     */
+    @Test public void testSaca() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            cola.mete(a[i]);
+            Assert.assertTrue(cola.getElementos() == i+1);
+        }
+        int i = 0;
+        while (!cola.esVacia()) {
+            int n = cola.saca();
+            Assert.assertTrue(n == a[i++]);
+        }
+        Assert.assertTrue(i == total);
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int primero = random.nextInt(total);
+        cola.mete(primero);
+        for (int i = 0; i < total; i++) {
+            cola.mete(random.nextInt(total));
+            Assert.assertTrue(cola.mira() == primero);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#intentaMeter} y
+     * {@link ColaConcurrente#intentaSacar}.
+     */
+    @Test public void testIntenta() {
+        Assert.assertTrue(cola.intentaSacar() == null);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cola.intentaMeter(i));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(cola.intentaSacar() == i);
+        Assert.assertTrue(cola.intentaSacar() == null);
+        Assert.assertTrue(cola.getMetidos() == total);
+        Assert.assertTrue(cola.getSacados() == total);
+        Assert.assertTrue(cola.getElementos() == 0);
+        try {
+            cola.intentaMeter(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#saca(long,TimeUnit)}.
+     */
+    @Test public void testEsperaConTiempo() throws InterruptedException {
+        Assert.assertTrue(cola.saca(5, TimeUnit.MILLISECONDS) == null);
+        Assert.assertTrue(cola.mete(1, 5, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(cola.saca(5, TimeUnit.MILLISECONDS) == 1);
+        final ColaConcurrente<Integer> c = cola;
+        Thread productor = new Thread() {
+            @Override public void run() {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException ie) {}
+                c.mete(2);
+            }
+        };
+        productor.start();
+        Assert.assertTrue(cola.saca(10, TimeUnit.SECONDS) == 2);
+        productor.join();
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente} con varios
+     * productores y varios consumidores: cada elemento debe salir
+     * exactamente una vez, y los de un mismo productor en orden.
+     */
+    @Test public void testHilos() throws InterruptedException {
+        final int n = total * 1000;
+        final ColaConcurrente<Integer> c = new ColaConcurrente<Integer>();
+        final AtomicIntegerArray vistos = new AtomicIntegerArray(n);
+        final boolean[] desorden = new boolean[HILOS];
+        Thread[] hilos = new Thread[2 * HILOS];
+        for (int h = 0; h < HILOS; h++) {
+            final int id = h;
+            hilos[h] = new Thread() {
+                @Override public void run() {
+                    for (int i = id; i < n; i += HILOS)
+                        c.mete(i);
+                }
+            };
+            hilos[HILOS + h] = new Thread() {
+                @Override public void run() {
+                    int[] ultimo = new int[HILOS];
+                    for (int j = 0; j < HILOS; j++)
+                        ultimo[j] = -1;
+                    try {
+                        Integer e;
+                        while ((e = c.saca(200, TimeUnit.MILLISECONDS)) != null) {
+                            vistos.incrementAndGet(e);
+                            if (e < ultimo[e % HILOS])
+                                desorden[id] = true;
+                            ultimo[e % HILOS] = e;
+                        }
+                    } catch (InterruptedException ie) {}
+                }
+            };
+        }
+        for (Thread hilo : hilos)
+            hilo.start();
+        for (Thread hilo : hilos)
+            hilo.join();
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(vistos.get(i) == 1);
+        for (boolean d : desorden)
+            Assert.assertFalse(d);
+        Assert.assertTrue(c.esVacia());
+        Assert.assertTrue(c.getElementos() == 0);
+    }
+}
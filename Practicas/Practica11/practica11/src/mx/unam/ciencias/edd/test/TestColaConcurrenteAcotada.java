@@ -0,0 +1,205 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.ColaConcurrenteAcotada;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaConcurrenteAcotada}.
+ */
+public class TestColaConcurrenteAcotada {
+
+    private Random random;
+    private int total;
+    private ColaConcurrenteAcotada<Integer> cola;
+
+    private static final int HILOS = 4;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola con
+     * espacio para todos.
+     */
+    public TestColaConcurrenteAcotada() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaConcurrenteAcotada<Integer>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * ColaConcurrenteAcotada#ColaConcurrenteAcotada}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.getCapacidad() >= total);
+        Assert.assertTrue(Integer.bitCount(cola.getCapacidad()) == 1);
+        try {
+            new ColaConcurrenteAcotada<Integer>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#saca}.
+     */
+    @Test public void testSaca() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            cola.mete(a[i]);
+        }
+        int i = 0;
+        while (!cola.esVacia()) {
+            int n = cola.saca();
+            Assert.assertTrue(n == a[i++]);
+        }
+        Assert.assertTrue(i == total);
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#mira}.
+     */
+    @Test public void testMira() {
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int primero = random.nextInt(total);
+        cola.mete(primero);
+        for (int i = 0; i < total / 2; i++) {
+            cola.mete(random.nextInt(total));
+            Assert.assertTrue(cola.mira() == primero);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#intentaMeter}
+     * y {@link ColaConcurrenteAcotada#intentaSacar}.
+     */
+    @Test public void testIntenta() {
+        int n = cola.getCapacidad();
+        Assert.assertTrue(cola.intentaSacar() == null);
+        for (int ronda = 0; ronda < 3; ronda++) {
+            for (int i = 0; i < n; i++)
+                Assert.assertTrue(cola.intentaMeter(i));
+            Assert.assertFalse(cola.intentaMeter(n));
+            Assert.assertTrue(cola.getElementos() == n);
+            for (int i = 0; i < n; i++)
+                Assert.assertTrue(cola.intentaSacar() == i);
+            Assert.assertTrue(cola.intentaSacar() == null);
+        }
+        Assert.assertTrue(cola.getMetidos() == 3 * n);
+        Assert.assertTrue(cola.getSacados() == 3 * n);
+        try {
+            cola.intentaMeter(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#mete(Object,
+     * long,TimeUnit)} y {@link ColaConcurrenteAcotada#saca(long,
+     * TimeUnit)}.
+     */
+    @Test public void testEsperaConTiempo() throws InterruptedException {
+        Assert.assertTrue(cola.saca(5, TimeUnit.MILLISECONDS) == null);
+        for (int i = 0; i < cola.getCapacidad(); i++)
+            Assert.assertTrue(cola.mete(i, 5, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(cola.mete(-1, 5, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(cola.saca(5, TimeUnit.MILLISECONDS) == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada} con varios
+     * productores y varios consumidores: cada elemento debe salir
+     * exactamente una vez.
+     */
+    @Test public void testHilos() throws InterruptedException {
+        final int n = total * 1000;
+        final ColaConcurrenteAcotada<Integer> c =
+            new ColaConcurrenteAcotada<Integer>(16);
+        final AtomicIntegerArray vistos = new AtomicIntegerArray(n);
+        Thread[] hilos = new Thread[2 * HILOS];
+        for (int h = 0; h < HILOS; h++) {
+            final int id = h;
+            hilos[h] = new Thread() {
+                @Override public void run() {
+                    for (int i = id; i < n; i += HILOS)
+                        c.mete(i);
+                }
+            };
+            hilos[HILOS + h] = new Thread() {
+                @Override public void run() {
+                    try {
+                        Integer e;
+                        while ((e = c.saca(200, TimeUnit.MILLISECONDS)) != null)
+                            vistos.incrementAndGet(e);
+                    } catch (InterruptedException ie) {}
+                }
+            };
+        }
+        for (Thread hilo : hilos)
+            hilo.start();
+        for (Thread hilo : hilos)
+            hilo.join();
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(vistos.get(i) == 1);
+        Assert.assertTrue(c.esVacia());
+        Assert.assertTrue(c.getMetidos() == n);
+        Assert.assertTrue(c.getSacados() == n);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrenteAcotada#mira} con
+     * varios hilos mirando mientras otros sacan: la cola nunca queda
+     * vacía, así que mira nunca debe lanzar excepción.
+     */
+    @Test public void testMiraConcurrente() throws InterruptedException {
+        final int n = 1 << 18;
+        final ColaConcurrenteAcotada<Integer> c =
+            new ColaConcurrenteAcotada<Integer>(n);
+        for (int i = 0; i < n; i++)
+            c.mete(i);
+        final AtomicInteger restantes = new AtomicInteger(n - 1);
+        final AtomicInteger fallos = new AtomicInteger();
+        Thread[] hilos = new Thread[2 * HILOS];
+        for (int h = 0; h < HILOS; h++) {
+            hilos[h] = new Thread() {
+                @Override public void run() {
+                    while (restantes.getAndDecrement() > 0)
+                        if (c.intentaSacar() == null)
+                            fallos.incrementAndGet();
+                }
+            };
+            hilos[HILOS + h] = new Thread() {
+                @Override public void run() {
+                    while (restantes.get() > 0) {
+                        try {
+                            if (c.mira() == null)
+                                fallos.incrementAndGet();
+                        } catch (NoSuchElementException nsee) {
+                            fallos.incrementAndGet();
+                        }
+                    }
+                }
+            };
+        }
+        for (Thread hilo : hilos)
+            hilo.start();
+        for (Thread hilo : hilos)
+            hilo.join();
+        Assert.assertTrue(fallos.get() == 0);
+        Assert.assertTrue(c.getElementos() == 1);
+        Assert.assertTrue(c.mira() == n - 1);
+    }
+}
@@ -82,6 +82,31 @@ public class TestDiccionario {
         } catch (NoSuchElementException nsee) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Diccionario#busca}, en los dos
+     * modos.
+     */
+    @Test public void testBusca() {
+        int[] modos = { Diccionario.ENCADENAMIENTO,
+                        Diccionario.DIRECCIONAMIENTO_ABIERTO };
+        for (int modo : modos) {
+            HuellaDigital<String> hd;
+            hd = FabricaHuellasDigitales.getInstanciaString(
+                FabricaHuellasDigitales.XOR_STRING);
+            diccionario = new Diccionario<String, String>(total, hd, modo);
+            int ini = random.nextInt(10000);
+            for (int i = 0; i < total; i++) {
+                String s = String.format("%x", ini + i * 1000);
+                Assert.assertTrue(diccionario.busca(s) == null);
+                diccionario.agrega(s, s);
+                Assert.assertTrue(diccionario.busca(s).equals(s));
+            }
+            String s = String.format("%x", ini);
+            diccionario.elimina(s);
+            Assert.assertTrue(diccionario.busca(s) == null);
+        }
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#contiene}.
      */
@@ -214,6 +239,30 @@ public class TestDiccionario {
         }
     }
 
+    /**
+     * Prueba unitaria para el crecimiento de {@link Diccionario}:
+     * las llaves deben poder consultarse y eliminarse mientras se
+     * migran al arreglo nuevo.
+     */
+    @Test public void testCrecimiento() {
+        diccionario = new Diccionario<String, String>();
+        String[] arreglo = new String[total * 8];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < arreglo.length; i++) {
+            arreglo[i] = String.format("%x", ini + i * 1000);
+            diccionario.agrega(arreglo[i], arreglo[i]);
+            if (i % 3 == 0) {
+                diccionario.elimina(arreglo[i/2]);
+                Assert.assertFalse(diccionario.contiene(arreglo[i/2]));
+                diccionario.agrega(arreglo[i/2], arreglo[i/2]);
+            }
+            for (int j = 0; j <= i; j++)
+                Assert.assertTrue(diccionario.get(arreglo[j]).equals(arreglo[j]));
+            Assert.assertTrue(diccionario.getTotal() == i+1);
+        }
+        Assert.assertTrue(diccionario.llaves().getLongitud() == arreglo.length);
+    }
+
     /**
      * Prueba unitaria para {@link Diccionario#getTotal}.
      */
@@ -246,4 +295,118 @@ public class TestDiccionario {
         Assert.assertTrue(c == total);
         Assert.assertTrue(lista.getLongitud() == 0);
     }
+
+    /**
+     * Prueba unitaria para {@link Diccionario#Diccionario(int,
+     * HuellaDigital,int)} con direccionamiento abierto.
+     */
+    @Test public void testDireccionamientoAbierto() {
+        HuellaDigital<String> hd;
+        hd = FabricaHuellasDigitales.getInstanciaString(
+            FabricaHuellasDigitales.XOR_STRING);
+        diccionario = new Diccionario<String, String>(
+            total, hd, Diccionario.DIRECCIONAMIENTO_ABIERTO);
+        String[] arreglo = new String[total * 4];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < arreglo.length; i++) {
+            arreglo[i] = String.format("%x", ini + i * 1000);
+            Assert.assertFalse(diccionario.contiene(arreglo[i]));
+            diccionario.agrega(arreglo[i], arreglo[i]);
+            Assert.assertTrue(diccionario.getTotal() == i+1);
+            Assert.assertTrue(diccionario.get(arreglo[i]).equals(arreglo[i]));
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+        }
+        Lista<String> llaves = Lista.mergeSort(diccionario.llaves());
+        String[] ordenado = arreglo.clone();
+        Arreglos.quickSort(ordenado);
+        int j = 0;
+        for (String k : llaves)
+            Assert.assertTrue(k.equals(ordenado[j++]));
+        Assert.assertTrue(j == arreglo.length);
+        for (int i = 0; i < arreglo.length; i += 2)
+            diccionario.elimina(arreglo[i]);
+        for (int i = 0; i < arreglo.length; i++)
+            Assert.assertTrue(diccionario.contiene(arreglo[i]) == (i % 2 == 1));
+        int c = 0;
+        for (String s : diccionario) {
+            Assert.assertTrue(diccionario.get(s).equals(s));
+            c++;
+        }
+        Assert.assertTrue(c == diccionario.getTotal());
+        try {
+            diccionario.get(arreglo[0]);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para las huellas de {@link Diccionario}: cada
+     * inserción calcula la huella de la llave una sola vez, y crecer
+     * (o migrar las entradas al arreglo nuevo) no la vuelve a
+     * calcular.
+     */
+    @Test public void testHuellaUnaVez() {
+        final int[] llamadas = { 0 };
+        HuellaDigital<String> hd = new HuellaDigital<String>() {
+                @Override public int huellaDigital(String llave) {
+                    llamadas[0]++;
+                    return llave.hashCode();
+                }
+            };
+        int[] modos = { Diccionario.ENCADENAMIENTO,
+                        Diccionario.DIRECCIONAMIENTO_ABIERTO };
+        for (int modo : modos) {
+            llamadas[0] = 0;
+            diccionario = new Diccionario<String, String>(0, hd, modo);
+            String[] arreglo = new String[total * 8];
+            int ini = random.nextInt(10000);
+            for (int i = 0; i < arreglo.length; i++) {
+                arreglo[i] = String.format("%x", ini + i * 1000);
+                diccionario.agrega(arreglo[i], arreglo[i]);
+                Assert.assertTrue(llamadas[0] == i+1);
+            }
+            Assert.assertTrue(diccionario.llaves().getLongitud() == arreglo.length);
+            Assert.assertTrue(llamadas[0] == arreglo.length);
+            for (int i = 0; i < arreglo.length; i++) {
+                Assert.assertTrue(diccionario.get(arreglo[i]).equals(arreglo[i]));
+                Assert.assertTrue(llamadas[0] == arreglo.length + i+1);
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Diccionario} con una huella digital
+     * constante: todas las llaves tienen la misma huella, y las
+     * distintas se distinguen con <tt>equals</tt>.
+     */
+    @Test public void testHuellaConstante() {
+        HuellaDigital<String> hd = new HuellaDigital<String>() {
+                @Override public int huellaDigital(String llave) {
+                    return 0x2a;
+                }
+            };
+        int[] modos = { Diccionario.ENCADENAMIENTO,
+                        Diccionario.DIRECCIONAMIENTO_ABIERTO };
+        for (int modo : modos) {
+            diccionario = new Diccionario<String, String>(0, hd, modo);
+            String[] arreglo = new String[total];
+            int ini = random.nextInt(10000);
+            for (int i = 0; i < arreglo.length; i++) {
+                arreglo[i] = String.format("%x", ini + i * 1000);
+                diccionario.agrega(arreglo[i], "v" + i);
+            }
+            Assert.assertTrue(diccionario.getTotal() == arreglo.length);
+            for (int i = 0; i < arreglo.length; i++)
+                Assert.assertTrue(diccionario.get(arreglo[i]).equals("v" + i));
+            Assert.assertFalse(diccionario.contiene("-"));
+            Assert.assertTrue(diccionario.busca("-") == null);
+            diccionario.agrega(arreglo[0], "otro");
+            Assert.assertTrue(diccionario.getTotal() == arreglo.length);
+            Assert.assertTrue(diccionario.get(arreglo[0]).equals("otro"));
+            for (int i = 0; i < arreglo.length; i += 2)
+                diccionario.elimina(arreglo[i]);
+            for (int i = 0; i < arreglo.length; i++)
+                Assert.assertTrue(diccionario.contiene(arreglo[i]) == (i % 2 == 1));
+        }
+    }
 }
@@ -0,0 +1,285 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.DiccionarioConcurrente;
+import mx.unam.ciencias.edd.FabricaHuellasDigitales;
+import mx.unam.ciencias.edd.HuellaDigital;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioConcurrente}.
+ */
+public class TestDiccionarioConcurrente {
+
+    private int total;
+    private Random random;
+    private DiccionarioConcurrente<String, String> diccionario;
+
+    private static final int N = 64;
+    private static final int HILOS = 4;
+
+    /**
+     * Crea un diccionario para cada prueba.
+     */
+    public TestDiccionarioConcurrente() {
+        random = new Random();
+        total = N + random.nextInt(N);
+        diccionario = new DiccionarioConcurrente<String, String>(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#DiccionarioConcurrente}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(diccionario.getTotal() == 0);
+        Assert.assertTrue(diccionario.llaves().getLongitud() == 0);
+        Assert.assertTrue(diccionario.valores().getLongitud() == 0);
+        Assert.assertTrue(diccionario.carga() == 0.0);
+        Assert.assertTrue(diccionario.colisiones() == 0);
+        Assert.assertFalse(diccionario.iterator().hasNext());
+        try {
+            new DiccionarioConcurrente<String, String>(total, null, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#agrega}.
+     */
+    @Test public void testAgrega() {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total * 8; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertFalse(diccionario.contiene(s));
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.getTotal() == i+1);
+            Assert.assertTrue(diccionario.get(s).equals(s));
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+        }
+        for (int i = 0; i < total * 8; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertTrue(diccionario.get(s).equals(s));
+        }
+        String k = String.format("%x", ini);
+        String v = String.format("%x", ini+1);
+        diccionario.agrega(k, v);
+        Assert.assertTrue(diccionario.getTotal() == total*8);
+        Assert.assertTrue(diccionario.get(k).equals(v));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#get}.
+     */
+    @Test public void testGet() {
+        int ini = 1 + random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.get(s).equals(s));
+        }
+        try {
+            diccionario.get("00000");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#contiene}.
+     */
+    @Test public void testContiene() {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            Assert.assertFalse(diccionario.contiene(s));
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.contiene(s));
+        }
+        Assert.assertFalse(diccionario.contiene("00000"));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#elimina}.
+     */
+    @Test public void testElimina() {
+        HuellaDigital<String> hd;
+        hd = FabricaHuellasDigitales.getInstanciaString(
+            FabricaHuellasDigitales.XOR_STRING);
+        diccionario = new DiccionarioConcurrente<String, String>(total, hd);
+        String[] arreglo = new String[total];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = String.format("%x", ini + i * 1000);
+            diccionario.agrega(arreglo[i], arreglo[i]);
+        }
+        diccionario.elimina("00000");
+        Assert.assertTrue(diccionario.getTotal() == total);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(diccionario.contiene(arreglo[i]));
+            diccionario.elimina(arreglo[i]);
+            Assert.assertFalse(diccionario.contiene(arreglo[i]));
+            Assert.assertTrue(diccionario.getTotal() == total - (i+1));
+            for (int j = i+1; j < total; j++)
+                Assert.assertTrue(diccionario.get(arreglo[j]).equals(arreglo[j]));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#llaves}.
+     */
+    @Test public void testLlaves() {
+        String[] arreglo = new String[total];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = String.format("%x", ini + i * 1000);
+            diccionario.agrega(arreglo[i], arreglo[i]);
+        }
+        Lista<String> llaves = diccionario.llaves();
+        Assert.assertTrue(llaves.getLongitud() == total);
+        llaves = Lista.mergeSort(llaves);
+        Arreglos.quickSort(arreglo);
+        int i = 0;
+        for (String k : llaves)
+            Assert.assertTrue(k.equals(arreglo[i++]));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#valores}.
+     */
+    @Test public void testValores() {
+        String[] arreglo = new String[total];
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = String.format("%x", ini + i * 1000);
+            diccionario.agrega(arreglo[i], arreglo[i]);
+        }
+        Lista<String> valores = diccionario.valores();
+        Assert.assertTrue(valores.getLongitud() == total);
+        valores = Lista.mergeSort(valores);
+        Arreglos.quickSort(arreglo);
+        int i = 0;
+        for (String k : valores)
+            Assert.assertTrue(k.equals(arreglo[i++]));
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#colisiones}.
+     */
+    @Test public void testColisiones() {
+        HuellaDigital<String> hd;
+        hd = FabricaHuellasDigitales.getInstanciaString(
+            FabricaHuellasDigitales.XOR_STRING);
+        diccionario = new DiccionarioConcurrente<String, String>(total, hd);
+        byte[] bs1 = { 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08 };
+        byte[] bs2 = { 0x05, 0x06, 0x07, 0x08, 0x01, 0x02, 0x03, 0x04 };
+        diccionario.agrega(new String(bs1), "a");
+        diccionario.agrega(new String(bs2), "b");
+        Assert.assertTrue(diccionario.colisiones() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#colisionMaxima}.
+     */
+    @Test public void testColisionMaxima() {
+        diccionario.agrega("a", "a");
+        Assert.assertTrue(diccionario.colisionMaxima() == 0);
+        HuellaDigital<String> hd;
+        hd = FabricaHuellasDigitales.getInstanciaString(
+            FabricaHuellasDigitales.XOR_STRING);
+        diccionario = new DiccionarioConcurrente<String, String>(total, hd);
+        byte[] bs1 = { 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08 };
+        byte[] bs2 = { 0x05, 0x06, 0x07, 0x08, 0x01, 0x02, 0x03, 0x04 };
+        diccionario.agrega(new String(bs1), "a");
+        diccionario.agrega(new String(bs2), "b");
+        Assert.assertTrue(diccionario.colisionMaxima() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#carga}.
+     */
+    @Test public void testCarga() {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total * 4; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.carga() > 0.0);
+            Assert.assertTrue(diccionario.carga() < Diccionario.MAXIMA_CARGA);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#getTotal}.
+     */
+    @Test public void testGetTotal() {
+        int ini = random.nextInt(10000);
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            diccionario.agrega(s, s);
+            Assert.assertTrue(diccionario.getTotal() == i+1);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente#iterator}.
+     */
+    @Test public void testIterator() {
+        int ini = random.nextInt(10000);
+        Lista<String> lista = new Lista<String>();
+        for (int i = 0; i < total; i++) {
+            String s = String.format("%x", ini + i * 1000);
+            diccionario.agrega(s, s);
+            lista.agregaFinal(s);
+        }
+        int c = 0;
+        for (String s : diccionario) {
+            Assert.assertTrue(lista.contiene(s));
+            lista.elimina(s);
+            c++;
+        }
+        Assert.assertTrue(c == total);
+        Assert.assertTrue(lista.getLongitud() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link DiccionarioConcurrente} con varios
+     * hilos agregando, buscando y eliminando a la vez.
+     */
+    @Test public void testHilos() throws InterruptedException {
+        final int n = total * 64;
+        final DiccionarioConcurrente<Integer, Integer> d =
+            new DiccionarioConcurrente<Integer, Integer>();
+        final boolean[] fallas = new boolean[HILOS];
+        Thread[] hilos = new Thread[HILOS];
+        for (int h = 0; h < HILOS; h++) {
+            final int id = h;
+            hilos[h] = new Thread() {
+                @Override public void run() {
+                    for (int i = id; i < n; i += HILOS) {
+                        d.agrega(i, -i);
+                        if (d.get(i) != -i)
+                            fallas[id] = true;
+                    }
+                    for (int i = id; i < n; i += 2*HILOS)
+                        d.elimina(i);
+                    for (int i = id; i < n; i += HILOS)
+                        if (d.contiene(i) != (i % (2*HILOS) != id))
+                            fallas[id] = true;
+                }
+            };
+        }
+        for (Thread hilo : hilos)
+            hilo.start();
+        for (Thread hilo : hilos)
+            hilo.join();
+        for (boolean falla : fallas)
+            Assert.assertFalse(falla);
+        Assert.assertTrue(d.getTotal() == n / 2);
+        Assert.assertTrue(d.llaves().getLongitud() == n / 2);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(d.contiene(i) == (i % (2*HILOS) >= HILOS));
+    }
+}
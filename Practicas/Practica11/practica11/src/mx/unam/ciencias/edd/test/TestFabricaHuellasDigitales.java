@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import mx.unam.ciencias.edd.FabricaHuellasDigitales;
 import mx.unam.ciencias.edd.HuellaDigital;
@@ -106,4 +108,112 @@ public class TestFabricaHuellasDigitales {
         for (String mensaje : mensajes)
             Assert.assertTrue(bj.huellaDigital(mensaje) == huellasXOR[i++]);
     }
+
+    /**
+     * Prueba unitaria para {@link
+     * FabricaHuellasDigitales#huellaDigital(int,byte[],int,int)} y
+     * {@link FabricaHuellasDigitales#huellaDigital(int,ByteBuffer)}:
+     * deben coincidir con las huellas de las cadenas.
+     */
+    @Test public void testHuellaDigitalBytes() {
+        Random random = new Random();
+        int[] ids = { FabricaHuellasDigitales.BJ_STRING,
+                      FabricaHuellasDigitales.GLIB_STRING,
+                      FabricaHuellasDigitales.XOR_STRING };
+        for (int id : ids) {
+            HuellaDigital<String> hd =
+                FabricaHuellasDigitales.getInstanciaString(id);
+            for (String mensaje : mensajes) {
+                byte[] bs = mensaje.getBytes(StandardCharsets.UTF_8);
+                int ini = random.nextInt(10);
+                byte[] relleno = new byte[ini + bs.length + random.nextInt(10)];
+                random.nextBytes(relleno);
+                System.arraycopy(bs, 0, relleno, ini, bs.length);
+                int h = hd.huellaDigital(mensaje);
+                Assert.assertTrue(FabricaHuellasDigitales.
+                                  huellaDigital(id, relleno, ini, bs.length) == h);
+                ByteBuffer heap = ByteBuffer.wrap(relleno, ini, bs.length);
+                Assert.assertTrue(FabricaHuellasDigitales.huellaDigital(id, heap) == h);
+                Assert.assertTrue(FabricaHuellasDigitales.huellaDigital(id, heap.slice()) == h);
+                ByteBuffer directo = ByteBuffer.allocateDirect(relleno.length);
+                directo.put(relleno);
+                directo.position(ini);
+                directo.limit(ini + bs.length);
+                Assert.assertTrue(FabricaHuellasDigitales.huellaDigital(id, directo) == h);
+                Assert.assertTrue(directo.position() == ini);
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * FabricaHuellasDigitales#huellaDigital(int,CharSequence)}: las
+     * cadenas se codifican en UTF-8.
+     */
+    @Test public void testHuellaDigitalUTF8() {
+        String[] cadenas = { "", "ñandú", "árbol rojinegro", "\u20ac\u4e2d",
+                             "\ud83d\ude00 cara", "sin \ud83d pareja" };
+        for (String cadena : cadenas) {
+            byte[] bs = cadena.getBytes(StandardCharsets.UTF_8);
+            for (int id = FabricaHuellasDigitales.BJ_STRING;
+                 id <= FabricaHuellasDigitales.XOR_STRING; id++) {
+                int h = FabricaHuellasDigitales.huellaDigital(id, bs, 0, bs.length);
+                Assert.assertTrue(FabricaHuellasDigitales.
+                                  huellaDigital(id, new StringBuilder(cadena)) == h);
+                Assert.assertTrue(FabricaHuellasDigitales.
+                                  getInstanciaString(id).huellaDigital(cadena) == h);
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * FabricaHuellasDigitales#getInstanciaString(int,long)} con la
+     * huella digital MurmurHash3, contra vectores de referencia.
+     */
+    @Test public void testGetInstanciaStringMurmur3() {
+        int id = FabricaHuellasDigitales.MURMUR3_STRING;
+        Assert.assertTrue(FabricaHuellasDigitales.
+                          getInstanciaString(id).huellaDigital("") == 0);
+        Assert.assertTrue(FabricaHuellasDigitales.
+                          getInstanciaString(id, 1).huellaDigital("") == 0x514e28b7);
+        Assert.assertTrue(FabricaHuellasDigitales.
+                          getInstanciaString(id, 0xffffffffL).huellaDigital("") == 0x81f16f39);
+        Assert.assertTrue(FabricaHuellasDigitales.
+                          getInstanciaString(id).huellaDigital("hello") == 0x248bfa47);
+        Assert.assertTrue(FabricaHuellasDigitales.getInstanciaString(id, 1234).
+                          huellaDigital("Hello, world!") == 0xfaf6cdb3);
+        Assert.assertTrue(FabricaHuellasDigitales.getInstanciaString(id, 0x9747b28cL).
+                          huellaDigital("The quick brown fox jumps over the lazy dog")
+                          == 0x2fa826cd);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * FabricaHuellasDigitales#huellaDigital64(CharSequence,long)},
+     * contra vectores de referencia de xxHash64.
+     */
+    @Test public void testHuellaDigital64() {
+        Assert.assertTrue(FabricaHuellasDigitales.
+                          huellaDigital64("", 0) == 0xef46db3751d8e999L);
+        Assert.assertTrue(FabricaHuellasDigitales.
+                          huellaDigital64("a", 0) == 0xd24ec4f1a98c6e5bL);
+        Assert.assertTrue(FabricaHuellasDigitales.
+                          huellaDigital64("abc", 0) == 0x44bc2cf5ad770999L);
+        String s = "Nobody inspects the spammish repetition";
+        Assert.assertTrue(FabricaHuellasDigitales.
+                          huellaDigital64(s, 0) == 0xfbcea83c8a378bf1L);
+        byte[] bs = s.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer directo = ByteBuffer.allocateDirect(bs.length);
+        directo.put(bs);
+        directo.flip();
+        Assert.assertTrue(FabricaHuellasDigitales.huellaDigital64(directo, 0)
+                          == 0xfbcea83c8a378bf1L);
+        long h = FabricaHuellasDigitales.huellaDigital64(s, 42);
+        Assert.assertTrue(FabricaHuellasDigitales.huellaDigital64(bs, 0, bs.length, 42) == h);
+        Assert.assertTrue(FabricaHuellasDigitales.
+                          getInstanciaString(FabricaHuellasDigitales.XXH64_STRING, 42).
+                          huellaDigital(s) == (int)(h ^ (h >>> 32)));
+        Assert.assertFalse(FabricaHuellasDigitales.huellaDigital64(s, 43) == h);
+    }
 }
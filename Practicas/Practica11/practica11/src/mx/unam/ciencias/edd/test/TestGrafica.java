@@ -440,4 +440,46 @@ public class TestGrafica {
         for (VerticeGrafica<Integer> v : dijkstra)
             Assert.assertTrue(v.getElemento() == c++);
     }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstra(Object, Object,
+     * int)} con cada montículo, sobre una gráfica aleatoria.
+     */
+    @Test public void testDijkstraMonticulos() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++)
+            grafica.conecta(i - 1, i, 1 + random.nextInt(total));
+        for (int i = 0; i < total * 4; i++) {
+            int a = random.nextInt(total);
+            int b = random.nextInt(total);
+            if (a != b && !grafica.sonVecinos(a, b))
+                grafica.conecta(a, b, 1 + random.nextInt(total));
+        }
+        int[] monticulos = { Grafica.MONTICULO_BINARIO,
+                             Grafica.MONTICULO_CUATERNARIO,
+                             Grafica.MONTICULO_EMPAREJAMIENTO };
+        int destino = random.nextInt(total);
+        double peso = -1;
+        for (int m : monticulos) {
+            Lista<VerticeGrafica<Integer>> dijkstra =
+                grafica.dijkstra(0, destino, m);
+            Assert.assertTrue(dijkstra.getPrimero().getElemento() == 0);
+            Assert.assertTrue(dijkstra.getUltimo().getElemento() == destino);
+            double p = 0;
+            VerticeGrafica<Integer> anterior = null;
+            for (VerticeGrafica<Integer> v : dijkstra) {
+                if (anterior != null)
+                    p += grafica.getPeso(anterior.getElemento(), v.getElemento());
+                anterior = v;
+            }
+            if (peso != -1)
+                Assert.assertTrue(p == peso);
+            peso = p;
+        }
+        try {
+            grafica.dijkstra(0, destino, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
 }
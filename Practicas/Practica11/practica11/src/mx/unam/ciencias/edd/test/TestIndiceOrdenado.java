@@ -0,0 +1,92 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.IndiceOrdenado;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link IndiceOrdenado}.
+ */
+public class TestIndiceOrdenado {
+
+    private Random random;
+    private int total;
+    private long[] llaves;
+    private IndiceOrdenado indice;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de llaves ordenadas con repeticiones, y un índice
+     * con ellas.
+     */
+    public TestIndiceOrdenado() {
+        random = new Random();
+        total = 10 + random.nextInt(1000);
+        llaves = new long[total];
+        for (int i = 0; i < total; i++)
+            llaves[i] = random.nextInt(total) - total/2;
+        Arrays.sort(llaves);
+        indice = new IndiceOrdenado(llaves);
+    }
+
+    /**
+     * Prueba unitaria para {@link IndiceOrdenado#IndiceOrdenado}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(indice.getElementos() == total);
+        Assert.assertTrue(Arrays.equals(indice.aArreglo(), llaves));
+        IndiceOrdenado vacio = new IndiceOrdenado(new long[0]);
+        Assert.assertTrue(vacio.getElementos() == 0);
+        Assert.assertFalse(vacio.contiene(0));
+        Assert.assertTrue(vacio.cotaInferior(0) == 0);
+        llaves[0] = llaves[total-1] + 1;
+        try {
+            new IndiceOrdenado(llaves);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link IndiceOrdenado#contiene} y {@link
+     * IndiceOrdenado#indiceDe}.
+     */
+    @Test public void testContiene() {
+        for (long e = -total; e <= total; e++) {
+            int i = Arreglos.busquedaBinaria(llaves, e);
+            Assert.assertTrue(indice.indiceDe(e) == i);
+            Assert.assertTrue(indice.contiene(e) == (i != -1));
+        }
+        Assert.assertFalse(indice.contiene(Long.MIN_VALUE));
+        Assert.assertFalse(indice.contiene(Long.MAX_VALUE));
+    }
+
+    /**
+     * Prueba unitaria para {@link IndiceOrdenado#cotaInferior}, {@link
+     * IndiceOrdenado#cotaSuperior} y {@link
+     * IndiceOrdenado#cuentaEnRango}.
+     */
+    @Test public void testCotas() {
+        for (long e = -total; e <= total; e++) {
+            Assert.assertTrue(indice.cotaInferior(e) ==
+                              Arreglos.cotaInferior(llaves, e));
+            Assert.assertTrue(indice.cotaSuperior(e) ==
+                              Arreglos.cotaSuperior(llaves, e));
+        }
+        Assert.assertTrue(indice.cotaInferior(Long.MIN_VALUE) == 0);
+        Assert.assertTrue(indice.cotaSuperior(Long.MAX_VALUE) == total);
+        for (int i = 0; i < total; i++) {
+            long a = random.nextInt(total) - total/2;
+            long b = a + random.nextInt(total/2 + 1);
+            int c = 0;
+            for (long e : llaves)
+                if (a <= e && e <= b)
+                    c++;
+            Assert.assertTrue(indice.cuentaEnRango(a, b) == c);
+            Assert.assertTrue(indice.cuentaEnRango(b + 1, a) == 0);
+        }
+        Assert.assertTrue(indice.cuentaEnRango(Long.MIN_VALUE, Long.MAX_VALUE) == total);
+    }
+}
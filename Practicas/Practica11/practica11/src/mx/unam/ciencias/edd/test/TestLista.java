@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
@@ -412,6 +414,69 @@ public class TestLista {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#ordena(Lista)}.
+     */
+    @Test public void testOrdena() {
+        Lista<Integer> bloques = new Lista<Integer>(Lista.POR_BLOQUES);
+        for (int i = 0; i < total * 10; i++) {
+            int r = random.nextInt(total);
+            lista.agregaFinal(r);
+            bloques.agregaInicio(r);
+        }
+        lista.eliminaUltimo();
+        bloques.eliminaPrimero();
+        Lista<Integer> ordenada = Lista.mergeSort(lista);
+        Lista.ordena(lista);
+        Lista.ordena(bloques);
+        Assert.assertTrue(lista.equals(ordenada));
+        Assert.assertTrue(bloques.equals(ordenada));
+        Assert.assertTrue(lista.getLongitud() == total * 10 - 1);
+        int a = lista.getPrimero();
+        int c = 0;
+        for (int e : lista) {
+            Assert.assertTrue(a <= e);
+            a = e;
+            c++;
+        }
+        Assert.assertTrue(c == lista.getLongitud());
+        Assert.assertTrue(lista.getUltimo() == a);
+        IteradorLista<Integer> it = lista.iteradorLista();
+        it.end();
+        while (it.hasPrevious()) {
+            int e = it.previous();
+            Assert.assertTrue(e <= a);
+            a = e;
+            c--;
+        }
+        Assert.assertTrue(c == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#mergeSort(Lista,Comparator)};
+     * revisa además que el ordenamiento sea estable.
+     */
+    @Test public void testMergeSortComparador() {
+        Comparator<Integer> millares = new Comparator<Integer>() {
+            @Override public int compare(Integer a, Integer b) {
+                return Integer.compare(b / 1000, a / 1000);
+            }
+        };
+        for (int i = 0; i < total * 10; i++)
+            lista.agregaFinal(random.nextInt(total) * 1000 + i);
+        Lista<Integer> ordenada = Lista.mergeSort(lista, millares);
+        Assert.assertTrue(ordenada.getLongitud() == lista.getLongitud());
+        Assert.assertFalse(ordenada == lista);
+        int a = ordenada.getPrimero();
+        for (int e : ordenada) {
+            Assert.assertTrue(lista.contiene(e));
+            Assert.assertTrue(a / 1000 >= e / 1000);
+            if (a / 1000 == e / 1000)
+                Assert.assertTrue(a % 1000 <= e % 1000);
+            a = e;
+        }
+    }
+
     /**
      * Prueba unitaria para {@link Lista#busquedaLineal}.
      */
@@ -424,4 +489,95 @@ public class TestLista {
         int o = lista.getPrimero() - 10;
         Assert.assertFalse(Lista.busquedaLineal(lista, o));
     }
+
+    /**
+     * Prueba unitaria para {@link IteradorLista#agrega}.
+     */
+    @Test public void testIteradorListaAgrega() {
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(2*i);
+        IteradorLista<Integer> it = lista.iteradorLista();
+        while (it.hasNext()) {
+            int k = it.next();
+            it.agrega(k+1);
+            Assert.assertTrue(it.previous() == k+1);
+            it.next();
+        }
+        it.start();
+        it.agrega(-1);
+        Assert.assertTrue(lista.getLongitud() == 2*total + 1);
+        Assert.assertTrue(lista.getPrimero() == -1);
+        int i = -1;
+        for (int k : lista)
+            Assert.assertTrue(k == i++);
+    }
+
+    /**
+     * Prueba unitaria para listas con el modo {@link
+     * Lista#POR_BLOQUES}; las compara con una lista ligada.
+     */
+    @Test public void testPorBloques() {
+        Lista<Integer> bloques = new Lista<Integer>(Lista.POR_BLOQUES);
+        ArrayList<Integer> referencia = new ArrayList<Integer>();
+        int n = total * 100;
+        for (int i = 0; i < n; i++) {
+            int r = random.nextInt(total);
+            if (random.nextBoolean()) {
+                bloques.agregaFinal(r);
+                referencia.add(r);
+            } else {
+                bloques.agregaInicio(r);
+                referencia.add(0, r);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            int r = random.nextInt(total);
+            switch (random.nextInt(4)) {
+            case 0:
+                bloques.elimina(r);
+                referencia.remove(Integer.valueOf(r));
+                break;
+            case 1:
+                if (bloques.getLongitud() > 0)
+                    Assert.assertTrue(bloques.eliminaPrimero() ==
+                                      referencia.remove(0));
+                break;
+            default:
+                IteradorLista<Integer> it = bloques.iteradorLista();
+                int p = random.nextInt(referencia.size() + 1);
+                for (int j = 0; j < p; j++)
+                    it.next();
+                it.agrega(r);
+                referencia.add(p, r);
+            }
+        }
+        Assert.assertTrue(bloques.getLongitud() == referencia.size());
+        for (int i = 0; i < referencia.size(); i++)
+            Assert.assertTrue(bloques.get(i).equals(referencia.get(i)));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(bloques.indiceDe(i) == referencia.indexOf(i));
+        Lista<Integer> ligada = new Lista<Integer>();
+        for (int e : referencia)
+            ligada.agregaFinal(e);
+        Assert.assertTrue(bloques.equals(ligada));
+        Assert.assertTrue(bloques.copia().equals(ligada));
+        Assert.assertTrue(bloques.reversa().reversa().equals(ligada));
+        Assert.assertTrue(Lista.mergeSort(bloques).equals(Lista.mergeSort(ligada)));
+        IteradorLista<Integer> it = bloques.iteradorLista();
+        it.end();
+        for (int i = referencia.size() - 1; i >= 0; i--)
+            Assert.assertTrue(it.previous().equals(referencia.get(i)));
+        Assert.assertFalse(it.hasPrevious());
+        while (bloques.getLongitud() > 0)
+            Assert.assertTrue(bloques.eliminaUltimo().equals(
+                                  referencia.remove(referencia.size()-1)));
+        try {
+            bloques.getPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            new Lista<Integer>(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
 }
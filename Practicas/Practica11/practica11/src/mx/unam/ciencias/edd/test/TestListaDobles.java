@@ -0,0 +1,276 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.ListaDobles;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ListaDobles}.
+ */
+public class TestListaDobles {
+
+    private Random random;
+    private int total;
+    private ListaDobles lista;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra lista, y una lista.
+     */
+    public TestListaDobles() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        lista = new ListaDobles();
+    }
+
+    /* Regresa un elemento al azar entre 0 y total-1. */
+    private double elemento() {
+        return random.nextInt(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#ListaDobles(double[])}.
+     */
+    @Test public void testConstructor() {
+        double[] a = new double[total];
+        for (int i = 0; i < total; i++)
+            a[i] = elemento();
+        lista = new ListaDobles(a);
+        Assert.assertTrue(lista.getLongitud() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i) == a[i]);
+        try {
+            new ListaDobles(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new ListaDobles(Integer.MAX_VALUE);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#agregaFinal}.
+     */
+    @Test public void testAgregaFinal() {
+        for (int i = 0; i < total; i++) {
+            double e = elemento();
+            lista.agregaFinal(e);
+            Assert.assertTrue(lista.getUltimo() == e);
+            Assert.assertTrue(lista.getLongitud() == i+1);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#agregaInicio}.
+     */
+    @Test public void testAgregaInicio() {
+        lista.agregaFinal(-1);
+        for (int i = 0; i < total; i++) {
+            double e = elemento();
+            lista.agregaInicio(e);
+            Assert.assertTrue(lista.getPrimero() == e);
+            Assert.assertTrue(lista.getUltimo() == -1);
+            Assert.assertTrue(lista.getLongitud() == i+2);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#elimina}.
+     */
+    @Test public void testElimina() {
+        for (int i = 0; i < total; i++) {
+            if (random.nextBoolean())
+                lista.agregaFinal(i);
+            else
+                lista.agregaInicio(i);
+        }
+        lista.elimina(total);
+        Assert.assertTrue(lista.getLongitud() == total);
+        for (int i = 0; i < total; i++) {
+            double e = lista.get(random.nextInt(lista.getLongitud()));
+            double[] antes = lista.aArreglo();
+            lista.elimina(e);
+            Assert.assertFalse(lista.contiene(e));
+            Assert.assertTrue(lista.getLongitud() == total - (i+1));
+            int k = 0;
+            for (double x : antes)
+                if (x != e)
+                    Assert.assertTrue(lista.get(k++) == x);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#eliminaPrimero}.
+     */
+    @Test public void testEliminaPrimero() {
+        try {
+            lista.eliminaPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        for (int i = total - 1; i >= 0; i--)
+            Assert.assertTrue(lista.eliminaPrimero() == i);
+        Assert.assertTrue(lista.getLongitud() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#eliminaUltimo}.
+     */
+    @Test public void testEliminaUltimo() {
+        try {
+            lista.eliminaUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.eliminaUltimo() == i);
+        Assert.assertTrue(lista.getLongitud() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#contiene}.
+     */
+    @Test public void testContiene() {
+        for (int i = 0; i < total; i++) {
+            Assert.assertFalse(lista.contiene(i));
+            lista.agregaFinal(i);
+            Assert.assertTrue(lista.contiene(i));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#reversa}.
+     */
+    @Test public void testReversa() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(elemento());
+        ListaDobles reversa = lista.reversa();
+        Assert.assertTrue(reversa.getLongitud() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(reversa.get(i) == lista.get(total - 1 - i));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#copia}.
+     */
+    @Test public void testCopia() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(elemento());
+        ListaDobles copia = lista.copia();
+        Assert.assertTrue(copia.equals(lista));
+        Assert.assertTrue(copia.hashCode() == lista.hashCode());
+        copia.agregaFinal(-1);
+        Assert.assertFalse(copia.equals(lista));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(elemento());
+        lista.limpia();
+        Assert.assertTrue(lista.getLongitud() == 0);
+        Assert.assertFalse(lista.iterator().hasNext());
+        lista.agregaInicio(1);
+        Assert.assertTrue(lista.getUltimo() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#get}.
+     */
+    @Test public void testGet() {
+        double[] a = new double[total];
+        for (int i = total - 1; i >= 0; i--) {
+            a[i] = elemento();
+            lista.agregaInicio(a[i]);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i) == a[i]);
+        try {
+            lista.get(total);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            lista.get(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#indiceDe}.
+     */
+    @Test public void testIndiceDe() {
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(i);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.indiceDe(i) == i);
+        Assert.assertTrue(lista.indiceDe(total) == -1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(lista.toString().equals("[]"));
+        for (int i = 0; i < 3; i++)
+            lista.agregaFinal(i);
+        Assert.assertTrue(lista.toString().equals("[0.0, 1.0, 2.0]"));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#iterator}.
+     */
+    @Test public void testIterator() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(elemento());
+        PrimitiveIterator.OfDouble iterador = lista.iterator();
+        int i = 0;
+        while (iterador.hasNext())
+            Assert.assertTrue(iterador.nextDouble() == lista.get(i++));
+        Assert.assertTrue(i == total);
+        try {
+            iterador.nextDouble();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#mergeSort}.
+     */
+    @Test public void testMergeSort() {
+        int n = total * 10;
+        for (int i = 0; i < n; i++)
+            lista.agregaInicio(elemento());
+        ListaDobles ordenada = ListaDobles.mergeSort(lista);
+        Assert.assertTrue(ordenada.getLongitud() == n);
+        for (int i = 1; i < n; i++)
+            Assert.assertTrue(ordenada.get(i-1) <= ordenada.get(i));
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(ordenada.contiene(lista.get(i)));
+        ordenada.agregaInicio(total);
+        Assert.assertTrue(ordenada.getPrimero() == total);
+        Assert.assertTrue(ListaDobles.mergeSort(new ListaDobles()).getLongitud() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDobles#mergeSort} con ceros
+     * negativos y NaN, que se ordenan como en {@link Double#compare}.
+     */
+    @Test public void testMergeSortEspeciales() {
+        double[] a = { Double.NaN, 0.0, -0.0, 1.5, Double.NEGATIVE_INFINITY };
+        double[] b = { Double.NEGATIVE_INFINITY, -0.0, 0.0, 1.5, Double.NaN };
+        ListaDobles ordenada = ListaDobles.mergeSort(new ListaDobles(a));
+        for (int i = 0; i < b.length; i++)
+            Assert.assertTrue(Double.compare(ordenada.get(i), b[i]) == 0);
+        Assert.assertTrue(ordenada.contiene(Double.NaN));
+        Assert.assertTrue(ordenada.indiceDe(0.0) == 2);
+    }
+}
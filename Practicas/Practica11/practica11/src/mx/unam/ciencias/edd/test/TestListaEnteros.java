@@ -0,0 +1,262 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.ListaEnteros;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ListaEnteros}.
+ */
+public class TestListaEnteros {
+
+    private Random random;
+    private int total;
+    private ListaEnteros lista;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra lista, y una lista.
+     */
+    public TestListaEnteros() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        lista = new ListaEnteros();
+    }
+
+    /* Regresa un elemento al azar entre 0 y total-1. */
+    private int elemento() {
+        return random.nextInt(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#ListaEnteros(int[])}.
+     */
+    @Test public void testConstructor() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++)
+            a[i] = elemento();
+        lista = new ListaEnteros(a);
+        Assert.assertTrue(lista.getLongitud() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i) == a[i]);
+        try {
+            new ListaEnteros(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new ListaEnteros(Integer.MAX_VALUE);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#agregaFinal}.
+     */
+    @Test public void testAgregaFinal() {
+        for (int i = 0; i < total; i++) {
+            int e = elemento();
+            lista.agregaFinal(e);
+            Assert.assertTrue(lista.getUltimo() == e);
+            Assert.assertTrue(lista.getLongitud() == i+1);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#agregaInicio}.
+     */
+    @Test public void testAgregaInicio() {
+        lista.agregaFinal(-1);
+        for (int i = 0; i < total; i++) {
+            int e = elemento();
+            lista.agregaInicio(e);
+            Assert.assertTrue(lista.getPrimero() == e);
+            Assert.assertTrue(lista.getUltimo() == -1);
+            Assert.assertTrue(lista.getLongitud() == i+2);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#elimina}.
+     */
+    @Test public void testElimina() {
+        for (int i = 0; i < total; i++) {
+            if (random.nextBoolean())
+                lista.agregaFinal(i);
+            else
+                lista.agregaInicio(i);
+        }
+        lista.elimina(total);
+        Assert.assertTrue(lista.getLongitud() == total);
+        for (int i = 0; i < total; i++) {
+            int e = lista.get(random.nextInt(lista.getLongitud()));
+            int[] antes = lista.aArreglo();
+            lista.elimina(e);
+            Assert.assertFalse(lista.contiene(e));
+            Assert.assertTrue(lista.getLongitud() == total - (i+1));
+            int k = 0;
+            for (int x : antes)
+                if (x != e)
+                    Assert.assertTrue(lista.get(k++) == x);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#eliminaPrimero}.
+     */
+    @Test public void testEliminaPrimero() {
+        try {
+            lista.eliminaPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        for (int i = total - 1; i >= 0; i--)
+            Assert.assertTrue(lista.eliminaPrimero() == i);
+        Assert.assertTrue(lista.getLongitud() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#eliminaUltimo}.
+     */
+    @Test public void testEliminaUltimo() {
+        try {
+            lista.eliminaUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(i);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.eliminaUltimo() == i);
+        Assert.assertTrue(lista.getLongitud() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#contiene}.
+     */
+    @Test public void testContiene() {
+        for (int i = 0; i < total; i++) {
+            Assert.assertFalse(lista.contiene(i));
+            lista.agregaFinal(i);
+            Assert.assertTrue(lista.contiene(i));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#reversa}.
+     */
+    @Test public void testReversa() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(elemento());
+        ListaEnteros reversa = lista.reversa();
+        Assert.assertTrue(reversa.getLongitud() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(reversa.get(i) == lista.get(total - 1 - i));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#copia}.
+     */
+    @Test public void testCopia() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(elemento());
+        ListaEnteros copia = lista.copia();
+        Assert.assertTrue(copia.equals(lista));
+        Assert.assertTrue(copia.hashCode() == lista.hashCode());
+        copia.agregaFinal(-1);
+        Assert.assertFalse(copia.equals(lista));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(elemento());
+        lista.limpia();
+        Assert.assertTrue(lista.getLongitud() == 0);
+        Assert.assertFalse(lista.iterator().hasNext());
+        lista.agregaInicio(1);
+        Assert.assertTrue(lista.getUltimo() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#get}.
+     */
+    @Test public void testGet() {
+        int[] a = new int[total];
+        for (int i = total - 1; i >= 0; i--) {
+            a[i] = elemento();
+            lista.agregaInicio(a[i]);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i) == a[i]);
+        try {
+            lista.get(total);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            lista.get(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#indiceDe}.
+     */
+    @Test public void testIndiceDe() {
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(i);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.indiceDe(i) == i);
+        Assert.assertTrue(lista.indiceDe(total) == -1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(lista.toString().equals("[]"));
+        for (int i = 0; i < 3; i++)
+            lista.agregaFinal(i);
+        Assert.assertTrue(lista.toString().equals("[0, 1, 2]"));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#iterator}.
+     */
+    @Test public void testIterator() {
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(elemento());
+        PrimitiveIterator.OfInt iterador = lista.iterator();
+        int i = 0;
+        while (iterador.hasNext())
+            Assert.assertTrue(iterador.nextInt() == lista.get(i++));
+        Assert.assertTrue(i == total);
+        try {
+            iterador.nextInt();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaEnteros#mergeSort}.
+     */
+    @Test public void testMergeSort() {
+        int n = total * 10;
+        for (int i = 0; i < n; i++)
+            lista.agregaInicio(elemento());
+        ListaEnteros ordenada = ListaEnteros.mergeSort(lista);
+        Assert.assertTrue(ordenada.getLongitud() == n);
+        for (int i = 1; i < n; i++)
+            Assert.assertTrue(ordenada.get(i-1) <= ordenada.get(i));
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(ordenada.contiene(lista.get(i)));
+        ordenada.agregaInicio(total);
+        Assert.assertTrue(ordenada.getPrimero() == total);
+        Assert.assertTrue(ListaEnteros.mergeSort(new ListaEnteros()).getLongitud() == 0);
+    }
+}
@@ -3,19 +3,21 @@ package mx.unam.ciencias.edd.test;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import mx.unam.ciencias.edd.MeteSaca;
+import mx.unam.ciencias.edd.MeteSacaArreglo;
 import org.junit.Assert;
 import org.junit.Test;
 
 /**
- * Clase para pruebas unitarias de la clase {@link MeteSaca}.
+ * Clase para pruebas unitarias de la clase {@link MeteSaca}, con
+ * el arreglo circular de {@link MeteSacaArreglo}.
  */
 public class TestMeteSaca {
 
     /* Clase privada interna para poder hacer pruebas con instancias
-     * de MeteSaca. Implementa de forma trivial (y errónea) los
+     * de MeteSacaArreglo. Implementa de forma trivial (y errónea) los
      * métodos saca() y mira(), porque sólo nos interesa probar
      * mete() y esVacia(). */
-    private class MSPrueba<T> extends MeteSaca<T> {
+    private class MSPrueba<T> extends MeteSacaArreglo<T> {
         public MSPrueba() { super(); }
         public T saca() { return null; }
         public T mira() { return null; }
@@ -0,0 +1,222 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ComparableIndexable;
+import mx.unam.ciencias.edd.MonticuloEmparejamiento;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link
+ * MonticuloEmparejamiento}.
+ */
+public class TestMonticuloEmparejamiento {
+
+    private Random random;
+    private int total;
+    private MonticuloEmparejamiento<Indexable> monticulo;
+
+    /* Clase interna privada que implementa ComparableIndexable para
+     * poder probar a MonticuloEmparejamiento. */
+    private class Indexable implements ComparableIndexable<Indexable> {
+        public double valor;
+        public int indice;
+
+        /* Crea un indexable con el valor valor. */
+        public Indexable(double valor) {
+            this.valor = valor;
+            indice = -1;
+        }
+
+        /* Define el índice del indexable. */
+        public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        /* Regresa el índice del indexable. */
+        public int getIndice() {
+            return indice;
+        }
+
+        /* Compara dos indexables. */
+        public int compareTo(Indexable indexable) {
+            return Double.compare(valor, indexable.valor);
+        }
+    }
+
+    /**
+     * Crea un montículo de emparejamiento para cada prueba.
+     */
+    public TestMonticuloEmparejamiento() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        monticulo = new MonticuloEmparejamiento<Indexable>();
+    }
+
+    /* Llena el montículo con valores aleatorios con repeticiones. */
+    private ArrayList<Indexable> llena() {
+        ArrayList<Indexable> elementos = new ArrayList<Indexable>();
+        for (int i = 0; i < total; i++) {
+            Indexable idx = new Indexable(random.nextInt(total));
+            elementos.add(idx);
+            monticulo.agrega(idx);
+        }
+        return elementos;
+    }
+
+    /* Vacía el montículo y verifica que salgan los valores de los
+     * elementos en orden. */
+    private void vaciaEnOrden(ArrayList<Indexable> elementos) {
+        ArrayList<Double> valores = new ArrayList<Double>();
+        for (Indexable idx : elementos)
+            valores.add(idx.valor);
+        Collections.sort(valores);
+        Assert.assertTrue(monticulo.getElementos() == valores.size());
+        for (double v : valores) {
+            Assert.assertTrue(monticulo.minimo().valor == v);
+            Indexable idx = monticulo.elimina();
+            Assert.assertTrue(idx.valor == v);
+            Assert.assertTrue(idx.getIndice() == -1);
+        }
+        Assert.assertTrue(monticulo.esVacio());
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#agrega} y
+     * {@link MonticuloEmparejamiento#elimina}.
+     */
+    @Test public void testAgregaElimina() {
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        ArrayList<Indexable> elementos = llena();
+        for (Indexable idx : elementos)
+            Assert.assertTrue(monticulo.contiene(idx));
+        int n = 0;
+        for (Indexable idx : monticulo) {
+            Assert.assertTrue(idx.getIndice() == n++);
+        }
+        Assert.assertTrue(n == total);
+        vaciaEnOrden(elementos);
+        for (Indexable idx : elementos)
+            Assert.assertFalse(monticulo.contiene(idx));
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * MonticuloEmparejamiento#decrementaLlave}, intercalada con
+     * eliminaciones.
+     */
+    @Test public void testDecrementaLlave() {
+        ArrayList<Indexable> elementos = llena();
+        for (int i = 0; i < total / 2; i++) {
+            Indexable minimo = monticulo.elimina();
+            for (Indexable idx : elementos)
+                Assert.assertTrue(idx.valor >= minimo.valor
+                                  || !monticulo.contiene(idx));
+            elementos.remove(minimo);
+            for (int j = 0; j < 4; j++) {
+                Indexable idx = elementos.get(random.nextInt(elementos.size()));
+                idx.valor -= random.nextInt(total);
+                monticulo.decrementaLlave(idx);
+            }
+        }
+        vaciaEnOrden(elementos);
+        try {
+            monticulo.decrementaLlave(elementos.get(0));
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloEmparejamiento#limpia} y
+     * {@link MonticuloEmparejamiento#recorta}.
+     */
+    @Test public void testLimpia() {
+        try {
+            new MonticuloEmparejamiento<Indexable>(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        ArrayList<Indexable> elementos = llena();
+        monticulo.limpia();
+        Assert.assertTrue(monticulo.esVacio());
+        Assert.assertFalse(monticulo.iterator().hasNext());
+        for (Indexable idx : elementos)
+            Assert.assertFalse(monticulo.contiene(idx));
+        elementos = llena();
+        for (int i = 0; i < total / 2; i++)
+            elementos.remove(monticulo.elimina());
+        monticulo.recorta();
+        for (Indexable idx : elementos)
+            Assert.assertTrue(monticulo.contiene(idx));
+        vaciaEnOrden(elementos);
+    }
+
+    /**
+     * Prueba unitaria para la capacidad de {@link
+     * MonticuloEmparejamiento}: no cambia al llenarse y vaciarse
+     * varias veces.
+     */
+    @Test public void testSinVaivenes() {
+        int n = total * 100;
+        int capacidad = -1;
+        for (int r = 0; r < 5; r++) {
+            for (int i = 0; i < n; i++) {
+                monticulo.agrega(new Indexable(random.nextInt(n)));
+                if (capacidad != -1)
+                    Assert.assertTrue(monticulo.getCapacidad() == capacidad);
+            }
+            capacidad = monticulo.getCapacidad();
+            Assert.assertTrue(capacidad >= n);
+            while (!monticulo.esVacio()) {
+                monticulo.elimina();
+                Assert.assertTrue(monticulo.getCapacidad() == capacidad);
+            }
+        }
+        monticulo.recorta();
+        Assert.assertTrue(monticulo.getCapacidad() < capacidad);
+    }
+
+    /**
+     * Prueba unitaria para la capacidad de {@link
+     * MonticuloEmparejamiento} con pocos elementos después de un
+     * pico: se reduce a la mitad cada vez que pasan tantas
+     * operaciones como su capacidad, hasta la capacidad inicial.
+     */
+    @Test public void testReduceConOcupacionBaja() {
+        for (int inicial : new int[] { 0, total * 4 }) {
+            monticulo = new MonticuloEmparejamiento<Indexable>(inicial);
+            int minima = monticulo.getCapacidad();
+            for (int i = 0; i < total * 100; i++)
+                monticulo.agrega(new Indexable(random.nextInt(total)));
+            int capacidad = monticulo.getCapacidad();
+            int operaciones = 0;
+            while (monticulo.getElementos() > 2) {
+                monticulo.elimina();
+                operaciones++;
+            }
+            Assert.assertTrue(monticulo.getCapacidad() == capacidad);
+            while (capacidad > minima) {
+                monticulo.agrega(new Indexable(random.nextInt(total)));
+                monticulo.elimina();
+                operaciones += 2;
+                Assert.assertTrue(operaciones < capacidad * 4);
+                if (monticulo.getCapacidad() != capacidad) {
+                    Assert.assertTrue(operaciones >= capacidad);
+                    Assert.assertTrue(monticulo.getCapacidad() ==
+                                      Math.max(capacidad / 2, minima));
+                    capacidad = monticulo.getCapacidad();
+                    operaciones = 0;
+                }
+            }
+            ArrayList<Indexable> elementos = new ArrayList<Indexable>();
+            for (Indexable idx : monticulo)
+                elementos.add(idx);
+            vaciaEnOrden(elementos);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import mx.unam.ciencias.edd.ComparableIndexable;
@@ -217,4 +219,298 @@ public class TestMonticuloMinimo {
         for (Indexable<String> idx : monticulo)
             Assert.assertTrue(idx.valor == i++);
     }
+
+    /* Crea un indexable con un valor aleatorio con repeticiones. */
+    private Indexable<String> indexable() {
+        return new Indexable<String>("", random.nextInt(total));
+    }
+
+    /* Vacía el montículo y verifica que salgan los valores de la
+     * lista en orden. */
+    private void vaciaEnOrden(ArrayList<Double> valores) {
+        Collections.sort(valores);
+        verificaMonticuloMinimo(monticulo);
+        Assert.assertTrue(monticulo.getElementos() == valores.size());
+        for (double v : valores)
+            Assert.assertTrue(monticulo.elimina().valor == v);
+        Assert.assertTrue(monticulo.esVacio());
+    }
+
+    /**
+     * Prueba unitaria para los constructores de {@link
+     * MonticuloMinimo} que reciben un arreglo y un iterable.
+     */
+    @Test public void testConstructores() {
+        @SuppressWarnings("unchecked") Indexable<String>[] arreglo =
+            (Indexable<String>[])new Indexable[total];
+        ArrayList<Indexable<String>> iterable = new ArrayList<Indexable<String>>();
+        ArrayList<Double> valores = new ArrayList<Double>();
+        for (int i = 0; i < total; i++) {
+            arreglo[i] = indexable();
+            iterable.add(indexable());
+            valores.add(arreglo[i].valor);
+        }
+        monticulo = new MonticuloMinimo<Indexable<String>>(arreglo);
+        vaciaEnOrden(valores);
+        valores.clear();
+        for (Indexable<String> idx : iterable)
+            valores.add(idx.valor);
+        monticulo = new MonticuloMinimo<Indexable<String>>(iterable);
+        vaciaEnOrden(valores);
+        monticulo = new MonticuloMinimo<Indexable<String>>(
+            new ArrayList<Indexable<String>>());
+        Assert.assertTrue(monticulo.esVacio());
+        monticulo.agrega(arreglo[0]);
+        Assert.assertTrue(monticulo.elimina() == arreglo[0]);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloMinimo#agregaTodos}, con
+     * lotes chicos y grandes.
+     */
+    @Test public void testAgregaTodos() {
+        ArrayList<Double> valores = new ArrayList<Double>();
+        for (Indexable<String> idx : monticulo)
+            valores.add(idx.valor);
+        for (int lote : new int[] { 1, 2, total, total * 10, 0 }) {
+            ArrayList<Indexable<String>> nuevos = new ArrayList<Indexable<String>>();
+            for (int i = 0; i < lote; i++) {
+                Indexable<String> idx = indexable();
+                nuevos.add(idx);
+                valores.add(idx.valor);
+            }
+            monticulo.agregaTodos(nuevos);
+            verificaMonticuloMinimo(monticulo);
+            Assert.assertTrue(monticulo.getElementos() == valores.size());
+        }
+        vaciaEnOrden(valores);
+        valores.clear();
+        monticulo = new MonticuloMinimo<Indexable<String>>();
+        Lista<Indexable<String>> lista = new Lista<Indexable<String>>();
+        for (int i = 0; i < total; i++) {
+            Indexable<String> idx = indexable();
+            lista.agregaFinal(idx);
+            valores.add(idx.valor);
+        }
+        monticulo.agregaTodos(lista);
+        vaciaEnOrden(valores);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloMinimo#reordena} con
+     * valores repetidos.
+     */
+    @Test public void testReordenaRepetidos() {
+        ArrayList<Indexable<String>> elementos = new ArrayList<Indexable<String>>();
+        for (int i = 0; i < total; i++)
+            elementos.add(indexable());
+        monticulo = new MonticuloMinimo<Indexable<String>>(elementos);
+        for (int i = 0; i < total * 4; i++) {
+            Indexable<String> idx = monticulo.get(random.nextInt(total));
+            idx.valor = random.nextInt(total);
+            monticulo.reordena(idx);
+            verificaMonticuloMinimo(monticulo);
+        }
+    }
+
+    /**
+     * Prueba unitaria para la capacidad de {@link MonticuloMinimo}:
+     * crece al doble, no se reduce al vaciarse, y no cambia al
+     * llenarse y vaciarse otra vez alrededor del mismo tamaño.
+     */
+    @Test public void testCapacidad() {
+        try {
+            new MonticuloMinimo<Indexable<String>>(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        monticulo = new MonticuloMinimo<Indexable<String>>(total);
+        int inicial = monticulo.getCapacidad();
+        Assert.assertTrue(inicial >= total);
+        ArrayList<Double> valores = new ArrayList<Double>();
+        for (int i = 0; i < total * 4; i++) {
+            Indexable<String> idx = indexable();
+            valores.add(idx.valor);
+            monticulo.agrega(idx);
+            Assert.assertTrue(monticulo.getCapacidad() >= monticulo.getElementos());
+        }
+        int maxima = monticulo.getCapacidad();
+        Assert.assertTrue(maxima > inicial);
+        vaciaEnOrden(valores);
+        Assert.assertTrue(monticulo.getCapacidad() == maxima);
+        for (int r = 0; r < 4; r++) {
+            for (int i = 0; i < total * 4; i++)
+                monticulo.agrega(indexable());
+            Assert.assertTrue(monticulo.getCapacidad() == maxima);
+            verificaMonticuloMinimo(monticulo);
+            while (!monticulo.esVacio())
+                monticulo.elimina();
+            Assert.assertTrue(monticulo.getCapacidad() == maxima);
+        }
+        monticulo = new MonticuloMinimo<Indexable<String>>();
+        monticulo.aseguraCapacidad(total);
+        int capacidad = monticulo.getCapacidad();
+        Assert.assertTrue(capacidad >= total);
+        for (int i = 0; i < total; i++)
+            monticulo.agrega(indexable());
+        Assert.assertTrue(monticulo.getCapacidad() == capacidad);
+        verificaMonticuloMinimo(monticulo);
+    }
+
+    /**
+     * Prueba unitaria para un montículo creado sin capacidad que se
+     * llena y se vacía varias veces: después del primer llenado, el
+     * arreglo ya no cambia de tamaño.
+     */
+    @Test public void testSinVaivenes() {
+        monticulo = new MonticuloMinimo<Indexable<String>>();
+        int n = total * 100;
+        int capacidad = -1;
+        for (int r = 0; r < 5; r++) {
+            for (int i = 0; i < n; i++) {
+                monticulo.agrega(indexable());
+                if (capacidad != -1)
+                    Assert.assertTrue(monticulo.getCapacidad() == capacidad);
+            }
+            capacidad = monticulo.getCapacidad();
+            Assert.assertTrue(capacidad >= n);
+            double anterior = Double.NEGATIVE_INFINITY;
+            while (!monticulo.esVacio()) {
+                Indexable<String> idx = monticulo.elimina();
+                Assert.assertTrue(idx.valor >= anterior);
+                anterior = idx.valor;
+                Assert.assertTrue(monticulo.getCapacidad() == capacidad);
+            }
+        }
+        monticulo.recorta();
+        Assert.assertTrue(monticulo.getCapacidad() < capacidad);
+    }
+
+    /**
+     * Prueba unitaria para un montículo que se queda con pocos
+     * elementos después de un pico: el arreglo se reduce a la mitad
+     * cada vez que pasan tantas operaciones como su capacidad, hasta
+     * llegar a la capacidad con la que se creó.
+     */
+    @Test public void testReduceConOcupacionBaja() {
+        for (int inicial : new int[] { 0, total * 4 }) {
+            monticulo = new MonticuloMinimo<Indexable<String>>(inicial);
+            int minima = monticulo.getCapacidad();
+            for (int i = 0; i < total * 100; i++)
+                monticulo.agrega(indexable());
+            int capacidad = monticulo.getCapacidad();
+            int operaciones = 0;
+            while (monticulo.getElementos() > 2) {
+                monticulo.elimina();
+                operaciones++;
+            }
+            Assert.assertTrue(monticulo.getCapacidad() == capacidad);
+            while (capacidad > minima) {
+                monticulo.agrega(indexable());
+                monticulo.elimina();
+                operaciones += 2;
+                Assert.assertTrue(operaciones < capacidad * 4);
+                if (monticulo.getCapacidad() != capacidad) {
+                    Assert.assertTrue(operaciones >= capacidad);
+                    Assert.assertTrue(monticulo.getCapacidad() ==
+                                      Math.max(capacidad / 2, minima));
+                    capacidad = monticulo.getCapacidad();
+                    operaciones = 0;
+                }
+            }
+            for (int i = 0; i < minima * 4; i++) {
+                monticulo.agrega(indexable());
+                monticulo.elimina();
+            }
+            Assert.assertTrue(monticulo.getCapacidad() == minima);
+            verificaMonticuloMinimo(monticulo);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloMinimo#limpia} y {@link
+     * MonticuloMinimo#recorta}.
+     */
+    @Test public void testLimpiaRecorta() {
+        monticulo = new MonticuloMinimo<Indexable<String>>();
+        for (int i = 0; i < total; i++)
+            monticulo.agrega(indexable());
+        int capacidad = monticulo.getCapacidad();
+        monticulo.limpia();
+        Assert.assertTrue(monticulo.esVacio());
+        Assert.assertTrue(monticulo.getCapacidad() == capacidad);
+        try {
+            monticulo.get(0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Assert.assertFalse(monticulo.iterator().hasNext());
+        ArrayList<Double> valores = new ArrayList<Double>();
+        for (int i = 0; i < total; i++) {
+            Indexable<String> idx = indexable();
+            valores.add(idx.valor);
+            monticulo.agrega(idx);
+        }
+        Assert.assertTrue(monticulo.getCapacidad() == capacidad);
+        for (int i = 0; i < total / 2; i++)
+            valores.remove(Collections.min(valores));
+        for (int i = 0; i < total / 2; i++)
+            monticulo.elimina();
+        monticulo.recorta();
+        Assert.assertTrue(monticulo.getCapacidad() >= monticulo.getElementos());
+        Assert.assertTrue(monticulo.getCapacidad() < capacidad);
+        vaciaEnOrden(valores);
+        monticulo.recorta();
+        Assert.assertTrue(monticulo.getCapacidad() > 0);
+        monticulo.agrega(indexable());
+        Assert.assertTrue(monticulo.getElementos() == 1);
+    }
+
+    /**
+     * Prueba unitaria para montículos de aridad distinta de 2, y
+     * para {@link MonticuloMinimo#decrementaLlave} y {@link
+     * MonticuloMinimo#contiene}.
+     */
+    @Test public void testAridad() {
+        try {
+            new MonticuloMinimo<Indexable<String>>(0, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int d = 3; d <= 5; d++) {
+            monticulo = new MonticuloMinimo<Indexable<String>>(0, d);
+            ArrayList<Indexable<String>> elementos = new ArrayList<Indexable<String>>();
+            for (int i = 0; i < total; i++) {
+                Indexable<String> idx = indexable();
+                elementos.add(idx);
+                monticulo.agrega(idx);
+                Assert.assertTrue(monticulo.contiene(idx));
+            }
+            for (int i = 0; i < total; i++) {
+                Indexable<String> idx = elementos.get(random.nextInt(total));
+                idx.valor -= random.nextInt(total);
+                monticulo.decrementaLlave(idx);
+                verificaAridad(monticulo, d);
+            }
+            ArrayList<Double> valores = new ArrayList<Double>();
+            for (Indexable<String> idx : elementos)
+                valores.add(idx.valor);
+            Collections.sort(valores);
+            for (double v : valores)
+                Assert.assertTrue(monticulo.elimina().valor == v);
+            for (Indexable<String> idx : elementos)
+                Assert.assertFalse(monticulo.contiene(idx));
+            try {
+                monticulo.decrementaLlave(elementos.get(0));
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+        }
+    }
+
+    /* Verifica que ningún elemento sea menor que su padre en un
+     * montículo de aridad d. */
+    private static <T extends ComparableIndexable<T>> void
+                      verificaAridad(MonticuloMinimo<T> monticulo, int d) {
+        for (int i = 1; i < monticulo.getElementos(); i++) {
+            Assert.assertTrue(monticulo.get(i).getIndice() == i);
+            Assert.assertTrue(monticulo.get((i - 1) / d).compareTo(monticulo.get(i)) <= 0);
+        }
+    }
 }
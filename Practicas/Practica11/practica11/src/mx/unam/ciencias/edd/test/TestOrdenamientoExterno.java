@@ -0,0 +1,136 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import mx.unam.ciencias.edd.OrdenamientoExterno;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenamientoExterno}.
+ */
+public class TestOrdenamientoExterno {
+
+    private Random random;
+    private int total;
+    private Path directorio;
+
+    /**
+     * Crea un generador de números aleatorios, un número total de
+     * registros y un directorio para los archivos de cada prueba.
+     */
+    public TestOrdenamientoExterno() throws IOException {
+        random = new Random();
+        total = 1000 + random.nextInt(9000);
+        directorio = Files.createTempDirectory("externo");
+    }
+
+    /**
+     * Borra el directorio de la prueba.
+     */
+    @After public void limpia() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            for (Path archivo : (Iterable<Path>)archivos::iterator)
+                Files.delete(archivo);
+        }
+        Files.delete(directorio);
+    }
+
+    /* Nos dice cuántos archivos quedaron en el directorio. */
+    private long archivos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.count();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenamientoExterno#ordena} con
+     * enteros largos, muchas corridas y mezclas por grupos.
+     */
+    @Test public void testOrdenaLargos() throws IOException {
+        long[] a = new long[total];
+        ByteBuffer buffer = ByteBuffer.allocate(total * Long.BYTES);
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextLong();
+            buffer.putLong(a[i]);
+        }
+        Path entrada = directorio.resolve("entrada");
+        Path salida = directorio.resolve("salida");
+        Files.write(entrada, buffer.array());
+        OrdenamientoExterno<Long> ordenamiento =
+            new OrdenamientoExterno<Long>(OrdenamientoExterno.largos(),
+                                          Comparator.<Long>naturalOrder(),
+                                          50 + random.nextInt(50), 3, 4,
+                                          directorio);
+        ordenamiento.ordena(entrada, salida);
+        Arrays.sort(a);
+        ByteBuffer ordenado = ByteBuffer.wrap(Files.readAllBytes(salida));
+        Assert.assertTrue(ordenado.remaining() == total * Long.BYTES);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(ordenado.getLong() == a[i]);
+        Assert.assertTrue(archivos() == 2);
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenamientoExterno#ordena} con
+     * líneas de texto, sobre el mismo archivo.
+     */
+    @Test public void testOrdenaLineas() throws IOException {
+        String[] a = new String[total];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < total; i++) {
+            a[i] = "ñ" + random.nextInt(total);
+            sb.append(a[i]);
+            if (i < total - 1)
+                sb.append('\n');
+        }
+        Path archivo = directorio.resolve("lineas");
+        Files.write(archivo, sb.toString().getBytes(StandardCharsets.UTF_8));
+        OrdenamientoExterno<String> ordenamiento =
+            new OrdenamientoExterno<String>(OrdenamientoExterno.lineas(),
+                                            Comparator.<String>reverseOrder(),
+                                            total / 3, 2, 256, directorio);
+        ordenamiento.ordena(archivo, archivo);
+        Arrays.sort(a, Comparator.<String>reverseOrder());
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        Assert.assertTrue(lineas.size() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lineas.get(i).equals(a[i]));
+        Assert.assertTrue(archivos() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenamientoExterno#ordena} con un
+     * archivo vacío y con uno con registros incompletos.
+     */
+    @Test public void testOrdenaCasos() throws IOException {
+        Path entrada = directorio.resolve("entrada");
+        Path salida = directorio.resolve("salida");
+        Files.write(entrada, new byte[0]);
+        OrdenamientoExterno<Long> ordenamiento =
+            new OrdenamientoExterno<Long>(OrdenamientoExterno.largos(),
+                                          Comparator.<Long>naturalOrder());
+        ordenamiento.ordena(entrada, salida);
+        Assert.assertTrue(Files.size(salida) == 0);
+        Files.write(entrada, new byte[Long.BYTES + 1]);
+        try {
+            ordenamiento.ordena(entrada, salida);
+            Assert.fail();
+        } catch (IOException ioe) {}
+        try {
+            new OrdenamientoExterno<Long>(OrdenamientoExterno.largos(),
+                                          Comparator.<Long>naturalOrder(),
+                                          10, 1, 1, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
@@ -53,4 +53,28 @@ public class TestPila {
             Assert.assertTrue(n == a[i]);
         }
     }
+
+    /**
+     * Prueba unitaria para {@link Pila#Pila(int)}: la pila debe
+     * conservar el orden al crecer y al reducirse.
+     */
+    @Test public void testCapacidad() {
+        pila = new Pila<Integer>(4);
+        int[] a = new int[total * 8];
+        for (int ronda = 0; ronda < 3; ronda++) {
+            for (int i = 0; i < a.length; i++) {
+                a[i] = random.nextInt(total);
+                pila.mete(a[i]);
+            }
+            for (int i = a.length - 1; i >= 0; i--) {
+                Assert.assertTrue(pila.mira() == a[i]);
+                Assert.assertTrue(pila.saca() == a[i]);
+            }
+            Assert.assertTrue(pila.esVacia());
+        }
+        try {
+            pila.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
 }